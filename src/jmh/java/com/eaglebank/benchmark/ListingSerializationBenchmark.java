@@ -0,0 +1,81 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.config.ListingConfig;
+import com.eaglebank.controller.support.ListingJsonWriter;
+import com.eaglebank.dto.response.ListTransactionsResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous listing path (build a {@code ListTransactionsResponse}, serialise it reflectively)
+ * with the streaming {@link ListingJsonWriter} on a Blackbird-enabled mapper.
+ * Run with {@code ./gradlew jmh}; add {@code -Pjmh.profilers=gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListingSerializationBenchmark {
+
+    @Param({"100", "5000"})
+    private int size;
+
+    private List<TransactionResponse> transactions;
+    private ObjectMapper reflectiveMapper;
+    private ListingJsonWriter streamingWriter;
+    private final OutputStream sink = new DiscardingOutputStream();
+
+    @Setup
+    public void setUp() {
+        transactions = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            transactions.add(new TransactionResponse("tan-" + i, new BigDecimal("123.45"), "GBP",
+                    i % 2 == 0 ? "deposit" : "withdrawal", "Reference " + i, "usr-abc123", now.minusMinutes(i),
+                    null, null, null));
+        }
+
+        reflectiveMapper = baseMapper();
+        streamingWriter = new ListingJsonWriter(baseMapper().registerModule(new BlackbirdModule()), new ListingConfig());
+    }
+
+    @Benchmark
+    public void reflectiveListResponse() throws IOException {
+        reflectiveMapper.writeValue(sink, new ListTransactionsResponse(new ArrayList<>(transactions)));
+    }
+
+    @Benchmark
+    public void streamingBlackbirdWriter() throws IOException {
+        streamingWriter.writeTransactions(sink, transactions.stream());
+    }
+
+    private static ObjectMapper baseMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    // Both paths close their target, so the sink must survive close() between invocations
+    private static final class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.domain.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the arithmetic a run of postings does to balances and daily rollups when amounts are
+ * {@link BigDecimal}s, as they were, with the same work on {@link Money}: a funds check on withdrawals,
+ * the balance update and the rollup's running totals.
+ * Run with {@code ./gradlew jmh}; add {@code -Pjmh.profilers=gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyPostingBenchmark {
+
+    @Param({"1000"})
+    private int postings;
+
+    private BigDecimal[] decimalAmounts;
+    private Money[] moneyAmounts;
+    private boolean[] deposits;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimalAmounts = new BigDecimal[postings];
+        moneyAmounts = new Money[postings];
+        deposits = new boolean[postings];
+        for (int i = 0; i < postings; i++) {
+            long minorUnits = random.nextLong(1, 1_000_001);
+            decimalAmounts[i] = BigDecimal.valueOf(minorUnits, 2);
+            moneyAmounts[i] = Money.ofMinor(minorUnits);
+            deposits[i] = random.nextInt(3) > 0;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPostings() {
+        BigDecimal balance = BigDecimal.ZERO;
+        BigDecimal totalDeposits = BigDecimal.ZERO;
+        BigDecimal totalWithdrawals = BigDecimal.ZERO;
+        for (int i = 0; i < postings; i++) {
+            BigDecimal amount = decimalAmounts[i];
+            if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException();
+            }
+            if (deposits[i]) {
+                balance = balance.add(amount);
+                totalDeposits = totalDeposits.add(amount);
+            } else if (balance.compareTo(amount) >= 0) {
+                balance = balance.subtract(amount);
+                totalWithdrawals = totalWithdrawals.add(amount);
+            }
+        }
+        return balance.add(totalDeposits).subtract(totalWithdrawals);
+    }
+
+    @Benchmark
+    public Money moneyPostings() {
+        Money balance = Money.ZERO;
+        Money totalDeposits = Money.ZERO;
+        Money totalWithdrawals = Money.ZERO;
+        for (int i = 0; i < postings; i++) {
+            Money amount = moneyAmounts[i];
+            if (!amount.isPositive()) {
+                throw new IllegalArgumentException();
+            }
+            if (deposits[i]) {
+                balance = balance.plus(amount);
+                totalDeposits = totalDeposits.plus(amount);
+            } else if (!balance.isLessThan(amount)) {
+                balance = balance.minus(amount);
+                totalWithdrawals = totalWithdrawals.plus(amount);
+            }
+        }
+        return balance.plus(totalDeposits).minus(totalWithdrawals);
+    }
+}
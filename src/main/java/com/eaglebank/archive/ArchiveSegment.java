@@ -0,0 +1,297 @@
+package com.eaglebank.archive;
+
+import com.eaglebank.domain.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * One month of archived transactions, read through a read-only memory mapping of its file.
+ * <p>
+ * A segment file holds a header, one deflate-compressed block per account with that account's
+ * transactions newest first, an index of the blocks with each account's net movement for the month,
+ * and a fixed-size trailer pointing at the index. Only the index is decoded when the segment is
+ * opened; a lookup inflates the one block it needs straight out of the mapping, so the page cache
+ * rather than the heap holds the archive. Files are written once by {@link ArchiveSegmentWriter} and
+ * never modified, which is what makes sharing the mapping between threads safe.
+ * <p>
+ * A file is mapped whole, which limits a segment to 2 GB. Files in format 1, written before the index
+ * held net movements, are still read; their net movements are worked out once, when they are opened.
+ */
+public final class ArchiveSegment {
+
+    static final int MAGIC = 0x45424152; // "EBAR"
+    static final short FORMAT_VERSION = 2;
+    // Index entries without the net movement
+    static final short FORMAT_VERSION_WITHOUT_NET = 1;
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    static final String SUFFIX = ".ebar";
+
+    private static final Pattern FILE_NAME = Pattern.compile("transactions-(\\d{4}-\\d{2})\\.ebar");
+
+    private final Path path;
+    private final YearMonth month;
+    private final MappedByteBuffer mapping;
+    private final Map<String, Block> index;
+    private final long transactionCount;
+
+    private ArchiveSegment(Path path, YearMonth month, MappedByteBuffer mapping, Map<String, Block> index) {
+        this.path = path;
+        this.month = month;
+        this.mapping = mapping;
+        this.index = index;
+        this.transactionCount = index.values().stream().mapToLong(Block::recordCount).sum();
+    }
+
+    public static String fileName(YearMonth month) {
+        return "transactions-" + month + SUFFIX;
+    }
+
+    /**
+     * The month a segment file holds, or empty for anything else in the directory, including the
+     * temporary files of a segment still being written.
+     */
+    public static Optional<YearMonth> monthOf(Path file) {
+        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Optional.of(YearMonth.parse(matcher.group(1))) : Optional.empty();
+    }
+
+    public static ArchiveSegment open(Path path) {
+        YearMonth month = monthOf(path)
+                .orElseThrow(() -> new IllegalArgumentException("Not an archive segment: " + path));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Archive segment " + path + " is larger than 2 GB");
+            }
+            if (size < TRAILER_BYTES) {
+                throw new IllegalStateException("Archive segment " + path + " is truncated");
+            }
+            // The mapping outlives the channel
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new ArchiveSegment(path, month, mapping, readIndex(path, month, mapping));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open archive segment " + path, e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public YearMonth month() {
+        return month;
+    }
+
+    public int accountCount() {
+        return index.size();
+    }
+
+    public long transactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * The account's transactions for the month, newest first; empty if it had none.
+     */
+    public List<ArchivedTransaction> read(String accountNumber) {
+        Block block = index.get(accountNumber);
+        if (block == null) {
+            return List.of();
+        }
+        return readBlock(path, mapping, block, accountNumber);
+    }
+
+    public boolean holds(String accountNumber) {
+        return index.containsKey(accountNumber);
+    }
+
+    /**
+     * What the account's transactions for the month added to its balance, in minor units, read from the
+     * index without inflating anything.
+     */
+    public long netMinorUnits(String accountNumber) {
+        Block block = index.get(accountNumber);
+        return block == null ? 0 : block.netMinorUnits();
+    }
+
+    public Optional<ArchivedTransaction> find(String accountNumber, String transactionId) {
+        return read(accountNumber).stream()
+                .filter(transaction -> transaction.transactionId().equals(transactionId))
+                .findFirst();
+    }
+
+    private static List<ArchivedTransaction> readBlock(Path path, ByteBuffer mapping, Block block,
+                                                       String accountNumber) {
+        byte[] raw = inflate(path, mapping, block);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            List<ArchivedTransaction> transactions = new ArrayList<>(block.recordCount());
+            for (int i = 0; i < block.recordCount(); i++) {
+                transactions.add(readRecord(in));
+            }
+            return transactions;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt block for account " + accountNumber + " in " + path, e);
+        }
+    }
+
+    private static byte[] inflate(Path path, ByteBuffer mapping, Block block) {
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(mapping.slice(Math.toIntExact(block.offset()), block.compressedLength()));
+            int inflated = 0;
+            while (!inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated block in archive segment " + path);
+                }
+                inflated += n;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block in archive segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Map<String, Block> readIndex(Path path, YearMonth month, ByteBuffer mapping) {
+        int size = mapping.capacity();
+        long indexOffset = mapping.getLong(size - TRAILER_BYTES);
+        if (mapping.getInt(size - Integer.BYTES) != MAGIC || mapping.getInt(0) != MAGIC
+                || indexOffset < 0 || indexOffset > size - TRAILER_BYTES) {
+            throw new IllegalStateException("Archive segment " + path + " is truncated or not an archive segment");
+        }
+
+        byte[] header = new byte[Math.min(size, 64)];
+        mapping.get(0, header);
+        byte[] indexBytes = new byte[size - TRAILER_BYTES - (int) indexOffset];
+        mapping.get((int) indexOffset, indexBytes);
+        try (DataInputStream headerIn = new DataInputStream(new ByteArrayInputStream(header));
+             DataInputStream in = new DataInputStream(new ByteArrayInputStream(indexBytes))) {
+            headerIn.readInt();
+            short version = headerIn.readShort();
+            if (version != FORMAT_VERSION && version != FORMAT_VERSION_WITHOUT_NET) {
+                throw new IllegalStateException("Archive segment " + path + " has unsupported format " + version
+                        + "; this version reads formats " + FORMAT_VERSION_WITHOUT_NET + " to " + FORMAT_VERSION);
+            }
+            YearMonth headerMonth = YearMonth.parse(headerIn.readUTF());
+            if (!headerMonth.equals(month)) {
+                throw new IllegalStateException("Archive segment " + path + " holds " + headerMonth);
+            }
+
+            int entries = in.readInt();
+            Map<String, Block> index = new HashMap<>(entries * 2);
+            for (int i = 0; i < entries; i++) {
+                String accountNumber = in.readUTF();
+                Block block = new Block(in.readLong(), in.readInt(), in.readInt(), in.readInt(),
+                        version == FORMAT_VERSION ? in.readLong() : 0);
+                if (version == FORMAT_VERSION_WITHOUT_NET) {
+                    long net = readBlock(path, mapping, block, accountNumber).stream()
+                            .mapToLong(ArchivedTransaction::signedMinorUnits)
+                            .sum();
+                    block = new Block(block.offset(), block.compressedLength(), block.rawLength(),
+                            block.recordCount(), net);
+                }
+                index.put(accountNumber, block);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt index in archive segment " + path, e);
+        }
+    }
+
+    static void writeRecord(DataOutput out, ArchivedTransaction transaction) throws IOException {
+        out.writeUTF(transaction.transactionId());
+        out.writeUTF(transaction.type().name());
+        writeDecimal(out, transaction.amount());
+        out.writeUTF(transaction.currency());
+        writeDecimal(out, transaction.accountAmount());
+        writeOptionalDecimal(out, transaction.fxRate());
+        writeOptionalString(out, transaction.fxRateVersion());
+        writeOptionalString(out, transaction.reference());
+        writeOptionalString(out, transaction.transferId());
+        out.writeUTF(transaction.userId());
+        out.writeLong(transaction.createdAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(transaction.createdAt().getNano());
+    }
+
+    static ArchivedTransaction readRecord(DataInput in) throws IOException {
+        return ArchivedTransaction.builder()
+                .transactionId(in.readUTF())
+                .type(Transaction.TransactionType.valueOf(in.readUTF()))
+                .amount(readDecimal(in))
+                .currency(in.readUTF())
+                .accountAmount(readDecimal(in))
+                .fxRate(readOptionalDecimal(in))
+                .fxRateVersion(readOptionalString(in))
+                .reference(readOptionalString(in))
+                .transferId(readOptionalString(in))
+                .userId(in.readUTF())
+                .createdAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC))
+                .build();
+    }
+
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeByte(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInput in) throws IOException {
+        int scale = in.readByte();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeOptionalDecimal(DataOutput out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeDecimal(out, value);
+        }
+    }
+
+    private static BigDecimal readOptionalDecimal(DataInput in) throws IOException {
+        return in.readBoolean() ? readDecimal(in) : null;
+    }
+
+    private static void writeOptionalString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptionalString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    record Block(long offset, int compressedLength, int rawLength, int recordCount, long netMinorUnits) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.eaglebank.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one month's {@link ArchiveSegment}. Transactions are appended grouped by account, each account's
+ * newest first. The file is written under a temporary name, forced to disk and only then renamed into
+ * place, so a segment that can be opened is always complete. Closing a writer that was not committed
+ * discards what it wrote.
+ */
+public final class ArchiveSegmentWriter implements Closeable {
+
+    private final YearMonth month;
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    private final DataOutputStream indexOut = new DataOutputStream(index);
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final byte[] deflateBuffer = new byte[64 * 1024];
+    private final Set<String> accountsWritten = new HashSet<>();
+
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private String blockAccount;
+    private int blockRecords;
+    private long blockNetMinorUnits;
+
+    private long position;
+    private int accounts;
+    private long transactions;
+    private boolean committed;
+
+    private ArchiveSegmentWriter(Path directory, YearMonth month) throws IOException {
+        this.month = month;
+        this.target = directory.resolve(ArchiveSegment.fileName(month));
+        this.temporary = directory.resolve(ArchiveSegment.fileName(month) + "." + UUID.randomUUID() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+
+        out.writeInt(ArchiveSegment.MAGIC);
+        out.writeShort(ArchiveSegment.FORMAT_VERSION);
+        out.writeUTF(month.toString());
+        position = out.size();
+    }
+
+    public static ArchiveSegmentWriter create(Path directory, YearMonth month) {
+        try {
+            Files.createDirectories(directory);
+            return new ArchiveSegmentWriter(directory, month);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start archive segment for " + month + " in " + directory, e);
+        }
+    }
+
+    public void append(String accountNumber, ArchivedTransaction transaction) {
+        try {
+            if (!accountNumber.equals(blockAccount)) {
+                flushBlock();
+                if (!accountsWritten.add(accountNumber)) {
+                    throw new IllegalStateException("Transactions for account " + accountNumber
+                            + " must be appended together");
+                }
+                blockAccount = accountNumber;
+            }
+            ArchiveSegment.writeRecord(blockOut, transaction);
+            blockRecords++;
+            blockNetMinorUnits += transaction.signedMinorUnits();
+            transactions++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long transactionCount() {
+        return transactions;
+    }
+
+    /**
+     * Finishes the file and moves it into place.
+     *
+     * @return the finished segment's path
+     */
+    public Path commit() {
+        try {
+            flushBlock();
+            long indexOffset = position;
+            out.writeInt(accounts);
+            index.writeTo(out);
+            out.writeLong(indexOffset);
+            out.writeInt(ArchiveSegment.MAGIC);
+            out.flush();
+            channel.force(true);
+            out.close();
+
+            if (Files.exists(target)) {
+                throw new IllegalStateException("Archive segment for " + month + " already exists: " + target);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to finish archive segment " + target, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        deflater.end();
+        if (!committed) {
+            try {
+                out.close();
+                Files.deleteIfExists(temporary);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to discard " + temporary, e);
+            }
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockAccount == null) {
+            return;
+        }
+        blockOut.flush();
+        byte[] raw = block.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int compressed = 0;
+        while (!deflater.finished()) {
+            int n = deflater.deflate(deflateBuffer);
+            out.write(deflateBuffer, 0, n);
+            compressed += n;
+        }
+        if (position + compressed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Archive segment for " + month + " would exceed 2 GB");
+        }
+
+        indexOut.writeUTF(blockAccount);
+        indexOut.writeLong(position);
+        indexOut.writeInt(compressed);
+        indexOut.writeInt(raw.length);
+        indexOut.writeInt(blockRecords);
+        indexOut.writeLong(blockNetMinorUnits);
+        position += compressed;
+        accounts++;
+
+        block.reset();
+        blockAccount = null;
+        blockRecords = 0;
+        blockNetMinorUnits = 0;
+    }
+}
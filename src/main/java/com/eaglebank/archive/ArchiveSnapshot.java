@@ -0,0 +1,79 @@
+package com.eaglebank.archive;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The archive segments open at one point in time, newest month first. A reader that takes one
+ * snapshot for both its database query and its archive lookups sees every transaction exactly once,
+ * even while a new month is being archived.
+ */
+public final class ArchiveSnapshot {
+
+    public static final ArchiveSnapshot EMPTY = new ArchiveSnapshot(List.of());
+
+    private final List<ArchiveSegment> segments;
+
+    public ArchiveSnapshot(List<ArchiveSegment> segments) {
+        this.segments = segments.stream()
+                .sorted((a, b) -> b.month().compareTo(a.month()))
+                .toList();
+    }
+
+    public List<ArchiveSegment> segments() {
+        return segments;
+    }
+
+    public boolean contains(YearMonth month) {
+        return segments.stream().anyMatch(segment -> segment.month().equals(month));
+    }
+
+    /**
+     * The start of the first month not in the archive. Rows in the transactions table from before this
+     * are already archived, perhaps not yet deleted, and must be read from here instead.
+     */
+    public Optional<LocalDateTime> archivedUntil() {
+        return segments.isEmpty()
+                ? Optional.empty()
+                : Optional.of(segments.get(0).month().plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    public Optional<ArchivedTransaction> find(String accountNumber, String transactionId) {
+        for (ArchiveSegment segment : segments) {
+            Optional<ArchivedTransaction> found = segment.find(accountNumber, transactionId);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Whether any segment has transactions for the account, including accounts since closed and purged.
+     */
+    public boolean holds(String accountNumber) {
+        return segments.stream().anyMatch(segment -> segment.holds(accountNumber));
+    }
+
+    /**
+     * What all of the account's archived transactions added to its balance, in minor units.
+     */
+    public long netMinorUnits(String accountNumber) {
+        long total = 0;
+        for (ArchiveSegment segment : segments) {
+            total += segment.netMinorUnits(accountNumber);
+        }
+        return total;
+    }
+
+    /**
+     * The account's archived transactions, newest first. Segments are inflated one at a time as the
+     * stream is consumed.
+     */
+    public Stream<ArchivedTransaction> stream(String accountNumber) {
+        return segments.stream().flatMap(segment -> segment.read(accountNumber).stream());
+    }
+}
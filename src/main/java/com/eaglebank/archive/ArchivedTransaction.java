@@ -0,0 +1,41 @@
+package com.eaglebank.archive;
+
+import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.response.TransactionResponse;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction as kept in an archive segment: every column of the row except the database ids,
+ * with the owning user's public id in place of the foreign key.
+ */
+@Builder
+public record ArchivedTransaction(
+        String transactionId,
+        Transaction.TransactionType type,
+        BigDecimal amount,
+        String currency,
+        // Always set, unlike the column: rows from before multi-currency postings are filled in from amount
+        BigDecimal accountAmount,
+        BigDecimal fxRate,
+        String fxRateVersion,
+        String reference,
+        String transferId,
+        String userId,
+        LocalDateTime createdAt
+) {
+    /**
+     * The change to the account balance in minor units, negative for a withdrawal.
+     */
+    public long signedMinorUnits() {
+        long minor = accountAmount.movePointRight(2).longValueExact();
+        return type == Transaction.TransactionType.WITHDRAWAL ? -minor : minor;
+    }
+
+    public TransactionResponse toResponse() {
+        return new TransactionResponse(transactionId, amount, currency, type, reference, userId, createdAt,
+                accountAmount, fxRate, fxRateVersion);
+    }
+}
@@ -0,0 +1,102 @@
+package com.eaglebank.archive;
+
+import com.eaglebank.config.ArchiveConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Holds the {@link ArchiveSnapshot} of {@code eaglebank.archive.directory}. Reads take the current
+ * snapshot through a volatile field; the directory is rescanned every {@code reload-interval}, and by
+ * {@link com.eaglebank.job.TransactionArchivalJob} after it writes a segment. Segment files never change
+ * once written, so a rescan only opens files it has not seen before.
+ * <p>
+ * Every node serving reads must see the same directory.
+ */
+@Component
+@Slf4j
+public class TransactionArchive {
+
+    private final ArchiveConfig archiveConfig;
+    private volatile ArchiveSnapshot current = ArchiveSnapshot.EMPTY;
+
+    public TransactionArchive(ArchiveConfig archiveConfig) {
+        this.archiveConfig = archiveConfig;
+        if (archiveConfig.isEnabled() && archiveConfig.getDirectory() == null) {
+            throw new IllegalStateException("eaglebank.archive.directory must be set to durable storage when "
+                    + "eaglebank.archive.enabled is true; archived months are deleted from the database");
+        }
+        // Fail startup rather than serve account histories with months missing
+        reload();
+    }
+
+    public ArchiveSnapshot current() {
+        return current;
+    }
+
+    public Path directory() {
+        if (archiveConfig.getDirectory() == null) {
+            throw new IllegalStateException("eaglebank.archive.directory is not set");
+        }
+        return Path.of(archiveConfig.getDirectory());
+    }
+
+    @Scheduled(fixedDelayString = "#{@archiveConfig.reloadInterval.toMillis()}",
+            initialDelayString = "#{@archiveConfig.reloadInterval.toMillis()}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Archive reload failed, keeping {} segments", current.segments().size(), e);
+        }
+    }
+
+    /**
+     * Rescans the directory and swaps in a snapshot of the segments found.
+     *
+     * @return the new snapshot
+     */
+    public synchronized ArchiveSnapshot reload() {
+        // Never archived here, so there is nothing to read
+        if (archiveConfig.getDirectory() == null) {
+            current = ArchiveSnapshot.EMPTY;
+            return current;
+        }
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            current = ArchiveSnapshot.EMPTY;
+            return current;
+        }
+
+        Map<Path, ArchiveSegment> open = new HashMap<>();
+        for (ArchiveSegment segment : current.segments()) {
+            open.put(segment.path(), segment);
+        }
+        List<ArchiveSegment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> ArchiveSegment.monthOf(path).isPresent()).toList()) {
+                ArchiveSegment segment = open.get(file);
+                if (segment == null) {
+                    segment = ArchiveSegment.open(file);
+                    log.info("Opened archive segment {} with {} transactions across {} accounts",
+                            segment.month(), segment.transactionCount(), segment.accountCount());
+                }
+                segments.add(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list archive directory " + directory, e);
+        }
+        current = new ArchiveSnapshot(segments);
+        return current;
+    }
+}
@@ -0,0 +1,29 @@
+package com.eaglebank.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed change made through the API.
+ *
+ * @param actorUserId   the user who made it
+ * @param resourceId    the user, account, transaction or transfer it created, changed or removed
+ * @param accountNumber the account involved, for transactions and transfers the one posted from
+ */
+public record AuditEvent(
+        LocalDateTime occurredAt,
+        Action action,
+        String actorUserId,
+        String resourceId,
+        String accountNumber
+) {
+    public enum Action {
+        USER_CREATED,
+        USER_UPDATED,
+        USER_DELETED,
+        ACCOUNT_CREATED,
+        ACCOUNT_UPDATED,
+        ACCOUNT_DELETED,
+        TRANSACTION_CREATED,
+        TRANSFER_CREATED
+    }
+}
@@ -0,0 +1,77 @@
+package com.eaglebank.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free queue for many producers and a single consumer.
+ * <p>
+ * A producer claims the next sequence number with a compare-and-set, provided the slot it maps to has
+ * been consumed, and then publishes its event into that slot. The consumer takes slots in sequence
+ * order until it meets one that is still empty, either because nothing more has been claimed or because
+ * its producer has not published yet, and frees each slot before moving past it. A full buffer refuses
+ * the event rather than waiting.
+ */
+final class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    // Written only by the consumer
+    private volatile long consumed;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit buffer size must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(AuditEvent event) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length()) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) (sequence & mask), event);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code max} events, oldest first, into {@code batch}. Only one thread may drain.
+     *
+     * @return the number of events moved
+     */
+    int drainTo(List<AuditEvent> batch, int max) {
+        long next = consumed;
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) (next & mask);
+            AuditEvent event = slots.getAcquire(slot);
+            if (event == null) {
+                break;
+            }
+            slots.setRelease(slot, null);
+            batch.add(event);
+            next++;
+            drained++;
+        }
+        consumed = next;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, claimed.get() - consumed);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
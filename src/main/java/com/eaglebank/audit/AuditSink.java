@@ -0,0 +1,12 @@
+package com.eaglebank.audit;
+
+import java.util.List;
+
+/**
+ * Where {@link AuditTrail} writes its batches; {@code eaglebank.audit.sink} picks one. A sink that throws
+ * is handed the same batch again after {@code flush-interval}.
+ */
+public interface AuditSink {
+
+    void write(List<AuditEvent> batch);
+}
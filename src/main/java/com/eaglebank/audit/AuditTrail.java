@@ -0,0 +1,162 @@
+package com.eaglebank.audit;
+
+import com.eaglebank.config.AuditConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit record of every change made through the API, enabled with {@code eaglebank.audit.enabled}.
+ * <p>
+ * The services call {@link #record} inside their transaction. Once it commits the event goes into a
+ * lock-free ring buffer of {@code buffer-size} events, so a request never waits on audit I/O. A single
+ * writer thread drains the buffer in batches of up to {@code batch-size} into the {@link AuditSink},
+ * sleeping {@code flush-interval} whenever the buffer is empty or the sink fails. A failed batch is
+ * retried, not dropped.
+ * <p>
+ * Loss is bounded to what the buffer cannot hold: when it is full, a request waits up to
+ * {@code offer-timeout} for room and then drops its event, counted in {@code eaglebank.audit.dropped}.
+ * Events still buffered when the process is killed are lost; on a normal shutdown they are written.
+ */
+@Component
+@Slf4j
+public class AuditTrail {
+
+    private final AuditConfig auditConfig;
+    private final AuditSink sink;
+    private final AuditRingBuffer buffer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failedFlushes;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditTrail(AuditConfig auditConfig, AuditSink sink, MeterRegistry meterRegistry) {
+        this.auditConfig = auditConfig;
+        this.sink = sink;
+        this.buffer = new AuditRingBuffer(auditConfig.getBufferSize());
+        this.written = Counter.builder("eaglebank.audit.written")
+                .description("Audit events written to the sink")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("eaglebank.audit.dropped")
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("eaglebank.audit.flush.failures")
+                .description("Audit batches the sink failed to write, and that will be retried")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("eaglebank.audit.flush")
+                .description("Time to write one batch of audit events")
+                .register(meterRegistry);
+        Gauge.builder("eaglebank.audit.pending", buffer, AuditRingBuffer::size)
+                .description("Audit events buffered and not yet written")
+                .register(meterRegistry);
+        if (auditConfig.isEnabled()) {
+            running = true;
+            writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::writeLoop);
+        }
+    }
+
+    /**
+     * Audits a change once the current transaction commits, or straight away outside one. Nothing is
+     * audited for a transaction that rolls back.
+     */
+    public void record(AuditEvent.Action action, String actorUserId, String resourceId, String accountNumber) {
+        if (!auditConfig.isEnabled()) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(LocalDateTime.now(), action, actorUserId, resourceId, accountNumber);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(auditConfig.getFlushInterval().multipliedBy(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+        long deadline = System.nanoTime() + auditConfig.getOfferTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(100_000);
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        dropped.increment();
+        log.debug("Audit buffer full, dropped {} {}", event.action(), event.resourceId());
+    }
+
+    private void writeLoop() {
+        List<AuditEvent> batch = new ArrayList<>(auditConfig.getBatchSize());
+        while (true) {
+            if (batch.isEmpty()) {
+                buffer.drainTo(batch, auditConfig.getBatchSize());
+            }
+            if (batch.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, auditConfig.getFlushInterval().toNanos());
+                continue;
+            }
+            if (flush(batch)) {
+                batch.clear();
+            } else if (!running) {
+                dropped.increment(batch.size() + buffer.size());
+                log.error("Audit sink still failing at shutdown; {} events not written", batch.size() + buffer.size());
+                return;
+            } else {
+                LockSupport.parkNanos(this, auditConfig.getFlushInterval().toNanos());
+            }
+        }
+    }
+
+    private boolean flush(List<AuditEvent> batch) {
+        try {
+            flushTimer.record(() -> sink.write(batch));
+            written.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            log.warn("Unable to write {} audit events; retrying in {}", batch.size(), auditConfig.getFlushInterval(), e);
+            return false;
+        }
+    }
+}
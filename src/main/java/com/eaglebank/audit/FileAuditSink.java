@@ -0,0 +1,82 @@
+package com.eaglebank.audit;
+
+import com.eaglebank.config.AuditConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends each batch to {@code audit.jsonl} in the configured directory, one JSON document per line.
+ * Once the file reaches {@code max-file-size} it is renamed {@code audit-<epoch-millis>.jsonl} and a new
+ * one started; only the newest {@code max-files} rotated files are kept.
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.audit", name = "sink", havingValue = "file")
+@Slf4j
+public class FileAuditSink implements AuditSink {
+
+    static final String CURRENT_FILE = "audit.jsonl";
+
+    private final Path directory;
+    private final AuditConfig.FileSink config;
+    private final ObjectMapper objectMapper;
+
+    public FileAuditSink(AuditConfig auditConfig, ObjectMapper objectMapper) {
+        if (auditConfig.getFileSink().getDirectory() == null) {
+            throw new IllegalStateException(
+                    "eaglebank.audit.file-sink.directory must be set to durable storage for the file sink");
+        }
+        this.directory = Path.of(auditConfig.getFileSink().getDirectory()).toAbsolutePath();
+        this.config = auditConfig.getFileSink();
+        this.objectMapper = objectMapper;
+        log.info("Audit events will be appended to {}", directory.resolve(CURRENT_FILE));
+    }
+
+    // Only the audit writer thread calls this
+    @Override
+    public void write(List<AuditEvent> batch) {
+        Path current = directory.resolve(CURRENT_FILE);
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter writer = Files.newBufferedWriter(current, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditEvent event : batch) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+            if (Files.size(current) >= config.getMaxFileSize().toBytes()) {
+                rotate(current);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append audit events to " + current, e);
+        }
+    }
+
+    private void rotate(Path current) throws IOException {
+        Path rotated = directory.resolve("audit-" + System.currentTimeMillis() + ".jsonl");
+        Files.move(current, rotated, StandardCopyOption.ATOMIC_MOVE);
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> old = files
+                    .filter(file -> file.getFileName().toString().matches("audit-\\d+\\.jsonl"))
+                    .sorted()
+                    .toList();
+            for (Path file : old.subList(0, Math.max(0, old.size() - config.getMaxFiles()))) {
+                Files.delete(file);
+            }
+        }
+        log.debug("Rotated audit file to {}", rotated);
+    }
+}
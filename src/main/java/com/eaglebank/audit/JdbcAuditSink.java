@@ -0,0 +1,42 @@
+package com.eaglebank.audit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts each batch into {@code audit_log} as one JDBC batch in one transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.audit", name = "sink", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_log (occurred_at, action, actor_user_id, resource_id, account_number)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                (ps, event) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(event.occurredAt()));
+                    ps.setString(2, event.action().name());
+                    ps.setString(3, event.actorUserId());
+                    ps.setString(4, event.resourceId());
+                    ps.setString(5, event.accountNumber());
+                }));
+    }
+}
@@ -0,0 +1,75 @@
+package com.eaglebank.cache;
+
+import com.eaglebank.config.CacheConfig;
+import com.eaglebank.domain.BankAccount;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Size-bounded, expiring cache of account responses, keyed by account number.
+ * <p>
+ * Writers on this node put the account's new state once their transaction commits. Writers elsewhere
+ * (other nodes, the JDBC batch jobs) never touch it, so an entry is only served when its version still
+ * matches the account's version column; every write bumps that column, so a mismatch means the entry is
+ * stale and the caller reloads. Where two puts race, the higher version wins.
+ */
+@Component
+public class AccountResponseCache {
+
+    private final Cache<String, BankAccountResponse> cache;
+
+    public AccountResponseCache(CacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getAccountsMaxSize())
+                .expireAfterWrite(cacheConfig.getAccountsTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accounts");
+    }
+
+    /**
+     * The cached account, if it is at {@code currentVersion}.
+     */
+    public Optional<BankAccountResponse> get(String accountNumber, int currentVersion) {
+        return Optional.ofNullable(cache.getIfPresent(accountNumber))
+                .filter(account -> account.version() != null && account.version() == currentVersion);
+    }
+
+    public void put(BankAccountResponse account) {
+        cache.asMap().merge(account.accountNumber(), account,
+                (cached, latest) -> isNewer(cached, latest) ? cached : latest);
+    }
+
+    /**
+     * Puts the account as it stands when the current transaction commits, by which time its version
+     * and timestamps have been flushed. Nothing is put if the transaction rolls back.
+     */
+    public void putAfterCommit(BankAccount account) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(BankAccountResponse.from(account));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(BankAccountResponse.from(account));
+            }
+        });
+    }
+
+    public void evict(String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+
+    private static boolean isNewer(BankAccountResponse cached, BankAccountResponse latest) {
+        return cached.version() != null && latest.version() != null && cached.version() > latest.version();
+    }
+}
@@ -0,0 +1,55 @@
+package com.eaglebank.cache;
+
+import com.eaglebank.config.CacheConfig;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.event.TransactionPostedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Size-bounded cache of transaction responses. Transactions are never updated once written, so
+ * entries only leave the cache through eviction, or when their account is closed.
+ */
+@Component
+@Slf4j
+public class TransactionResponseCache {
+
+    private final Cache<Key, TransactionResponse> cache;
+
+    public TransactionResponseCache(CacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getTransactionsMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "transactions");
+    }
+
+    public Optional<TransactionResponse> get(String accountNumber, String transactionId) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(accountNumber, transactionId)));
+    }
+
+    public void put(String accountNumber, TransactionResponse transaction) {
+        cache.put(new Key(accountNumber, transaction.id()), transaction);
+    }
+
+    public void evictAccount(String accountNumber) {
+        cache.asMap().keySet().removeIf(key -> key.accountNumber().equals(accountNumber));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        put(event.accountNumber(), event.transaction());
+        log.debug("Cached posted transaction: {}", event.transaction().id());
+    }
+
+    private record Key(String accountNumber, String transactionId) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.archive")
+@Configuration
+public class ArchiveConfig {
+    private boolean enabled = false;
+    private String cron = "0 0 3 * * *";
+    // Whole months that ended longer ago than this move out of the transactions table
+    private Duration hotWindow = Duration.ofDays(400);
+    // Required when enabled: archived months exist nowhere else, so durable storage shared by every node
+    private String directory;
+    private int fetchSize = 1000;
+    private int deleteBatchSize = 1000;
+    // How often every node rescans the directory; archived rows stay in the table at least this long
+    private Duration reloadInterval = Duration.ofMinutes(1);
+}
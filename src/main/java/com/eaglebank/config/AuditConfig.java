@@ -0,0 +1,32 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.audit")
+@Configuration
+public class AuditConfig {
+    private boolean enabled = true;
+    // jdbc (the audit_log table) or file (rotating JSON-lines files)
+    private String sink = "jdbc";
+    // Must be a power of two
+    private int bufferSize = 8192;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    // How long a request may wait for room in a full buffer before its event is dropped
+    private Duration offerTimeout = Duration.ZERO;
+    private FileSink fileSink = new FileSink();
+
+    @Data
+    public static class FileSink {
+        // Required with the file sink, on durable storage
+        private String directory;
+        private DataSize maxFileSize = DataSize.ofMegabytes(64);
+        private int maxFiles = 10;
+    }
+}
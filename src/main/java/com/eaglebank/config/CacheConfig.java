@@ -0,0 +1,16 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.cache")
+@Configuration
+public class CacheConfig {
+    private long transactionsMaxSize = 10_000;
+    private long accountsMaxSize = 10_000;
+    private Duration accountsTtl = Duration.ofMinutes(10);
+}
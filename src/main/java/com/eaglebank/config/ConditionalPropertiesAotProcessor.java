@@ -0,0 +1,51 @@
+package com.eaglebank.config;
+
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * Records the build-time values of {@link ConditionalPropertiesCheck#PROPERTIES} as a resource of the
+ * AOT-processed application, for {@link ConditionalPropertiesCheck} to compare with at runtime.
+ * Registered in {@code META-INF/spring/aot.factories}.
+ */
+public class ConditionalPropertiesAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Environment environment = beanFactory.getBean(Environment.class);
+        Properties recorded = new Properties();
+        for (String property : ConditionalPropertiesCheck.PROPERTIES) {
+            String value = environment.getProperty(property);
+            if (value != null) {
+                recorded.setProperty(property, value);
+            }
+        }
+
+        StringWriter content = new StringWriter();
+        try {
+            recorded.store(content, "Conditional properties as they were when processAot ran");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteArrayResource file = new ByteArrayResource(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+        // processTestAot processes one context per test configuration into the same output; the last one wins
+        return (generationContext, beanFactoryInitializationCode) -> generationContext.getGeneratedFiles()
+                .handleFile(GeneratedFiles.Kind.RESOURCE, ConditionalPropertiesCheck.RECORDED_RESOURCE, handler -> {
+                    if (handler.exists()) {
+                        handler.override(file);
+                    } else {
+                        handler.create(file);
+                    }
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.eaglebank.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Spring AOT evaluates {@code @ConditionalOnProperty} when {@code processAot} runs, so with
+ * {@code -Dspring.aot.enabled=true} the beans those conditions guard exist or not as they did at build
+ * time, whatever the runtime configuration says. {@link ConditionalPropertiesAotProcessor} records the
+ * build-time values in the application, and this check refuses to start when any of them has changed
+ * rather than running with the wrong beans.
+ */
+@Component
+public class ConditionalPropertiesCheck implements InitializingBean {
+
+    static final String RECORDED_RESOURCE = "META-INF/eaglebank/aot-conditional-properties.properties";
+
+    // Every property a @ConditionalOnProperty in this application reads
+    static final List<String> PROPERTIES = List.of(
+            "eaglebank.sharding.enabled",
+            "eaglebank.grpc.enabled",
+            "eaglebank.reactive.enabled",
+            "eaglebank.audit.sink",
+            "eaglebank.outbox.file-sink.enabled",
+            "eaglebank.outbox.memory-sink.enabled",
+            "eaglebank.openapi.static-spec",
+            "springdoc.api-docs.enabled");
+
+    private final Environment environment;
+
+    public ConditionalPropertiesCheck(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource resource = new ClassPathResource(RECORDED_RESOURCE);
+        if (!resource.exists()) {
+            throw new IllegalStateException("Running with spring.aot.enabled but " + RECORDED_RESOURCE
+                    + " is missing; rebuild the application with processAot");
+        }
+        List<String> changed = changedProperties(PropertiesLoaderUtils.loadProperties(resource), environment);
+        if (!changed.isEmpty()) {
+            throw new IllegalStateException("These settings decide which beans exist and were fixed when the"
+                    + " application was processed ahead of time: " + String.join("; ", changed)
+                    + ". Rebuild with the new values, or start without -Dspring.aot.enabled=true");
+        }
+    }
+
+    static List<String> changedProperties(Properties recorded, Environment environment) {
+        return PROPERTIES.stream()
+                .filter(property -> !Objects.equals(recorded.getProperty(property), environment.getProperty(property)))
+                .map(property -> property + " was " + recorded.getProperty(property) + " at build time but is "
+                        + environment.getProperty(property))
+                .toList();
+    }
+}
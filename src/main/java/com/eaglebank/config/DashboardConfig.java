@@ -0,0 +1,13 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.dashboard")
+@Configuration
+public class DashboardConfig {
+    // Newest transactions shown per account
+    private int recentTransactions = 5;
+}
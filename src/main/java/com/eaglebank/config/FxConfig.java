@@ -0,0 +1,16 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.fx")
+@Configuration
+public class FxConfig {
+    private String ratesLocation = "classpath:fx/rates.csv";
+    private String baseCurrency = "GBP";
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,28 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.grpc")
+@Configuration
+public class GrpcConfig {
+    private boolean enabled = false;
+    private int port = 9090;
+    // When set, the server is only reachable in-process under this name and no port is opened
+    private String inProcessName;
+    private DataSize maxInboundMessageSize = DataSize.ofMegabytes(4);
+    private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+    private Tls tls = new Tls();
+
+    @Data
+    public static class Tls {
+        // PEM files; the port is TLS only, so both are required unless the server is in-process
+        private String certificateChain;
+        private String privateKey;
+    }
+}
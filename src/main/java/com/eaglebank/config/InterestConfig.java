@@ -0,0 +1,23 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.interest")
+@Configuration
+public class InterestConfig {
+    private boolean enabled = false;
+    private String cron = "0 30 1 * * *";
+    private BigDecimal annualRate = new BigDecimal("0.0150");
+    private int dayCountBasis = 365;
+    private int partitions = 16;
+    private int parallelism = 4;
+    private int chunkSize = 500;
+    private int maxChunkAttempts = 3;
+    // Ceiling across all partitions; 0 runs flat out
+    private long maxAccountsPerSecond = 0;
+}
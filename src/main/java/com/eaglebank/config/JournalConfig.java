@@ -0,0 +1,20 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.journal")
+@Configuration
+public class JournalConfig {
+    private boolean enabled = false;
+    // Required when enabled, on durable storage
+    private String directory;
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    // A posting that is not on disk by then fails and its database transaction rolls back
+    private Duration durableTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,18 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.listing")
+@Configuration
+public class ListingConfig {
+    // Listings up to this size are sent only once their transaction is over
+    private DataSize bufferSize = DataSize.ofKilobytes(256);
+    // A larger listing streams inside its transaction and is aborted if the client takes longer than this
+    private Duration writeTimeout = Duration.ofSeconds(30);
+}
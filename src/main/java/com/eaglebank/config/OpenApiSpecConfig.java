@@ -0,0 +1,13 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.openapi")
+@Configuration
+public class OpenApiSpecConfig {
+    private boolean staticSpec = true;
+    private String location = "classpath:openapi/openapi.yaml";
+}
@@ -0,0 +1,34 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.outbox")
+@Configuration
+public class OutboxConfig {
+    private boolean relayEnabled = true;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private int batchSize = 100;
+    private int maxBatchesPerPoll = 10;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(1);
+    private Duration retention = Duration.ofDays(7);
+    private MemorySink memorySink = new MemorySink();
+    private FileSink fileSink = new FileSink();
+
+    @Data
+    public static class MemorySink {
+        private boolean enabled = false;
+        private int capacity = 10_000;
+    }
+
+    @Data
+    public static class FileSink {
+        private boolean enabled = false;
+        private String path = "outbox-events.jsonl";
+    }
+}
@@ -0,0 +1,18 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.purge")
+@Configuration
+public class PurgeConfig {
+    private boolean enabled = true;
+    private Duration interval = Duration.ofMinutes(1);
+    private int batchSize = 1000;
+    // Slept after every batch so a large history does not hold locks or I/O back from online traffic
+    private Duration pauseBetweenBatches = Duration.ofMillis(50);
+}
@@ -0,0 +1,32 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.rate-limit")
+@Configuration
+public class RateLimitConfig {
+    private boolean enabled = true;
+    private long maxBuckets = 100_000;
+    private Duration idleEviction = Duration.ofMinutes(10);
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        private String method;
+        private String path;
+        // Full name of a gRPC method, e.g. eaglebank.v1.PostingService/PostTransactions, whose messages
+        // draw on the same buckets as the path
+        private String grpcMethod;
+        private long capacity;
+        private long refillTokens;
+        private Duration refillPeriod = Duration.ofSeconds(1);
+    }
+}
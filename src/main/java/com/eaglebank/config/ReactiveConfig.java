@@ -0,0 +1,23 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.reactive")
+@Configuration
+// Bound here because R2dbcAutoConfiguration, which normally binds it, is excluded
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveConfig {
+    private boolean enabled = true;
+    // 0 picks a free port
+    private int port = 8081;
+    // Rows requested from the database ahead of what the client has read
+    private int prefetch = 256;
+    private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+}
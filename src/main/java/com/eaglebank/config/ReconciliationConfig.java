@@ -0,0 +1,18 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.reconciliation")
+@Configuration
+public class ReconciliationConfig {
+    private boolean enabled = false;
+    private String cron = "0 0 5 * * *";
+    private int partitions = 16;
+    private int parallelism = 4;
+    private int fetchSize = 10_000;
+    // Every mismatch is counted; only this many are kept for the report
+    private int maxReportedMismatches = 100;
+}
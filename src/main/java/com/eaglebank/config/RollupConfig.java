@@ -0,0 +1,14 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.rollups")
+@Configuration
+public class RollupConfig {
+    private boolean backfillOnStartup = false;
+    private int defaultWindowDays = 30;
+    private int maxWindowDays = 366;
+}
@@ -0,0 +1,28 @@
+package com.eaglebank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "eaglebank.sharding")
+@Configuration
+public class ShardingConfig {
+    // Off: everything runs against spring.datasource, as before
+    private boolean enabled = false;
+    // An account lives on shard CRC32(accountNumber) mod the number of shards; the first also holds the users
+    private List<Shard> shards = new ArrayList<>();
+    private int maxPoolSize = 10;
+    // Rows copied per transaction when ShardRebalancer moves an account
+    private int rebalanceBatchSize = 1000;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,28 @@
+package com.eaglebank.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * Decides what stays eager when {@code spring.main.lazy-initialization} is on (the {@code fast-startup}
+ * profile). Our own beans, the repositories and the persistence unit serve the first request, so they are
+ * still built during refresh; framework extras such as springdoc, the H2 console and the actuator health
+ * contributors are deferred until something first asks for them.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPathBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (beanType.getName().startsWith("com.eaglebank.")
+                || RepositoryFactoryBeanSupport.class.isAssignableFrom(beanType)
+                || AbstractEntityManagerFactoryBean.class.isAssignableFrom(beanType)
+                || DataSource.class.isAssignableFrom(beanType));
+    }
+}
@@ -1,20 +1,32 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.controller.support.ListingJsonWriter;
+import com.eaglebank.controller.support.ListingResponse;
 import com.eaglebank.dto.request.CreateBankAccountRequest;
 import com.eaglebank.dto.request.UpdateBankAccountRequest;
 import com.eaglebank.dto.response.BankAccountResponse;
 import com.eaglebank.dto.response.ListBankAccountsResponse;
 import com.eaglebank.security.CustomUserDetails;
 import com.eaglebank.service.AccountService;
+import com.eaglebank.util.ETags;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/v1/accounts")
 @RequiredArgsConstructor
@@ -22,7 +34,10 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Accounts")
 public class AccountController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final AccountService accountService;
+    private final ListingJsonWriter listingJsonWriter;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -34,29 +49,58 @@ public class AccountController {
     }
 
     @GetMapping
-    public ListBankAccountsResponse listAccounts(
-            @AuthenticationPrincipal CustomUserDetails currentUser) {
+    @ApiResponse(responseCode = "200",
+            content = @Content(schema = @Schema(implementation = ListBankAccountsResponse.class)))
+    public void listAccounts(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            HttpServletResponse response) {
         log.info("List accounts request for user: {}", currentUser.getUserId());
-        return accountService.listAccounts(currentUser.getUserId());
+        ListingResponse listing = listingJsonWriter.open(response);
+        accountService.streamAccounts(currentUser.getUserId(), listing::writeAccounts);
+        listing.send();
     }
 
     @GetMapping("/{accountNumber}")
     @PreAuthorize("@securityService.ownsAccount(#accountNumber)")
-    public BankAccountResponse getAccountByAccountNumber(
+    public ResponseEntity<BankAccountResponse> getAccountByAccountNumber(
             @PathVariable String accountNumber,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal CustomUserDetails currentUser) {
         log.info("Get account request for accountNumber: {} by user: {}", accountNumber, currentUser.getUserId());
-        return accountService.getAccountByAccountNumber(currentUser.getUserId(), accountNumber);
+
+        // Answer revalidation from the version column alone; only load the account when it changed
+        Optional<Integer> currentVersion = accountService.findAccountVersion(accountNumber);
+        if (currentVersion.isPresent()) {
+            String eTag = ETags.of(accountNumber, currentVersion.get());
+            if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(REVALIDATE)
+                        .build();
+            }
+        }
+
+        BankAccountResponse response = accountService.getAccountByAccountNumber(currentUser.getUserId(), accountNumber,
+                currentVersion.orElse(null));
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(ETags.of(accountNumber, response.version()))
+                .body(response);
     }
 
     @PatchMapping("/{accountNumber}")
     @PreAuthorize("@securityService.ownsAccount(#accountNumber)")
-    public BankAccountResponse updateAccount(
+    public ResponseEntity<BankAccountResponse> updateAccount(
             @PathVariable String accountNumber,
             @Valid @RequestBody UpdateBankAccountRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal CustomUserDetails currentUser) {
         log.info("Update account request for accountNumber: {} by user: {}", accountNumber, currentUser.getUserId());
-        return accountService.updateAccount(currentUser.getUserId(), accountNumber, request);
+        BankAccountResponse response = accountService.updateAccount(currentUser.getUserId(), accountNumber, request,
+                ETags.parseIfMatch(ifMatch, accountNumber));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(accountNumber, response.version()))
+                .body(response);
     }
 
     @DeleteMapping("/{accountNumber}")
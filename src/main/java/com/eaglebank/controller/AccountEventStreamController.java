@@ -0,0 +1,43 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.dto.response.AccountBalanceEvent;
+import com.eaglebank.security.CustomUserDetails;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.stream.AccountEventBroadcaster;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/accounts/{accountNumber}/events")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Accounts")
+public class AccountEventStreamController {
+
+    private final AccountEventBroadcaster accountEventBroadcaster;
+    private final AccountService accountService;
+
+    /**
+     * Pushes a {@code balance} event straight away, then a {@code transaction} and a {@code balance}
+     * event for every committed posting. Ownership is checked once, here; the stream is not re-authorized.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@securityService.ownsAccount(#accountNumber)")
+    public SseEmitter streamEvents(
+            @PathVariable String accountNumber,
+            @AuthenticationPrincipal CustomUserDetails currentUser) {
+        log.info("GET /v1/accounts/{}/events - Opening event stream", accountNumber);
+        String userId = currentUser.getUserId();
+        return accountEventBroadcaster.subscribe(accountNumber,
+                () -> AccountBalanceEvent.from(accountService.getAccountByAccountNumber(userId, accountNumber)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.dto.response.ListDailyAccountRollupsResponse;
+import com.eaglebank.security.CustomUserDetails;
+import com.eaglebank.service.DailyRollupService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/v1/accounts/{accountNumber}/rollups")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Accounts")
+public class AccountRollupController {
+
+    private final DailyRollupService dailyRollupService;
+
+    @GetMapping
+    @PreAuthorize("@securityService.ownsAccount(#accountNumber)")
+    public ListDailyAccountRollupsResponse listRollups(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal CustomUserDetails currentUser) {
+        log.info("List rollups request for accountNumber: {} by user: {}", accountNumber, currentUser.getUserId());
+        return dailyRollupService.listRollups(accountNumber, from, to);
+    }
+}
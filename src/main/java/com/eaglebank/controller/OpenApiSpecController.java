@@ -0,0 +1,83 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.config.OpenApiSpecConfig;
+import com.eaglebank.util.ETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Serves the hand-maintained {@code openapi.yaml} from the classpath in place of springdoc's runtime
+ * generation. Both representations are built once at startup and revalidated by ETag.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "eaglebank.openapi", name = "static-spec", havingValue = "true", matchIfMissing = true)
+@Hidden
+@Slf4j
+public class OpenApiSpecController {
+
+    private static final MediaType APPLICATION_YAML = MediaType.parseMediaType("application/yaml");
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private final byte[] yaml;
+    private final byte[] json;
+    private final String yamlETag;
+    private final String jsonETag;
+
+    public OpenApiSpecController(OpenApiSpecConfig openApiSpecConfig, ResourceLoader resourceLoader,
+                                 ObjectMapper objectMapper) throws IOException {
+        Resource spec = resourceLoader.getResource(openApiSpecConfig.getLocation());
+        this.yaml = spec.getContentAsByteArray();
+        this.json = objectMapper.writeValueAsBytes(new YAMLMapper().readTree(yaml));
+        this.yamlETag = ETags.of("openapi-yaml-" + digest(yaml));
+        this.jsonETag = ETags.of("openapi-json-" + digest(json));
+        log.info("Serving static OpenAPI spec from {}", openApiSpecConfig.getLocation());
+    }
+
+    @GetMapping("/v3/api-docs.yaml")
+    public ResponseEntity<byte[]> yaml(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return serve(yaml, yamlETag, APPLICATION_YAML, ifNoneMatch);
+    }
+
+    @GetMapping("/v3/api-docs")
+    public ResponseEntity<byte[]> json(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return serve(json, jsonETag, MediaType.APPLICATION_JSON, ifNoneMatch);
+    }
+
+    private ResponseEntity<byte[]> serve(byte[] body, String eTag, MediaType contentType, String ifNoneMatch) {
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .body(body);
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.controller.support.ListingJsonWriter;
+import com.eaglebank.controller.support.ListingResponse;
 import com.eaglebank.dto.request.CreateTransactionRequest;
 import com.eaglebank.dto.response.ListTransactionsResponse;
 import com.eaglebank.dto.response.TransactionResponse;
 import com.eaglebank.security.CustomUserDetails;
 import com.eaglebank.service.TransactionService;
+import com.eaglebank.util.ETags;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,7 +30,11 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Transactions")
 public class TransactionController {
 
+    // Transactions never change once written, so clients may keep them for as long as they like
+    private static final String IMMUTABLE_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
     private final TransactionService transactionService;
+    private final ListingJsonWriter listingJsonWriter;
 
     @PostMapping
     @PreAuthorize("@securityService.ownsAccount(#accountNumber)")
@@ -38,13 +50,17 @@ public class TransactionController {
 
     @GetMapping
     @PreAuthorize("@securityService.ownsAccount(#accountNumber)")
-    public ResponseEntity<ListTransactionsResponse> listTransactions(
+    @ApiResponse(responseCode = "200",
+            content = @Content(schema = @Schema(implementation = ListTransactionsResponse.class)))
+    public void listTransactions(
             @PathVariable String accountNumber,
-            @AuthenticationPrincipal CustomUserDetails currentUser) {
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            HttpServletResponse response) {
         log.info("GET /v1/accounts/{}/transactions - Listing transactions", accountNumber);
         String userId = currentUser.getUserId();
-        ListTransactionsResponse response = transactionService.listTransactions(accountNumber, userId);
-        return ResponseEntity.ok(response);
+        ListingResponse listing = listingJsonWriter.open(response);
+        transactionService.streamTransactions(accountNumber, userId, listing::writeTransactions);
+        listing.send();
     }
 
     @GetMapping("/{transactionId}")
@@ -56,7 +72,10 @@ public class TransactionController {
         log.info("GET /v1/accounts/{}/transactions/{} - Getting transaction", accountNumber, transactionId);
         String userId = currentUser.getUserId();
         TransactionResponse response = transactionService.getTransaction(accountNumber, transactionId, userId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL)
+                .eTag(ETags.of(response.id()))
+                .body(response);
     }
 }
 
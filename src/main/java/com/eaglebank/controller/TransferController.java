@@ -0,0 +1,38 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.dto.request.CreateTransferRequest;
+import com.eaglebank.dto.response.TransferResponse;
+import com.eaglebank.security.CustomUserDetails;
+import com.eaglebank.service.TransactionService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/accounts/{accountNumber}/transfers")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Transfers")
+public class TransferController {
+
+    private final TransactionService transactionService;
+
+    // Only the source account has to belong to the caller; any existing account can receive
+    @PostMapping
+    @PreAuthorize("@securityService.ownsAccount(#accountNumber)")
+    public ResponseEntity<TransferResponse> createTransfer(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody CreateTransferRequest request,
+            @AuthenticationPrincipal CustomUserDetails currentUser) {
+        log.info("POST /v1/accounts/{}/transfers - Creating transfer", accountNumber);
+        String userId = currentUser.getUserId();
+        TransferResponse response = transactionService.createTransfer(accountNumber, request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
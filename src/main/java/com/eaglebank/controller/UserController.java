@@ -2,18 +2,26 @@ package com.eaglebank.controller;
 
 import com.eaglebank.dto.request.CreateUserRequest;
 import com.eaglebank.dto.request.UpdateUserRequest;
+import com.eaglebank.dto.response.DashboardResponse;
 import com.eaglebank.dto.response.UserResponse;
 import com.eaglebank.security.CustomUserDetails;
+import com.eaglebank.service.DashboardService;
 import com.eaglebank.service.UserService;
+import com.eaglebank.util.ETags;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/v1/users")
 @RequiredArgsConstructor
@@ -21,7 +29,10 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Users")
 public class UserController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
+    private final DashboardService dashboardService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -32,21 +43,52 @@ public class UserController {
 
     @GetMapping("/{userId}")
     @PreAuthorize("@securityService.isOwner(#userId)")
-    public UserResponse getUserById(
+    public ResponseEntity<UserResponse> getUserById(
             @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal CustomUserDetails currentUser) {
         log.info("Get user request for userId: {} by user: {}", userId, currentUser.getUserId());
-        return userService.getUserById(userId);
+
+        // Answer revalidation from the version column alone; only load the user when it changed
+        Optional<Integer> currentVersion = userService.findUserVersion(userId);
+        if (currentVersion.isPresent()) {
+            String eTag = ETags.of(userId, currentVersion.get());
+            if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(REVALIDATE)
+                        .build();
+            }
+        }
+
+        UserResponse response = userService.getUserById(userId);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(ETags.of(userId, response.version()))
+                .body(response);
+    }
+
+    @GetMapping("/{userId}/dashboard")
+    @PreAuthorize("@securityService.isOwner(#userId)")
+    public DashboardResponse getDashboard(
+            @PathVariable String userId,
+            @AuthenticationPrincipal CustomUserDetails currentUser) {
+        log.info("Dashboard request for userId: {} by user: {}", userId, currentUser.getUserId());
+        return dashboardService.getDashboard(userId);
     }
 
     @PatchMapping("/{userId}")
     @PreAuthorize("@securityService.isOwner(#userId)")
-    public UserResponse updateUser(
+    public ResponseEntity<UserResponse> updateUser(
             @PathVariable String userId,
             @Valid @RequestBody UpdateUserRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal CustomUserDetails currentUser) {
         log.info("Update user request for userId: {} by user: {}", userId, currentUser.getUserId());
-        return userService.updateUser(userId, request);
+        UserResponse response = userService.updateUser(userId, request, ETags.parseIfMatch(ifMatch, userId));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(userId, response.version()))
+                .body(response);
     }
 
     @DeleteMapping("/{userId}")
@@ -0,0 +1,85 @@
+package com.eaglebank.controller.support;
+
+import com.eaglebank.config.ListingConfig;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes listing responses element by element, using writers resolved once at startup, so large
+ * listings never materialise a {@code List} or a full JSON tree. The output is byte-for-byte what
+ * Jackson would produce for the equivalent {@code List*Response}. Servlet responses go through a
+ * {@link ListingResponse}, which bounds how long a slow client can hold the listing's transaction.
+ */
+@Component
+public class ListingJsonWriter {
+
+    private final ObjectMapper objectMapper;
+    private final ListingConfig listingConfig;
+    private final ObjectWriter transactionWriter;
+    private final ObjectWriter accountWriter;
+
+    public ListingJsonWriter(ObjectMapper objectMapper, ListingConfig listingConfig) {
+        this.objectMapper = objectMapper;
+        this.listingConfig = listingConfig;
+        this.transactionWriter = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.accountWriter = objectMapper.writerFor(BankAccountResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public ListingResponse open(HttpServletResponse response) {
+        return new ListingResponse(this, response, (int) listingConfig.getBufferSize().toBytes(),
+                listingConfig.getWriteTimeout());
+    }
+
+    public void writeTransactions(OutputStream out, Stream<TransactionResponse> transactions) throws IOException {
+        write(out, "transactions", transactionWriter, transactions);
+    }
+
+    void writeTransactions(HttpServletResponse response, OutputStream body, Stream<TransactionResponse> transactions) {
+        write(response, body, "transactions", transactionWriter, transactions);
+    }
+
+    void writeAccounts(HttpServletResponse response, OutputStream body, Stream<BankAccountResponse> accounts) {
+        write(response, body, "accounts", accountWriter, accounts);
+    }
+
+    private void write(HttpServletResponse response, OutputStream body, String fieldName, ObjectWriter writer,
+                       Stream<?> elements) {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            write(body, fieldName, writer, elements);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(OutputStream out, String fieldName, ObjectWriter writer, Stream<?> elements) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(fieldName);
+            Iterator<?> iterator = elements.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.eaglebank.controller.support;
+
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * One listing response, opened with {@link ListingJsonWriter#open(HttpServletResponse)}. The listing is
+ * written from inside the read transaction, but held in memory up to {@code eaglebank.listing.buffer-size}
+ * and only sent by {@link #send()} once that transaction is over, so a listing that fits never keeps a
+ * database connection waiting on the client.
+ * <p>
+ * A larger listing streams to the client from the moment it outgrows the buffer. Each write then
+ * checks {@code write-timeout}, counted from that moment, and a client still reading when it passes
+ * has its response cut off, which ends the transaction. A single write blocked on a client that has
+ * stopped reading is bounded by the servlet container's own write timeout.
+ */
+public final class ListingResponse {
+
+    private final ListingJsonWriter writer;
+    private final HttpServletResponse response;
+    private final BufferingOutputStream body;
+
+    ListingResponse(ListingJsonWriter writer, HttpServletResponse response, int bufferSize, Duration writeTimeout) {
+        this.writer = writer;
+        this.response = response;
+        this.body = new BufferingOutputStream(bufferSize, writeTimeout);
+    }
+
+    public void writeTransactions(Stream<TransactionResponse> transactions) {
+        writer.writeTransactions(response, body, transactions);
+    }
+
+    public void writeAccounts(Stream<BankAccountResponse> accounts) {
+        writer.writeAccounts(response, body, accounts);
+    }
+
+    /**
+     * Sends a listing that stayed within the buffer. Call it after the transaction that wrote the listing
+     * has ended, and only if it succeeded.
+     */
+    public void send() {
+        try {
+            body.send();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class BufferingOutputStream extends OutputStream {
+
+        private final int bufferSize;
+        private final Duration writeTimeout;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream client;
+        private long deadline;
+
+        private BufferingOutputStream(int bufferSize, Duration writeTimeout) {
+            this.bufferSize = bufferSize;
+            this.writeTimeout = writeTimeout;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (client == null && buffer.size() + length <= bufferSize) {
+                buffer.write(bytes, offset, length);
+                return;
+            }
+            if (client == null) {
+                // Too big to hold: everything from here goes out while the transaction is still open
+                client = response.getOutputStream();
+                deadline = System.nanoTime() + writeTimeout.toNanos();
+                buffer.writeTo(client);
+                buffer.reset();
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IOException("Listing not taken by the client within " + writeTimeout);
+            }
+            client.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (client != null) {
+                client.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (client != null) {
+                client.close();
+            }
+        }
+
+        private void send() throws IOException {
+            if (client == null) {
+                response.setContentLength(buffer.size());
+                buffer.writeTo(response.getOutputStream());
+            }
+        }
+    }
+}
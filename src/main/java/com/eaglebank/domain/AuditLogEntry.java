@@ -0,0 +1,42 @@
+package com.eaglebank.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of the audit trail. Rows are only ever inserted, in batches, by
+ * {@link com.eaglebank.audit.JdbcAuditSink}; the entity is here to define the table.
+ */
+@Entity
+@Table(name = "audit_log",
+        indexes = @Index(name = "idx_audit_log_actor_occurred_at", columnList = "actor_user_id, occurred_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, length = 40)
+    private String action;
+
+    @Column(name = "actor_user_id", nullable = false, length = 50)
+    private String actorUserId;
+
+    @Column(name = "resource_id", nullable = false, length = 50)
+    private String resourceId;
+
+    @Column(name = "account_number", length = 8)
+    private String accountNumber;
+}
@@ -6,11 +6,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -20,12 +24,18 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bank-accounts")
+@NaturalIdCache(region = "bank-account-natural-ids")
+// Closing an account only marks it; ClosedAccountPurgeJob removes its history and then the row.
+// Not @SoftDelete, which forbids the lazy to-one associations transactions and rollups keep to accounts.
+@SQLRestriction("deleted = FALSE")
 public class BankAccount {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false, length = 8)
     private String accountNumber;  // Format: 01XXXXXX
 
@@ -41,7 +51,7 @@ public class BankAccount {
 
     @Column(nullable = false, precision = 19, scale = 2)
     @Builder.Default
-    private BigDecimal balance = BigDecimal.ZERO;
+    private Money balance = Money.ZERO;
 
     @Column(nullable = false, length = 3)
     private String currency;  // GBP
@@ -53,6 +63,10 @@ public class BankAccount {
     @Version
     private Integer version;
 
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean deleted = false;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -65,23 +79,27 @@ public class BankAccount {
         PERSONAL
     }
 
-    public void deposit(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void deposit(Money amount) {
+        if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
-        this.balance = this.balance.add(amount);
+        this.balance = this.balance.plus(amount);
     }
 
-    public void withdraw(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void withdraw(Money amount) {
+        if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
-        if (this.balance.compareTo(amount) < 0) {
+        if (this.balance.isLessThan(amount)) {
             throw new InsufficientFundsException(
                 "Insufficient funds. Available balance: " + this.balance + ", requested: " + amount
             );
         }
-        this.balance = this.balance.subtract(amount);
+        this.balance = this.balance.minus(amount);
+    }
+
+    public void close() {
+        this.deleted = true;
     }
 
     public void updateName(String newName) {
@@ -0,0 +1,62 @@
+package com.eaglebank.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per-account, per-day aggregate of postings, maintained incrementally alongside each transaction.
+ */
+@Entity
+@Table(name = "daily_account_rollups",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "rollup_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyAccountRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private BankAccount account;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private Money depositTotal = Money.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private Money withdrawalTotal = Money.ZERO;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long transactionCount = 0;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private Money closingBalance = Money.ZERO;
+
+    @Version
+    private Integer version;
+
+    public void apply(Transaction.TransactionType type, Money amount, Money balanceAfter) {
+        if (type == Transaction.TransactionType.DEPOSIT) {
+            this.depositTotal = this.depositTotal.plus(amount);
+        } else if (type == Transaction.TransactionType.WITHDRAWAL) {
+            this.withdrawalTotal = this.withdrawalTotal.plus(amount);
+        }
+        this.transactionCount++;
+        this.closingBalance = balanceAfter;
+    }
+}
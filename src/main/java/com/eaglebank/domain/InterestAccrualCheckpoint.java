@@ -0,0 +1,52 @@
+package com.eaglebank.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one id-range partition of an interest accrual run. Advanced in the same transaction as
+ * each chunk of postings, so a restarted run carries on after the last committed chunk and never
+ * accrues an account twice for the same day.
+ */
+@Entity
+@Table(name = "interest_accrual_checkpoints",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"accrual_date", "partition_no"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterestAccrualCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partitionNo;
+
+    // Inclusive bank account id bounds, fixed when the run is planned
+    @Column(name = "range_start", nullable = false)
+    private long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private long rangeEnd;
+
+    // Highest account id already processed; rangeStart - 1 until the first chunk commits
+    @Column(name = "last_account_id", nullable = false)
+    private long lastAccountId;
+
+    @Column(name = "accounts_accrued", nullable = false)
+    private long accountsAccrued;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,72 @@
+package com.eaglebank.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * An amount as a whole number of minor units (pence, cents), the two decimal places every amount column
+ * has. The currency is kept beside it, as it is on the entities.
+ * <p>
+ * Postings add, subtract and compare {@code long}s instead of allocating a {@link BigDecimal} for every
+ * intermediate value. Arithmetic that would overflow throws {@link ArithmeticException}. Amounts are
+ * converted to and from {@link BigDecimal} only at the edges: the JSON API, JDBC and exchange-rate
+ * conversion. Serializable because the second-level cache stores entity state that holds it.
+ */
+public record Money(long minorUnits) implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than two decimal places or is out of range
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -5,14 +5,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * A posting. Rows are handled in months of {@code createdAt}: listings seek to an account's months not
+ * yet archived through the account and date index, and {@code TransactionArchivalJob} finds, copies and
+ * deletes whole months through the date index.
+ */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+        indexes = {
+                @Index(name = "idx_transactions_transfer_id", columnList = "transfer_id"),
+                @Index(name = "idx_transactions_account_created_at", columnList = "account_id, created_at desc"),
+                @Index(name = "idx_transactions_created_at", columnList = "created_at")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,10 +39,21 @@ public class Transaction {
     private String transactionId;  // Format: tan-xxx
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Column(nullable = false, length = 3)
-    private String currency;  // GBP
+    private String currency;  // ISO 4217, not necessarily the account's
+
+    // What the posting moved on the account, in the account's currency
+    @Column(precision = 19, scale = 2)
+    private Money accountAmount;
+
+    // Account currency per unit of currency, and the rate table version it came from; null when not converted
+    @Column(precision = 19, scale = 8)
+    private BigDecimal fxRate;
+
+    @Column(length = 32)
+    private String fxRateVersion;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
@@ -40,6 +62,9 @@ public class Transaction {
     @Column(length = 255)
     private String reference;
 
+    @Column(length = 50)
+    private String transferId;  // Format: tfr-xxx, shared by the debit and credit of a transfer
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
     private BankAccount account;
@@ -48,10 +73,20 @@ public class Transaction {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Included in the WHERE of every update and delete, so a database partitioned by month prunes to one
+    @PartitionKey
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * The amount applied to the account balance. Rows written before multi-currency postings have no
+     * {@code accountAmount}, and were always in the account's currency.
+     */
+    public Money amountInAccountCurrency() {
+        return accountAmount != null ? accountAmount : amount;
+    }
+
     public enum TransactionType {
         DEPOSIT,
         WITHDRAWAL
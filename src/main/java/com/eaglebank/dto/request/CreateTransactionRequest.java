@@ -14,7 +14,7 @@ public record CreateTransactionRequest(
         BigDecimal amount,
 
         @NotNull(message = "Currency is required")
-        @Pattern(regexp = "GBP", message = "Currency must be 'GBP'")
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
         String currency,
 
         @NotNull(message = "Transaction type is required")
@@ -0,0 +1,26 @@
+package com.eaglebank.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record CreateTransferRequest(
+        @NotNull(message = "Destination account number is required")
+        @Pattern(regexp = "^01\\d{6}$", message = "Destination account number must match 01xxxxxx")
+        String toAccountNumber,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+        @DecimalMax(value = "10000.00", message = "Amount must not exceed 10000.00")
+        @Digits(integer = 5, fraction = 2, message = "Amount must have up to 2 decimal places")
+        BigDecimal amount,
+
+        @NotNull(message = "Currency is required")
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+        String currency,
+
+        String reference
+) {
+}
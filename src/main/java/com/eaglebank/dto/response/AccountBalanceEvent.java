@@ -0,0 +1,18 @@
+package com.eaglebank.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance pushed on the account event stream: once on subscribe, then after every committed posting
+ * ({@code transactionId} names the posting that produced it and is absent on the initial snapshot).
+ */
+public record AccountBalanceEvent(
+        String accountNumber,
+        BigDecimal balance,
+        String currency,
+        String transactionId
+) {
+    public static AccountBalanceEvent from(BankAccountResponse account) {
+        return new AccountBalanceEvent(account.accountNumber(), account.balance(), account.currency(), null);
+    }
+}
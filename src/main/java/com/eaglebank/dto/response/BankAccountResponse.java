@@ -1,6 +1,7 @@
 package com.eaglebank.dto.response;
 
 import com.eaglebank.domain.BankAccount;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 
 import java.math.BigDecimal;
@@ -15,7 +16,8 @@ public record BankAccountResponse(
         BigDecimal balance,
         String currency,
         LocalDateTime createdTimestamp,
-        LocalDateTime updatedTimestamp
+        LocalDateTime updatedTimestamp,
+        @JsonIgnore Integer version  // exposed as the ETag, not in the body
 ) {
     public static BankAccountResponse from(BankAccount account) {
         if (account == null) {
@@ -26,10 +28,11 @@ public record BankAccountResponse(
                 account.getSortCode(),
                 account.getName(),
                 account.getAccountType().name().toLowerCase(),
-                account.getBalance(),
+                account.getBalance().toBigDecimal(),
                 account.getCurrency(),
                 account.getCreatedAt(),
-                account.getUpdatedAt()
+                account.getUpdatedAt(),
+                account.getVersion()
         );
     }
 }
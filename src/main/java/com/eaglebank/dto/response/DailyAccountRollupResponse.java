@@ -0,0 +1,29 @@
+package com.eaglebank.dto.response;
+
+import com.eaglebank.domain.DailyAccountRollup;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record DailyAccountRollupResponse(
+        LocalDate date,
+        BigDecimal depositTotal,
+        BigDecimal withdrawalTotal,
+        long transactionCount,
+        BigDecimal closingBalance
+) {
+    public static DailyAccountRollupResponse from(DailyAccountRollup rollup) {
+        if (rollup == null) {
+            return null;
+        }
+        return new DailyAccountRollupResponse(
+                rollup.getRollupDate(),
+                rollup.getDepositTotal().toBigDecimal(),
+                rollup.getWithdrawalTotal().toBigDecimal(),
+                rollup.getTransactionCount(),
+                rollup.getClosingBalance().toBigDecimal()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.eaglebank.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record DashboardAccountResponse(
+        BankAccountResponse account,
+        List<TransactionResponse> recentTransactions  // newest first
+) {
+}
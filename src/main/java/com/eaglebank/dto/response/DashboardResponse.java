@@ -0,0 +1,12 @@
+package com.eaglebank.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record DashboardResponse(
+        UserResponse user,
+        List<DashboardAccountResponse> accounts
+) {
+}
@@ -0,0 +1,11 @@
+package com.eaglebank.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ListDailyAccountRollupsResponse(
+        List<DailyAccountRollupResponse> rollups
+) {
+}
@@ -1,5 +1,6 @@
 package com.eaglebank.dto.response;
 
+import com.eaglebank.domain.Money;
 import com.eaglebank.domain.Transaction;
 import lombok.Builder;
 
@@ -14,20 +15,42 @@ public record TransactionResponse(
         String type,
         String reference,
         String userId,
-        LocalDateTime createdTimestamp
+        LocalDateTime createdTimestamp,
+        // Only set when the posting was converted into the account's currency
+        BigDecimal accountAmount,
+        BigDecimal fxRate,
+        String fxRateVersion
 ) {
+    public TransactionResponse(String id, BigDecimal amount, String currency, Transaction.TransactionType type,
+                               String reference, String userId, LocalDateTime createdTimestamp,
+                               BigDecimal accountAmount, BigDecimal fxRate, String fxRateVersion) {
+        this(id, amount, currency, type.name().toLowerCase(), reference, userId, createdTimestamp,
+                fxRate != null ? accountAmount : null, fxRate, fxRateVersion);
+    }
+
+    // Used by JPQL constructor projections, which select the entity's Money attributes and cannot lower-case the enum
+    public TransactionResponse(String id, Money amount, String currency, Transaction.TransactionType type,
+                               String reference, String userId, LocalDateTime createdTimestamp,
+                               Money accountAmount, BigDecimal fxRate, String fxRateVersion) {
+        this(id, amount.toBigDecimal(), currency, type, reference, userId, createdTimestamp,
+                fxRate != null ? accountAmount.toBigDecimal() : null, fxRate, fxRateVersion);
+    }
+
     public static TransactionResponse from(Transaction transaction) {
         if (transaction == null) {
             return null;
         }
         return new TransactionResponse(
                 transaction.getTransactionId(),
-                transaction.getAmount(),
+                transaction.getAmount().toBigDecimal(),
                 transaction.getCurrency(),
                 transaction.getType().name().toLowerCase(),
                 transaction.getReference(),
                 transaction.getUser().getUserId(),
-                transaction.getCreatedAt()
+                transaction.getCreatedAt(),
+                transaction.getFxRate() != null ? transaction.getAccountAmount().toBigDecimal() : null,
+                transaction.getFxRate(),
+                transaction.getFxRateVersion()
         );
     }
 }
@@ -0,0 +1,22 @@
+package com.eaglebank.dto.response;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Only the caller's side of the transfer is returned: the credit belongs to the destination
+ * account, which may well be someone else's.
+ */
+@Builder
+public record TransferResponse(
+        String id,
+        String fromAccountNumber,
+        String toAccountNumber,
+        BigDecimal amount,
+        String currency,
+        TransactionResponse debit,
+        LocalDateTime createdTimestamp
+) {
+}
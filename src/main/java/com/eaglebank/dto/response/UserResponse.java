@@ -1,6 +1,7 @@
 package com.eaglebank.dto.response;
 
 import com.eaglebank.domain.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 
 import java.time.LocalDateTime;
@@ -13,7 +14,8 @@ public record UserResponse(
         String phoneNumber,
         AddressResponse address,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        @JsonIgnore Integer version  // exposed as the ETag, not in the body
 ) {
     public static UserResponse from(User user) {
         if (user == null) {
@@ -26,7 +28,8 @@ public record UserResponse(
                 user.getPhoneNumber(),
                 AddressResponse.from(user.getAddress()),
                 user.getCreatedAt(),
-                user.getUpdatedAt()
+                user.getUpdatedAt(),
+                user.getVersion()
         );
     }
 }
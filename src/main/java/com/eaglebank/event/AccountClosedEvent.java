@@ -0,0 +1,8 @@
+package com.eaglebank.event;
+
+/**
+ * Published inside the transaction that closes an account; open event streams for it are ended once
+ * that transaction commits.
+ */
+public record AccountClosedEvent(String accountNumber) {
+}
@@ -0,0 +1,16 @@
+package com.eaglebank.event;
+
+import com.eaglebank.dto.response.TransactionResponse;
+
+import java.math.BigDecimal;
+
+/**
+ * Published inside the posting transaction; listeners that touch anything outside the database
+ * should use {@code @TransactionalEventListener} so they only see committed postings.
+ */
+public record TransactionPostedEvent(
+        String accountNumber,
+        TransactionResponse transaction,
+        BigDecimal balanceAfter
+) {
+}
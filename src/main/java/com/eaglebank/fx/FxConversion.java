@@ -0,0 +1,16 @@
+package com.eaglebank.fx;
+
+import com.eaglebank.domain.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount in the account's currency, with the rate and rate version it was converted at.
+ * Rate and version are null when the posting was already in the account's currency.
+ */
+public record FxConversion(Money amount, BigDecimal rate, String rateVersion) {
+
+    public boolean converted() {
+        return rate != null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.eaglebank.fx;
+
+import com.eaglebank.domain.Money;
+import com.eaglebank.exception.UnprocessableEntityException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One load of the rate table. Every cross rate is worked out when the snapshot is built, so a
+ * conversion is two map lookups and a multiply. Never mutated: {@link FxRateTable} swaps in a new
+ * snapshot on refresh, and a posting that already holds this one keeps a consistent set of rates.
+ */
+public final class FxRateSnapshot {
+
+    static final int RATE_SCALE = 8;
+
+    private final String version;
+    private final Instant loadedAt;
+    private final Map<String, Map<String, BigDecimal>> crossRates;
+
+    private FxRateSnapshot(String version, Instant loadedAt, Map<String, Map<String, BigDecimal>> crossRates) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.crossRates = crossRates;
+    }
+
+    /**
+     * @param baseRates units of the base currency for one unit of each currency
+     */
+    public static FxRateSnapshot of(String version, Map<String, BigDecimal> baseRates, Instant loadedAt) {
+        Map<String, Map<String, BigDecimal>> crossRates = new HashMap<>();
+        for (Map.Entry<String, BigDecimal> from : baseRates.entrySet()) {
+            Map<String, BigDecimal> row = new HashMap<>();
+            for (Map.Entry<String, BigDecimal> to : baseRates.entrySet()) {
+                if (!from.getKey().equals(to.getKey())) {
+                    row.put(to.getKey(), from.getValue()
+                            .divide(to.getValue(), MathContext.DECIMAL64)
+                            .setScale(RATE_SCALE, RoundingMode.HALF_EVEN));
+                }
+            }
+            crossRates.put(from.getKey(), Map.copyOf(row));
+        }
+        return new FxRateSnapshot(version, loadedAt, Map.copyOf(crossRates));
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public Set<String> currencies() {
+        return crossRates.keySet();
+    }
+
+    /**
+     * Converts {@code amount} in {@code from} into {@code to}, rounded half-even to pennies.
+     */
+    public FxConversion convert(Money amount, String from, String to) {
+        if (from.equals(to)) {
+            return new FxConversion(amount, null, null);
+        }
+        Map<String, BigDecimal> row = crossRates.get(from);
+        BigDecimal rate = row != null ? row.get(to) : null;
+        if (rate == null) {
+            throw new UnprocessableEntityException("No exchange rate from " + from + " to " + to);
+        }
+        Money converted = Money.of(amount.toBigDecimal().multiply(rate).setScale(Money.SCALE, RoundingMode.HALF_EVEN));
+        if (!converted.isPositive()) {
+            throw new UnprocessableEntityException(
+                    "Amount " + amount + " " + from + " is worth less than 0.01 " + to);
+        }
+        return new FxConversion(converted, rate, version);
+    }
+}
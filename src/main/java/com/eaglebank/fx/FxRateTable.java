@@ -0,0 +1,134 @@
+package com.eaglebank.fx;
+
+import com.eaglebank.config.FxConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the current {@link FxRateSnapshot}, loaded from {@code eaglebank.fx.rates-location}.
+ * Postings read the snapshot through a volatile field, so conversion never touches the database or
+ * waits on a refresh. The file is re-read every {@code refresh-interval} and a new snapshot swapped
+ * in only when its content changed; a file that fails to parse leaves the current rates in place.
+ * <p>
+ * The rate version is the start of the file's SHA-256, so the same rates carry the same version on
+ * every node and across restarts.
+ */
+@Component
+@Slf4j
+public class FxRateTable {
+
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+
+    private final FxConfig fxConfig;
+    private final ResourceLoader resourceLoader;
+    private volatile FxRateSnapshot current;
+
+    public FxRateTable(FxConfig fxConfig, ResourceLoader resourceLoader) {
+        this.fxConfig = fxConfig;
+        this.resourceLoader = resourceLoader;
+        // Fail startup rather than run without rates
+        refresh();
+    }
+
+    public FxRateSnapshot current() {
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "#{@fxConfig.refreshInterval.toMillis()}",
+            initialDelayString = "#{@fxConfig.refreshInterval.toMillis()}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("FX rate refresh failed, keeping rate version {}", current.version(), e);
+        }
+    }
+
+    /**
+     * Re-reads the rate table and swaps in a new snapshot if it changed.
+     *
+     * @return whether a new snapshot was installed
+     */
+    public synchronized boolean refresh() {
+        byte[] content = read();
+        String version = versionOf(content);
+        if (current != null && current.version().equals(version)) {
+            return false;
+        }
+        Map<String, BigDecimal> baseRates = parse(content);
+        current = FxRateSnapshot.of(version, baseRates, Instant.now());
+        log.info("Loaded FX rate version {} for {}", version, baseRates.keySet());
+        return true;
+    }
+
+    private byte[] read() {
+        Resource resource = resourceLoader.getResource(fxConfig.getRatesLocation());
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read FX rates from " + fxConfig.getRatesLocation(), e);
+        }
+    }
+
+    private Map<String, BigDecimal> parse(byte[] content) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("currency,")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 2 || !CURRENCY.matcher(fields[0].strip()).matches()) {
+                    throw new IllegalStateException("Malformed FX rate on line " + lineNumber + ": " + line);
+                }
+                BigDecimal rate = new BigDecimal(fields[1].strip());
+                if (rate.signum() <= 0) {
+                    throw new IllegalStateException("FX rate must be positive on line " + lineNumber + ": " + line);
+                }
+                rates.put(fields[0].strip(), rate);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        BigDecimal baseRate = rates.get(fxConfig.getBaseCurrency());
+        if (baseRate == null || baseRate.compareTo(BigDecimal.ONE) != 0) {
+            throw new IllegalStateException("FX rate table must list base currency "
+                    + fxConfig.getBaseCurrency() + " at rate 1");
+        }
+        return rates;
+    }
+
+    private static String versionOf(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
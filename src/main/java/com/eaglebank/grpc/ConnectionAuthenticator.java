@@ -0,0 +1,94 @@
+package com.eaglebank.grpc;
+
+import com.eaglebank.security.JwtTokenProvider;
+import io.grpc.Attributes;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerTransportFilter;
+import io.grpc.Status;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Authenticates gRPC calls with the same JWTs the REST API issues, but verifies a token once per
+ * connection rather than once per call. The first call on a connection has its bearer token verified
+ * and the result is kept on the connection; later calls presenting the same token only compare it,
+ * until the token expires. A call presenting a different token is verified afresh and replaces it.
+ * <p>
+ * The authenticated user id is available to services as {@link #USER_ID}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionAuthenticator extends ServerTransportFilter implements ServerInterceptor {
+
+    public static final Context.Key<String> USER_ID = Context.key("eaglebank-user-id");
+
+    static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Attributes.Key<VerifiedConnection> CONNECTION = Attributes.Key.create("eaglebank-connection");
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    public Attributes transportReady(Attributes transportAttrs) {
+        return transportAttrs.toBuilder().set(CONNECTION, new VerifiedConnection()).build();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Bearer token is required"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        String token = authorization.substring(BEARER_PREFIX.length());
+
+        // Absent only if the call did not arrive over a transport, which the server never does
+        VerifiedConnection connection = call.getAttributes().get(CONNECTION);
+        VerifiedToken verified = connection != null ? connection.token : null;
+        if (verified == null || !verified.matches(token)) {
+            try {
+                verified = verify(token);
+            } catch (JwtException e) {
+                log.debug("Rejected gRPC call {}: {}", call.getMethodDescriptor().getFullMethodName(), e.getMessage());
+                call.close(Status.UNAUTHENTICATED.withDescription("Invalid or expired token"), new Metadata());
+                return new ServerCall.Listener<>() {
+                };
+            }
+            if (connection != null) {
+                connection.token = verified;
+            }
+        }
+        return Contexts.interceptCall(Context.current().withValue(USER_ID, verified.userId()), call, headers, next);
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims = jwtTokenProvider.parseClaims(token);
+        return new VerifiedToken(token, claims.getSubject(), claims.getExpiration().toInstant());
+    }
+
+    private static final class VerifiedConnection {
+        // Calls on one connection may arrive on different threads
+        private volatile VerifiedToken token;
+    }
+
+    private record VerifiedToken(String token, String userId, Instant expiresAt) {
+        boolean matches(String presented) {
+            return token.equals(presented) && Instant.now().isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.eaglebank.grpc;
+
+import com.eaglebank.config.GrpcConfig;
+import io.grpc.Grpc;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerCredentials;
+import io.grpc.ServerInterceptors;
+import io.grpc.TlsServerCredentials;
+import io.grpc.inprocess.InProcessServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the gRPC API on {@code eaglebank.grpc.port}, beside the servlet container, or in-process only
+ * when {@code in-process-name} is set. The port only speaks TLS, since every call carries a bearer token,
+ * and refuses to start without {@code tls.certificate-chain} and {@code tls.private-key}. Calls run on
+ * virtual threads, since every one of them blocks on the database. Started once the context is
+ * refreshed and, on shutdown, given {@code shutdown-grace-period} to finish the calls in flight.
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.grpc", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcConfig grpcConfig;
+    private final PostingGrpcService postingGrpcService;
+    private final ConnectionAuthenticator connectionAuthenticator;
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    private ExecutorService executor;
+    private volatile Server server;
+
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = grpcConfig.getInProcessName() != null
+                ? InProcessServerBuilder.forName(grpcConfig.getInProcessName())
+                : Grpc.newServerBuilderForPort(grpcConfig.getPort(), tlsCredentials());
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-", 0).factory());
+        try {
+            // The last interceptor runs first: authenticate, then limit
+            server = builder
+                    .executor(executor)
+                    .maxInboundMessageSize((int) grpcConfig.getMaxInboundMessageSize().toBytes())
+                    .addTransportFilter(connectionAuthenticator)
+                    .addService(ServerInterceptors.intercept(postingGrpcService,
+                            rateLimitInterceptor, connectionAuthenticator))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.close();
+            throw new UncheckedIOException("Unable to start gRPC server on port " + grpcConfig.getPort(), e);
+        }
+        log.info("gRPC server started {}", grpcConfig.getInProcessName() != null
+                ? "in-process as " + grpcConfig.getInProcessName()
+                : "on port " + server.getPort());
+    }
+
+    private ServerCredentials tlsCredentials() {
+        GrpcConfig.Tls tls = grpcConfig.getTls();
+        if (tls.getCertificateChain() == null || tls.getPrivateKey() == null) {
+            throw new IllegalStateException("eaglebank.grpc.tls.certificate-chain and eaglebank.grpc.tls.private-key"
+                    + " are required to open gRPC port " + grpcConfig.getPort());
+        }
+        try {
+            return TlsServerCredentials.create(new File(tls.getCertificateChain()), new File(tls.getPrivateKey()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the gRPC TLS certificate chain or private key", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(grpcConfig.getShutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("gRPC calls still running after {}; cancelling them", grpcConfig.getShutdownGracePeriod());
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
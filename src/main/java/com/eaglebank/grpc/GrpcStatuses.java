@@ -0,0 +1,43 @@
+package com.eaglebank.grpc;
+
+import com.eaglebank.exception.ConflictException;
+import com.eaglebank.exception.ForbiddenException;
+import com.eaglebank.exception.InsufficientFundsException;
+import com.eaglebank.exception.PreconditionFailedException;
+import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.exception.UnauthorizedException;
+import com.eaglebank.exception.UnprocessableEntityException;
+import io.grpc.Status;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+/**
+ * The gRPC counterpart of {@link com.eaglebank.exception.GlobalExceptionHandler}: maps the services'
+ * exceptions to the status a REST client would see, as a gRPC code.
+ */
+final class GrpcStatuses {
+
+    private GrpcStatuses() {
+    }
+
+    static Status from(Throwable e) {
+        return switch (e) {
+            case ResourceNotFoundException notFound -> Status.NOT_FOUND.withDescription(notFound.getMessage());
+            case ForbiddenException forbidden -> Status.PERMISSION_DENIED.withDescription(forbidden.getMessage());
+            case UnauthorizedException unauthorized ->
+                    Status.UNAUTHENTICATED.withDescription(unauthorized.getMessage());
+            case InsufficientFundsException insufficient ->
+                    Status.FAILED_PRECONDITION.withDescription(insufficient.getMessage());
+            case UnprocessableEntityException unprocessable ->
+                    Status.FAILED_PRECONDITION.withDescription(unprocessable.getMessage());
+            case PreconditionFailedException precondition ->
+                    Status.FAILED_PRECONDITION.withDescription(precondition.getMessage());
+            case ConflictException conflict -> Status.ALREADY_EXISTS.withDescription(conflict.getMessage());
+            case OptimisticLockingFailureException ignored ->
+                    Status.ABORTED.withDescription("The resource was modified concurrently, please retry");
+            case PessimisticLockingFailureException ignored ->
+                    Status.ABORTED.withDescription("The resource is busy, please retry");
+            default -> Status.INTERNAL.withDescription("An unexpected error occurred").withCause(e);
+        };
+    }
+}
@@ -0,0 +1,216 @@
+package com.eaglebank.grpc;
+
+import com.eaglebank.domain.Money;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.grpc.v1.ListTransactionsRequest;
+import com.eaglebank.grpc.v1.PostTransactionAck;
+import com.eaglebank.grpc.v1.PostTransactionRequest;
+import com.eaglebank.grpc.v1.PostingError;
+import com.eaglebank.grpc.v1.PostingServiceGrpc;
+import com.eaglebank.grpc.v1.Transaction;
+import com.eaglebank.grpc.v1.TransactionType;
+import com.eaglebank.security.SecurityService;
+import com.eaglebank.service.TransactionService;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC postings and listings over {@link TransactionService}, with the same validation, ownership
+ * checks and results as the REST controllers.
+ * <p>
+ * Postings are a bidirectional stream: each posting is committed on its own, exactly as a
+ * {@code POST /v1/accounts/{accountNumber}/transactions} would be, and acked before the next one is
+ * read. The next posting is only requested while the client keeps up with the acks, so a client that
+ * stops reading them is held back instead of acks piling up in memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostingGrpcService extends PostingServiceGrpc.PostingServiceImplBase {
+
+    private final TransactionService transactionService;
+    private final SecurityService securityService;
+    private final Validator validator;
+
+    @Override
+    public StreamObserver<PostTransactionRequest> postTransactions(StreamObserver<PostTransactionAck> responseObserver) {
+        String userId = ConnectionAuthenticator.USER_ID.get();
+        ServerCallStreamObserver<PostTransactionAck> acks = (ServerCallStreamObserver<PostTransactionAck>) responseObserver;
+        acks.setOnCancelHandler(() -> log.debug("Posting stream cancelled by user: {}", userId));
+
+        // Every callback runs on the call's serialized executor, so none of this state needs guarding
+        ReadyForNext readyForNext = new ReadyForNext(acks);
+        acks.disableAutoRequest();
+        acks.setOnReadyHandler(readyForNext);
+
+        return new StreamObserver<>() {
+            // Ownership of an account cannot change, so each is checked once per stream
+            private final Map<String, Boolean> owned = new HashMap<>();
+
+            @Override
+            public void onNext(PostTransactionRequest posting) {
+                acks.onNext(post(posting, userId, owned));
+                if (acks.isReady()) {
+                    acks.request(1);
+                } else {
+                    readyForNext.waiting();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("Posting stream from user: {} failed: {}", userId, Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                acks.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void listTransactions(ListTransactionsRequest request, StreamObserver<Transaction> responseObserver) {
+        String userId = ConnectionAuthenticator.USER_ID.get();
+        String accountNumber = request.getAccountNumber();
+        ServerCallStreamObserver<Transaction> transactions = (ServerCallStreamObserver<Transaction>) responseObserver;
+        if (!securityService.ownsAccount(userId, accountNumber)) {
+            transactions.onError(Status.PERMISSION_DENIED
+                    .withDescription("Account " + accountNumber + " belongs to another user")
+                    .asRuntimeException());
+            return;
+        }
+
+        try {
+            transactionService.streamTransactions(accountNumber, userId, stream -> stream
+                    .takeWhile(transaction -> !transactions.isCancelled())
+                    .forEach(transaction -> transactions.onNext(toProto(transaction))));
+        } catch (RuntimeException e) {
+            transactions.onError(GrpcStatuses.from(e).asRuntimeException());
+            return;
+        }
+        if (!transactions.isCancelled()) {
+            transactions.onCompleted();
+        }
+    }
+
+    private PostTransactionAck post(PostTransactionRequest posting, String userId, Map<String, Boolean> owned) {
+        PostTransactionAck.Builder ack = PostTransactionAck.newBuilder().setRequestId(posting.getRequestId());
+        String accountNumber = posting.getAccountNumber();
+        if (!owned.computeIfAbsent(accountNumber, number -> securityService.ownsAccount(userId, number))) {
+            return ack.setError(error(Status.PERMISSION_DENIED
+                    .withDescription("Account " + accountNumber + " belongs to another user"))).build();
+        }
+
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .amount(Money.ofMinor(posting.getAmountMinor()).toBigDecimal())
+                .currency(posting.getCurrency())
+                .type(toType(posting.getType()))
+                .reference(posting.getReference().isEmpty() ? null : posting.getReference())
+                .build();
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return ack.setError(error(Status.INVALID_ARGUMENT.withDescription(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "))))).build();
+        }
+
+        try {
+            return ack.setTransaction(toProto(transactionService.createTransaction(accountNumber, request, userId)))
+                    .build();
+        } catch (RuntimeException e) {
+            Status status = GrpcStatuses.from(e);
+            if (status.getCode() == Status.Code.INTERNAL) {
+                log.error("Unexpected error posting {} to account: {}", posting.getRequestId(), accountNumber, e);
+            }
+            return ack.setError(error(status)).build();
+        }
+    }
+
+    private static PostingError error(Status status) {
+        return PostingError.newBuilder()
+                .setCode(status.getCode().name())
+                .setMessage(Objects.requireNonNullElse(status.getDescription(), ""))
+                .build();
+    }
+
+    private static String toType(TransactionType type) {
+        return switch (type) {
+            case TRANSACTION_TYPE_DEPOSIT -> "deposit";
+            case TRANSACTION_TYPE_WITHDRAWAL -> "withdrawal";
+            default -> null;
+        };
+    }
+
+    private static Transaction toProto(TransactionResponse response) {
+        Instant createdAt = response.createdTimestamp().atZone(ZoneId.systemDefault()).toInstant();
+        Transaction.Builder transaction = Transaction.newBuilder()
+                .setId(response.id())
+                .setAmountMinor(Money.of(response.amount()).minorUnits())
+                .setCurrency(response.currency())
+                .setType("deposit".equals(response.type())
+                        ? TransactionType.TRANSACTION_TYPE_DEPOSIT
+                        : TransactionType.TRANSACTION_TYPE_WITHDRAWAL)
+                .setUserId(response.userId())
+                .setCreatedTimestamp(Timestamp.newBuilder()
+                        .setSeconds(createdAt.getEpochSecond())
+                        .setNanos(createdAt.getNano()));
+        if (response.reference() != null) {
+            transaction.setReference(response.reference());
+        }
+        if (response.accountAmount() != null) {
+            transaction.setAccountAmountMinor(Money.of(response.accountAmount()).minorUnits());
+        }
+        if (response.fxRate() != null) {
+            transaction.setFxRate(response.fxRate().toPlainString());
+        }
+        if (response.fxRateVersion() != null) {
+            transaction.setFxRateVersion(response.fxRateVersion());
+        }
+        return transaction.build();
+    }
+
+    /**
+     * Requests the next posting once the client has room for more acks, the pattern grpc-java's manual
+     * flow control example uses: called when the call first becomes ready, and again whenever it
+     * becomes ready after an ack found it full.
+     */
+    private static final class ReadyForNext implements Runnable {
+
+        private final ServerCallStreamObserver<PostTransactionAck> acks;
+        private boolean wasReady;
+
+        ReadyForNext(ServerCallStreamObserver<PostTransactionAck> acks) {
+            this.acks = acks;
+        }
+
+        void waiting() {
+            wasReady = false;
+        }
+
+        @Override
+        public void run() {
+            if (acks.isReady() && !wasReady) {
+                wasReady = true;
+                acks.request(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.eaglebank.grpc;
+
+import com.eaglebank.security.RateLimiter;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@code eaglebank.rate-limit.rules} naming a call's method in {@code grpc-method} to every
+ * message the client sends, drawing on the same per-user buckets as the REST endpoints. A message over
+ * the limit ends the call with {@code RESOURCE_EXHAUSTED} and a {@code retry-after} trailer in seconds;
+ * the messages before it have already been handled.
+ * <p>
+ * Runs after {@link ConnectionAuthenticator}, which provides the user.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> RETRY_AFTER = Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        RateLimiter.Rule rule = rateLimiter.isEnabled()
+                ? rateLimiter.findGrpcRule(call.getMethodDescriptor().getFullMethodName())
+                : null;
+        if (rule == null) {
+            return next.startCall(call, headers);
+        }
+        String clientKey = RateLimiter.userKey(ConnectionAuthenticator.USER_ID.get());
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+            // Listener callbacks are serialized, so this needs no guarding
+            private boolean closed;
+
+            @Override
+            public void onMessage(ReqT message) {
+                if (closed) {
+                    return;
+                }
+                long waitNanos = rateLimiter.tryConsume(rule, clientKey);
+                if (waitNanos == 0) {
+                    super.onMessage(message);
+                    return;
+                }
+                long retryAfterSeconds = Math.max(1,
+                        TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                Metadata trailers = new Metadata();
+                trailers.put(RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                closed = true;
+                call.close(Status.RESOURCE_EXHAUSTED
+                        .withDescription("Rate limit exceeded, retry after " + retryAfterSeconds + " seconds"), trailers);
+            }
+
+            @Override
+            public void onHalfClose() {
+                if (!closed) {
+                    super.onHalfClose();
+                }
+            }
+        };
+    }
+}
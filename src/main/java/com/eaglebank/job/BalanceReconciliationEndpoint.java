@@ -0,0 +1,30 @@
+package com.eaglebank.job;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/reconciliation}: GET reports the progress and mismatches of the latest balance
+ * reconciliation, POST starts one in the background.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class BalanceReconciliationEndpoint {
+
+    private final BalanceReconciliationJob balanceReconciliationJob;
+
+    @ReadOperation
+    public ReconciliationReport report() {
+        return balanceReconciliationJob.report();
+    }
+
+    @WriteOperation
+    public ReconciliationReport start() {
+        balanceReconciliationJob.startInBackground();
+        return balanceReconciliationJob.report();
+    }
+}
@@ -0,0 +1,308 @@
+package com.eaglebank.job;
+
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.ReconciliationConfig;
+import com.eaglebank.shard.ShardContext;
+import com.eaglebank.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks that every account's balance is the signed sum of its transactions, archived ones included.
+ * <p>
+ * The account id space is split into {@code partitions} ranges, reconciled on up to {@code parallelism}
+ * virtual threads. Each range is one read-only, repeatable-read transaction, so its balances and
+ * transactions come from the same snapshot and postings made during the run cannot show up as
+ * mismatches. Within a range, the accounts are read into primitive arrays. The transactions are then
+ * streamed once, ordered by account, through a forward-only cursor with a large fetch size, and summed
+ * in minor units beside the account they belong to. Archived months come from the segment indexes.
+ * Nothing passes through JPA and no amount is held as a {@link BigDecimal} until a mismatch is reported.
+ * <p>
+ * Progress and mismatches are published through the {@code reconciliation} actuator endpoint.
+ */
+@Component
+@Slf4j
+public class BalanceReconciliationJob {
+
+    private static final String ACCOUNT_ID_BOUNDS_SQL = "SELECT MIN(id), MAX(id) FROM bank_accounts";
+
+    private static final String SCAN_ACCOUNTS_SQL = """
+            SELECT id, account_number, CAST(balance * 100 AS BIGINT) AS balance_minor
+            FROM bank_accounts
+            WHERE id BETWEEN ? AND ? AND deleted = FALSE
+            ORDER BY id
+            """;
+
+    // Rows of a month already archived are counted from the archive, even before the job deletes them
+    private static final String SCAN_TRANSACTIONS_SQL = """
+            SELECT account_id,
+                   CAST(CASE WHEN type = 'WITHDRAWAL' THEN -COALESCE(account_amount, amount)
+                             ELSE COALESCE(account_amount, amount) END * 100 AS BIGINT) AS signed_minor
+            FROM transactions
+            WHERE account_id BETWEEN ? AND ? AND created_at >= ?
+            ORDER BY account_id
+            """;
+
+    private static final LocalDateTime NOTHING_ARCHIVED = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int PROGRESS_EVERY_ROWS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionArchive transactionArchive;
+    private final ReconciliationConfig reconciliationConfig;
+    private final ShardRouter shardRouter;
+    private final AtomicReference<Run> latest = new AtomicReference<>();
+
+    public BalanceReconciliationJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    TransactionArchive transactionArchive, ReconciliationConfig reconciliationConfig,
+                                    ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionArchive = transactionArchive;
+        this.reconciliationConfig = reconciliationConfig;
+        this.shardRouter = shardRouter;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "#{@reconciliationConfig.cron}")
+    public void reconcileNightly() {
+        if (reconciliationConfig.isEnabled()) {
+            reconcile();
+        }
+    }
+
+    public ReconciliationReport report() {
+        Run run = latest.get();
+        return run == null ? ReconciliationReport.NEVER_RUN : run.toReport();
+    }
+
+    /**
+     * Starts a run on a background thread, unless one is already in progress.
+     *
+     * @return whether a run was started
+     */
+    public boolean startInBackground() {
+        Run run = begin();
+        if (run == null) {
+            return false;
+        }
+        Thread.ofVirtual().name("balance-reconciliation").start(() -> execute(run));
+        return true;
+    }
+
+    /**
+     * Reconciles every account and waits for the result. A run already in progress is reported as it
+     * stands instead of starting a second one.
+     */
+    public ReconciliationReport reconcile() {
+        Run run = begin();
+        if (run == null) {
+            log.info("Balance reconciliation already running");
+            return report();
+        }
+        execute(run);
+        return run.toReport();
+    }
+
+    private Run begin() {
+        Run previous = latest.get();
+        if (previous != null && previous.state == ReconciliationReport.State.RUNNING) {
+            return null;
+        }
+        Run run = new Run(reconciliationConfig.getMaxReportedMismatches());
+        return latest.compareAndSet(previous, run) ? run : null;
+    }
+
+    private void execute(Run run) {
+        try {
+            // One archive snapshot for every range, so a month archived mid-run is counted once
+            ArchiveSnapshot archive = transactionArchive.current();
+            Timestamp hotFrom = Timestamp.valueOf(archive.archivedUntil().orElse(NOTHING_ARCHIVED));
+            List<Future<?>> results = new ArrayList<>();
+            try (ExecutorService workers = Executors.newFixedThreadPool(reconciliationConfig.getParallelism(),
+                    Thread.ofVirtual().name("balance-reconciliation-", 0).factory())) {
+                // Each shard's accounts are split into ranges of their own; one run reports them all
+                shardRouter.forEachShard(() -> {
+                    List<Range> ranges = plan();
+                    run.partitions += ranges.size();
+                    log.info("Reconciling balances over {} partitions", ranges.size());
+                    for (Range range : ranges) {
+                        results.add(workers.submit(ShardContext.wrap(() -> reconcileRange(run, range, archive, hotFrom))));
+                    }
+                });
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            run.finish(ReconciliationReport.State.COMPLETED, null);
+            log.info("Balance reconciliation checked {} accounts and {} transactions, {} mismatches",
+                    run.accountsChecked.get(), run.transactionsScanned.get(), run.mismatchCount.get());
+        } catch (ExecutionException e) {
+            run.finish(ReconciliationReport.State.FAILED, e.getCause().toString());
+            log.error("Balance reconciliation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish(ReconciliationReport.State.FAILED, "Interrupted");
+        } catch (RuntimeException e) {
+            run.finish(ReconciliationReport.State.FAILED, e.toString());
+            log.error("Balance reconciliation failed", e);
+        }
+    }
+
+    private List<Range> plan() {
+        long[] bounds = jdbcTemplate.queryForObject(ACCOUNT_ID_BOUNDS_SQL,
+                (rs, rowNum) -> rs.getObject(1) == null ? null : new long[]{rs.getLong(1), rs.getLong(2)});
+        List<Range> ranges = new ArrayList<>();
+        if (bounds == null) {
+            return ranges;
+        }
+        long span = bounds[1] - bounds[0] + 1;
+        long size = Math.max(1, (span + reconciliationConfig.getPartitions() - 1) / reconciliationConfig.getPartitions());
+        for (long start = bounds[0]; start <= bounds[1]; start += size) {
+            ranges.add(new Range(start, Math.min(bounds[1], start + size - 1)));
+        }
+        return ranges;
+    }
+
+    private void reconcileRange(Run run, Range range, ArchiveSnapshot archive, Timestamp hotFrom) {
+        snapshotTemplate.executeWithoutResult(status -> {
+            Accounts accounts = new Accounts();
+            scan(SCAN_ACCOUNTS_SQL, rs -> accounts.add(rs.getLong(1), rs.getString(2), rs.getLong(3)),
+                    range.firstId(), range.lastId());
+
+            // Both sides are ordered by account id, so one cursor walks the accounts alongside the rows
+            long[] ledger = new long[accounts.size];
+            int[] cursor = new int[1];
+            long[] rows = new long[1];
+            scan(SCAN_TRANSACTIONS_SQL, rs -> {
+                long accountId = rs.getLong(1);
+                while (cursor[0] < accounts.size && accounts.ids[cursor[0]] < accountId) {
+                    cursor[0]++;
+                }
+                if (cursor[0] < accounts.size && accounts.ids[cursor[0]] == accountId) {
+                    ledger[cursor[0]] += rs.getLong(2);
+                }
+                if (++rows[0] % PROGRESS_EVERY_ROWS == 0) {
+                    run.transactionsScanned.addAndGet(PROGRESS_EVERY_ROWS);
+                }
+            }, range.firstId(), range.lastId(), hotFrom);
+            run.transactionsScanned.addAndGet(rows[0] % PROGRESS_EVERY_ROWS);
+
+            for (int i = 0; i < accounts.size; i++) {
+                long expected = ledger[i] + archive.netMinorUnits(accounts.numbers[i]);
+                if (accounts.balances[i] != expected) {
+                    run.mismatch(new ReconciliationReport.Mismatch(accounts.numbers[i],
+                            BigDecimal.valueOf(accounts.balances[i], 2), BigDecimal.valueOf(expected, 2),
+                            BigDecimal.valueOf(accounts.balances[i] - expected, 2)));
+                }
+            }
+            run.accountsChecked.addAndGet(accounts.size);
+        });
+        run.partitionsDone.incrementAndGet();
+    }
+
+    private void scan(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(reconciliationConfig.getFetchSize());
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            return statement;
+        }, handler);
+    }
+
+    private record Range(long firstId, long lastId) {
+    }
+
+    // Column-wise, so a range of a million accounts is three arrays rather than a million objects
+    private static final class Accounts {
+        private long[] ids = new long[1024];
+        private String[] numbers = new String[1024];
+        private long[] balances = new long[1024];
+        private int size;
+
+        void add(long id, String number, long balance) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                numbers = Arrays.copyOf(numbers, size * 2);
+                balances = Arrays.copyOf(balances, size * 2);
+            }
+            ids[size] = id;
+            numbers[size] = number;
+            balances[size] = balance;
+            size++;
+        }
+    }
+
+    private static final class Run {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final int maxReportedMismatches;
+        private final AtomicInteger partitionsDone = new AtomicInteger();
+        private final AtomicLong accountsChecked = new AtomicLong();
+        private final AtomicLong transactionsScanned = new AtomicLong();
+        private final AtomicLong mismatchCount = new AtomicLong();
+        private final Queue<ReconciliationReport.Mismatch> mismatches = new ConcurrentLinkedQueue<>();
+        private volatile int partitions;
+        private volatile ReconciliationReport.State state = ReconciliationReport.State.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String failure;
+
+        Run(int maxReportedMismatches) {
+            this.maxReportedMismatches = maxReportedMismatches;
+        }
+
+        void mismatch(ReconciliationReport.Mismatch mismatch) {
+            if (mismatchCount.incrementAndGet() <= maxReportedMismatches) {
+                mismatches.add(mismatch);
+            }
+        }
+
+        void finish(ReconciliationReport.State outcome, String failure) {
+            this.failure = failure;
+            this.finishedAt = LocalDateTime.now();
+            this.state = outcome;
+        }
+
+        ReconciliationReport toReport() {
+            return ReconciliationReport.builder()
+                    .state(state)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .partitions(partitions)
+                    .partitionsDone(partitionsDone.get())
+                    .accountsChecked(accountsChecked.get())
+                    .transactionsScanned(transactionsScanned.get())
+                    .mismatchCount(mismatchCount.get())
+                    .mismatches(List.copyOf(mismatches))
+                    .failure(failure)
+                    .build();
+        }
+    }
+}
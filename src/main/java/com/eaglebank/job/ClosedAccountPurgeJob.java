@@ -0,0 +1,112 @@
+package com.eaglebank.job;
+
+import com.eaglebank.config.PurgeConfig;
+import com.eaglebank.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Removes what is left of closed accounts.
+ * <p>
+ * Closing an account only marks its row deleted, so the request returns straight away and the account
+ * disappears from every JPA read and cache. This job then deletes the account's transactions and daily
+ * rollups in batches of {@code batch-size}, each batch its own short transaction, sleeping
+ * {@code pause-between-batches} after each one so that a long history does not crowd out online
+ * traffic. The account row goes last, once nothing references it. A run that dies part way is
+ * finished by the next one.
+ */
+@Component
+@Slf4j
+public class ClosedAccountPurgeJob {
+
+    private static final String CLOSED_ACCOUNTS_SQL = "SELECT id FROM bank_accounts WHERE deleted = TRUE ORDER BY id";
+
+    private static final String DELETE_TRANSACTIONS_BATCH_SQL = """
+            DELETE FROM transactions WHERE id IN (
+                SELECT id FROM transactions
+                WHERE account_id = ?
+                FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private static final String DELETE_ROLLUPS_BATCH_SQL = """
+            DELETE FROM daily_account_rollups WHERE id IN (
+                SELECT id FROM daily_account_rollups
+                WHERE account_id = ?
+                FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private static final String DELETE_ACCOUNT_SQL = "DELETE FROM bank_accounts WHERE id = ? AND deleted = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PurgeConfig purgeConfig;
+    private final ShardRouter shardRouter;
+
+    public ClosedAccountPurgeJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 PurgeConfig purgeConfig, ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.purgeConfig = purgeConfig;
+        this.shardRouter = shardRouter;
+    }
+
+    @Scheduled(fixedDelayString = "#{@purgeConfig.interval.toMillis()}")
+    public void purgeScheduled() {
+        if (purgeConfig.isEnabled()) {
+            shardRouter.forEachShard(this::purge);
+        }
+    }
+
+    /**
+     * Purges every closed account.
+     *
+     * @return the number of transactions deleted
+     */
+    public long purge() {
+        List<Long> accountIds = jdbcTemplate.queryForList(CLOSED_ACCOUNTS_SQL, Long.class);
+        long deleted = 0;
+        for (Long accountId : accountIds) {
+            deleted += purgeAccount(accountId);
+        }
+        if (!accountIds.isEmpty()) {
+            log.info("Purged {} closed accounts and {} transactions", accountIds.size(), deleted);
+        }
+        return deleted;
+    }
+
+    private long purgeAccount(Long accountId) {
+        long deleted = deleteInBatches(DELETE_TRANSACTIONS_BATCH_SQL, accountId);
+        deleteInBatches(DELETE_ROLLUPS_BATCH_SQL, accountId);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(DELETE_ACCOUNT_SQL, accountId));
+        log.debug("Purged closed account {} with {} transactions", accountId, deleted);
+        return deleted;
+    }
+
+    private long deleteInBatches(String sql, Long accountId) {
+        long deleted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> jdbcTemplate.update(sql, accountId, purgeConfig.getBatchSize()));
+            deleted += batch;
+            if (batch > 0 && purgeConfig.getPauseBetweenBatches().isPositive()) {
+                pauseBetweenBatches(purgeConfig.getPauseBetweenBatches());
+            }
+        } while (batch == purgeConfig.getBatchSize());
+        return deleted;
+    }
+
+    private static void pauseBetweenBatches(Duration pause) {
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while purging closed accounts", e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.eaglebank.job;
+
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.RollupConfig;
+import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.DailyAccountRollup;
+import com.eaglebank.domain.Money;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.DailyAccountRollupRepository;
+import com.eaglebank.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rebuilds {@code daily_account_rollups} from the raw {@code transactions} history, one account per
+ * transaction. The account row is locked for the duration so concurrent postings wait rather than
+ * racing the rebuild.
+ * <p>
+ * Archived months are no longer in the table, so their rollups are kept and only the days from the
+ * archive cutoff on are rebuilt. Those start from the closing balance of the last kept rollup, or, for
+ * an account with none, from what its archived transactions add up to.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyRollupBackfillJob {
+
+    private static final String DAILY_TOTALS_SQL = """
+            SELECT CAST(created_at AS DATE) AS rollup_date,
+                   SUM(CASE WHEN type = 'DEPOSIT' THEN COALESCE(account_amount, amount) ELSE 0 END) AS deposit_total,
+                   SUM(CASE WHEN type = 'WITHDRAWAL' THEN COALESCE(account_amount, amount) ELSE 0 END) AS withdrawal_total,
+                   COUNT(*) AS transaction_count
+            FROM transactions
+            WHERE account_id = ?%s
+            GROUP BY CAST(created_at AS DATE)
+            ORDER BY rollup_date
+            """;
+
+    private static final String ALL_DAILY_TOTALS_SQL = DAILY_TOTALS_SQL.formatted("");
+    // Rows of an archived month stay in the table until every node has loaded its segment
+    private static final String DAILY_TOTALS_SINCE_SQL = DAILY_TOTALS_SQL.formatted(" AND created_at >= ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BankAccountRepository bankAccountRepository;
+    private final DailyAccountRollupRepository rollupRepository;
+    private final RollupConfig rollupConfig;
+    private final ShardRouter shardRouter;
+    private final TransactionArchive transactionArchive;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (rollupConfig.isBackfillOnStartup()) {
+            shardRouter.forEachShard(this::backfill);
+        }
+    }
+
+    public int backfill() {
+        List<Long> accountIds = jdbcTemplate.queryForList(
+                "SELECT id FROM bank_accounts WHERE deleted = FALSE ORDER BY id", Long.class);
+        log.info("Starting daily rollup backfill for {} accounts", accountIds.size());
+
+        // One snapshot for the whole run, so every account is cut at the same month
+        ArchiveSnapshot archive = transactionArchive.current();
+        int rollupCount = 0;
+        for (Long accountId : accountIds) {
+            Integer written = transactionTemplate.execute(status -> backfillAccount(accountId, archive));
+            rollupCount += written != null ? written : 0;
+        }
+
+        log.info("Daily rollup backfill complete: {} rollups written", rollupCount);
+        return rollupCount;
+    }
+
+    private int backfillAccount(Long accountId, ArchiveSnapshot archive) {
+        jdbcTemplate.queryForObject("SELECT id FROM bank_accounts WHERE id = ? FOR UPDATE", Long.class, accountId);
+        BankAccount account = bankAccountRepository.getReferenceById(accountId);
+        Optional<LocalDateTime> archivedUntil = archive.archivedUntil();
+
+        Money openingBalance = Money.ZERO;
+        if (archivedUntil.isPresent()) {
+            LocalDate from = archivedUntil.get().toLocalDate();
+            openingBalance = rollupRepository.findFirstByAccountIdAndRollupDateBeforeOrderByRollupDateDesc(accountId, from)
+                    .map(DailyAccountRollup::getClosingBalance)
+                    .orElseGet(() -> Money.ofMinor(archive.netMinorUnits(account.getAccountNumber())));
+            rollupRepository.deleteByAccountIdFrom(accountId, from);
+        } else {
+            rollupRepository.deleteByAccountId(accountId);
+        }
+
+        List<DailyAccountRollup> rollups = new ArrayList<>();
+        Money[] runningBalance = {openingBalance};
+        RowCallbackHandler handler = rs -> {
+            Money deposits = Money.of(rs.getBigDecimal("deposit_total"));
+            Money withdrawals = Money.of(rs.getBigDecimal("withdrawal_total"));
+            runningBalance[0] = runningBalance[0].plus(deposits).minus(withdrawals);
+
+            rollups.add(DailyAccountRollup.builder()
+                    .account(account)
+                    .rollupDate(rs.getDate("rollup_date").toLocalDate())
+                    .depositTotal(deposits)
+                    .withdrawalTotal(withdrawals)
+                    .transactionCount(rs.getLong("transaction_count"))
+                    .closingBalance(runningBalance[0])
+                    .build());
+        };
+        if (archivedUntil.isPresent()) {
+            jdbcTemplate.query(DAILY_TOTALS_SINCE_SQL, handler, accountId, Timestamp.valueOf(archivedUntil.get()));
+        } else {
+            jdbcTemplate.query(ALL_DAILY_TOTALS_SQL, handler, accountId);
+        }
+
+        rollupRepository.saveAll(rollups);
+        log.debug("Backfilled {} rollups for account id: {}", rollups.size(), accountId);
+        return rollups.size();
+    }
+}
@@ -0,0 +1,452 @@
+package com.eaglebank.job;
+
+import com.eaglebank.config.InterestConfig;
+import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.InterestAccrualCheckpoint;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.event.TransactionPostedEvent;
+import com.eaglebank.journal.JournalEntry;
+import com.eaglebank.journal.PostingJournal;
+import com.eaglebank.shard.ShardContext;
+import com.eaglebank.shard.ShardRouter;
+import com.eaglebank.util.IdGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Posts a day's interest to every account with a positive balance.
+ * <p>
+ * When a day is first run, the account id space is split into {@code partitions} ranges, each with an
+ * {@link InterestAccrualCheckpoint}. The ranges are worked through {@code chunk-size} accounts at a time
+ * on up to {@code parallelism} virtual threads. Each chunk is one transaction. It locks its accounts,
+ * writes the interest transactions, balance updates, rollups and outbox events as JDBC batches, and
+ * advances the checkpoint. Nothing is loaded into a persistence context. A run that dies part-way is
+ * resumed by calling {@link #accrue(LocalDate)} again for the same day, on any node.
+ * <p>
+ * {@code max-accounts-per-second} paces chunks across all partitions, so a run during the day leaves
+ * room for online traffic.
+ */
+@Component
+@Slf4j
+public class InterestAccrualJob {
+
+    private static final String COUNT_PARTITIONS_SQL =
+            "SELECT COUNT(*) FROM interest_accrual_checkpoints WHERE accrual_date = ?";
+
+    private static final String ACCOUNT_ID_BOUNDS_SQL = "SELECT MIN(id), MAX(id) FROM bank_accounts";
+
+    private static final String INSERT_CHECKPOINT_SQL = """
+            INSERT INTO interest_accrual_checkpoints
+                (accrual_date, partition_no, range_start, range_end, last_account_id, accounts_accrued)
+            VALUES (?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String OPEN_PARTITIONS_SQL = """
+            SELECT partition_no FROM interest_accrual_checkpoints
+            WHERE accrual_date = ? AND completed_at IS NULL
+            ORDER BY partition_no
+            """;
+
+    // Serialises runners of the same partition, and re-reads progress another node may have made
+    private static final String CLAIM_CHECKPOINT_SQL = """
+            SELECT last_account_id, range_end, completed_at FROM interest_accrual_checkpoints
+            WHERE accrual_date = ? AND partition_no = ?
+            FOR UPDATE
+            """;
+
+    private static final String LOCK_CHUNK_SQL = """
+            SELECT id FROM bank_accounts
+            WHERE id > ? AND id <= ?
+            ORDER BY id
+            FETCH FIRST ? ROWS ONLY
+            FOR UPDATE
+            """;
+
+    private static final String READ_CHUNK_SQL = """
+            SELECT a.id, a.account_number, a.balance, a.currency, a.user_id, u.user_id AS owner_user_id
+            FROM bank_accounts a JOIN users u ON u.id = a.user_id
+            WHERE a.id BETWEEN ? AND ? AND a.balance > 0 AND a.deleted = FALSE
+            ORDER BY a.id
+            """;
+
+    private static final String INSERT_TRANSACTION_SQL = """
+            INSERT INTO transactions
+                (transaction_id, amount, currency, account_amount, type, reference, account_id, user_id, created_at)
+            VALUES (?, ?, ?, ?, 'DEPOSIT', ?, ?, ?, ?)
+            """;
+
+    // Bumping the version makes any JPA transaction holding the old balance fail instead of overwriting it
+    private static final String CREDIT_ACCOUNT_SQL =
+            "UPDATE bank_accounts SET balance = balance + ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String UPDATE_ROLLUP_SQL = """
+            UPDATE daily_account_rollups
+            SET deposit_total = deposit_total + ?, transaction_count = transaction_count + 1,
+                closing_balance = ?, version = version + 1
+            WHERE account_id = ? AND rollup_date = ?
+            """;
+
+    private static final String INSERT_ROLLUP_SQL = """
+            INSERT INTO daily_account_rollups
+                (account_id, rollup_date, deposit_total, withdrawal_total, transaction_count, closing_balance, version)
+            VALUES (?, ?, ?, 0, 1, ?, 0)
+            """;
+
+    private static final String INSERT_OUTBOX_SQL = """
+            INSERT INTO outbox_events (event_type, aggregate_id, payload, created_at)
+            VALUES ('TRANSACTION_POSTED', ?, ?, ?)
+            """;
+
+    private static final String ADVANCE_CHECKPOINT_SQL = """
+            UPDATE interest_accrual_checkpoints
+            SET last_account_id = ?, accounts_accrued = accounts_accrued + ?, completed_at = ?
+            WHERE accrual_date = ? AND partition_no = ?
+            """;
+
+    private static final RowMapper<Checkpoint> CHECKPOINT_ROW_MAPPER = (rs, rowNum) -> new Checkpoint(
+            rs.getLong("last_account_id"),
+            rs.getLong("range_end"),
+            rs.getTimestamp("completed_at") != null);
+
+    private static final RowMapper<AccountRow> ACCOUNT_ROW_MAPPER = (rs, rowNum) -> new AccountRow(
+            rs.getLong("id"),
+            rs.getString("account_number"),
+            rs.getBigDecimal("balance"),
+            rs.getString("currency"),
+            rs.getLong("user_id"),
+            rs.getString("owner_user_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final InterestConfig interestConfig;
+    private final PostingJournal postingJournal;
+    private final ShardRouter shardRouter;
+
+    private final Counter postings;
+    private final Timer chunkTimer;
+    private final AtomicLong nextChunkAtNanos;
+
+    public InterestAccrualJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher,
+                              IdGenerator idGenerator, ObjectMapper objectMapper, InterestConfig interestConfig,
+                              PostingJournal postingJournal, MeterRegistry meterRegistry, ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
+        this.objectMapper = objectMapper;
+        this.interestConfig = interestConfig;
+        this.postingJournal = postingJournal;
+        this.shardRouter = shardRouter;
+        this.nextChunkAtNanos = new AtomicLong(System.nanoTime());
+
+        this.postings = Counter.builder("eaglebank.interest.postings")
+                .description("Interest transactions posted")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("eaglebank.interest.chunk")
+                .description("Time to accrue one chunk of accounts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "#{@interestConfig.cron}")
+    public void accrueNightly() {
+        if (interestConfig.isEnabled()) {
+            LocalDate accrualDate = LocalDate.now().minusDays(1);
+            shardRouter.forEachShard(() -> accrue(accrualDate));
+        }
+    }
+
+    /**
+     * Accrues interest for {@code accrualDate}, or finishes a run for that day that was interrupted.
+     * Accounts already accrued for the day are skipped. Covers the calling thread's shard.
+     *
+     * @return the number of accounts credited by this call
+     */
+    public long accrue(LocalDate accrualDate) {
+        List<Integer> partitions = plan(accrualDate);
+        if (partitions.isEmpty()) {
+            log.info("Interest for {} has already been accrued", accrualDate);
+            return 0;
+        }
+        log.info("Accruing interest for {} over {} partitions", accrualDate, partitions.size());
+
+        long started = System.nanoTime();
+        List<Future<Long>> results = new ArrayList<>(partitions.size());
+        try (ExecutorService workers = Executors.newFixedThreadPool(interestConfig.getParallelism(),
+                Thread.ofVirtual().name("interest-accrual-", 0).factory())) {
+            for (Integer partitionNo : partitions) {
+                results.add(workers.submit(ShardContext.wrap(() -> accruePartition(accrualDate, partitionNo))));
+            }
+        }
+
+        long credited = 0;
+        RuntimeException failure = null;
+        for (Future<Long> result : results) {
+            try {
+                credited += result.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IllegalStateException(
+                            "Interest accrual for " + accrualDate + " is incomplete; run it again to resume", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while accruing interest for " + accrualDate, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        log.info("Interest for {} accrued on {} accounts in {} ms", accrualDate, credited,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return credited;
+    }
+
+    private List<Integer> plan(LocalDate accrualDate) {
+        Long planned = jdbcTemplate.queryForObject(COUNT_PARTITIONS_SQL, Long.class, accrualDate);
+        if (planned == null || planned == 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertPartitions(accrualDate));
+            } catch (DuplicateKeyException e) {
+                log.info("Interest run for {} was planned by another node", accrualDate);
+            }
+        }
+        return jdbcTemplate.queryForList(OPEN_PARTITIONS_SQL, Integer.class, accrualDate);
+    }
+
+    private void insertPartitions(LocalDate accrualDate) {
+        long[] bounds = jdbcTemplate.queryForObject(ACCOUNT_ID_BOUNDS_SQL,
+                (rs, rowNum) -> rs.getObject(1) == null ? null : new long[]{rs.getLong(1), rs.getLong(2)});
+        if (bounds == null) {
+            return;
+        }
+        long span = bounds[1] - bounds[0] + 1;
+        long size = Math.max(1, (span + interestConfig.getPartitions() - 1) / interestConfig.getPartitions());
+
+        List<Partition> partitions = new ArrayList<>();
+        for (long start = bounds[0]; start <= bounds[1]; start += size) {
+            partitions.add(new Partition(partitions.size(), start, Math.min(bounds[1], start + size - 1)));
+        }
+        jdbcTemplate.batchUpdate(INSERT_CHECKPOINT_SQL, partitions, partitions.size(), (ps, partition) -> {
+            ps.setDate(1, Date.valueOf(accrualDate));
+            ps.setInt(2, partition.partitionNo());
+            ps.setLong(3, partition.rangeStart());
+            ps.setLong(4, partition.rangeEnd());
+            ps.setLong(5, partition.rangeStart() - 1);
+        });
+    }
+
+    private long accruePartition(LocalDate accrualDate, int partitionNo) {
+        long credited = 0;
+        while (true) {
+            pace();
+            ChunkResult chunk = chunkTimer.record(() -> accrueChunkWithRetry(accrualDate, partitionNo));
+            evictFromSecondLevelCache(chunk.creditedAccountIds());
+            credited += chunk.creditedAccountIds().size();
+            if (chunk.partitionDone()) {
+                log.debug("Interest partition {} for {} complete", partitionNo, accrualDate);
+                return credited;
+            }
+        }
+    }
+
+    private ChunkResult accrueChunkWithRetry(LocalDate accrualDate, int partitionNo) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> accrueChunk(accrualDate, partitionNo));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= interestConfig.getMaxChunkAttempts()) {
+                    throw e;
+                }
+                log.warn("Interest chunk in partition {} for {} lost a lock race, retrying: {}",
+                        partitionNo, accrualDate, e.getMessage());
+            }
+        }
+    }
+
+    private ChunkResult accrueChunk(LocalDate accrualDate, int partitionNo) {
+        Checkpoint checkpoint = jdbcTemplate.queryForObject(CLAIM_CHECKPOINT_SQL, CHECKPOINT_ROW_MAPPER,
+                accrualDate, partitionNo);
+        if (checkpoint.completed()) {
+            return new ChunkResult(List.of(), true);
+        }
+
+        int chunkSize = interestConfig.getChunkSize();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> lockedIds = jdbcTemplate.queryForList(LOCK_CHUNK_SQL, Long.class,
+                checkpoint.lastAccountId(), checkpoint.rangeEnd(), chunkSize);
+        if (lockedIds.isEmpty()) {
+            jdbcTemplate.update(ADVANCE_CHECKPOINT_SQL, checkpoint.lastAccountId(), 0, now, accrualDate, partitionNo);
+            return new ChunkResult(List.of(), true);
+        }
+
+        // Every id between the first and last locked one is locked, so this reads settled balances
+        long lastId = lockedIds.get(lockedIds.size() - 1);
+        List<AccountRow> accounts = jdbcTemplate.query(READ_CHUNK_SQL, ACCOUNT_ROW_MAPPER, lockedIds.get(0), lastId);
+
+        BigDecimal dailyRate = interestConfig.getAnnualRate()
+                .divide(BigDecimal.valueOf(interestConfig.getDayCountBasis()), MathContext.DECIMAL64);
+        List<Posting> chunkPostings = new ArrayList<>(accounts.size());
+        for (AccountRow account : accounts) {
+            BigDecimal interest = account.balance().multiply(dailyRate).setScale(2, RoundingMode.HALF_EVEN);
+            if (interest.signum() > 0) {
+                chunkPostings.add(new Posting(account, idGenerator.generateTransactionId(), interest,
+                        account.balance().add(interest)));
+            }
+        }
+        if (!chunkPostings.isEmpty()) {
+            writePostings(chunkPostings, "Interest for " + accrualDate, now);
+        }
+
+        boolean done = lockedIds.size() < chunkSize || lastId >= checkpoint.rangeEnd();
+        jdbcTemplate.update(ADVANCE_CHECKPOINT_SQL, lastId, chunkPostings.size(), done ? now : null,
+                accrualDate, partitionNo);
+        postings.increment(chunkPostings.size());
+        return new ChunkResult(chunkPostings.stream().map(posting -> posting.account().id()).toList(), done);
+    }
+
+    private void writePostings(List<Posting> chunkPostings, String reference, Timestamp postedAt) {
+        int size = chunkPostings.size();
+        Date rollupDate = Date.valueOf(postedAt.toLocalDateTime().toLocalDate());
+
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, chunkPostings, size, (ps, posting) -> {
+            ps.setString(1, posting.transactionId());
+            ps.setBigDecimal(2, posting.interest());
+            ps.setString(3, posting.account().currency());
+            ps.setBigDecimal(4, posting.interest());
+            ps.setString(5, reference);
+            ps.setLong(6, posting.account().id());
+            ps.setLong(7, posting.account().userId());
+            ps.setTimestamp(8, postedAt);
+        });
+        jdbcTemplate.batchUpdate(CREDIT_ACCOUNT_SQL, chunkPostings, size, (ps, posting) -> {
+            ps.setBigDecimal(1, posting.interest());
+            ps.setTimestamp(2, postedAt);
+            ps.setLong(3, posting.account().id());
+        });
+
+        int[] rollupsUpdated = jdbcTemplate.batchUpdate(UPDATE_ROLLUP_SQL, chunkPostings, size, (ps, posting) -> {
+            ps.setBigDecimal(1, posting.interest());
+            ps.setBigDecimal(2, posting.balanceAfter());
+            ps.setLong(3, posting.account().id());
+            ps.setDate(4, rollupDate);
+        })[0];
+        List<Posting> firstToday = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (rollupsUpdated[i] == 0) {
+                firstToday.add(chunkPostings.get(i));
+            }
+        }
+        if (!firstToday.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, firstToday, firstToday.size(), (ps, posting) -> {
+                ps.setLong(1, posting.account().id());
+                ps.setDate(2, rollupDate);
+                ps.setBigDecimal(3, posting.interest());
+                ps.setBigDecimal(4, posting.balanceAfter());
+            });
+        }
+
+        List<TransactionPostedEvent> events = chunkPostings.stream()
+                .map(posting -> new TransactionPostedEvent(posting.account().accountNumber(),
+                        new TransactionResponse(posting.transactionId(), posting.interest(), posting.account().currency(),
+                                "deposit", reference, posting.account().ownerUserId(), postedAt.toLocalDateTime(),
+                                null, null, null),
+                        posting.balanceAfter()))
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, events, size, (ps, event) -> {
+            ps.setString(1, event.accountNumber());
+            ps.setString(2, toJson(event));
+            ps.setTimestamp(3, postedAt);
+        });
+        // Same after-commit listeners as an online posting: response cache and live account streams
+        events.forEach(eventPublisher::publishEvent);
+        chunkPostings.forEach(posting -> postingJournal.record(new JournalEntry(posting.account().accountNumber(),
+                posting.transactionId(), Transaction.TransactionType.DEPOSIT, Money.of(posting.interest()),
+                Money.of(posting.balanceAfter()), postedAt.toLocalDateTime())));
+    }
+
+    // The balances changed behind Hibernate's back; only safe once the chunk has committed
+    private void evictFromSecondLevelCache(List<Long> accountIds) {
+        Cache cache = entityManagerFactory.getCache();
+        for (Long accountId : accountIds) {
+            cache.evict(BankAccount.class, accountId);
+        }
+    }
+
+    private void pace() {
+        long perSecond = interestConfig.getMaxAccountsPerSecond();
+        if (perSecond <= 0) {
+            return;
+        }
+        long cost = TimeUnit.SECONDS.toNanos(interestConfig.getChunkSize()) / perSecond;
+        long now = System.nanoTime();
+        long previous = nextChunkAtNanos.getAndAccumulate(cost, (next, increment) -> (next - now > 0 ? next : now) + increment);
+        long wait = previous - now;
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize outbox payload: " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    private record Partition(int partitionNo, long rangeStart, long rangeEnd) {
+    }
+
+    private record Checkpoint(long lastAccountId, long rangeEnd, boolean completed) {
+    }
+
+    private record AccountRow(long id, String accountNumber, BigDecimal balance, String currency, long userId,
+                              String ownerUserId) {
+    }
+
+    private record Posting(AccountRow account, String transactionId, BigDecimal interest, BigDecimal balanceAfter) {
+    }
+
+    private record ChunkResult(List<Long> creditedAccountIds, boolean partitionDone) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.eaglebank.job;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress and outcome of the latest {@link BalanceReconciliationJob} run.
+ */
+@Builder
+public record ReconciliationReport(
+        State state,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        int partitions,
+        int partitionsDone,
+        long accountsChecked,
+        long transactionsScanned,
+        long mismatchCount,
+        List<Mismatch> mismatches,
+        String failure
+) {
+    public static final ReconciliationReport NEVER_RUN = ReconciliationReport.builder()
+            .state(State.IDLE)
+            .mismatches(List.of())
+            .build();
+
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * An account whose stored balance is not the sum of its transactions.
+     */
+    public record Mismatch(String accountNumber, BigDecimal balance, BigDecimal ledgerBalance, BigDecimal difference) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.eaglebank.job;
+
+import com.eaglebank.archive.ArchiveSegment;
+import com.eaglebank.archive.ArchiveSegmentWriter;
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.ArchivedTransaction;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.ArchiveConfig;
+import com.eaglebank.domain.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves whole months of transactions that ended more than {@code hot-window} ago out of the
+ * transactions table and into {@link ArchiveSegment} files.
+ * <p>
+ * A month is archived in two steps. Its rows are streamed into a segment file, which is published to
+ * {@link TransactionArchive}; from then on reads take the month from the file and ignore its rows in the
+ * table. Once the file has been on disk for longer than {@code reload-interval}, so every node has picked
+ * it up, the rows are deleted in batches. Transactions never change after they are posted, so a run that
+ * dies between the two steps is finished by the next one, which finds the file and only deletes.
+ * Daily rollups are left in place and keep answering balance history for archived months. Closed accounts
+ * are left out of new segments; {@link ClosedAccountPurgeJob} is removing their rows anyway.
+ */
+@Component
+@Slf4j
+public class TransactionArchivalJob {
+
+    private static final String OLDEST_TRANSACTION_SQL = "SELECT MIN(created_at) FROM transactions";
+
+    private static final String READ_MONTH_SQL = """
+            SELECT a.account_number, t.transaction_id, t.type, t.amount, t.currency,
+                   COALESCE(t.account_amount, t.amount) AS account_amount, t.fx_rate, t.fx_rate_version,
+                   t.reference, t.transfer_id, u.user_id AS owner_user_id, t.created_at
+            FROM transactions t
+            JOIN bank_accounts a ON a.id = t.account_id
+            JOIN users u ON u.id = t.user_id
+            WHERE t.created_at >= ? AND t.created_at < ? AND a.deleted = FALSE
+            ORDER BY a.account_number, t.created_at DESC, t.id DESC
+            """;
+
+    private static final String DELETE_MONTH_BATCH_SQL = """
+            DELETE FROM transactions WHERE id IN (
+                SELECT id FROM transactions
+                WHERE created_at >= ? AND created_at < ?
+                FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchive transactionArchive;
+    private final ArchiveConfig archiveConfig;
+
+    public TransactionArchivalJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  TransactionArchive transactionArchive, ArchiveConfig archiveConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.transactionArchive = transactionArchive;
+        this.archiveConfig = archiveConfig;
+    }
+
+    @Scheduled(cron = "#{@archiveConfig.cron}")
+    public void archiveNightly() {
+        if (archiveConfig.isEnabled()) {
+            archive(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Archives every month that ended more than {@code hot-window} before {@code now}, and deletes
+     * the rows of months already archived.
+     *
+     * @return the number of transactions deleted from the table
+     */
+    public long archive(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(archiveConfig.getHotWindow());
+        List<YearMonth> months = monthsEndingBefore(cutoff);
+        if (months.isEmpty()) {
+            log.debug("No transactions older than {} to archive", cutoff);
+            return 0;
+        }
+
+        ArchiveSnapshot archive = transactionArchive.current();
+        for (YearMonth month : months) {
+            if (!archive.contains(month)) {
+                writeSegment(month);
+            }
+        }
+        archive = transactionArchive.reload();
+
+        long deleted = 0;
+        for (YearMonth month : months) {
+            if (archive.contains(month)) {
+                awaitPickupByAllNodes(month);
+                deleted += deleteMonth(month);
+            }
+        }
+        log.info("Archived transactions up to {}, deleted {} rows", months.get(months.size() - 1), deleted);
+        return deleted;
+    }
+
+    private List<YearMonth> monthsEndingBefore(LocalDateTime cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_TRANSACTION_SQL, Timestamp.class);
+        List<YearMonth> months = new ArrayList<>();
+        if (oldest == null) {
+            return months;
+        }
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime());
+             !start(month.plusMonths(1)).isAfter(cutoff);
+             month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    private void writeSegment(YearMonth month) {
+        Path directory = transactionArchive.directory();
+        try (ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(directory, month)) {
+            // Inside a transaction so drivers that need one, like PostgreSQL, stream with a cursor
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(READ_MONTH_SQL);
+                statement.setFetchSize(archiveConfig.getFetchSize());
+                statement.setTimestamp(1, Timestamp.valueOf(start(month)));
+                statement.setTimestamp(2, Timestamp.valueOf(start(month.plusMonths(1))));
+                return statement;
+            }, rs -> {
+                writer.append(rs.getString("account_number"), ArchivedTransaction.builder()
+                        .transactionId(rs.getString("transaction_id"))
+                        .type(Transaction.TransactionType.valueOf(rs.getString("type")))
+                        .amount(rs.getBigDecimal("amount"))
+                        .currency(rs.getString("currency"))
+                        .accountAmount(rs.getBigDecimal("account_amount"))
+                        .fxRate(rs.getBigDecimal("fx_rate"))
+                        .fxRateVersion(rs.getString("fx_rate_version"))
+                        .reference(rs.getString("reference"))
+                        .transferId(rs.getString("transfer_id"))
+                        .userId(rs.getString("owner_user_id"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .build());
+            }));
+            if (writer.transactionCount() == 0) {
+                return;
+            }
+            Path segment = writer.commit();
+            log.info("Wrote archive segment {} with {} transactions", segment, writer.transactionCount());
+        }
+    }
+
+    private void awaitPickupByAllNodes(YearMonth month) {
+        Path segment = transactionArchive.directory().resolve(ArchiveSegment.fileName(month));
+        try {
+            Instant written = Files.getLastModifiedTime(segment).toInstant();
+            Duration remaining = Duration.between(Instant.now(), written.plus(archiveConfig.getReloadInterval()));
+            if (!remaining.isNegative() && !remaining.isZero()) {
+                log.debug("Waiting {} for every node to load archive segment {}", remaining, month);
+                Thread.sleep(remaining.toMillis());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while archiving " + month, e);
+        }
+    }
+
+    private long deleteMonth(YearMonth month) {
+        Timestamp from = Timestamp.valueOf(start(month));
+        Timestamp until = Timestamp.valueOf(start(month.plusMonths(1)));
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(DELETE_MONTH_BATCH_SQL, from, until, archiveConfig.getDeleteBatchSize());
+            deleted += batch;
+        } while (batch > 0);
+        return deleted;
+    }
+
+    private static LocalDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+}
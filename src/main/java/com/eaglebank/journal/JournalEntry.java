@@ -0,0 +1,26 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.Transaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the journal keeps of a posting: enough to rebuild every account's balance and find which
+ * account a transaction id belongs to. Amounts are in the account's currency.
+ */
+public record JournalEntry(
+        String accountNumber,
+        String transactionId,
+        Transaction.TransactionType type,
+        Money amount,
+        Money balanceAfter,
+        LocalDateTime postedAt
+) {
+    /**
+     * The change to the balance in minor units, negative for a withdrawal.
+     */
+    public long signedMinorUnits() {
+        return type == Transaction.TransactionType.WITHDRAWAL ? -amount.minorUnits() : amount.minorUnits();
+    }
+}
@@ -0,0 +1,238 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads the segment files of a {@link PostingJournal}.
+ * <p>
+ * A segment is a preallocated file of records laid end to end, each a payload length, a CRC32C of the
+ * payload and the payload itself. A zero length marks the end of what was written. A record with a
+ * bad checksum, or out of sequence, is where a crash tore the segment; reading stops there and goes on
+ * with the next segment, which the restarted journal began with the following sequence number.
+ * <p>
+ * A record is either a posting or a commit marker naming a range of postings whose database
+ * transaction committed. Postings no marker covers are never replayed.
+ */
+public final class JournalReader {
+
+    static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+    private static final Pattern FILE_NAME = Pattern.compile("postings-(\\d{20})\\.journal");
+
+    private static final byte POSTING = 0;
+    private static final byte COMMIT = 1;
+
+    private JournalReader() {
+    }
+
+    /**
+     * Hands every intact, committed posting in {@code directory} to {@code consumer}, in the order the
+     * commits were marked and in sequence order within one commit. Each segment is memory-mapped, so a
+     * replay reads at disk speed without going through the database.
+     *
+     * @return the last sequence number read, or 0 for an empty journal
+     */
+    public static long replay(Path directory, Consumer<JournalRecord> consumer) {
+        return read(directory, new Confirmed(consumer));
+    }
+
+    /**
+     * Postings in {@code directory} that no commit marker covers, in sequence order: those of transactions
+     * that rolled back, or that committed just before a crash stopped their marker being written.
+     */
+    public static List<JournalRecord> unconfirmed(Path directory) {
+        Confirmed confirmed = new Confirmed(record -> {
+        });
+        read(directory, confirmed);
+        return List.copyOf(confirmed.pending.values());
+    }
+
+    /**
+     * Receives the records of a segment as they are read.
+     */
+    interface RecordVisitor {
+
+        default void posting(JournalRecord record) {
+        }
+
+        default void committed(long firstSequence, long lastSequence) {
+        }
+    }
+
+    static long read(Path directory, RecordVisitor visitor) {
+        long lastSequence = 0;
+        for (Path segment : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                long firstSequence = firstSequenceOf(segment);
+                if (lastSequence != 0 && firstSequence != lastSequence + 1) {
+                    throw new IllegalStateException("Journal segment " + segment + " starts at " + firstSequence
+                            + " but the one before it ended at " + lastSequence);
+                }
+                lastSequence = scan(mapping, firstSequence, visitor).lastSequence();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read journal segment " + segment, e);
+            }
+        }
+        return lastSequence;
+    }
+
+    static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Zero-padded, so name order is sequence order
+            return files.filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list journal directory " + directory, e);
+        }
+    }
+
+    static String fileName(long firstSequence) {
+        return String.format("postings-%020d.journal", firstSequence);
+    }
+
+    static long firstSequenceOf(Path segment) {
+        Matcher matcher = FILE_NAME.matcher(segment.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a journal segment: " + segment);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Reads records from the start of a segment until its end marker or its first damaged record.
+     */
+    static Scan scan(ByteBuffer mapping, long firstSequence, RecordVisitor visitor) {
+        int capacity = mapping.capacity();
+        int position = 0;
+        long expected = firstSequence;
+        while (position + RECORD_HEADER_BYTES <= capacity) {
+            int length = mapping.getInt(position);
+            if (length == 0) {
+                return new Scan(position, expected - 1, false);
+            }
+            if (length < 0 || length > capacity - position - RECORD_HEADER_BYTES) {
+                return new Scan(position, expected - 1, true);
+            }
+            byte[] payload = new byte[length];
+            mapping.get(position + RECORD_HEADER_BYTES, payload);
+            if (checksum(payload) != mapping.getInt(position + Integer.BYTES)) {
+                return new Scan(position, expected - 1, true);
+            }
+            if (ByteBuffer.wrap(payload).getLong() != expected) {
+                return new Scan(position, expected - 1, true);
+            }
+            decode(payload, visitor);
+            expected++;
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return new Scan(position, expected - 1, false);
+    }
+
+    static byte[] encode(long sequence, JournalEntry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(sequence);
+            out.writeByte(POSTING);
+            out.writeLong(ChronoUnit.MICROS.between(EPOCH, entry.postedAt()));
+            // Ordinal, so new transaction types must only ever be added at the end
+            out.writeByte(entry.type().ordinal());
+            out.writeUTF(entry.accountNumber());
+            out.writeUTF(entry.transactionId());
+            out.writeLong(entry.amount().minorUnits());
+            out.writeLong(entry.balanceAfter().minorUnits());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] encodeCommit(long sequence, long firstSequence, long lastSequence) {
+        ByteBuffer payload = ByteBuffer.allocate(Long.BYTES + 1 + 2 * Long.BYTES);
+        payload.putLong(sequence).put(COMMIT).putLong(firstSequence).putLong(lastSequence);
+        return payload.array();
+    }
+
+    static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void decode(byte[] payload, RecordVisitor visitor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long sequence = in.readLong();
+            if (in.readByte() == COMMIT) {
+                visitor.committed(in.readLong(), in.readLong());
+                return;
+            }
+            LocalDateTime postedAt = EPOCH.plus(in.readLong(), ChronoUnit.MICROS);
+            Transaction.TransactionType type = Transaction.TransactionType.values()[in.readByte()];
+            String accountNumber = in.readUTF();
+            String transactionId = in.readUTF();
+            Money amount = Money.ofMinor(in.readLong());
+            Money balanceAfter = Money.ofMinor(in.readLong());
+            visitor.posting(new JournalRecord(sequence,
+                    new JournalEntry(accountNumber, transactionId, type, amount, balanceAfter, postedAt)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record Scan(int endPosition, long lastSequence, boolean damaged) {
+    }
+
+    // Holds postings back until a marker covers them; only those in flight together, or rolled back, are held
+    private static final class Confirmed implements RecordVisitor {
+
+        private final NavigableMap<Long, JournalRecord> pending = new TreeMap<>();
+        private final Consumer<JournalRecord> consumer;
+
+        private Confirmed(Consumer<JournalRecord> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void posting(JournalRecord record) {
+            pending.put(record.sequence(), record);
+        }
+
+        @Override
+        public void committed(long firstSequence, long lastSequence) {
+            NavigableMap<Long, JournalRecord> range = pending.subMap(firstSequence, true, lastSequence, true);
+            range.values().forEach(consumer);
+            range.clear();
+        }
+    }
+}
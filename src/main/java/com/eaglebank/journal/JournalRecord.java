@@ -0,0 +1,7 @@
+package com.eaglebank.journal;
+
+/**
+ * A {@link JournalEntry} as read back, with the sequence number it was written under.
+ */
+public record JournalRecord(long sequence, JournalEntry entry) {
+}
@@ -0,0 +1,30 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.config.JournalConfig;
+import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.shard.ShardFanOut;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Before the application takes traffic, marks the journal entries whose commit marker a crash cut off,
+ * using the {@code transactions} table to tell a committed posting from one that rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+public class JournalRecovery implements SmartInitializingSingleton {
+
+    private final JournalConfig journalConfig;
+    private final PostingJournal postingJournal;
+    private final TransactionRepository transactionRepository;
+    private final ShardFanOut shardFanOut;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (journalConfig.isEnabled()) {
+            postingJournal.confirmRecovered(transactionId -> shardFanOut.onEachShard(
+                    () -> transactionRepository.existsByTransactionId(transactionId)).contains(true));
+        }
+    }
+}
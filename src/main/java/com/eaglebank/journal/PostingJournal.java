@@ -0,0 +1,397 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.config.JournalConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * An append-only, memory-mapped journal of every posting, enabled with {@code eaglebank.journal.enabled}.
+ * <p>
+ * Postings are added with {@link #record(JournalEntry)} inside the database transaction that makes them.
+ * Just before that transaction commits, its entries are copied into the current segment in one step and
+ * the committing thread waits until they are on disk. A journal that cannot take them fails the commit,
+ * so every committed posting is in the journal and nothing fails once the database has committed. A
+ * single flusher thread forces everything written since its last flush in one go, so concurrent
+ * postings share each fsync. Segments are preallocated files of {@code segment-size}; a full segment is
+ * forced and a new one started.
+ * <p>
+ * Once the database has committed, a commit marker naming the transaction's entries is appended, and
+ * only entries a marker covers are replayed. Entries of a transaction whose database commit fails stay
+ * unmarked, and so does a committed transaction whose marker a crash cut off: on restart
+ * {@link #confirmRecovered(Predicate)} marks those the database holds. The intact records are kept and
+ * appending resumes in a fresh segment; see {@link JournalReader} for reading it back.
+ */
+@Component
+@Slf4j
+public class PostingJournal {
+
+    private final JournalConfig journalConfig;
+    private final Timer flushTimer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition written = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    // Guarded by lock
+    private MappedByteBuffer segment;
+    private int position;
+    private int flushedPosition;
+    private final List<MappedByteBuffer> sealed = new ArrayList<>();
+    private long nextSequence;
+    private long writtenSequence;
+    private long durableSequence;
+    private long openedSequence;
+    private RuntimeException failure;
+    private boolean running;
+
+    private Thread flusher;
+
+    public PostingJournal(JournalConfig journalConfig, MeterRegistry meterRegistry) {
+        this.journalConfig = journalConfig;
+        this.flushTimer = Timer.builder("eaglebank.journal.flush")
+                .description("Time to force one group of journal records to disk")
+                .register(meterRegistry);
+        if (journalConfig.isEnabled()) {
+            if (journalConfig.getDirectory() == null) {
+                throw new IllegalStateException(
+                        "eaglebank.journal.directory must be set to durable storage when the journal is enabled");
+            }
+            open();
+        }
+    }
+
+    /**
+     * Adds a posting to the journal as the current transaction commits. Entries from the same
+     * transaction, such as both legs of a transfer, are written and flushed together, and a failure to
+     * make them durable rolls the transaction back. They are marked committed once the database has
+     * committed.
+     */
+    public void record(JournalEntry entry) {
+        if (!journalConfig.isEnabled()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<JournalEntry> pending = (List<JournalEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<JournalEntry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long lastSequence;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    long last = append(entries);
+                    awaitDurable(last);
+                    lastSequence = last;
+                }
+
+                // A rolled-back transaction's entries are left unmarked, so they are never replayed
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(PostingJournal.this);
+                    if (lastSequence != 0 && status == STATUS_COMMITTED) {
+                        try {
+                            markCommitted(lastSequence - entries.size() + 1, lastSequence);
+                        } catch (RuntimeException e) {
+                            // Nothing can be undone now; the next start marks them from the database
+                            log.error("Unable to mark journal entries {} committed", entries, e);
+                        }
+                    }
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    /**
+     * Copies entries into the journal under consecutive sequence numbers.
+     *
+     * @return the sequence number of the last entry, to pass to {@link #awaitDurable(long)}
+     */
+    public long append(List<JournalEntry> entries) {
+        lock.lock();
+        try {
+            checkRunning();
+            for (JournalEntry entry : entries) {
+                put(JournalReader.encode(nextSequence, entry));
+            }
+            written.signal();
+            return writtenSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a commit marker for the entries from {@code firstSequence} to {@code lastSequence}, which
+     * must all belong to transactions the database has committed. It is flushed with whatever follows;
+     * until then a crash leaves the entries for {@link #confirmRecovered(Predicate)}.
+     *
+     * @return the sequence number of the marker
+     */
+    public long markCommitted(long firstSequence, long lastSequence) {
+        lock.lock();
+        try {
+            checkRunning();
+            put(JournalReader.encodeCommit(nextSequence, firstSequence, lastSequence));
+            written.signal();
+            return writtenSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every record up to {@code sequence} has been forced to disk.
+     */
+    public void awaitDurable(long sequence) {
+        long remaining = journalConfig.getDurableTimeout().toNanos();
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new IllegalStateException("Posting journal failed to flush", failure);
+                }
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Posting journal did not flush sequence " + sequence
+                            + " within " + journalConfig.getDurableTimeout());
+                }
+                remaining = flushed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the posting journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the unmarked entries written before this journal was opened whose transaction id
+     * {@code committed} accepts, and waits until the markers are on disk. The rest belong to
+     * transactions that rolled back and stay unmarked.
+     *
+     * @return the number of entries marked
+     */
+    public int confirmRecovered(Predicate<String> committed) {
+        long opened;
+        lock.lock();
+        try {
+            opened = openedSequence;
+        } finally {
+            lock.unlock();
+        }
+        List<JournalRecord> confirmed = JournalReader.unconfirmed(directory()).stream()
+                .filter(record -> record.sequence() <= opened)
+                .filter(record -> committed.test(record.entry().transactionId()))
+                .toList();
+        long last = 0;
+        for (JournalRecord record : confirmed) {
+            last = markCommitted(record.sequence(), record.sequence());
+        }
+        if (last != 0) {
+            awaitDurable(last);
+            log.warn("Marked {} journal entries committed whose marker was lost in a crash", confirmed.size());
+        }
+        return confirmed.size();
+    }
+
+    /**
+     * Reads every committed entry back; see {@link JournalReader#replay(Path, Consumer)}.
+     */
+    public long replay(Consumer<JournalRecord> consumer) {
+        return JournalReader.replay(directory(), consumer);
+    }
+
+    /**
+     * Each account's balance as the sum of its journalled postings. This is the account's balance when the
+     * journal has been enabled since the account was opened.
+     */
+    public Map<String, BigDecimal> rebuildBalances() {
+        Map<String, long[]> minorUnits = new HashMap<>();
+        replay(record -> minorUnits.computeIfAbsent(record.entry().accountNumber(), accountNumber -> new long[1])[0]
+                += record.entry().signedMinorUnits());
+        Map<String, BigDecimal> balances = new HashMap<>(minorUnits.size() * 2);
+        minorUnits.forEach((accountNumber, total) -> balances.put(accountNumber, BigDecimal.valueOf(total[0], 2)));
+        return balances;
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            written.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Path directory() {
+        return Path.of(journalConfig.getDirectory());
+    }
+
+    private void open() {
+        Path directory = directory();
+        List<Path> segments = JournalReader.segments(directory);
+        long lastSequence = JournalReader.read(directory, new JournalReader.RecordVisitor() {
+        });
+        if (!segments.isEmpty()) {
+            Path last = segments.get(segments.size() - 1);
+            if (JournalReader.firstSequenceOf(last) > lastSequence) {
+                // Nothing intact in it, so nothing is lost by starting it again
+                delete(last);
+            }
+        }
+
+        lock.lock();
+        try {
+            nextSequence = lastSequence + 1;
+            writtenSequence = lastSequence;
+            durableSequence = lastSequence;
+            openedSequence = lastSequence;
+            segment = newSegment(nextSequence);
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        flusher = Thread.ofPlatform().name("posting-journal-flusher").daemon().start(this::flushLoop);
+        log.info("Posting journal open in {}, next sequence {}", directory, nextSequence);
+    }
+
+    // Callers hold lock
+    private void checkRunning() {
+        if (!running) {
+            throw new IllegalStateException("Posting journal is not open");
+        }
+    }
+
+    // Callers hold lock and signal written once they are done
+    private void put(byte[] payload) {
+        int needed = JournalReader.RECORD_HEADER_BYTES + payload.length;
+        // Keep room for the zero length that marks the end of the segment
+        if (position + needed + Integer.BYTES > segment.capacity()) {
+            roll();
+        }
+        segment.putInt(position + Integer.BYTES, JournalReader.checksum(payload));
+        segment.put(position + JournalReader.RECORD_HEADER_BYTES, payload);
+        segment.putInt(position, payload.length);
+        position += needed;
+        writtenSequence = nextSequence++;
+    }
+
+    private void roll() {
+        sealed.add(segment);
+        segment = newSegment(nextSequence);
+        position = 0;
+        flushedPosition = 0;
+    }
+
+    private MappedByteBuffer newSegment(long firstSequence) {
+        Path file = directory().resolve(JournalReader.fileName(firstSequence));
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Mapping past the end grows the file; the new space reads as zeros, the end marker
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, journalConfig.getSegmentSize().toBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create journal segment " + file, e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            MappedByteBuffer current;
+            int from;
+            int to;
+            List<MappedByteBuffer> full;
+            lock.lock();
+            try {
+                while (running && writtenSequence == durableSequence) {
+                    written.awaitUninterruptibly();
+                }
+                if (writtenSequence == durableSequence) {
+                    return;
+                }
+                target = writtenSequence;
+                current = segment;
+                from = flushedPosition;
+                to = position;
+                full = new ArrayList<>(sealed);
+                sealed.clear();
+                flushedPosition = position;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                flushTimer.record(() -> {
+                    full.forEach(MappedByteBuffer::force);
+                    if (to > from) {
+                        current.force(from, to - from);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Posting journal flush failed; postings will fail until restart", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    running = false;
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                durableSequence = target;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to remove empty journal segment " + file, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.eaglebank.outbox;
+
+import com.eaglebank.config.OutboxConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each relayed event to a local file as one JSON document per line.
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.outbox.file-sink", name = "enabled", havingValue = "true")
+@Slf4j
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(OutboxConfig outboxConfig, ObjectMapper objectMapper) {
+        this.path = Path.of(outboxConfig.getFileSink().getPath()).toAbsolutePath();
+        this.objectMapper = objectMapper;
+        log.info("Outbox events will be appended to {}", path);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        try {
+            Files.createDirectories(path.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OutboxMessage message : batch) {
+                    writer.write(objectMapper.writeValueAsString(message));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append outbox events to " + path, e);
+        }
+    }
+}
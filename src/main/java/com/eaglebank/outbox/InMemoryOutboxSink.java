@@ -0,0 +1,50 @@
+package com.eaglebank.outbox;
+
+import com.eaglebank.config.OutboxConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded in-process sink for tests and local consumers. Batches are accepted whole or not at all;
+ * when the buffer cannot take a batch the sink refuses it and the relay backs off until
+ * {@link #drain()} makes room.
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.outbox.memory-sink", name = "enabled", havingValue = "true")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxMessage> buffer;
+
+    public InMemoryOutboxSink(OutboxConfig outboxConfig) {
+        this.buffer = new ArrayBlockingQueue<>(outboxConfig.getMemorySink().getCapacity());
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        // Consumers only ever free capacity, so checking under the lock is enough to keep batches whole
+        if (buffer.remainingCapacity() < batch.size()) {
+            throw new IllegalStateException("In-memory outbox sink is full (" + buffer.size() + " buffered)");
+        }
+        buffer.addAll(batch);
+    }
+
+    public List<OutboxMessage> drain() {
+        List<OutboxMessage> messages = new ArrayList<>(buffer.size());
+        buffer.drainTo(messages);
+        return messages;
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+}
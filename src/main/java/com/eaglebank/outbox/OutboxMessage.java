@@ -0,0 +1,18 @@
+package com.eaglebank.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a claimed outbox row, as handed to {@link OutboxSink}s. {@code payload} is the
+ * JSON document stored with the event and is embedded verbatim when the message is serialized.
+ */
+public record OutboxMessage(
+        long id,
+        String eventType,
+        String aggregateId,
+        @JsonRawValue String payload,
+        LocalDateTime createdAt
+) {
+}
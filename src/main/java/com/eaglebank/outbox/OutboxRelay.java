@@ -0,0 +1,221 @@
+package com.eaglebank.outbox;
+
+import com.eaglebank.config.OutboxConfig;
+import com.eaglebank.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code outbox_events} into the configured {@link OutboxSink}s.
+ * <p>
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, handed to every sink and marked published
+ * in one transaction, so several nodes can run the relay side by side without delivering the same
+ * batch concurrently. The price is that events for one account may be delivered out of order across
+ * nodes; consumers that care should order by message id. With sharding, each shard's outbox is
+ * drained in turn, and message ids are only ordered within a shard, which is also the account's.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String CLAIM_BATCH_SQL = """
+            SELECT id, event_type, aggregate_id, payload, created_at
+            FROM outbox_events
+            WHERE published_at IS NULL
+            ORDER BY id
+            FETCH FIRST ? ROWS ONLY
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_PUBLISHED_SQL = "UPDATE outbox_events SET published_at = ? WHERE id = ?";
+
+    private static final String BACKLOG_SQL =
+            "SELECT COUNT(*) AS pending, MIN(created_at) AS oldest FROM outbox_events WHERE published_at IS NULL";
+
+    private static final String PURGE_SQL = "DELETE FROM outbox_events WHERE published_at < ?";
+
+    private static final RowMapper<OutboxMessage> MESSAGE_ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getString("aggregate_id"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final OutboxConfig outboxConfig;
+    private final MeterRegistry meterRegistry;
+    private final ShardRouter shardRouter;
+
+    private final Counter publishedEvents;
+    private final DistributionSummary batchSizes;
+    private final Timer dispatchTimer;
+    private final Timer deliveryLag;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    // Only touched from the scheduler thread
+    private int consecutiveFailures;
+    private long resumeAtNanos;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       ObjectProvider<OutboxSink> sinks, OutboxConfig outboxConfig, MeterRegistry meterRegistry,
+                       ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sinks = sinks.orderedStream().toList();
+        this.outboxConfig = outboxConfig;
+        this.meterRegistry = meterRegistry;
+        this.shardRouter = shardRouter;
+        this.resumeAtNanos = System.nanoTime();
+
+        this.publishedEvents = Counter.builder("eaglebank.outbox.published")
+                .description("Outbox events delivered to all sinks")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("eaglebank.outbox.batch.size")
+                .description("Events per relayed batch")
+                .register(meterRegistry);
+        this.dispatchTimer = Timer.builder("eaglebank.outbox.dispatch")
+                .description("Time to hand one batch to every sink")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("eaglebank.outbox.delivery.lag")
+                .description("Time from an event being recorded to it being delivered")
+                .register(meterRegistry);
+        Gauge.builder("eaglebank.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Unpublished outbox events as of the last poll")
+                .register(meterRegistry);
+        Gauge.builder("eaglebank.outbox.lag", oldestPendingMillis, OutboxRelay::secondsSince)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        if (this.sinks.isEmpty()) {
+            log.warn("No outbox sinks configured; outbox events will accumulate until one is enabled");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@outboxConfig.pollInterval.toMillis()}")
+    public void poll() {
+        if (!outboxConfig.isRelayEnabled() || sinks.isEmpty() || System.nanoTime() - resumeAtNanos < 0) {
+            return;
+        }
+
+        try {
+            shardRouter.forEachShard(this::drain);
+            consecutiveFailures = 0;
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            Duration backoff = backoff(consecutiveFailures);
+            resumeAtNanos = System.nanoTime() + backoff.toNanos();
+            log.warn("Outbox relay failed ({} in a row), backing off for {}: {}",
+                    consecutiveFailures, backoff, e.getMessage());
+        } finally {
+            refreshBacklog();
+        }
+
+        shardRouter.forEachShard(this::purgePublished);
+    }
+
+    /**
+     * Relays batches until the outbox is empty or {@code maxBatchesPerPoll} batches have gone out.
+     * A sink failure rolls back the batch in flight and is rethrown; batches already relayed stay published.
+     * Drains the calling thread's shard.
+     *
+     * @return the number of events published
+     */
+    public int drain() {
+        int published = 0;
+        for (int i = 0; i < outboxConfig.getMaxBatchesPerPoll(); i++) {
+            Integer relayed = transactionTemplate.execute(status -> relayBatch());
+            int count = relayed != null ? relayed : 0;
+            published += count;
+            if (count < outboxConfig.getBatchSize()) {
+                break;
+            }
+        }
+        return published;
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = jdbcTemplate.query(CLAIM_BATCH_SQL, MESSAGE_ROW_MAPPER, outboxConfig.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (RuntimeException e) {
+                meterRegistry.counter("eaglebank.outbox.failures", "sink", sink.name()).increment();
+                throw e;
+            }
+        }
+        sample.stop(dispatchTimer);
+
+        LocalDateTime publishedAt = LocalDateTime.now();
+        Timestamp publishedTimestamp = Timestamp.valueOf(publishedAt);
+        jdbcTemplate.batchUpdate(MARK_PUBLISHED_SQL, batch, batch.size(), (ps, message) -> {
+            ps.setTimestamp(1, publishedTimestamp);
+            ps.setLong(2, message.id());
+        });
+
+        batchSizes.record(batch.size());
+        publishedEvents.increment(batch.size());
+        for (OutboxMessage message : batch) {
+            deliveryLag.record(Duration.between(message.createdAt(), publishedAt));
+        }
+        log.debug("Relayed {} outbox events up to id {}", batch.size(), batch.get(batch.size() - 1).id());
+        return batch.size();
+    }
+
+    private void refreshBacklog() {
+        long[] pending = {0};
+        long[] oldestMillis = {0};
+        shardRouter.forEachShard(() -> jdbcTemplate.query(BACKLOG_SQL, (RowCallbackHandler) rs -> {
+            pending[0] += rs.getLong("pending");
+            Timestamp oldest = rs.getTimestamp("oldest");
+            if (oldest != null && (oldestMillis[0] == 0 || oldest.getTime() < oldestMillis[0])) {
+                oldestMillis[0] = oldest.getTime();
+            }
+        }));
+        pendingEvents.set(pending[0]);
+        oldestPendingMillis.set(oldestMillis[0]);
+    }
+
+    private void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(outboxConfig.getRetention());
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff));
+        if (purged > 0) {
+            log.debug("Purged {} published outbox events older than {}", purged, cutoff);
+        }
+    }
+
+    private Duration backoff(int failures) {
+        Duration backoff = outboxConfig.getInitialBackoff().multipliedBy(1L << Math.min(failures - 1, 20));
+        return backoff.compareTo(outboxConfig.getMaxBackoff()) > 0 ? outboxConfig.getMaxBackoff() : backoff;
+    }
+
+    private static double secondsSince(AtomicLong epochMillis) {
+        long millis = epochMillis.get();
+        return millis == 0 ? 0 : Math.max(0, System.currentTimeMillis() - millis) / 1000.0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.eaglebank.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. Every {@code OutboxSink} bean receives every batch.
+ * <p>
+ * Delivery is at-least-once: if any sink throws, the whole batch stays unpublished and is offered
+ * to all sinks again later, so sinks must tolerate duplicates (the message id is stable). Throwing
+ * is also how a sink applies back-pressure - the relay backs off and the events wait in the table.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    void publish(List<OutboxMessage> batch);
+}
@@ -0,0 +1,196 @@
+package com.eaglebank.reactive;
+
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.security.JwtTokenProvider;
+import com.eaglebank.security.RateLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking counterparts of {@code GET /v1/accounts} and
+ * {@code GET /v1/accounts/{accountNumber}/transactions}, with the same authentication, rate limits,
+ * ownership rules, response bodies and problem details as the MVC controllers. As there, a token is
+ * only accepted while its user still exists, looked up here over R2DBC rather than JPA.
+ * <p>
+ * Each listing is written element by element as the client reads it, so a slow client holds a
+ * database connection for its listing but no thread.
+ */
+@Component
+@Slf4j
+public class ReactiveListingHandler {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_ID_ATTRIBUTE = ReactiveListingHandler.class.getName() + ".userId";
+
+    private final ReactiveListingReader reader;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimiter rateLimiter;
+    private final ObjectWriter transactionWriter;
+    private final ObjectWriter accountWriter;
+
+    public ReactiveListingHandler(ReactiveListingReader reader, JwtTokenProvider jwtTokenProvider,
+                                  RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.rateLimiter = rateLimiter;
+        this.transactionWriter = objectMapper.writerFor(TransactionResponse.class);
+        this.accountWriter = objectMapper.writerFor(BankAccountResponse.class);
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/v1/accounts", this::listAccounts)
+                .GET("/v1/accounts/{accountNumber}/transactions", this::listTransactions)
+                .filter(this::authenticate)
+                .build();
+    }
+
+    Mono<ServerResponse> listAccounts(ServerRequest request) {
+        String userId = userId(request);
+        log.debug("Reactive listing of accounts for user: {}", userId);
+        return listing("accounts", accountWriter, reader.findAccounts(userId));
+    }
+
+    Mono<ServerResponse> listTransactions(ServerRequest request) {
+        String userId = userId(request);
+        String accountNumber = request.pathVariable("accountNumber");
+        log.debug("Reactive listing of transactions for account: {}, user: {}", accountNumber, userId);
+        return reader.findOwnerUserId(accountNumber)
+                .flatMap(owner -> owner.equals(userId)
+                        ? listing("transactions", transactionWriter, reader.findTransactions(accountNumber))
+                        : problem(HttpStatus.FORBIDDEN, "Forbidden", "Access denied"))
+                .switchIfEmpty(Mono.defer(() -> problem(HttpStatus.NOT_FOUND, "Resource Not Found",
+                        "Account not found with number: " + accountNumber)));
+    }
+
+    // In the order of the MVC filter chain: authenticate, rate limit, then refuse the unauthenticated
+    private Mono<ServerResponse> authenticate(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String tokenUserId = tokenUserId(request);
+        Mono<Optional<String>> userId = tokenUserId == null
+                ? Mono.just(Optional.empty())
+                : reader.findUserId(tokenUserId).map(Optional::of).defaultIfEmpty(Optional.empty());
+        return userId.flatMap(user -> {
+            long waitNanos = tryConsume(request, user);
+            if (waitNanos > 0) {
+                return tooManyRequests(waitNanos);
+            }
+            if (user.isEmpty()) {
+                return problem(HttpStatus.UNAUTHORIZED, "Unauthorized", "Authentication failed");
+            }
+            request.attributes().put(USER_ID_ATTRIBUTE, user.get());
+            return next.handle(request);
+        });
+    }
+
+    private String tokenUserId(ServerRequest request) {
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            // Signature and expiry checks only, no I/O, so fine on the event loop
+            return jwtTokenProvider.getUserIdFromToken(authorization.substring(BEARER_PREFIX.length()));
+        } catch (JwtException e) {
+            log.debug("Rejected reactive listing request: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Returns 0 if the request may go ahead, otherwise the nanoseconds until it may
+    private long tryConsume(ServerRequest request, Optional<String> userId) {
+        if (!rateLimiter.isEnabled()) {
+            return 0;
+        }
+        RateLimiter.Rule rule = rateLimiter.findRule(request.method().name(),
+                request.requestPath().pathWithinApplication());
+        if (rule == null) {
+            return 0;
+        }
+        String clientKey = userId.map(RateLimiter::userKey).orElseGet(() -> RateLimiter.addressKey(
+                request.remoteAddress().map(InetSocketAddress::getHostString).orElse("unknown")));
+        return rateLimiter.tryConsume(rule, clientKey);
+    }
+
+    private static String userId(ServerRequest request) {
+        return (String) request.attributes().get(USER_ID_ATTRIBUTE);
+    }
+
+    // Byte-for-byte what ListingJsonWriter writes for the same listing
+    private static Mono<ServerResponse> listing(String fieldName, ObjectWriter writer, Flux<?> elements) {
+        Flux<DataBuffer> body = Flux.concat(
+                Mono.fromSupplier(() -> buffer(("{\"" + fieldName + "\":[").getBytes(StandardCharsets.UTF_8))),
+                elements.index().map(element -> buffer(element.getT1() == 0
+                        ? encode(writer, element.getT2())
+                        : prefixed(encode(writer, element.getT2())))),
+                Mono.fromSupplier(() -> buffer("]}".getBytes(StandardCharsets.UTF_8))));
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(body));
+    }
+
+    private static Mono<ServerResponse> problem(HttpStatus status, String title, String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setTitle(title);
+        problemDetail.setProperty("timestamp", Instant.now());
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(problemDetail);
+    }
+
+    private static Mono<ServerResponse> tooManyRequests(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS,
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds");
+        problemDetail.setTitle("Too Many Requests");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(problemDetail);
+    }
+
+    private static byte[] encode(ObjectWriter writer, Object element) {
+        try {
+            return writer.writeValueAsBytes(element);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] prefixed(byte[] json) {
+        byte[] withComma = new byte[json.length + 1];
+        withComma[0] = ',';
+        System.arraycopy(json, 0, withComma, 1, json.length);
+        return withComma;
+    }
+
+    private static DataBuffer buffer(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+}
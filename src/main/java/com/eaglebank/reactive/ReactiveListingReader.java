@@ -0,0 +1,169 @@
+package com.eaglebank.reactive;
+
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.ArchivedTransaction;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.ReactiveConfig;
+import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * The account and transaction listings over R2DBC, read from the same database as JPA. Rows are only
+ * fetched as fast as the client reads them, {@code eaglebank.reactive.prefetch} at most ahead.
+ * The queries mirror the JPA ones, deleted accounts excluded.
+ * <p>
+ * The connection pool, configured under {@code spring.r2dbc}, is private to this reader: a
+ * {@code ConnectionFactory} bean would make Boot back off from the JDBC {@code DataSource}.
+ */
+@Component
+public class ReactiveListingReader implements DisposableBean {
+
+    private static final String OWNER_SQL = """
+            SELECT u.user_id
+            FROM bank_accounts a
+            JOIN users u ON u.id = a.user_id
+            WHERE a.account_number = :accountNumber AND a.deleted = FALSE
+            """;
+
+    private static final String USER_SQL = "SELECT user_id FROM users WHERE user_id = :userId";
+
+    private static final String ACCOUNTS_SQL = """
+            SELECT a.account_number, a.sort_code, a.name, a.account_type, a.balance, a.currency,
+                   a.created_at, a.updated_at, a.version
+            FROM bank_accounts a
+            JOIN users u ON u.id = a.user_id
+            WHERE u.user_id = :userId AND a.deleted = FALSE
+            ORDER BY a.id
+            """;
+
+    private static final String TRANSACTIONS_SQL = """
+            SELECT t.transaction_id, t.amount, t.currency, t.type, t.reference, u.user_id, t.created_at,
+                   t.account_amount, t.fx_rate, t.fx_rate_version
+            FROM transactions t
+            JOIN bank_accounts a ON a.id = t.account_id
+            JOIN users u ON u.id = t.user_id
+            WHERE a.account_number = :accountNumber%s
+            ORDER BY t.created_at DESC, t.id DESC
+            """;
+
+    private static final String HOT_TRANSACTIONS_SQL = TRANSACTIONS_SQL.formatted("");
+    private static final String TRANSACTIONS_SINCE_SQL = TRANSACTIONS_SQL.formatted(" AND t.created_at >= :since");
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final TransactionArchive transactionArchive;
+    private final ReactiveConfig reactiveConfig;
+
+    public ReactiveListingReader(R2dbcProperties r2dbcProperties, TransactionArchive transactionArchive,
+                                 ReactiveConfig reactiveConfig) {
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                        ConnectionFactoryBuilder.withUrl(r2dbcProperties.getUrl())
+                                .username(r2dbcProperties.getUsername())
+                                .password(r2dbcProperties.getPassword())
+                                .build())
+                .maxSize(r2dbcProperties.getPool().getMaxSize())
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.transactionArchive = transactionArchive;
+        this.reactiveConfig = reactiveConfig;
+    }
+
+    /**
+     * The owner's user id, or empty if there is no such open account.
+     */
+    public Mono<String> findOwnerUserId(String accountNumber) {
+        return databaseClient.sql(OWNER_SQL)
+                .bind("accountNumber", accountNumber)
+                .map(row -> row.get("user_id", String.class))
+                .one();
+    }
+
+    /**
+     * The user id if the user still exists, or empty.
+     */
+    public Mono<String> findUserId(String userId) {
+        return databaseClient.sql(USER_SQL)
+                .bind("userId", userId)
+                .map(row -> row.get("user_id", String.class))
+                .one();
+    }
+
+    public Flux<BankAccountResponse> findAccounts(String userId) {
+        return databaseClient.sql(ACCOUNTS_SQL)
+                .bind("userId", userId)
+                .map(ReactiveListingReader::toAccount)
+                .all()
+                .limitRate(reactiveConfig.getPrefetch());
+    }
+
+    /**
+     * Newest first; archived months follow the rows still in the table, read off the event loop.
+     */
+    public Flux<TransactionResponse> findTransactions(String accountNumber) {
+        // One snapshot for both halves, so a month being archived is listed exactly once
+        ArchiveSnapshot archive = transactionArchive.current();
+        Optional<LocalDateTime> archivedUntil = archive.archivedUntil();
+        DatabaseClient.GenericExecuteSpec query = archivedUntil.isPresent()
+                ? databaseClient.sql(TRANSACTIONS_SINCE_SQL).bind("since", archivedUntil.get())
+                : databaseClient.sql(HOT_TRANSACTIONS_SQL);
+        Flux<TransactionResponse> hot = query
+                .bind("accountNumber", accountNumber)
+                .map(ReactiveListingReader::toTransaction)
+                .all()
+                .limitRate(reactiveConfig.getPrefetch());
+        if (!archive.holds(accountNumber)) {
+            return hot;
+        }
+        return hot.concatWith(Flux.fromStream(() -> archive.stream(accountNumber).map(ArchivedTransaction::toResponse))
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static BankAccountResponse toAccount(Readable row) {
+        return new BankAccountResponse(
+                row.get("account_number", String.class),
+                row.get("sort_code", String.class),
+                row.get("name", String.class),
+                row.get("account_type", String.class).toLowerCase(),
+                row.get("balance", BigDecimal.class),
+                row.get("currency", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Integer.class));
+    }
+
+    // Same shape as the JPQL projection: the account amount only when the posting was converted
+    private static TransactionResponse toTransaction(Readable row) {
+        return new TransactionResponse(
+                row.get("transaction_id", String.class),
+                row.get("amount", BigDecimal.class),
+                row.get("currency", String.class),
+                Transaction.TransactionType.valueOf(row.get("type", String.class)),
+                row.get("reference", String.class),
+                row.get("user_id", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("account_amount", BigDecimal.class),
+                row.get("fx_rate", BigDecimal.class),
+                row.get("fx_rate_version", String.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.eaglebank.reactive;
+
+import com.eaglebank.config.ReactiveConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Serves {@link ReactiveListingHandler} from a Reactor Netty server on {@code eaglebank.reactive.port},
+ * beside the servlet container, which keeps serving everything else. Started once the context is
+ * refreshed and, on shutdown, given {@code shutdown-grace-period} to finish the listings in flight.
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.reactive", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final ReactiveConfig reactiveConfig;
+    private final ReactiveListingHandler reactiveListingHandler;
+    private final ObjectMapper objectMapper;
+
+    private volatile DisposableServer server;
+
+    @Override
+    public void start() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveListingHandler.routes(), strategies);
+        server = HttpServer.create()
+                .port(reactiveConfig.getPort())
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive read server started on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        if (running == null) {
+            return;
+        }
+        running.disposeNow(reactiveConfig.getShutdownGracePeriod());
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The port actually bound, which differs from the configured one when that is 0.
+     */
+    public int getPort() {
+        return server.port();
+    }
+}
@@ -0,0 +1,14 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.domain.BankAccount;
+
+import java.util.Optional;
+
+/**
+ * Lookups by {@code accountNumber} that go through Hibernate's natural-id API, so they are answered from
+ * the second-level cache when possible. A derived query would always hit the database.
+ */
+public interface BankAccountNaturalIdRepository {
+
+    Optional<BankAccount> findByAccountNumber(String accountNumber);
+}
@@ -0,0 +1,26 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.domain.BankAccount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Without a transaction the shared EntityManager closes the session unwrap returns before it is used
+@Transactional(readOnly = true)
+public class BankAccountNaturalIdRepositoryImpl implements BankAccountNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<BankAccount> findByAccountNumber(String accountNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(BankAccount.class)
+                .loadOptional(accountNumber)
+                // @SQLRestriction does not apply to loads by natural id
+                .filter(account -> !account.isDeleted());
+    }
+}
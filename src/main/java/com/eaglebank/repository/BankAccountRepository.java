@@ -1,21 +1,56 @@
 package com.eaglebank.repository;
 
 import com.eaglebank.domain.BankAccount;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
-
-    Optional<BankAccount> findByAccountNumber(String accountNumber);
+public interface BankAccountRepository extends JpaRepository<BankAccount, Long>, BankAccountNaturalIdRepository {
 
+    // Query cache: only ids are cached, and any write to bank_accounts invalidates the result
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<BankAccount> findByUserUserId(String userId);
 
+    Stream<BankAccount> streamByUserUserId(String userId);
+
     boolean existsByAccountNumber(String accountNumber);
 
+    // Native, so closed accounts still awaiting the purge count: their rows hold the unique number
+    @Query(value = "SELECT COUNT(*) > 0 FROM bank_accounts WHERE account_number = :accountNumber", nativeQuery = true)
+    boolean isAccountNumberTaken(@Param("accountNumber") String accountNumber);
+
     long countByUserUserId(String userId);
+
+    // Native, so it sees the closed accounts every JPA query hides
+    @Query(value = """
+            SELECT COUNT(*) FROM bank_accounts a JOIN users u ON u.id = a.user_id
+            WHERE u.user_id = :userId AND a.deleted = TRUE
+            """, nativeQuery = true)
+    long countClosedByUserUserId(@Param("userId") String userId);
+
+    @Query("select a.version from BankAccount a where a.accountNumber = :accountNumber")
+    Optional<Integer> findVersionByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.user.userId from BankAccount a where a.accountNumber = :accountNumber")
+    Optional<String> findOwnerUserIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.id from BankAccount a where a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // SELECT ... FOR UPDATE: always read from the database, and the row stays locked until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from BankAccount a where a.id = :id")
+    Optional<BankAccount> findByIdForUpdate(@Param("id") Long id);
 }
 
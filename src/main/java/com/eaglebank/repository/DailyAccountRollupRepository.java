@@ -0,0 +1,32 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.domain.DailyAccountRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyAccountRollupRepository extends JpaRepository<DailyAccountRollup, Long> {
+
+    Optional<DailyAccountRollup> findByAccountIdAndRollupDate(Long accountId, LocalDate rollupDate);
+
+    List<DailyAccountRollup> findByAccount_AccountNumberAndRollupDateBetweenOrderByRollupDateAsc(
+            String accountNumber, LocalDate from, LocalDate to);
+
+    Optional<DailyAccountRollup> findFirstByAccountIdAndRollupDateBeforeOrderByRollupDateDesc(Long accountId,
+                                                                                            LocalDate before);
+
+    @Modifying
+    @Query("delete from DailyAccountRollup r where r.account.id = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("delete from DailyAccountRollup r where r.account.id = :accountId and r.rollupDate >= :from")
+    int deleteByAccountIdFrom(@Param("accountId") Long accountId, @Param("from") LocalDate from);
+}
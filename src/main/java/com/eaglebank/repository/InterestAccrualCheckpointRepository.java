@@ -0,0 +1,14 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.domain.InterestAccrualCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InterestAccrualCheckpointRepository extends JpaRepository<InterestAccrualCheckpoint, Long> {
+
+    List<InterestAccrualCheckpoint> findByAccrualDateOrderByPartitionNo(LocalDate accrualDate);
+}
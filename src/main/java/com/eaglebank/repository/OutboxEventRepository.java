@@ -0,0 +1,13 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Write side of the outbox. The relay claims and marks events with plain SQL (see
+ * {@link com.eaglebank.outbox.OutboxRelay}) because it needs {@code FOR UPDATE SKIP LOCKED}.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
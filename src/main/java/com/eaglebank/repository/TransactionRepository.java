@@ -1,11 +1,18 @@
 package com.eaglebank.repository;
 
 import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.response.TransactionResponse;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -14,8 +21,36 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     List<Transaction> findByAccount_AccountNumberOrderByCreatedAtDesc(String accountNumber);
 
+    List<Transaction> findByAccount_AccountNumberAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+            String accountNumber, LocalDateTime createdAt);
+
     Optional<Transaction> findByTransactionIdAndAccount_AccountNumber(String transactionId, String accountNumber);
 
     boolean existsByTransactionId(String transactionId);
+
+    List<Transaction> findByTransferIdOrderByIdAsc(String transferId);
+
+    @Query("""
+            select new com.eaglebank.dto.response.TransactionResponse(
+                t.transactionId, t.amount, t.currency, t.type, t.reference, t.user.userId, t.createdAt,
+                t.accountAmount, t.fxRate, t.fxRateVersion)
+            from Transaction t
+            where t.account.accountNumber = :accountNumber
+            order by t.createdAt desc
+            """)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<TransactionResponse> streamResponsesByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("""
+            select new com.eaglebank.dto.response.TransactionResponse(
+                t.transactionId, t.amount, t.currency, t.type, t.reference, t.user.userId, t.createdAt,
+                t.accountAmount, t.fxRate, t.fxRateVersion)
+            from Transaction t
+            where t.account.accountNumber = :accountNumber and t.createdAt >= :since
+            order by t.createdAt desc
+            """)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<TransactionResponse> streamResponsesByAccountNumberSince(@Param("accountNumber") String accountNumber,
+                                                                     @Param("since") LocalDateTime since);
 }
 
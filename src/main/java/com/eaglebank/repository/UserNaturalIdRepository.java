@@ -0,0 +1,14 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.domain.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups by {@code userId} that go through Hibernate's natural-id API, so they are answered from the
+ * second-level cache when possible. A derived query would always hit the database.
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByUserId(String userId);
+}
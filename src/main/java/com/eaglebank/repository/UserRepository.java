@@ -1,20 +1,28 @@
 package com.eaglebank.repository;
 
 import com.eaglebank.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByUserId(String userId);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
+    // Query cache: only ids are cached, and any write to users invalidates the result
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
     boolean existsByUserId(String userId);
+
+    @Query("select u.version from User u where u.userId = :userId")
+    Optional<Integer> findVersionByUserId(@Param("userId") String userId);
 }
 
@@ -34,13 +34,18 @@ public class JwtTokenProvider {
     }
 
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
+        return parseClaims(token).getSubject();
+    }
+
+    /**
+     * Verifies the token and returns its claims, throwing {@link JwtException} if it is invalid or expired.
+     */
+    public Claims parseClaims(String token) {
+        return Jwts.parser()
             .verifyWith(getSigningKey())
             .build()
             .parseSignedClaims(token)
             .getPayload();
-
-        return claims.getSubject();
     }
 
     public boolean validateToken(String token) {
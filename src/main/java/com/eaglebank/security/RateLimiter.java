@@ -0,0 +1,124 @@
+package com.eaglebank.security;
+
+import com.eaglebank.config.RateLimitConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * The token buckets behind {@code eaglebank.rate-limit.rules}, shared by every listener that takes
+ * requests: a rule's bucket for a client is the same one whether the request came over REST or gRPC.
+ * Authenticated callers are keyed by {@link #userKey(String)}, anonymous ones by remote address.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private final RateLimitConfig rateLimitConfig;
+    private final List<Rule> rules;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.rules = rateLimitConfig.getRules().stream()
+                .map(rule -> new Rule(rule, meterRegistry))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getMaxBuckets())
+                .expireAfterAccess(rateLimitConfig.getIdleEviction())
+                .build();
+    }
+
+    public static String userKey(String userId) {
+        return "user:" + userId;
+    }
+
+    public static String addressKey(String remoteAddress) {
+        return "ip:" + remoteAddress;
+    }
+
+    public boolean isEnabled() {
+        return rateLimitConfig.isEnabled() && !rules.isEmpty();
+    }
+
+    /**
+     * The first rule matching an HTTP request, or null.
+     */
+    public Rule findRule(String method, PathContainer path) {
+        for (Rule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The first rule whose {@code grpc-method} is the full name of a gRPC method, or null.
+     */
+    public Rule findGrpcRule(String fullMethodName) {
+        for (Rule rule : rules) {
+            if (fullMethodName.equals(rule.grpcMethod)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns 0 if the client may go ahead, otherwise the nanoseconds until it may.
+     */
+    public long tryConsume(Rule rule, String clientKey) {
+        String bucketKey = rule.name + ":" + clientKey;
+        long waitNanos = buckets.get(bucketKey, key -> rule.newBucket()).tryConsume(System.nanoTime());
+        if (waitNanos == 0) {
+            rule.allowed.increment();
+        } else {
+            rule.rejected.increment();
+            log.warn("Rate limit exceeded: rule={}, client={}", rule.name, bucketKey);
+        }
+        return waitNanos;
+    }
+
+    public static final class Rule {
+        private final String name;
+        private final String method;
+        private final PathPattern pattern;
+        private final String grpcMethod;
+        private final RateLimitConfig.Rule rule;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private Rule(RateLimitConfig.Rule rule, MeterRegistry meterRegistry) {
+            this.name = rule.getName();
+            this.method = rule.getMethod();
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPath());
+            this.grpcMethod = rule.getGrpcMethod();
+            this.rule = rule;
+            this.allowed = Counter.builder("eaglebank.ratelimit.requests")
+                    .tag("rule", name)
+                    .tag("outcome", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("eaglebank.ratelimit.requests")
+                    .tag("rule", name)
+                    .tag("outcome", "rejected")
+                    .register(meterRegistry);
+        }
+
+        private boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+
+        private TokenBucket newBucket() {
+            return new TokenBucket(rule.getCapacity(), rule.getRefillTokens(), rule.getRefillPeriod().toNanos());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.eaglebank.security;
 
 import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.shard.ShardKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -25,15 +26,23 @@ public class SecurityService {
         return isOwner;
     }
 
-    public boolean ownsAccount(String accountNumber) {
+    public boolean ownsAccount(@ShardKey String accountNumber) {
         String currentUserId = getCurrentUserId();
         if (currentUserId == null) {
             log.debug("Authorization check - ownsAccount: No authenticated user");
             return false;
         }
 
-        boolean owns = bankAccountRepository.findByAccountNumber(accountNumber)
-                .map(account -> account.getUser().getUserId().equals(currentUserId))
+        return ownsAccount(currentUserId, accountNumber);
+    }
+
+    /**
+     * For callers outside the servlet security context. A missing account counts as owned, so the
+     * caller reports it as not found rather than forbidden.
+     */
+    public boolean ownsAccount(String currentUserId, @ShardKey String accountNumber) {
+        boolean owns = bankAccountRepository.findOwnerUserIdByAccountNumber(accountNumber)
+                .map(currentUserId::equals)
                 .orElse(true);
 
         log.debug("Authorization check - ownsAccount: accountNumber={}, currentUserId={}, result={}",
@@ -0,0 +1,40 @@
+package com.eaglebank.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole state is the
+ * theoretical arrival time of the next request, so consuming a token is a single CAS and allocates nothing.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(long capacity, long refillTokens, long refillPeriodNanos) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriodNanos < 1) {
+            throw new IllegalArgumentException("Token bucket capacity, refill tokens and period must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, refillPeriodNanos / refillTokens);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    /**
+     * Returns 0 if a token was consumed, otherwise the nanoseconds until one becomes available.
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            // nanoTime may wrap, so compare by difference rather than with Math.max
+            long base = current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current;
+            long wait = base - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
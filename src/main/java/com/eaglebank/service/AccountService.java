@@ -1,23 +1,41 @@
 package com.eaglebank.service;
 
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.audit.AuditEvent;
+import com.eaglebank.audit.AuditTrail;
+import com.eaglebank.cache.AccountResponseCache;
+import com.eaglebank.cache.TransactionResponseCache;
 import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.OutboxEvent;
 import com.eaglebank.domain.User;
 import com.eaglebank.dto.request.CreateBankAccountRequest;
 import com.eaglebank.dto.request.UpdateBankAccountRequest;
 import com.eaglebank.dto.response.BankAccountResponse;
 import com.eaglebank.dto.response.ListBankAccountsResponse;
+import com.eaglebank.event.AccountClosedEvent;
 import com.eaglebank.exception.ConflictException;
 import com.eaglebank.exception.ResourceNotFoundException;
 import com.eaglebank.repository.BankAccountRepository;
 import com.eaglebank.repository.UserRepository;
+import com.eaglebank.shard.ShardContext;
+import com.eaglebank.shard.ShardFanOut;
+import com.eaglebank.shard.ShardKey;
+import com.eaglebank.shard.ShardRouter;
+import com.eaglebank.util.ETags;
 import com.eaglebank.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,8 +49,25 @@ public class AccountService {
     private final BankAccountRepository bankAccountRepository;
     private final UserRepository userRepository;
     private final IdGenerator idGenerator;
+    private final OutboxService outboxService;
+    private final TransactionArchive transactionArchive;
+    private final AccountResponseCache accountResponseCache;
+    private final TransactionResponseCache transactionResponseCache;
+    private final AuditTrail auditTrail;
+    private final ShardRouter shardRouter;
+    private final ShardFanOut shardFanOut;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Opens the account on a shard picked at random, with a number that hashes to that shard. The
+     * shard is fixed before the first statement, so the whole transaction runs on it.
+     */
     public BankAccountResponse createAccount(String userId, CreateBankAccountRequest request) {
+        int shard = shardRouter.pickShardForNewAccount();
+        return ShardContext.call(shard, () -> openAccount(userId, request, shard));
+    }
+
+    private BankAccountResponse openAccount(String userId, CreateBankAccountRequest request, int shard) {
         log.debug("Creating bank account for user: {}", userId);
 
         // Verify user exists
@@ -40,14 +75,14 @@ public class AccountService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         // Generate unique account number
-        String accountNumber = generateUniqueAccountNumber();
+        String accountNumber = generateUniqueAccountNumber(shard);
 
         BankAccount account = BankAccount.builder()
                 .accountNumber(accountNumber)
                 .sortCode(EAGLE_BANK_SORT_CODE)
                 .name(request.name())
                 .accountType(BankAccount.AccountType.valueOf(request.accountType().toUpperCase()))
-                .balance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
                 .currency(DEFAULT_CURRENCY)
                 .user(user)
                 .build();
@@ -55,44 +90,105 @@ public class AccountService {
         BankAccount saved = bankAccountRepository.save(account);
         log.info("Bank account created successfully: {} for user: {}", saved.getAccountNumber(), userId);
 
-        return BankAccountResponse.from(saved);
+        BankAccountResponse response = BankAccountResponse.from(saved);
+        outboxService.record(OutboxEvent.EventType.ACCOUNT_CREATED, saved.getAccountNumber(), response);
+        auditTrail.record(AuditEvent.Action.ACCOUNT_CREATED, userId, saved.getAccountNumber(), saved.getAccountNumber());
+        return response;
     }
 
     @Transactional(readOnly = true)
     public ListBankAccountsResponse listAccounts(String userId) {
         log.debug("Listing accounts for user: {}", userId);
 
-        List<BankAccount> accounts = bankAccountRepository.findByUserUserId(userId);
-        List<BankAccountResponse> accountResponses = accounts.stream()
-                .map(BankAccountResponse::from)
-                .toList();
+        return new ListBankAccountsResponse(findAccountsOnEveryShard(userId));
+    }
 
-        return new ListBankAccountsResponse(accountResponses);
+    @Transactional(readOnly = true)
+    public void streamAccounts(String userId, Consumer<Stream<BankAccountResponse>> consumer) {
+        log.debug("Streaming accounts for user: {}", userId);
+
+        // Accounts spread over shards are gathered first; one user has few enough to hold at once
+        if (shardRouter.shardCount() > 1) {
+            consumer.accept(findAccountsOnEveryShard(userId).stream());
+            return;
+        }
+        try (Stream<BankAccount> accounts = bankAccountRepository.streamByUserUserId(userId)) {
+            consumer.accept(accounts.map(BankAccountResponse::from));
+        }
     }
 
     @Transactional(readOnly = true)
     public boolean hasAccounts(String userId) {
         log.debug("Checking if user has accounts: {}", userId);
-        return bankAccountRepository.countByUserUserId(userId) > 0;
+        return shardFanOut.onEachShard(() -> bankAccountRepository.countByUserUserId(userId)).stream()
+                .mapToLong(Long::longValue)
+                .sum() > 0;
+    }
+
+    /**
+     * Whether any of the user's closed accounts still awaits {@link com.eaglebank.job.ClosedAccountPurgeJob}.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasClosedAccounts(String userId) {
+        return shardFanOut.onEachShard(() -> bankAccountRepository.countClosedByUserUserId(userId)).stream()
+                .mapToLong(Long::longValue)
+                .sum() > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public BankAccountResponse getAccountByAccountNumber(String userId, @ShardKey String accountNumber) {
+        return getAccountByAccountNumber(userId, accountNumber,
+                bankAccountRepository.findVersionByAccountNumber(accountNumber).orElse(null));
     }
 
+    /**
+     * Serves the account from {@link AccountResponseCache} while the cached copy is at
+     * {@code currentVersion}, the version column as just read by the caller, and loads it otherwise.
+     */
     @Transactional(readOnly = true)
-    public BankAccountResponse getAccountByAccountNumber(String userId, String accountNumber) {
+    public BankAccountResponse getAccountByAccountNumber(String userId, @ShardKey String accountNumber,
+                                                         Integer currentVersion) {
         log.debug("Fetching account: {} for user: {}", accountNumber, userId);
 
+        if (currentVersion != null) {
+            Optional<BankAccountResponse> cached = accountResponseCache.get(accountNumber, currentVersion);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Bank account not found with account number: " + accountNumber));
 
+        BankAccountResponse response = BankAccountResponse.from(account);
+        accountResponseCache.put(response);
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Integer> findAccountVersion(@ShardKey String accountNumber) {
+        return bankAccountRepository.findVersionByAccountNumber(accountNumber);
+    }
 
-        return BankAccountResponse.from(account);
+    public BankAccountResponse updateAccount(String userId, @ShardKey String accountNumber,
+                                             UpdateBankAccountRequest request) {
+        return updateAccount(userId, accountNumber, request, null);
     }
 
-    public BankAccountResponse updateAccount(String userId, String accountNumber, UpdateBankAccountRequest request) {
+    /**
+     * Applies the update only if the account is still at one of {@code expectedVersions} (from If-Match).
+     * The version check rides on the load the update needs anyway; Hibernate's versioned UPDATE
+     * catches anything that changes between that load and the flush.
+     */
+    public BankAccountResponse updateAccount(String userId, @ShardKey String accountNumber,
+                                             UpdateBankAccountRequest request, Set<Integer> expectedVersions) {
         log.debug("Updating account: {} for user: {}", accountNumber, userId);
 
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Bank account not found with account number: " + accountNumber));
 
+        ETags.checkIfMatch(expectedVersions, accountNumber, account.getVersion());
+
         // Update fields if provided
         if (request.name() != null && !request.name().isBlank()) {
             account.updateName(request.name());
@@ -103,33 +199,61 @@ public class AccountService {
         }
 
         BankAccount updated = bankAccountRepository.save(account);
+        bankAccountRepository.flush();  // so the response carries the bumped version and updatedAt
         log.info("Bank account updated successfully: {}", accountNumber);
 
-        return BankAccountResponse.from(updated);
+        BankAccountResponse response = BankAccountResponse.from(updated);
+        outboxService.record(OutboxEvent.EventType.ACCOUNT_UPDATED, accountNumber, response);
+        accountResponseCache.putAfterCommit(updated);
+        auditTrail.record(AuditEvent.Action.ACCOUNT_UPDATED, userId, accountNumber, accountNumber);
+        return response;
     }
 
-    public void deleteAccount(String userId, String accountNumber) {
+    /**
+     * Closes the account. The row is only marked deleted, which hides it from every read at once;
+     * {@link com.eaglebank.job.ClosedAccountPurgeJob} removes its transactions and the row later.
+     */
+    public void deleteAccount(String userId, @ShardKey String accountNumber) {
         log.debug("Deleting account: {} for user: {}", accountNumber, userId);
 
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Bank account not found with account number: " + accountNumber));
 
-
-        bankAccountRepository.delete(account);
+        // An update rather than a remove, so postings still referring to it in this session stay valid
+        account.close();
+        accountResponseCache.evict(accountNumber);
+        transactionResponseCache.evictAccount(accountNumber);
+        outboxService.record(OutboxEvent.EventType.ACCOUNT_DELETED, accountNumber, Map.of("accountNumber", accountNumber));
+        eventPublisher.publishEvent(new AccountClosedEvent(accountNumber));
+        auditTrail.record(AuditEvent.Action.ACCOUNT_DELETED, userId, accountNumber, accountNumber);
         log.info("Bank account deleted successfully: {}", accountNumber);
     }
 
-    private String generateUniqueAccountNumber() {
-        String accountNumber;
+    private List<BankAccountResponse> findAccountsOnEveryShard(String userId) {
+        return shardFanOut.onEachShard(() -> bankAccountRepository.findByUserUserId(userId).stream()
+                        .map(BankAccountResponse::from)
+                        .toList())
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private String generateUniqueAccountNumber(int shard) {
         int attempts = 0;
-        do {
-            accountNumber = idGenerator.generateAccountNumber();
+        while (attempts < 100) {
+            String accountNumber = idGenerator.generateAccountNumber();
+            // Numbers hashing to another shard are skipped unchecked and do not count as attempts
+            if (shardRouter.shardOf(accountNumber) != shard) {
+                continue;
+            }
             attempts++;
-            if (attempts > 100) {
-                throw new ConflictException("Unable to generate unique account number");
+            // A purged account's number would otherwise bring its archived transactions back with it
+            if (!bankAccountRepository.isAccountNumberTaken(accountNumber)
+                    && !transactionArchive.current().holds(accountNumber)) {
+                return accountNumber;
             }
-        } while (bankAccountRepository.existsByAccountNumber(accountNumber));
-        return accountNumber;
+        }
+        throw new ConflictException("Unable to generate unique account number");
     }
 }
 
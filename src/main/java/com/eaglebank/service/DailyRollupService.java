@@ -0,0 +1,81 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.RollupConfig;
+import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.DailyAccountRollup;
+import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.response.DailyAccountRollupResponse;
+import com.eaglebank.dto.response.ListDailyAccountRollupsResponse;
+import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.exception.UnprocessableEntityException;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.DailyAccountRollupRepository;
+import com.eaglebank.shard.ShardKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class DailyRollupService {
+
+    private final DailyAccountRollupRepository rollupRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final RollupConfig rollupConfig;
+
+    /**
+     * Folds a freshly saved posting into its account's rollup for the day. Must run inside the
+     * posting transaction so the rollup and the balance change commit (or roll back) together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPosting(Transaction transaction) {
+        BankAccount account = transaction.getAccount();
+        LocalDate rollupDate = transaction.getCreatedAt() != null
+                ? transaction.getCreatedAt().toLocalDate()
+                : LocalDate.now();
+
+        DailyAccountRollup rollup = rollupRepository.findByAccountIdAndRollupDate(account.getId(), rollupDate)
+                .orElseGet(() -> DailyAccountRollup.builder()
+                        .account(account)
+                        .rollupDate(rollupDate)
+                        .build());
+
+        rollup.apply(transaction.getType(), transaction.amountInAccountCurrency(), account.getBalance());
+        rollupRepository.save(rollup);
+        log.debug("Rollup updated for account: {} on {}", account.getAccountNumber(), rollupDate);
+    }
+
+    @Transactional(readOnly = true)
+    public ListDailyAccountRollupsResponse listRollups(@ShardKey String accountNumber, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(rollupConfig.getDefaultWindowDays() - 1L);
+        log.debug("Listing rollups for account: {} from {} to {}", accountNumber, start, end);
+
+        if (start.isAfter(end)) {
+            throw new UnprocessableEntityException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= rollupConfig.getMaxWindowDays()) {
+            throw new UnprocessableEntityException(
+                    "Date range must not exceed " + rollupConfig.getMaxWindowDays() + " days");
+        }
+        if (!bankAccountRepository.existsByAccountNumber(accountNumber)) {
+            throw new ResourceNotFoundException("Account not found with number: " + accountNumber);
+        }
+
+        List<DailyAccountRollupResponse> rollups = rollupRepository
+                .findByAccount_AccountNumberAndRollupDateBetweenOrderByRollupDateAsc(accountNumber, start, end)
+                .stream()
+                .map(DailyAccountRollupResponse::from)
+                .toList();
+
+        return new ListDailyAccountRollupsResponse(rollups);
+    }
+}
@@ -0,0 +1,195 @@
+package com.eaglebank.service;
+
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.ArchivedTransaction;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.DashboardConfig;
+import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.DashboardAccountResponse;
+import com.eaglebank.dto.response.DashboardResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.shard.ShardFanOut;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Everything the app's home screen shows, in three queries whatever the number of accounts: the user,
+ * their accounts, and the newest {@code recent-transactions} transactions of every account at once.
+ * With sharding, the last two are one query per shard, run side by side by {@link ShardFanOut}.
+ * <p>
+ * The three are independent, so each runs on its own virtual thread in its own read-only transaction.
+ * As soon as one fails the others are cancelled and the failure is rethrown as it was, so a missing user
+ * is still a 404 and does not wait for the other two queries. Being separate snapshots, an account opened while the dashboard is read may show up
+ * without its first transactions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    // One pass over the user's accounts' transactions, numbered newest first within each account
+    private static final String RECENT_TRANSACTIONS_SQL = """
+            SELECT account_number, transaction_id, amount, currency, type, reference, created_at,
+                   account_amount, fx_rate, fx_rate_version
+            FROM (
+                SELECT a.account_number, t.transaction_id, t.amount, t.currency, t.type, t.reference,
+                       t.created_at, t.account_amount, t.fx_rate, t.fx_rate_version,
+                       ROW_NUMBER() OVER (PARTITION BY t.account_id ORDER BY t.created_at DESC, t.id DESC) AS recency
+                FROM transactions t
+                JOIN bank_accounts a ON a.id = t.account_id
+                JOIN users u ON u.id = a.user_id
+                WHERE u.user_id = ? AND a.deleted = FALSE%s
+            ) ranked
+            WHERE recency <= ?
+            ORDER BY account_number, recency
+            """;
+
+    private static final String RECENT_HOT_TRANSACTIONS_SQL = RECENT_TRANSACTIONS_SQL.formatted("");
+    private static final String RECENT_TRANSACTIONS_SINCE_SQL =
+            RECENT_TRANSACTIONS_SQL.formatted(" AND t.created_at >= ?");
+
+    private final UserService userService;
+    private final AccountService accountService;
+    private final TransactionArchive transactionArchive;
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardConfig dashboardConfig;
+    private final ShardFanOut shardFanOut;
+
+    public DashboardResponse getDashboard(String userId) {
+        log.debug("Building dashboard for user: {}", userId);
+
+        // One snapshot for the query and the archive top-up, so nothing is listed twice
+        ArchiveSnapshot archive = transactionArchive.current();
+        // Not StructuredTaskScope, which is still a preview API on Java 21
+        ExecutorService scope = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory());
+        try {
+            CompletableFuture<UserResponse> user =
+                    CompletableFuture.supplyAsync(() -> userService.getUserById(userId), scope);
+            CompletableFuture<List<BankAccountResponse>> accounts =
+                    CompletableFuture.supplyAsync(() -> accountService.listAccounts(userId).accounts(), scope);
+            CompletableFuture<Map<String, List<TransactionResponse>>> recent =
+                    CompletableFuture.supplyAsync(() -> findRecentTransactions(userId, archive), scope);
+
+            awaitAll(scope, user, accounts, recent);
+            UserResponse userResponse = user.join();
+            List<BankAccountResponse> accountResponses = accounts.join();
+            Map<String, List<TransactionResponse>> transactions = recent.join();
+
+            return DashboardResponse.builder()
+                    .user(userResponse)
+                    .accounts(accountResponses.stream()
+                            .map(account -> DashboardAccountResponse.builder()
+                                    .account(account)
+                                    .recentTransactions(withArchived(account.accountNumber(),
+                                            transactions.getOrDefault(account.accountNumber(), List.of()), archive))
+                                    .build())
+                            .toList())
+                    .build();
+        } finally {
+            // Without waiting: after a failure the parts still running were interrupted and end on their own
+            scope.shutdown();
+        }
+    }
+
+    private Map<String, List<TransactionResponse>> findRecentTransactions(String userId, ArchiveSnapshot archive) {
+        Map<String, List<TransactionResponse>> recent = new HashMap<>();
+        shardFanOut.onEachShard(() -> findRecentTransactionsOnShard(userId, archive)).forEach(recent::putAll);
+        return recent;
+    }
+
+    private Map<String, List<TransactionResponse>> findRecentTransactionsOnShard(String userId, ArchiveSnapshot archive) {
+        int limit = dashboardConfig.getRecentTransactions();
+        Map<String, List<TransactionResponse>> recent = new HashMap<>();
+        RowCallbackHandler collect = rs -> recent
+                .computeIfAbsent(rs.getString("account_number"), accountNumber -> new ArrayList<>(limit))
+                .add(toResponse(rs, userId));
+
+        Optional<LocalDateTime> archivedUntil = archive.archivedUntil();
+        if (archivedUntil.isPresent()) {
+            jdbcTemplate.query(RECENT_TRANSACTIONS_SINCE_SQL, collect, userId, Timestamp.valueOf(archivedUntil.get()),
+                    limit);
+        } else {
+            jdbcTemplate.query(RECENT_HOT_TRANSACTIONS_SQL, collect, userId, limit);
+        }
+        return recent;
+    }
+
+    // Only accounts with fewer than the limit still in the table reach into the archive, which needs no query
+    private List<TransactionResponse> withArchived(String accountNumber, List<TransactionResponse> hot,
+                                                   ArchiveSnapshot archive) {
+        int missing = dashboardConfig.getRecentTransactions() - hot.size();
+        if (missing <= 0 || !archive.holds(accountNumber)) {
+            return hot;
+        }
+        List<TransactionResponse> transactions = new ArrayList<>(hot);
+        archive.stream(accountNumber)
+                .limit(missing)
+                .map(ArchivedTransaction::toResponse)
+                .forEach(transactions::add);
+        return transactions;
+    }
+
+    // Transactions are always posted as the account's owner, so their user is the dashboard's
+    private static TransactionResponse toResponse(ResultSet rs, String userId) throws SQLException {
+        return new TransactionResponse(
+                rs.getString("transaction_id"),
+                rs.getBigDecimal("amount"),
+                rs.getString("currency"),
+                Transaction.TransactionType.valueOf(rs.getString("type")),
+                rs.getString("reference"),
+                userId,
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getBigDecimal("account_amount"),
+                rs.getBigDecimal("fx_rate"),
+                rs.getString("fx_rate_version"));
+    }
+
+    // Returns once every part has finished, or rethrows the first failure the moment it happens
+    private static void awaitAll(ExecutorService scope, CompletableFuture<?>... parts) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> part : parts) {
+            part.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    firstFailure.completeExceptionally(failure);
+                }
+            });
+        }
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(parts), firstFailure).get();
+        } catch (ExecutionException e) {
+            scope.shutdownNow();
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException("Unable to build dashboard", cause);
+        } catch (InterruptedException e) {
+            scope.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building dashboard", e);
+        }
+    }
+}
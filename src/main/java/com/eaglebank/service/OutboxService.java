@@ -0,0 +1,42 @@
+package com.eaglebank.service;
+
+import com.eaglebank.domain.OutboxEvent;
+import com.eaglebank.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Appends an event to the outbox. Must join the caller's transaction: the event is only worth
+     * anything if it commits or rolls back together with the change it announces.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEvent.EventType eventType, String accountNumber, Object payload) {
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(accountNumber)
+                .payload(toJson(payload))
+                .build());
+        log.debug("Recorded outbox event {} ({}) for account: {}", event.getId(), eventType, accountNumber);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize outbox payload: " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -1,21 +1,49 @@
 package com.eaglebank.service;
 
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.ArchivedTransaction;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.audit.AuditEvent;
+import com.eaglebank.audit.AuditTrail;
+import com.eaglebank.cache.AccountResponseCache;
+import com.eaglebank.cache.TransactionResponseCache;
 import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.OutboxEvent;
 import com.eaglebank.domain.Transaction;
 import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateTransferRequest;
 import com.eaglebank.dto.response.ListTransactionsResponse;
 import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.dto.response.TransferResponse;
+import com.eaglebank.event.TransactionPostedEvent;
 import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.exception.UnprocessableEntityException;
+import com.eaglebank.fx.FxConversion;
+import com.eaglebank.fx.FxRateSnapshot;
+import com.eaglebank.fx.FxRateTable;
+import com.eaglebank.journal.JournalEntry;
+import com.eaglebank.journal.PostingJournal;
 import com.eaglebank.repository.BankAccountRepository;
 import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.shard.ShardFanOut;
+import com.eaglebank.shard.ShardKey;
+import com.eaglebank.shard.ShardRouter;
 import com.eaglebank.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,8 +55,19 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final BankAccountRepository bankAccountRepository;
     private final IdGenerator idGenerator;
+    private final DailyRollupService dailyRollupService;
+    private final TransactionResponseCache transactionResponseCache;
+    private final AccountResponseCache accountResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final FxRateTable fxRateTable;
+    private final TransactionArchive transactionArchive;
+    private final PostingJournal postingJournal;
+    private final AuditTrail auditTrail;
+    private final ShardRouter shardRouter;
+    private final ShardFanOut shardFanOut;
 
-    public TransactionResponse createTransaction(String accountNumber,
+    public TransactionResponse createTransaction(@ShardKey String accountNumber,
                                                   CreateTransactionRequest request,
                                                   String userId) {
         log.debug("Creating transaction for account: {}, user: {}", accountNumber, userId);
@@ -37,38 +76,96 @@ public class TransactionService {
 
         Transaction.TransactionType type = parseTransactionType(request.type());
 
-        Transaction transaction = Transaction.builder()
-                .transactionId(idGenerator.generateTransactionId())
-                .amount(request.amount())
-                .currency(request.currency())
-                .type(type)
-                .reference(request.reference())
-                .account(account)
-                .user(account.getUser())
-                .build();
+        TransactionResponse response = post(account, type, Money.of(request.amount()), request.currency(),
+                request.reference(), null, fxRateTable.current());
 
-        updateAccountBalance(account, type, request.amount());
+        log.info("Transaction created: {} for account: {}", response.id(), accountNumber);
+        auditTrail.record(AuditEvent.Action.TRANSACTION_CREATED, userId, response.id(), accountNumber);
+        return response;
+    }
 
-        // Save transaction and account
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        bankAccountRepository.save(account);
+    /**
+     * Moves money between two accounts in one database transaction, as a withdrawal from the source
+     * and a deposit to the destination that share a transfer id. Both rows are locked before either
+     * balance is read, always lowest account id first, so two transfers running in opposite
+     * directions queue behind each other instead of deadlocking.
+     * <p>
+     * Both accounts must be on the same shard, since one database transaction cannot span two. A
+     * destination on another shard is still looked up there first, so a missing one is reported as such.
+     */
+    public TransferResponse createTransfer(@ShardKey String accountNumber, CreateTransferRequest request,
+                                           String userId) {
+        log.debug("Creating transfer from account: {} to account: {}, user: {}",
+                accountNumber, request.toAccountNumber(), userId);
+
+        if (accountNumber.equals(request.toAccountNumber())) {
+            throw new UnprocessableEntityException("Cannot transfer to the same account");
+        }
 
-        log.info("Transaction created: {} for account: {}", savedTransaction.getTransactionId(), accountNumber);
-        return TransactionResponse.from(savedTransaction);
+        // Ids only: an entity loaded before its lock would keep the unlocked, possibly stale balance
+        Long fromId = findAccountIdByNumber(accountNumber);
+        int toShard = shardRouter.shardOf(request.toAccountNumber());
+        if (toShard != shardRouter.shardOf(accountNumber)) {
+            if (shardFanOut.onShard(toShard,
+                    () -> bankAccountRepository.findIdByAccountNumber(request.toAccountNumber())).isEmpty()) {
+                throw new ResourceNotFoundException("Account not found with number: " + request.toAccountNumber());
+            }
+            throw new UnprocessableEntityException("Cannot transfer to an account held on another shard");
+        }
+        Long toId = findAccountIdByNumber(request.toAccountNumber());
+        Map<Long, BankAccount> locked = lockAccountsInIdOrder(fromId, toId);
+        BankAccount from = locked.get(fromId);
+        BankAccount to = locked.get(toId);
+
+        // Both legs convert at the same rate version, even if the table is refreshed in between
+        FxRateSnapshot rates = fxRateTable.current();
+        String transferId = idGenerator.generateTransferId();
+        String debitReference = request.reference() != null
+                ? request.reference()
+                : "Transfer to " + to.getAccountNumber();
+        String creditReference = request.reference() != null
+                ? request.reference()
+                : "Transfer from " + from.getAccountNumber();
+
+        // Debit first, so insufficient funds fail before anything is written
+        Money amount = Money.of(request.amount());
+        TransactionResponse debit = post(from, Transaction.TransactionType.WITHDRAWAL, amount,
+                request.currency(), debitReference, transferId, rates);
+        post(to, Transaction.TransactionType.DEPOSIT, amount, request.currency(), creditReference,
+                transferId, rates);
+
+        log.info("Transfer created: {} from account: {} to account: {}",
+                transferId, accountNumber, request.toAccountNumber());
+        auditTrail.record(AuditEvent.Action.TRANSFER_CREATED, userId, transferId, accountNumber);
+        return TransferResponse.builder()
+                .id(transferId)
+                .fromAccountNumber(from.getAccountNumber())
+                .toAccountNumber(to.getAccountNumber())
+                .amount(request.amount())
+                .currency(request.currency())
+                .debit(debit)
+                .createdTimestamp(debit.createdTimestamp())
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public ListTransactionsResponse listTransactions(String accountNumber, String userId) {
+    public ListTransactionsResponse listTransactions(@ShardKey String accountNumber, String userId) {
         log.debug("Listing transactions for account: {}, user: {}", accountNumber, userId);
 
         // Validate account exists (authorization already checked at controller level)
         findAccountByNumber(accountNumber);
 
-        List<Transaction> transactions = transactionRepository
-                .findByAccount_AccountNumberOrderByCreatedAtDesc(accountNumber);
+        // One snapshot for both halves, so a month being archived is listed exactly once
+        ArchiveSnapshot archive = transactionArchive.current();
+        Optional<LocalDateTime> archivedUntil = archive.archivedUntil();
+        List<Transaction> transactions = archivedUntil.isPresent()
+                ? transactionRepository.findByAccount_AccountNumberAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                        accountNumber, archivedUntil.get())
+                : transactionRepository.findByAccount_AccountNumberOrderByCreatedAtDesc(accountNumber);
 
-        List<TransactionResponse> transactionResponses = transactions.stream()
-                .map(TransactionResponse::from)
+        List<TransactionResponse> transactionResponses = Stream.concat(
+                        transactions.stream().map(TransactionResponse::from),
+                        archive.stream(accountNumber).map(ArchivedTransaction::toResponse))
                 .collect(Collectors.toList());
 
         return ListTransactionsResponse.builder()
@@ -76,19 +173,53 @@ public class TransactionService {
                 .build();
     }
 
+    /**
+     * Hands the account's transactions, newest first, to {@code consumer} as a lazily fetched stream.
+     * The stream is only valid inside the callback; a missing account fails before the callback runs,
+     * so nothing has been written when the error is reported. Archived months follow the rows still
+     * in the table, and are only inflated if the consumer reads that far.
+     */
     @Transactional(readOnly = true)
-    public TransactionResponse getTransaction(String accountNumber, String transactionId, String userId) {
+    public void streamTransactions(@ShardKey String accountNumber, String userId,
+                                   Consumer<Stream<TransactionResponse>> consumer) {
+        log.debug("Streaming transactions for account: {}, user: {}", accountNumber, userId);
+
+        findAccountByNumber(accountNumber);
+
+        ArchiveSnapshot archive = transactionArchive.current();
+        Optional<LocalDateTime> archivedUntil = archive.archivedUntil();
+        try (Stream<TransactionResponse> transactions = archivedUntil.isPresent()
+                ? transactionRepository.streamResponsesByAccountNumberSince(accountNumber, archivedUntil.get())
+                : transactionRepository.streamResponsesByAccountNumber(accountNumber)) {
+            consumer.accept(Stream.concat(transactions,
+                    archive.stream(accountNumber).map(ArchivedTransaction::toResponse)));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionResponse getTransaction(@ShardKey String accountNumber, String transactionId, String userId) {
         log.debug("Getting transaction: {} for account: {}, user: {}", transactionId, accountNumber, userId);
 
+        // Before the cache, so a closed account's transactions are not found
         findAccountByNumber(accountNumber);
 
-        // Find transaction by transactionId and accountNumber
-        Transaction transaction = transactionRepository
+        // Transactions are immutable, so a cached copy is always current
+        Optional<TransactionResponse> cached = transactionResponseCache.get(accountNumber, transactionId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // Find transaction by transactionId and accountNumber, in the table and then in the archive
+        TransactionResponse response = transactionRepository
                 .findByTransactionIdAndAccount_AccountNumber(transactionId, accountNumber)
+                .map(TransactionResponse::from)
+                .or(() -> transactionArchive.current().find(accountNumber, transactionId)
+                        .map(ArchivedTransaction::toResponse))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Transaction not found with id: " + transactionId + " for account: " + accountNumber));
 
-        return TransactionResponse.from(transaction);
+        transactionResponseCache.put(accountNumber, response);
+        return response;
     }
 
     private BankAccount findAccountByNumber(String accountNumber) {
@@ -96,6 +227,59 @@ public class TransactionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
     }
 
+    private Long findAccountIdByNumber(String accountNumber) {
+        return bankAccountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+    }
+
+    private Map<Long, BankAccount> lockAccountsInIdOrder(Long... accountIds) {
+        Long[] ordered = accountIds.clone();
+        Arrays.sort(ordered);
+        Map<Long, BankAccount> locked = new HashMap<>();
+        for (Long accountId : ordered) {
+            BankAccount account = bankAccountRepository.findByIdForUpdate(accountId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+            locked.put(accountId, account);
+        }
+        return locked;
+    }
+
+    private TransactionResponse post(BankAccount account, Transaction.TransactionType type, Money amount,
+                                     String currency, String reference, String transferId, FxRateSnapshot rates) {
+        FxConversion conversion = rates.convert(amount, currency, account.getCurrency());
+
+        Transaction transaction = Transaction.builder()
+                .transactionId(idGenerator.generateTransactionId())
+                .amount(amount)
+                .currency(currency)
+                .accountAmount(conversion.amount())
+                .fxRate(conversion.rate())
+                .fxRateVersion(conversion.rateVersion())
+                .type(type)
+                .reference(reference)
+                .transferId(transferId)
+                .account(account)
+                .user(account.getUser())
+                .build();
+
+        updateAccountBalance(account, type, conversion.amount());
+
+        // Save transaction and account
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        bankAccountRepository.save(account);
+        dailyRollupService.recordPosting(savedTransaction);
+
+        TransactionResponse response = TransactionResponse.from(savedTransaction);
+        TransactionPostedEvent event = new TransactionPostedEvent(account.getAccountNumber(), response,
+                account.getBalance().toBigDecimal());
+        eventPublisher.publishEvent(event);
+        outboxService.record(OutboxEvent.EventType.TRANSACTION_POSTED, account.getAccountNumber(), event);
+        postingJournal.record(new JournalEntry(account.getAccountNumber(), savedTransaction.getTransactionId(), type,
+                conversion.amount(), account.getBalance(), savedTransaction.getCreatedAt()));
+        accountResponseCache.putAfterCommit(account);
+        return response;
+    }
+
     private Transaction.TransactionType parseTransactionType(String type) {
         try {
             return Transaction.TransactionType.valueOf(type.toUpperCase());
@@ -105,7 +289,7 @@ public class TransactionService {
     }
 
 
-    private void updateAccountBalance(BankAccount account, Transaction.TransactionType type, BigDecimal amount) {
+    private void updateAccountBalance(BankAccount account, Transaction.TransactionType type, Money amount) {
         if (type == Transaction.TransactionType.DEPOSIT) {
             account.deposit(amount);
             log.debug("Balance after deposit: {}", account.getBalance());
@@ -1,5 +1,7 @@
 package com.eaglebank.service;
 
+import com.eaglebank.audit.AuditEvent;
+import com.eaglebank.audit.AuditTrail;
 import com.eaglebank.domain.User;
 import com.eaglebank.dto.request.CreateUserRequest;
 import com.eaglebank.dto.request.UpdateUserRequest;
@@ -7,6 +9,8 @@ import com.eaglebank.dto.response.UserResponse;
 import com.eaglebank.exception.ConflictException;
 import com.eaglebank.exception.ResourceNotFoundException;
 import com.eaglebank.repository.UserRepository;
+import com.eaglebank.shard.UserReplicator;
+import com.eaglebank.util.ETags;
 import com.eaglebank.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +18,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -24,6 +31,8 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final IdGenerator idGenerator;
     private final AccountService accountService;
+    private final AuditTrail auditTrail;
+    private final UserReplicator userReplicator;
 
     public UserResponse createUser(CreateUserRequest request) {
         log.debug("Creating user with email: {}", request.email());
@@ -46,6 +55,8 @@ public class UserService {
 
         User saved = userRepository.save(user);
         log.info("User created successfully: {}", saved.getUserId());
+        auditTrail.record(AuditEvent.Action.USER_CREATED, saved.getUserId(), saved.getUserId(), null);
+        userReplicator.copyAfterCommit(saved.getUserId());
 
         return UserResponse.from(saved);
     }
@@ -65,12 +76,23 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Integer> findUserVersion(String userId) {
+        return userRepository.findVersionByUserId(userId);
+    }
+
     public UserResponse updateUser(String userId, UpdateUserRequest request) {
+        return updateUser(userId, request, null);
+    }
+
+    public UserResponse updateUser(String userId, UpdateUserRequest request, Set<Integer> expectedVersions) {
         log.debug("Updating user with userId: {}", userId);
 
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
+        ETags.checkIfMatch(expectedVersions, userId, user.getVersion());
+
         // Update fields if provided
         if (request.name() != null && !request.name().isBlank()) {
             user.updateName(request.name());
@@ -85,7 +107,10 @@ public class UserService {
         }
 
         User updated = userRepository.save(user);
+        userRepository.flush();  // so the response carries the bumped version and updatedAt
         log.info("User updated successfully: {}", userId);
+        auditTrail.record(AuditEvent.Action.USER_UPDATED, userId, userId, null);
+        userReplicator.copyAfterCommit(userId);
 
         return UserResponse.from(updated);
     }
@@ -99,9 +124,15 @@ public class UserService {
         if (accountService.hasAccounts(userId)) {
             throw new ConflictException("Cannot delete user with existing bank accounts. Please delete all accounts first.");
         }
+        // Closed accounts still reference the user until the purge, which is throttled, has removed them
+        if (accountService.hasClosedAccounts(userId)) {
+            throw new ConflictException("Cannot delete user while closed bank accounts are still being purged. Please try again later.");
+        }
 
         userRepository.delete(user);
         log.info("User deleted successfully: {}", userId);
+        auditTrail.record(AuditEvent.Action.USER_DELETED, userId, userId, null);
+        userReplicator.removeAfterCommit(userId);
     }
 }
 
@@ -0,0 +1,74 @@
+package com.eaglebank.shard;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's database work goes to, read by {@link ShardRoutingDataSource} when a
+ * connection is first used. Unset means the first shard. Not inherited: work handed to another thread
+ * takes its shard along through {@link #wrap(Runnable)} or {@link #wrap(Callable)}.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public static <T> T call(int shard, Supplier<T> work) {
+        Integer previous = enter(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(int shard, Runnable work) {
+        Integer previous = enter(shard);
+        try {
+            work.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Binds {@code work} to the calling thread's shard, for running on another thread.
+     */
+    public static Runnable wrap(Runnable work) {
+        int shard = current();
+        return () -> run(shard, work);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> work) {
+        int shard = current();
+        return () -> {
+            Integer previous = enter(shard);
+            try {
+                return work.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
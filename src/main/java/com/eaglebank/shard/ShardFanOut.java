@@ -0,0 +1,83 @@
+package com.eaglebank.shard;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Scatter-gather for reads keyed by something other than an account number, such as a user's
+ * accounts, which may sit on any shard.
+ * <p>
+ * With one shard the read runs as it is, in the caller's transaction. Otherwise it runs once per shard,
+ * each on its own virtual thread in its own read-only transaction, and the results come back in shard
+ * order. If one shard fails the others are cancelled and the failure is rethrown as it was.
+ */
+@Component
+public class ShardFanOut {
+
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readOnlyTemplate;
+
+    public ShardFanOut(ShardRouter shardRouter, TransactionTemplate transactionTemplate) {
+        this.shardRouter = shardRouter;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    /**
+     * @return one result per shard; {@code read} must not return null
+     */
+    public <T> List<T> onEachShard(Supplier<T> read) {
+        int shards = shardRouter.shardCount();
+        if (shards == 1) {
+            return List.of(read.get());
+        }
+
+        try (ExecutorService scope = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-read-", 0).factory())) {
+            List<Future<T>> parts = new ArrayList<>(shards);
+            for (int shard = 0; shard < shards; shard++) {
+                int target = shard;
+                parts.add(scope.submit(() -> ShardContext.call(target, () -> readOnlyTemplate.execute(status -> read.get()))));
+            }
+            List<T> results = new ArrayList<>(shards);
+            for (Future<T> part : parts) {
+                results.add(join(part, scope));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Runs {@code read} on one shard, in a read-only transaction of its own on a virtual thread, so it
+     * never joins a transaction the caller holds on another shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> read) {
+        try (ExecutorService scope = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-read-", 0).factory())) {
+            return join(scope.submit(() -> ShardContext.call(shard, () -> readOnlyTemplate.execute(status -> read.get()))),
+                    scope);
+        }
+    }
+
+    private static <T> T join(Future<T> part, ExecutorService scope) {
+        try {
+            return part.get();
+        } catch (ExecutionException e) {
+            scope.shutdownNow();
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException("Shard read failed", e.getCause());
+        } catch (InterruptedException e) {
+            scope.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading shards", e);
+        }
+    }
+}
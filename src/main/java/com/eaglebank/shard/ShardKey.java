@@ -0,0 +1,18 @@
+package com.eaglebank.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the account number parameter that decides which shard a method runs on. When sharding is
+ * enabled, a call to a method with such a parameter runs, transaction included, on the shard the
+ * account number hashes to.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ShardKey {
+}
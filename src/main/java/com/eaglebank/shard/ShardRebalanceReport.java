@@ -0,0 +1,20 @@
+package com.eaglebank.shard;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Where accounts live, as planned or just rebalanced by {@link ShardRebalancer}. Closed accounts the
+ * purge has not reached yet are counted, since their rows still hold their numbers.
+ */
+@Builder
+public record ShardRebalanceReport(
+        int shards,
+        List<Long> accountsPerShard,
+        long misplacedAccounts,
+        long usersCopied,
+        long movedAccounts,
+        long movedTransactions
+) {
+}
@@ -0,0 +1,153 @@
+package com.eaglebank.shard;
+
+import com.eaglebank.config.ShardingConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves every account that is not on the shard its number hashes to, as after shards are added or
+ * removed, together with its transactions and daily rollups. Users are recopied to every shard first,
+ * so the moved rows find their owner.
+ * <p>
+ * An account is copied to its new shard, the account row first and then its history in batches of
+ * {@code rebalance-batch-size}, and only then deleted from the old one, in one transaction. A run that
+ * dies part way is finished by the next: a half-copied account is cleared from the new shard and copied
+ * again. Until an account has moved, requests for it go to a shard that does not have it yet, so run
+ * this in a maintenance window, with traffic stopped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardRebalancer {
+
+    // Closed accounts too: their rows hold their numbers until the purge removes them
+    private static final String ACCOUNTS_SQL = "SELECT id, account_number FROM bank_accounts ORDER BY id";
+    private static final String SELECT_ACCOUNT_SQL = "SELECT * FROM bank_accounts WHERE id = ?";
+    private static final String SELECT_HISTORY_BATCH_SQL =
+            "SELECT * FROM %s WHERE account_id = ? AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String DELETE_ROLLUPS_SQL = "DELETE FROM daily_account_rollups WHERE account_id = ?";
+    private static final String DELETE_TRANSACTIONS_SQL = "DELETE FROM transactions WHERE account_id = ?";
+    private static final String DELETE_ACCOUNT_SQL = "DELETE FROM bank_accounts WHERE id = ?";
+
+    private final ShardRouter shardRouter;
+    private final UserReplicator userReplicator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardingConfig shardingConfig;
+
+    public ShardRebalanceReport plan() {
+        Survey survey = survey();
+        return ShardRebalanceReport.builder()
+                .shards(shardRouter.shardCount())
+                .accountsPerShard(survey.accountsPerShard())
+                .misplacedAccounts(survey.misplaced().size())
+                .build();
+    }
+
+    public synchronized ShardRebalanceReport rebalance() {
+        if (shardRouter.shardCount() == 1) {
+            return plan();
+        }
+
+        int usersCopied = userReplicator.copyAll();
+        List<MisplacedAccount> misplaced = survey().misplaced();
+        log.info("Rebalancing {} accounts across {} shards", misplaced.size(), shardRouter.shardCount());
+        long movedTransactions = 0;
+        for (MisplacedAccount account : misplaced) {
+            movedTransactions += move(account);
+        }
+
+        Survey after = survey();
+        log.info("Rebalanced {} accounts and {} transactions; accounts per shard now {}",
+                misplaced.size(), movedTransactions, after.accountsPerShard());
+        return ShardRebalanceReport.builder()
+                .shards(shardRouter.shardCount())
+                .accountsPerShard(after.accountsPerShard())
+                .misplacedAccounts(after.misplaced().size())
+                .usersCopied(usersCopied)
+                .movedAccounts(misplaced.size())
+                .movedTransactions(movedTransactions)
+                .build();
+    }
+
+    private Survey survey() {
+        List<Long> accountsPerShard = new ArrayList<>();
+        List<MisplacedAccount> misplaced = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int current = shard;
+            long[] accounts = {0};
+            ShardContext.run(shard, () -> jdbcTemplate.query(ACCOUNTS_SQL, (RowCallbackHandler) rs -> {
+                accounts[0]++;
+                String accountNumber = rs.getString("account_number");
+                int home = shardRouter.shardOf(accountNumber);
+                if (home != current) {
+                    misplaced.add(new MisplacedAccount(rs.getLong("id"), accountNumber, current, home));
+                }
+            }));
+            accountsPerShard.add(accounts[0]);
+        }
+        return new Survey(accountsPerShard, misplaced);
+    }
+
+    private long move(MisplacedAccount account) {
+        Map<String, Object> row = ShardContext.call(account.from(), () ->
+                jdbcTemplate.queryForMap(SELECT_ACCOUNT_SQL, account.id()));
+        ShardContext.run(account.to(), () -> transactionTemplate.executeWithoutResult(status -> {
+            delete(account.id());  // whatever an interrupted run copied
+            insert("bank_accounts", List.of(row));
+        }));
+        long transactions = copyHistory("transactions", account);
+        copyHistory("daily_account_rollups", account);
+        ShardContext.run(account.from(), () -> transactionTemplate.executeWithoutResult(status -> delete(account.id())));
+
+        log.info("Moved account {} with {} transactions from shard {} to shard {}",
+                account.accountNumber(), transactions, account.from(), account.to());
+        return transactions;
+    }
+
+    private long copyHistory(String table, MisplacedAccount account) {
+        String select = SELECT_HISTORY_BATCH_SQL.formatted(table);
+        int batchSize = shardingConfig.getRebalanceBatchSize();
+        long copied = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Map<String, Object>> rows = ShardContext.call(account.from(), () ->
+                    jdbcTemplate.queryForList(select, account.id(), from, batchSize));
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            ShardContext.run(account.to(), () -> transactionTemplate.executeWithoutResult(status -> insert(table, rows)));
+            copied += rows.size();
+            afterId = ((Number) rows.getLast().get("id")).longValue();
+        }
+    }
+
+    private void insert(String table, List<Map<String, Object>> rows) {
+        List<String> columns = List.copyOf(rows.getFirst().keySet());
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+        jdbcTemplate.batchUpdate(sql, rows.stream().map(row -> row.values().toArray()).toList());
+    }
+
+    private void delete(long accountId) {
+        jdbcTemplate.update(DELETE_ROLLUPS_SQL, accountId);
+        jdbcTemplate.update(DELETE_TRANSACTIONS_SQL, accountId);
+        jdbcTemplate.update(DELETE_ACCOUNT_SQL, accountId);
+    }
+
+    private record Survey(List<Long> accountsPerShard, List<MisplacedAccount> misplaced) {
+    }
+
+    private record MisplacedAccount(long id, String accountNumber, int from, int to) {
+    }
+}
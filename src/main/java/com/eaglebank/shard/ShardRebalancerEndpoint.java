@@ -0,0 +1,32 @@
+package com.eaglebank.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/shards}: GET reports how many accounts each shard holds and how many are on the
+ * wrong one, POST moves those and waits for it. See {@link ShardRebalancer} before running it. Only
+ * registered when sharding is enabled, and, like all of actuator, only served on the management port.
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.sharding", name = "enabled", havingValue = "true")
+@Endpoint(id = "shards")
+@RequiredArgsConstructor
+public class ShardRebalancerEndpoint {
+
+    private final ShardRebalancer shardRebalancer;
+
+    @ReadOperation
+    public ShardRebalanceReport plan() {
+        return shardRebalancer.plan();
+    }
+
+    @WriteOperation
+    public ShardRebalanceReport rebalance() {
+        return shardRebalancer.rebalance();
+    }
+}
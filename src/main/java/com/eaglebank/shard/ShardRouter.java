@@ -0,0 +1,52 @@
+package com.eaglebank.shard;
+
+import com.eaglebank.config.ShardingConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Maps account numbers to shards. The shard follows from the number alone, so any node, job or tool
+ * finds an account without a directory lookup. With sharding disabled there is one shard and every
+ * method here is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardRouter {
+
+    private final ShardingConfig shardingConfig;
+
+    public int shardCount() {
+        return shardingConfig.isEnabled() ? shardingConfig.getShards().size() : 1;
+    }
+
+    public int shardOf(String accountNumber) {
+        CRC32 crc = new CRC32();
+        crc.update(accountNumber.getBytes(StandardCharsets.US_ASCII));
+        return (int) (crc.getValue() % shardCount());
+    }
+
+    /**
+     * A shard for a new account, chosen at random; the account number is then drawn to hash to it.
+     */
+    public int pickShardForNewAccount() {
+        return ThreadLocalRandom.current().nextInt(shardCount());
+    }
+
+    /**
+     * Runs {@code work} once per shard, one after the other, for jobs that sweep whole tables.
+     */
+    public void forEachShard(Runnable work) {
+        int shards = shardCount();
+        if (shards == 1) {
+            work.run();
+            return;
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            ShardContext.run(shard, work);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.eaglebank.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Runs methods with a {@link ShardKey} parameter on the shard their account number hashes to. Ordered
+ * ahead of the transaction interceptor, so the transaction the method opens is on that shard.
+ * <p>
+ * A call made inside a transaction already on another shard fails rather than quietly reading or
+ * writing the wrong database.
+ */
+@RequiredArgsConstructor
+public class ShardRoutingInterceptor implements MethodInterceptor {
+
+    public static final Pointcut POINTCUT = new StaticMethodMatcherPointcut() {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return shardKeyIndex(AopUtils.getMostSpecificMethod(method, targetClass)) >= 0;
+        }
+    };
+
+    private final ShardRouter shardRouter;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getThis() != null
+                ? AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass())
+                : invocation.getMethod();
+        int index = shardKeyIndex(method);
+        // A missing account number fails in the method itself, as it would unsharded
+        if (index < 0 || !(invocation.getArguments()[index] instanceof String accountNumber)) {
+            return invocation.proceed();
+        }
+
+        int shard = shardRouter.shardOf(accountNumber);
+        int current = ShardContext.current();
+        if (shard == current) {
+            return invocation.proceed();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Account " + accountNumber + " is on shard " + shard
+                    + " but the calling transaction is on shard " + current);
+        }
+
+        Integer previous = ShardContext.enter(shard);
+        try {
+            return invocation.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private static int shardKeyIndex(Method method) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof ShardKey) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.eaglebank.shard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Gives every shard past the first the schema Hibernate creates on the first, and its own range of
+ * generated ids.
+ * <p>
+ * When {@code ddl-auto} creates the schema, Hibernate also writes the statements it runs out as a
+ * script, and the script is replayed on each other shard once the context is up. Otherwise the shards
+ * are expected to be migrated like the first. Either way each shard's identity columns start at
+ * {@code shard * ID_RANGE_PER_SHARD + 1}, so an id is unique across shards: rows keep it when the
+ * rebalancer moves them, and the second-level cache, keyed by id, never confuses two rows.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ShardSchemaReplicator implements SmartInitializingSingleton {
+
+    static final long ID_RANGE_PER_SHARD = 1_000_000_000_000L;
+
+    private static final String IDENTITY_COLUMNS_SQL = """
+            SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS
+            WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND IS_IDENTITY = 'YES'
+            """;
+
+    private final ShardRoutingDataSource shards;
+    private final int shardCount;
+    private final StringWriter dropScript = new StringWriter();
+    private final StringWriter createScript = new StringWriter();
+    private boolean capturing;
+
+    void capture(Map<String, Object> hibernateProperties) {
+        Object ddlAuto = hibernateProperties.get(AvailableSettings.HBM2DDL_AUTO);
+        if (!"create".equals(ddlAuto) && !"create-drop".equals(ddlAuto)) {
+            return;
+        }
+        // Setting a script action stops Hibernate falling back to ddl-auto for the database itself
+        hibernateProperties.put(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION, ddlAuto);
+        hibernateProperties.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_ACTION, "drop-and-create");
+        hibernateProperties.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_DROP_TARGET, dropScript);
+        hibernateProperties.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_CREATE_TARGET, createScript);
+        hibernateProperties.put(AvailableSettings.HBM2DDL_DELIMITER, ";");
+        capturing = true;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 1; shard < shardCount; shard++) {
+            DataSource dataSource = shards.shard(shard);
+            if (capturing) {
+                ResourceDatabasePopulator drop = new ResourceDatabasePopulator(script(dropScript));
+                drop.setIgnoreFailedDrops(true);
+                drop.execute(dataSource);
+                new ResourceDatabasePopulator(script(createScript)).execute(dataSource);
+            }
+            reserveIdRange(new JdbcTemplate(dataSource), shard);
+        }
+        log.info("Schema ready on {} shards", shardCount);
+    }
+
+    private static void reserveIdRange(JdbcTemplate jdbcTemplate, int shard) {
+        long firstId = shard * ID_RANGE_PER_SHARD + 1;
+        jdbcTemplate.query(IDENTITY_COLUMNS_SQL, (rs, rowNum) -> Map.entry(rs.getString(1), rs.getString(2)))
+                .forEach(column -> {
+                    Long maxId = jdbcTemplate.queryForObject(
+                            "SELECT MAX(" + column.getValue() + ") FROM " + column.getKey(), Long.class);
+                    // A shard already handing out ids from its range is left alone
+                    if (maxId == null || maxId < firstId) {
+                        jdbcTemplate.execute("ALTER TABLE " + column.getKey() + " ALTER COLUMN " + column.getValue()
+                                + " RESTART WITH " + firstId);
+                    }
+                });
+    }
+
+    private static ByteArrayResource script(StringWriter script) {
+        return new ByteArrayResource(script.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
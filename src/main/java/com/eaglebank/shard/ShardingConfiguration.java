@@ -0,0 +1,93 @@
+package com.eaglebank.shard;
+
+import com.eaglebank.config.ArchiveConfig;
+import com.eaglebank.config.ReactiveConfig;
+import com.eaglebank.config.ShardingConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces {@code spring.datasource} with one pool per entry in {@code eaglebank.sharding.shards} when
+ * {@code eaglebank.sharding.enabled} is set.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "eaglebank.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingConfig shardingConfig, ArchiveConfig archiveConfig,
+                                                         ReactiveConfig reactiveConfig) {
+        if (shardingConfig.getShards().isEmpty()) {
+            throw new IllegalStateException("eaglebank.sharding.shards must list at least one database");
+        }
+        // Both read one database of their own, which would see only part of the accounts
+        if (archiveConfig.isEnabled()) {
+            throw new IllegalStateException("eaglebank.archive cannot be enabled together with eaglebank.sharding");
+        }
+        if (reactiveConfig.isEnabled()) {
+            throw new IllegalStateException("eaglebank.reactive cannot be enabled together with eaglebank.sharding");
+        }
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (ShardingConfig.Shard shard : shardingConfig.getShards()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            pool.setPoolName("shard-" + pools.size());
+            pool.setMaximumPoolSize(shardingConfig.getMaxPoolSize());
+            pools.add(pool);
+        }
+        return new ShardRoutingDataSource(pools);
+    }
+
+    // Lazy, so a transaction only takes a connection at its first statement, once its shard is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardSchemaReplicator shardSchemaReplicator(ShardRoutingDataSource shardRoutingDataSource,
+                                                       ShardingConfig shardingConfig) {
+        return new ShardSchemaReplicator(shardRoutingDataSource, shardingConfig.getShards().size());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateProperties(ShardSchemaReplicator shardSchemaReplicator) {
+        return properties -> {
+            // A cached query result holds the ids one shard returned, whichever shard asks next
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            shardSchemaReplicator.capture(properties);
+        };
+    }
+
+    // Outermost, so the transaction a @ShardKey method opens is already on the account's shard
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor shardRoutingAdvisor(ShardRouter shardRouter) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(ShardRoutingInterceptor.POINTCUT,
+                new ShardRoutingInterceptor(shardRouter));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,121 @@
+package com.eaglebank.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every shard's {@code users} table a copy of the first shard's, where users are created and
+ * changed, so accounts and transactions on any shard can reference their owner.
+ * <p>
+ * Rows are copied whole, id included, once the change has committed, each shard in its own
+ * transaction. A copy that fails is logged and left for {@link ShardRebalancer}, which recopies every
+ * user before it moves anything.
+ */
+@Component
+@Slf4j
+public class UserReplicator {
+
+    private static final String SELECT_USER_SQL = "SELECT * FROM users WHERE user_id = ?";
+    private static final String SELECT_USER_IDS_SQL = "SELECT user_id FROM users ORDER BY id";
+    private static final String DELETE_USER_SQL = "DELETE FROM users WHERE user_id = ?";
+
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+
+    public UserReplicator(ShardRouter shardRouter, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        // The caller's transaction is still bound after it commits; this must not join it
+        this.ownTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void copyAfterCommit(String userId) {
+        afterCommit(userId, () -> copy(userId));
+    }
+
+    /**
+     * Removes the user from every other shard. Callers make sure no account, closed or not, still refers to it.
+     */
+    public void removeAfterCommit(String userId) {
+        afterCommit(userId, () -> remove(userId));
+    }
+
+    /**
+     * Recopies every user to every other shard.
+     *
+     * @return the number of users copied
+     */
+    public int copyAll() {
+        List<String> userIds = ShardContext.call(0, () -> ownTransaction.execute(status ->
+                jdbcTemplate.queryForList(SELECT_USER_IDS_SQL, String.class)));
+        userIds.forEach(this::copy);
+        return userIds.size();
+    }
+
+    private void copy(String userId) {
+        Map<String, Object> row = ShardContext.call(0, () -> ownTransaction.execute(status ->
+                jdbcTemplate.queryForList(SELECT_USER_SQL, userId).stream().findFirst().orElse(null)));
+        if (row == null) {
+            return;  // deleted since; its removal follows
+        }
+
+        List<String> columns = List.copyOf(row.keySet());
+        Object[] values = row.values().toArray();
+        Object[] valuesThenId = Arrays.copyOf(values, values.length + 1);
+        valuesThenId[values.length] = row.get("id");
+        String update = "UPDATE users SET " + columns.stream().map(column -> column + " = ?")
+                .collect(Collectors.joining(", ")) + " WHERE id = ?";
+        String insert = "INSERT INTO users (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            ShardContext.run(shard, () -> ownTransaction.executeWithoutResult(status -> {
+                if (jdbcTemplate.update(update, valuesThenId) == 0) {
+                    jdbcTemplate.update(insert, values);
+                }
+            }));
+        }
+    }
+
+    private void remove(String userId) {
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            ShardContext.run(shard, () -> ownTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.update(DELETE_USER_SQL, userId)));
+        }
+    }
+
+    private void afterCommit(String userId, Runnable replication) {
+        if (shardRouter.shardCount() == 1) {
+            return;
+        }
+        Runnable logged = () -> {
+            try {
+                replication.run();
+            } catch (RuntimeException e) {
+                log.error("Could not replicate user {} to every shard; run the shard rebalancer to repair", userId, e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            logged.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                logged.run();
+            }
+        });
+    }
+}
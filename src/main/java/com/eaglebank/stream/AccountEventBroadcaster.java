@@ -0,0 +1,192 @@
+package com.eaglebank.stream;
+
+import com.eaglebank.config.StreamConfig;
+import com.eaglebank.dto.response.AccountBalanceEvent;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.event.AccountClosedEvent;
+import com.eaglebank.event.TransactionPostedEvent;
+import com.eaglebank.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of open account event streams. Committed postings are serialized once and the
+ * resulting frames fanned out to the account's subscribers; accounts nobody is watching cost a map lookup.
+ */
+@Component
+@Slf4j
+public class AccountEventBroadcaster {
+
+    static final String TRANSACTION_EVENT = "transaction";
+    static final String BALANCE_EVENT = "balance";
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ConcurrentMap<String, Set<AccountEventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final StreamConfig streamConfig;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sender;
+    private final Counter slowConsumerDisconnects;
+
+    @Autowired
+    public AccountEventBroadcaster(StreamConfig streamConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        // Sends block on the client's socket; a virtual thread per sender keeps slow clients cheap
+        this(streamConfig, objectMapper, meterRegistry, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    AccountEventBroadcaster(StreamConfig streamConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            ExecutorService sender) {
+        this.streamConfig = streamConfig;
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.slowConsumerDisconnects = Counter.builder("eaglebank.streams.disconnects")
+                .tag("reason", "slow-consumer")
+                .description("Event streams closed because the client fell too far behind")
+                .register(meterRegistry);
+        Gauge.builder("eaglebank.streams.subscribers", this, AccountEventBroadcaster::subscriberCount)
+                .description("Open account event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for {@code accountNumber}. The snapshot is taken after the subscriber is registered,
+     * so a posting committed meanwhile is delivered as an event rather than lost between the two. Such
+     * events queue behind the snapshot's place in the buffer, so the last balance the client sees is
+     * never older than the snapshot.
+     */
+    public SseEmitter subscribe(String accountNumber, Supplier<AccountBalanceEvent> snapshot) {
+        SseEmitter emitter = new SseEmitter(streamConfig.getTimeout().toMillis());
+        AccountEventSubscriber subscriber = new AccountEventSubscriber(
+                accountNumber, emitter, streamConfig.getSubscriberBufferSize(), sender);
+
+        subscribers.compute(accountNumber, (key, accountSubscribers) -> {
+            Set<AccountEventSubscriber> current = accountSubscribers != null ? accountSubscribers : ConcurrentHashMap.newKeySet();
+            if (current.size() >= streamConfig.getMaxSubscribersPerAccount()) {
+                throw new ConflictException("Too many open event streams for account: " + accountNumber);
+            }
+            current.add(subscriber);
+            return current;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        try {
+            AccountBalanceEvent balance = snapshot.get();
+            subscriber.start(frame(BALANCE_EVENT, null, balance));
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+
+        log.debug("Event stream opened for account: {}", accountNumber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        Set<AccountEventSubscriber> accountSubscribers = subscribers.get(event.accountNumber());
+        if (accountSubscribers == null || accountSubscribers.isEmpty()) {
+            return;
+        }
+
+        TransactionResponse transaction = event.transaction();
+        Set<DataWithMediaType> transactionFrame = frame(TRANSACTION_EVENT, transaction.id(), transaction);
+        Set<DataWithMediaType> balanceFrame = frame(BALANCE_EVENT, transaction.id(), new AccountBalanceEvent(
+                event.accountNumber(), event.balanceAfter(), transaction.currency(), transaction.id()));
+
+        for (AccountEventSubscriber subscriber : accountSubscribers) {
+            if (!subscriber.offer(transactionFrame) || !subscriber.offer(balanceFrame)) {
+                disconnectSlowConsumer(subscriber);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAccountClosed(AccountClosedEvent event) {
+        Set<AccountEventSubscriber> accountSubscribers = subscribers.remove(event.accountNumber());
+        if (accountSubscribers == null) {
+            return;
+        }
+        log.debug("Closing {} event streams of closed account: {}", accountSubscribers.size(), event.accountNumber());
+        accountSubscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter().complete();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "#{@streamConfig.heartbeatInterval.toMillis()}")
+    public void sendHeartbeats() {
+        // Idle streams would otherwise never notice a vanished client, nor keep proxies from timing them out
+        subscribers.values().forEach(accountSubscribers -> accountSubscribers.forEach(subscriber -> {
+            if (!subscriber.offer(HEARTBEAT)) {
+                disconnectSlowConsumer(subscriber);
+            }
+        }));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(accountSubscribers -> accountSubscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter().complete();
+        }));
+        sender.shutdownNow();
+    }
+
+    private void disconnectSlowConsumer(AccountEventSubscriber subscriber) {
+        if (subscriber.isClosed()) {
+            return;
+        }
+        log.info("Disconnecting slow event stream consumer for account: {}", subscriber.accountNumber());
+        slowConsumerDisconnects.increment();
+        unsubscribe(subscriber);
+        subscriber.emitter().complete();
+    }
+
+    private void unsubscribe(AccountEventSubscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(subscriber.accountNumber(), (key, accountSubscribers) -> {
+            accountSubscribers.remove(subscriber);
+            return accountSubscribers.isEmpty() ? null : accountSubscribers;
+        });
+    }
+
+    private Set<DataWithMediaType> frame(String name, String id, Object data) {
+        try {
+            // Serialized once here and written as-is to every subscriber
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(data));
+            if (id != null) {
+                event.id(id);
+            }
+            return event.build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + name + " event", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.eaglebank.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open event stream. Frames are queued in a bounded buffer and written by a sender task, so a
+ * client that reads slowly only ever stalls its own sender; once its buffer is full it is disconnected.
+ * The buffer starts with a placeholder for the balance snapshot, and nothing is sent until
+ * {@link #start(Set)} fills it, so the snapshot always goes out first.
+ */
+@Slf4j
+final class AccountEventSubscriber {
+
+    // Compared by identity, so it can never be mistaken for a real frame
+    private static final Set<DataWithMediaType> SNAPSHOT_PLACEHOLDER = Collections.unmodifiableSet(new HashSet<>());
+
+    private final String accountNumber;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> buffer;
+    private final Executor sender;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile Set<DataWithMediaType> snapshot;
+    private volatile boolean closed;
+
+    AccountEventSubscriber(String accountNumber, SseEmitter emitter, int bufferSize, Executor sender) {
+        this.accountNumber = accountNumber;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.buffer.add(SNAPSHOT_PLACEHOLDER);
+        this.sender = sender;
+    }
+
+    String accountNumber() {
+        return accountNumber;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * @return {@code false} if the frame could not be queued because the subscriber is closed or full
+     */
+    boolean offer(Set<DataWithMediaType> frame) {
+        if (closed || !buffer.offer(frame)) {
+            return false;
+        }
+        scheduleSend();
+        return true;
+    }
+
+    /**
+     * Fills the placeholder at the head of the buffer with the snapshot and starts sending.
+     */
+    void start(Set<DataWithMediaType> snapshot) {
+        this.snapshot = snapshot;
+        scheduleSend();
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void scheduleSend() {
+        if (sending.compareAndSet(false, true)) {
+            sender.execute(this::sendBuffered);
+        }
+    }
+
+    private void sendBuffered() {
+        try {
+            Set<DataWithMediaType> frame;
+            // Only this task takes frames off, so the head stays put between peek and poll
+            while (!closed && (frame = buffer.peek()) != null) {
+                if (frame == SNAPSHOT_PLACEHOLDER) {
+                    frame = snapshot;
+                    if (frame == null) {
+                        break;
+                    }
+                }
+                emitter.send(frame);
+                buffer.poll();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed; the emitter callbacks do the cleanup
+            log.debug("Event stream for account {} closed while sending: {}", accountNumber, e.getMessage());
+            close();
+            emitter.completeWithError(e);
+        } finally {
+            sending.set(false);
+        }
+
+        // A frame offered after the last poll but before the flag was cleared would otherwise wait for the next offer
+        if (!closed && hasSendableFrame()) {
+            scheduleSend();
+        }
+    }
+
+    private boolean hasSendableFrame() {
+        Set<DataWithMediaType> head = buffer.peek();
+        return head != null && (head != SNAPSHOT_PLACEHOLDER || snapshot != null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.eaglebank.util;
+
+import com.eaglebank.exception.PreconditionFailedException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Strong entity tags of the form {@code "<id>-<version>"} for resources carrying a JPA {@code @Version}.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(String id, Integer version) {
+        return "\"" + id + "-" + (version != null ? version : 0) + "\"";
+    }
+
+    public static String of(String id) {
+        return "\"" + id + "\"";
+    }
+
+    /**
+     * Weak comparison of an {@code If-None-Match} header against the current tag, as used for GET revalidation.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an {@code If-Match} header into the set of versions it accepts for the given resource.
+     * Returns {@code null} when the header is absent or {@code *}, meaning no precondition applies.
+     * Weak tags never match, as required for {@code If-Match}.
+     */
+    public static Set<Integer> parseIfMatch(String ifMatch, String id) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String prefix = "\"" + id + "-";
+        Set<Integer> versions = new HashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    versions.add(Integer.parseInt(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours; it can never match
+                }
+            }
+        }
+
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current version of " + id);
+        }
+        return versions;
+    }
+
+    public static void checkIfMatch(Set<Integer> expectedVersions, String id, Integer currentVersion) {
+        if (expectedVersions != null && !expectedVersions.contains(currentVersion)) {
+            throw new PreconditionFailedException("If-Match does not match the current version of " + id);
+        }
+    }
+}
@@ -18,6 +18,10 @@ public class IdGenerator {
         return "tan-" + generateRandomString(12);
     }
 
+    public String generateTransferId() {
+        return "tfr-" + generateRandomString(12);
+    }
+
     public String generateAccountNumber() {
         // Generate 6 random digits
         int number = 100000 + random.nextInt(900000);
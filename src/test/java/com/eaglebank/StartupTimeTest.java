@@ -0,0 +1,61 @@
+package com.eaglebank;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application with the {@code fast-startup} profile and fails if it takes longer than
+ * {@code eaglebank.startup.max-ready-millis} (set from the {@code startupMaxReadyMillis} Gradle property)
+ * to become ready. The measured time is written to {@code build/reports/startup/time-to-ready.txt}.
+ */
+class StartupTimeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeTest.class);
+
+    private static final Path REPORT = Path.of("build", "reports", "startup", "time-to-ready.txt");
+
+    @Test
+    void shouldBecomeReadyWithinThreshold() throws IOException {
+        // Given
+        Duration threshold = Duration.ofMillis(Long.getLong("eaglebank.startup.max-ready-millis", 20_000));
+        AtomicReference<Duration> timeToReady = new AtomicReference<>();
+
+        // When
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EaglebankApplication.class)
+                .profiles("fast-startup")
+                .listeners((ApplicationListener<ApplicationReadyEvent>) event -> timeToReady.set(event.getTimeTaken()))
+                .properties(
+                        "server.port=0",
+                        // Own database, so closing this context cannot drop the schema other tests share
+                        "spring.datasource.url=jdbc:h2:mem:eaglebank-startup",
+                        // The JCache manager is JVM-wide and closed with the session factory; keep out of it
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "eaglebank.outbox.relay-enabled=false")
+                .run()) {
+
+            // Then
+            assertThat(context.isActive()).isTrue();
+        }
+
+        Duration measured = timeToReady.get();
+        log.info("Time to ready with fast-startup profile: {} ms (threshold {} ms)", measured.toMillis(), threshold.toMillis());
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, measured.toMillis() + System.lineSeparator());
+
+        assertThat(measured).isLessThanOrEqualTo(threshold);
+    }
+}
@@ -0,0 +1,196 @@
+package com.eaglebank.archive;
+
+import com.eaglebank.config.ArchiveConfig;
+import com.eaglebank.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveSegmentTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReadBackEachAccountsTransactionsNewestFirst() {
+        // Given
+        ArchivedTransaction converted = ArchivedTransaction.builder()
+                .transactionId("tan-2")
+                .type(Transaction.TransactionType.WITHDRAWAL)
+                .amount(new BigDecimal("100.00"))
+                .currency("EUR")
+                .accountAmount(new BigDecimal("90.00"))
+                .fxRate(new BigDecimal("0.90000000"))
+                .fxRateVersion("0a1b2c3d4e5f")
+                .transferId("tfr-abc")
+                .userId("usr-abc123")
+                .createdAt(LocalDateTime.of(2024, 3, 20, 9, 0, 0, 123_456_000))
+                .build();
+        ArchivedTransaction plain = transaction("tan-1", "01000001", "10.00", LocalDateTime.of(2024, 3, 2, 8, 0));
+        ArchivedTransaction other = transaction("tan-3", "01000002", "5.50", LocalDateTime.of(2024, 3, 10, 12, 0));
+
+        // When
+        Path file;
+        try (ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(tempDir, MARCH)) {
+            writer.append("01000001", converted);
+            writer.append("01000001", plain);
+            writer.append("01000002", other);
+            file = writer.commit();
+        }
+        ArchiveSegment segment = ArchiveSegment.open(file);
+
+        // Then
+        assertThat(file.getFileName().toString()).isEqualTo("transactions-2024-03.ebar");
+        assertThat(segment.month()).isEqualTo(MARCH);
+        assertThat(segment.accountCount()).isEqualTo(2);
+        assertThat(segment.transactionCount()).isEqualTo(3);
+        assertThat(segment.read("01000001")).containsExactly(converted, plain);
+        assertThat(segment.read("01000002")).containsExactly(other);
+        assertThat(segment.read("01000003")).isEmpty();
+        assertThat(segment.find("01000001", "tan-1")).contains(plain);
+        assertThat(segment.find("01000002", "tan-1")).isEmpty();
+        assertThat(segment.netMinorUnits("01000001")).isEqualTo(-8_000);
+        assertThat(segment.netMinorUnits("01000002")).isEqualTo(550);
+        assertThat(segment.netMinorUnits("01000003")).isZero();
+        assertThat(segment.holds("01000002")).isTrue();
+        assertThat(segment.holds("01000003")).isFalse();
+    }
+
+    @Test
+    void shouldRejectAnAccountAppendedAfterAnotherHasStarted() {
+        try (ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(tempDir, MARCH)) {
+            writer.append("01000001", transaction("tan-1", "01000001", "1.00", LocalDateTime.of(2024, 3, 1, 0, 0)));
+            writer.append("01000002", transaction("tan-2", "01000002", "1.00", LocalDateTime.of(2024, 3, 1, 0, 0)));
+
+            assertThatThrownBy(() -> writer.append("01000001",
+                    transaction("tan-3", "01000001", "1.00", LocalDateTime.of(2024, 3, 1, 0, 0))))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldOnlyLoadFinishedSegmentsNewestFirst() throws Exception {
+        // Given - two finished months and one abandoned part-way
+        for (YearMonth month : new YearMonth[]{YearMonth.of(2024, 1), YearMonth.of(2024, 2)}) {
+            try (ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(tempDir, month)) {
+                writer.append("01000001", transaction("tan-" + month, "01000001", "1.00",
+                        month.atDay(15).atStartOfDay()));
+                writer.commit();
+            }
+        }
+        try (ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(tempDir, MARCH)) {
+            writer.append("01000001", transaction("tan-abandoned", "01000001", "1.00", LocalDateTime.of(2024, 3, 1, 0, 0)));
+        }
+        Files.writeString(tempDir.resolve("notes.txt"), "not a segment");
+        ArchiveConfig config = new ArchiveConfig();
+        config.setDirectory(tempDir.toString());
+
+        // When
+        ArchiveSnapshot snapshot = new TransactionArchive(config).current();
+
+        // Then
+        assertThat(snapshot.segments()).extracting(ArchiveSegment::month)
+                .containsExactly(YearMonth.of(2024, 2), YearMonth.of(2024, 1));
+        assertThat(snapshot.archivedUntil()).contains(LocalDateTime.of(2024, 3, 1, 0, 0));
+        assertThat(snapshot.stream("01000001")).extracting(ArchivedTransaction::transactionId)
+                .containsExactly("tan-2024-02", "tan-2024-01");
+        assertThat(snapshot.find("01000001", "tan-2024-01")).isPresent();
+        assertThat(snapshot.find("01000001", "tan-abandoned")).isEmpty();
+    }
+
+    @Test
+    void shouldReadFormat1SegmentsAndWorkOutTheirNetMovements() throws Exception {
+        // Given - a segment rewritten as the first format wrote it, without net movements in the index
+        Path file;
+        try (ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(tempDir, MARCH)) {
+            writer.append("01000001", transaction("tan-1", "01000001", "10.00", LocalDateTime.of(2024, 3, 2, 8, 0)));
+            writer.append("01000001", transaction("tan-2", "01000001", "2.50", LocalDateTime.of(2024, 3, 1, 8, 0)));
+            writer.append("01000002", transaction("tan-3", "01000002", "5.50", LocalDateTime.of(2024, 3, 10, 12, 0)));
+            file = writer.commit();
+        }
+        rewriteAsFormat1(file);
+
+        // When
+        ArchiveSegment segment = ArchiveSegment.open(file);
+
+        // Then
+        assertThat(segment.read("01000001")).extracting(ArchivedTransaction::transactionId)
+                .containsExactly("tan-1", "tan-2");
+        assertThat(segment.netMinorUnits("01000001")).isEqualTo(1_250);
+        assertThat(segment.netMinorUnits("01000002")).isEqualTo(550);
+    }
+
+    @Test
+    void shouldRefuseAFormatItDoesNotKnow() throws Exception {
+        // Given
+        Path file;
+        try (ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(tempDir, MARCH)) {
+            writer.append("01000001", transaction("tan-1", "01000001", "1.00", LocalDateTime.of(2024, 3, 1, 0, 0)));
+            file = writer.commit();
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        bytes.putShort(Integer.BYTES, (short) 3);
+        Files.write(file, bytes.array());
+
+        // When & Then
+        assertThatThrownBy(() -> ArchiveSegment.open(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("unsupported format 3");
+    }
+
+    // Drops each index entry's trailing net movement and stamps the header with format 1
+    private static void rewriteAsFormat1(Path file) throws Exception {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        int indexOffset = (int) bytes.getLong(bytes.capacity() - ArchiveSegment.TRAILER_BYTES);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.array(), indexOffset,
+                bytes.capacity() - ArchiveSegment.TRAILER_BYTES - indexOffset));
+        ByteArrayOutputStream rewritten = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(rewritten);
+        out.write(bytes.array(), 0, indexOffset);
+        int entries = in.readInt();
+        out.writeInt(entries);
+        for (int i = 0; i < entries; i++) {
+            out.writeUTF(in.readUTF());
+            out.writeLong(in.readLong());
+            out.writeInt(in.readInt());
+            out.writeInt(in.readInt());
+            out.writeInt(in.readInt());
+            in.readLong();
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(ArchiveSegment.MAGIC);
+        out.flush();
+        byte[] format1 = rewritten.toByteArray();
+        ByteBuffer.wrap(format1).putShort(Integer.BYTES, ArchiveSegment.FORMAT_VERSION_WITHOUT_NET);
+        Files.write(file, format1);
+    }
+
+    private ArchivedTransaction transaction(String transactionId, String accountNumber, String amount,
+                                            LocalDateTime createdAt) {
+        return ArchivedTransaction.builder()
+                .transactionId(transactionId)
+                .type(Transaction.TransactionType.DEPOSIT)
+                .amount(new BigDecimal(amount))
+                .currency("GBP")
+                .accountAmount(new BigDecimal(amount))
+                .reference("Payment to " + accountNumber)
+                .userId("usr-abc123")
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.eaglebank.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditRingBufferTest {
+
+    @Test
+    void shouldRefuseEventsOnceFullAndAcceptThemAgainAfterADrain() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event("tan-" + i))).isTrue();
+        }
+
+        // When
+        boolean offeredWhenFull = buffer.offer(event("tan-4"));
+        List<AuditEvent> drained = new ArrayList<>();
+        int count = buffer.drainTo(drained, 3);
+
+        // Then
+        assertThat(offeredWhenFull).isFalse();
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).extracting(AuditEvent::resourceId).containsExactly("tan-0", "tan-1", "tan-2");
+        assertThat(buffer.size()).isOne();
+        assertThat(buffer.offer(event("tan-5"))).isTrue();
+    }
+
+    @Test
+    void shouldHandEveryEventFromConcurrentProducersToTheConsumerExactlyOnce() throws Exception {
+        // Given - far more events than slots, so producers keep retrying while the consumer frees room
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+        int producers = 8;
+        int perProducer = 5_000;
+        Set<String> received = new HashSet<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        AuditEvent event = event("tan-" + producer + "-" + i);
+                        while (!buffer.offer(event)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            List<AuditEvent> batch = new ArrayList<>();
+            while (received.size() < producers * perProducer) {
+                batch.clear();
+                buffer.drainTo(batch, 16);
+                batch.forEach(event -> assertThat(received.add(event.resourceId())).isTrue());
+            }
+        }
+
+        // Then
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectASizeThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new AuditRingBuffer(1000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AuditEvent event(String transactionId) {
+        return new AuditEvent(LocalDateTime.of(2024, 1, 15, 10, 30), AuditEvent.Action.TRANSACTION_CREATED,
+                "usr-abc123", transactionId, "01234567");
+    }
+}
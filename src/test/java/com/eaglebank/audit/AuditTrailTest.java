@@ -0,0 +1,100 @@
+package com.eaglebank.audit;
+
+import com.eaglebank.config.AuditConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditTrailTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<AuditEvent> written = new CopyOnWriteArrayList<>();
+    private AuditTrail auditTrail;
+
+    @AfterEach
+    void tearDown() {
+        auditTrail.close();
+    }
+
+    @Test
+    void shouldRetryABatchTheSinkRejected() throws Exception {
+        // Given - the sink fails its first write
+        AtomicInteger attempts = new AtomicInteger();
+        auditTrail = open(4, batch -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new IllegalStateException("audit_log unavailable");
+            }
+            written.addAll(batch);
+        });
+
+        // When
+        auditTrail.record(AuditEvent.Action.ACCOUNT_CREATED, "usr-abc123", "01234567", "01234567");
+        auditTrail.record(AuditEvent.Action.ACCOUNT_UPDATED, "usr-abc123", "01234567", "01234567");
+        awaitWritten(2);
+
+        // Then
+        assertThat(written).extracting(AuditEvent::action)
+                .containsExactly(AuditEvent.Action.ACCOUNT_CREATED, AuditEvent.Action.ACCOUNT_UPDATED);
+        assertThat(meterRegistry.counter("eaglebank.audit.flush.failures").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("eaglebank.audit.dropped").count()).isZero();
+    }
+
+    @Test
+    void shouldDropAndCountWhatTheBufferCannotHold() throws Exception {
+        // Given - the writer is stuck in the sink with one event while requests keep coming
+        CountDownLatch inSink = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        auditTrail = open(4, batch -> {
+            inSink.countDown();
+            await(release);
+            written.addAll(batch);
+        });
+        auditTrail.record(AuditEvent.Action.TRANSACTION_CREATED, "usr-abc123", "tan-0", "01234567");
+        assertThat(inSink.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        for (int i = 1; i <= 10; i++) {
+            auditTrail.record(AuditEvent.Action.TRANSACTION_CREATED, "usr-abc123", "tan-" + i, "01234567");
+        }
+        release.countDown();
+        awaitWritten(5);
+
+        // Then
+        assertThat(meterRegistry.counter("eaglebank.audit.dropped").count()).isEqualTo(6);
+        assertThat(written).extracting(AuditEvent::resourceId)
+                .containsExactly("tan-0", "tan-1", "tan-2", "tan-3", "tan-4");
+    }
+
+    private AuditTrail open(int bufferSize, AuditSink sink) {
+        AuditConfig config = new AuditConfig();
+        config.setBufferSize(bufferSize);
+        config.setBatchSize(2);
+        config.setFlushInterval(Duration.ofMillis(20));
+        return new AuditTrail(config, sink, meterRegistry);
+    }
+
+    private void awaitWritten(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(written).hasSize(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.eaglebank.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalPropertiesCheckTest {
+
+    @Test
+    void shouldReportConditionalPropertiesThatDifferFromBuildTime() {
+        // Given
+        Properties recorded = new Properties();
+        recorded.setProperty("eaglebank.grpc.enabled", "false");
+        recorded.setProperty("eaglebank.reactive.enabled", "true");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("eaglebank.grpc.enabled", "true")
+                .withProperty("eaglebank.reactive.enabled", "true")
+                .withProperty("eaglebank.sharding.enabled", "true");
+
+        // When
+        List<String> changed = ConditionalPropertiesCheck.changedProperties(recorded, environment);
+
+        // Then
+        assertThat(changed).containsExactly(
+                "eaglebank.sharding.enabled was null at build time but is true",
+                "eaglebank.grpc.enabled was false at build time but is true");
+    }
+
+    @Test
+    void shouldAcceptTheBuildTimeValues() {
+        // Given
+        Properties recorded = new Properties();
+        recorded.setProperty("eaglebank.audit.sink", "jdbc");
+        MockEnvironment environment = new MockEnvironment().withProperty("eaglebank.audit.sink", "jdbc");
+
+        // When & Then
+        assertThat(ConditionalPropertiesCheck.changedProperties(recorded, environment)).isEmpty();
+    }
+}
@@ -2,12 +2,14 @@ package com.eaglebank.controller;
 
 import com.eaglebank.dto.request.AddressRequest;
 import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
 import com.eaglebank.dto.request.CreateUserRequest;
 import com.eaglebank.dto.request.UpdateBankAccountRequest;
 import com.eaglebank.dto.response.BankAccountResponse;
 import com.eaglebank.dto.response.LoginResponse;
 import com.eaglebank.dto.response.UserResponse;
 import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
 import com.eaglebank.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +21,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,6 +47,9 @@ class AccountControllerIntegrationTest {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private TransactionService transactionService;
+
     private UserResponse testUser;
     private String authToken;
     private BankAccountResponse testAccount;
@@ -167,6 +176,47 @@ class AccountControllerIntegrationTest {
                 .andExpect(jsonPath("$.balance").value(0.0));
     }
 
+    @Test
+    void shouldReturn304WhenAccountUnchangedSinceETag() throws Exception {
+        // Given
+        String eTag = mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber())
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+    }
+
+    @Test
+    void shouldNotServeCachedAccountOnceItsVersionMoves() throws Exception {
+        // Given - the first read caches the account
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(0.0));
+
+        // When
+        transactionService.createTransaction(testAccount.accountNumber(), CreateTransactionRequest.builder()
+                .amount(new BigDecimal("25.50"))
+                .currency("GBP")
+                .type("deposit")
+                .build(), testUser.id());
+
+        // Then
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(25.5));
+    }
+
     @Test
     void shouldReturn404WhenAccountNotFound() throws Exception {
         // When & Then
@@ -217,6 +267,35 @@ class AccountControllerIntegrationTest {
                 .andExpect(jsonPath("$.accountType").value("personal"));
     }
 
+    @Test
+    void shouldUpdateAccountWhenIfMatchIsCurrent() throws Exception {
+        // Given
+        UpdateBankAccountRequest request = new UpdateBankAccountRequest("Renamed Account", "personal");
+        String eTag = "\"" + testAccount.accountNumber() + "-" + testAccount.version() + "\"";
+
+        // When & Then
+        String newETag = mockMvc.perform(patch("/v1/accounts/" + testAccount.accountNumber())
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed Account"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // A second update with the old tag must now be rejected
+        mockMvc.perform(patch("/v1/accounts/" + testAccount.accountNumber())
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(newETag).isNotEqualTo(eTag);
+    }
+
     @Test
     void shouldReturn404WhenUpdatingNonExistentAccount() throws Exception {
         // Given
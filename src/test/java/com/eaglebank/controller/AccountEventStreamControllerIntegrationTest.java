@@ -0,0 +1,151 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.LoginResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.event.TransactionPostedEvent;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.stream.AccountEventBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AccountEventStreamControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountEventBroadcaster accountEventBroadcaster;
+
+    private String authToken;
+    private BankAccountResponse testAccount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UserResponse testUser = userService.createUser(createUserRequest("Stream User", "teststream@example.com"));
+
+        String loginJson = """
+                {
+                    "email": "teststream@example.com",
+                    "password": "password123"
+                }
+                """;
+
+        String loginResponse = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginJson))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        authToken = objectMapper.readValue(loginResponse, LoginResponse.class).token();
+
+        testAccount = accountService.createAccount(testUser.id(), new CreateBankAccountRequest("Stream Account", "personal"));
+    }
+
+    @Test
+    void shouldSendBalanceOnConnectThenPushCommittedPostings() throws Exception {
+        // Given
+        MvcResult result = mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber() + "/events")
+                        .header("Authorization", "Bearer " + authToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "event:balance");
+
+        // When - the broadcaster listens after commit, which a rolled-back test transaction never reaches
+        TransactionResponse transaction = new TransactionResponse("tan-stream1", new BigDecimal("25.00"), "GBP",
+                "deposit", "Top up", "usr-stream", LocalDateTime.now(),
+                null, null, null);
+        accountEventBroadcaster.onTransactionPosted(
+                new TransactionPostedEvent(testAccount.accountNumber(), transaction, new BigDecimal("25.00")));
+
+        // Then - a frame's parts are written one by one, so wait for its last, the id
+        String content = awaitContent(result, "id:tan-stream1");
+        assertThat(content).contains("event:transaction");
+        assertThat(content).contains("\"id\":\"tan-stream1\"");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Test
+    void shouldReturn403WhenStreamingAnotherUsersAccount() throws Exception {
+        // Given
+        UserResponse otherUser = userService.createUser(createUserRequest("Other User", "otherstream@example.com"));
+        BankAccountResponse otherAccount = accountService.createAccount(otherUser.id(),
+                new CreateBankAccountRequest("Other Account", "personal"));
+
+        // When & Then
+        mockMvc.perform(get("/v1/accounts/" + otherAccount.accountNumber() + "/events")
+                        .header("Authorization", "Bearer " + authToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReturn401WhenStreamingWithoutToken() throws Exception {
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber() + "/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private static CreateUserRequest createUserRequest(String name, String email) {
+        return CreateUserRequest.builder()
+                .name(name)
+                .email(email)
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build();
+    }
+}
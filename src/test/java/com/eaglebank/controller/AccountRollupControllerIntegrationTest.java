@@ -0,0 +1,132 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.LoginResponse;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AccountRollupControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private UserResponse testUser;
+    private String authToken;
+    private BankAccountResponse testAccount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CreateUserRequest createUserRequest = CreateUserRequest.builder()
+                .name("Rollup User")
+                .email("testrollup@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build();
+        testUser = userService.createUser(createUserRequest);
+
+        String loginJson = """
+                {
+                    "email": "testrollup@example.com",
+                    "password": "password123"
+                }
+                """;
+
+        String loginResponse = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginJson))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        authToken = objectMapper.readValue(loginResponse, LoginResponse.class).token();
+
+        testAccount = accountService.createAccount(testUser.id(), new CreateBankAccountRequest("Rollup Account", "personal"));
+    }
+
+    @Test
+    void shouldReturnTodaysRollupAfterPostings() throws Exception {
+        // Given
+        transactionService.createTransaction(testAccount.accountNumber(), CreateTransactionRequest.builder()
+                .amount(new BigDecimal("200.00"))
+                .currency("GBP")
+                .type("deposit")
+                .build(), testUser.id());
+        transactionService.createTransaction(testAccount.accountNumber(), CreateTransactionRequest.builder()
+                .amount(new BigDecimal("50.00"))
+                .currency("GBP")
+                .type("withdrawal")
+                .build(), testUser.id());
+
+        // When & Then
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber() + "/rollups")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rollups", hasSize(1)))
+                .andExpect(jsonPath("$.rollups[0].date").value(LocalDate.now().toString()))
+                .andExpect(jsonPath("$.rollups[0].depositTotal").value(200.00))
+                .andExpect(jsonPath("$.rollups[0].withdrawalTotal").value(50.00))
+                .andExpect(jsonPath("$.rollups[0].transactionCount").value(2))
+                .andExpect(jsonPath("$.rollups[0].closingBalance").value(150.00));
+    }
+
+    @Test
+    void shouldReturn422WhenRangeIsInverted() throws Exception {
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber() + "/rollups")
+                        .param("from", "2024-02-01")
+                        .param("to", "2024-01-01")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void shouldReturn401WhenListingRollupsWithoutAuth() throws Exception {
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber() + "/rollups"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,158 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.config.DashboardConfig;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.LoginResponse;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}: the dashboard reads on its own threads, which cannot see a test
+ * transaction's uncommitted rows, so the test commits its data and {@link DatabaseCleaner} removes it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardControllerIntegrationTest {
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DashboardConfig dashboardConfig;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private int originalRecentTransactions;
+
+    @BeforeEach
+    void setUp() {
+        originalRecentTransactions = dashboardConfig.getRecentTransactions();
+        dashboardConfig.setRecentTransactions(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardConfig.setRecentTransactions(originalRecentTransactions);
+    }
+
+    @Test
+    void shouldReturnUserAccountsAndTheirNewestTransactions() throws Exception {
+        // Given
+        String email = "dashboard-" + UUID.randomUUID() + "@example.com";
+        String userId = createUser(email);
+        String busyAccount = openAccountWithDeposits(userId, 5);
+        String quietAccount = openAccountWithDeposits(userId, 1);
+        String emptyAccount = openAccountWithDeposits(userId, 0);
+
+        // When & Then
+        mockMvc.perform(get("/v1/users/{userId}/dashboard", userId)
+                        .header("Authorization", "Bearer " + login(email)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.id").value(userId))
+                .andExpect(jsonPath("$.accounts", hasSize(3)))
+                .andExpect(jsonPath("$.accounts[?(@.account.accountNumber == '%s')].recentTransactions[*].reference",
+                        busyAccount).value(contains("deposit 5", "deposit 4", "deposit 3")))
+                .andExpect(jsonPath("$.accounts[?(@.account.accountNumber == '%s')].recentTransactions[*].reference",
+                        quietAccount).value(contains("deposit 1")))
+                .andExpect(jsonPath("$.accounts[?(@.account.accountNumber == '%s')].recentTransactions[*]",
+                        emptyAccount).isEmpty());
+    }
+
+    @Test
+    void shouldReturn403ForAnotherUsersDashboard() throws Exception {
+        // Given
+        String email = "dashboard-" + UUID.randomUUID() + "@example.com";
+        createUser(email);
+        String otherUserId = createUser("dashboard-" + UUID.randomUUID() + "@example.com");
+
+        // When & Then
+        mockMvc.perform(get("/v1/users/{userId}/dashboard", otherUserId)
+                        .header("Authorization", "Bearer " + login(email)))
+                .andExpect(status().isForbidden());
+    }
+
+    private String createUser(String email) {
+        String userId = userService.createUser(CreateUserRequest.builder()
+                .name("Dashboard User")
+                .email(email)
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build()).id();
+        databaseCleaner.user(userId);
+        return userId;
+    }
+
+    private String openAccountWithDeposits(String userId, int deposits) {
+        String accountNumber = accountService.createAccount(userId,
+                new CreateBankAccountRequest("Dashboard Account", "personal")).accountNumber();
+        for (int i = 1; i <= deposits; i++) {
+            transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                    .amount(new BigDecimal("10.00"))
+                    .currency("GBP")
+                    .type("deposit")
+                    .reference("deposit " + i)
+                    .build(), userId);
+        }
+        return accountNumber;
+    }
+
+    private String login(String email) throws Exception {
+        String loginResponse = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "email": "%s",
+                                    "password": "password123"
+                                }
+                                """.formatted(email)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(loginResponse, LoginResponse.class).token();
+    }
+}
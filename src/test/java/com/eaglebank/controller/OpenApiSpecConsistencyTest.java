@@ -0,0 +1,88 @@
+package com.eaglebank.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails the build when {@code openapi.yaml} and the controllers disagree on which operations exist.
+ * With the spec served as-is there is no runtime generation left to paper over a missed update.
+ */
+@SpringBootTest
+class OpenApiSpecConsistencyTest {
+
+    private static final Set<String> HTTP_METHODS = Set.of("get", "put", "post", "delete", "patch", "head", "options");
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void shouldDocumentExactlyTheApiOperationsTheControllersServe() throws IOException {
+        // Given
+        Set<String> specOperations = specOperations();
+
+        // When
+        Set<String> controllerOperations = controllerOperations();
+
+        // Then
+        assertThat(controllerOperations)
+                .as("operations served but missing from openapi.yaml")
+                .isSubsetOf(specOperations);
+        assertThat(specOperations)
+                .as("operations in openapi.yaml with no controller")
+                .isSubsetOf(controllerOperations);
+    }
+
+    private Set<String> specOperations() throws IOException {
+        JsonNode spec;
+        try (InputStream in = new ClassPathResource("openapi/openapi.yaml").getInputStream()) {
+            spec = new YAMLMapper().readTree(in);
+        }
+
+        Set<String> operations = new TreeSet<>();
+        Iterator<Map.Entry<String, JsonNode>> paths = spec.get("paths").fields();
+        while (paths.hasNext()) {
+            Map.Entry<String, JsonNode> path = paths.next();
+            path.getValue().fieldNames().forEachRemaining(method -> {
+                if (HTTP_METHODS.contains(method)) {
+                    operations.add(method.toUpperCase() + " " + path.getKey());
+                }
+            });
+        }
+        return operations;
+    }
+
+    private Set<String> controllerOperations() {
+        Set<String> operations = new TreeSet<>();
+        handlerMapping.getHandlerMethods().forEach((mapping, handlerMethod) -> {
+            if (!handlerMethod.getBeanType().getPackageName().equals("com.eaglebank.controller")) {
+                return;
+            }
+            for (String pattern : mapping.getPatternValues()) {
+                if (!pattern.startsWith("/v1/")) {
+                    continue;
+                }
+                for (RequestMethod method : mapping.getMethodsCondition().getMethods()) {
+                    operations.add(method.name() + " " + pattern);
+                }
+            }
+        });
+        return operations;
+    }
+}
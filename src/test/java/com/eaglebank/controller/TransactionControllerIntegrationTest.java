@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -148,6 +149,51 @@ class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.reference").value("ATM withdrawal"));
     }
 
+    @Test
+    void shouldConvertForeignCurrencyDepositAtTheShippedRate() throws Exception {
+        // Given - classpath:fx/rates.csv lists EUR at 0.8650 GBP
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("100.00"))
+                .currency("EUR")
+                .type("deposit")
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/v1/accounts/" + testAccount.accountNumber() + "/transactions")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.amount").value(100.00))
+                .andExpect(jsonPath("$.currency").value("EUR"))
+                .andExpect(jsonPath("$.accountAmount").value(86.50))
+                .andExpect(jsonPath("$.fxRate").value(0.865))
+                .andExpect(jsonPath("$.fxRateVersion").isNotEmpty());
+
+        mockMvc.perform(get("/v1/accounts/" + testAccount.accountNumber())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(86.50))
+                .andExpect(jsonPath("$.currency").value("GBP"));
+    }
+
+    @Test
+    void shouldReturn422WhenCurrencyHasNoRate() throws Exception {
+        // Given
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("100.00"))
+                .currency("XYZ")
+                .type("deposit")
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/v1/accounts/" + testAccount.accountNumber() + "/transactions")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void shouldReturn422WhenWithdrawingWithInsufficientFunds() throws Exception {
         // Given - Account has 0 balance
@@ -354,6 +400,31 @@ class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.reference").value("Test transaction"));
     }
 
+    @Test
+    void shouldServeTransactionAsImmutableWithETag() throws Exception {
+        // Given
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("20.00"))
+                .currency("GBP")
+                .type("deposit")
+                .build();
+        TransactionResponse transaction = transactionService.createTransaction(
+                testAccount.accountNumber(), request, testUser.id());
+        String url = "/v1/accounts/" + testAccount.accountNumber() + "/transactions/" + transaction.id();
+
+        // When & Then
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, max-age=31536000, immutable"))
+                .andExpect(header().string("ETag", "\"" + transaction.id() + "\""));
+
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", "\"" + transaction.id() + "\""))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void shouldReturn403WhenGettingTransactionForAnotherUsersAccount() throws Exception {
         // Given - Create another user and their account with a transaction
@@ -389,6 +460,41 @@ class TransactionControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void shouldReturn404WhenGettingACachedTransactionOfAClosedAccount() throws Exception {
+        // Given - another user's transaction, read once so it is cached, then their account closed
+        CreateUserRequest otherUserRequest = CreateUserRequest.builder()
+                .name("Other User 4")
+                .email("othertransaction4@example.com")
+                .password("password123")
+                .phoneNumber("+447987654324")
+                .address(AddressRequest.builder()
+                        .line1("654 Closed St")
+                        .town("York")
+                        .county("North Yorkshire")
+                        .postcode("YO1 1AA")
+                        .build())
+                .build();
+        UserResponse otherUser = userService.createUser(otherUserRequest);
+        BankAccountResponse otherAccount = accountService.createAccount(otherUser.id(),
+                new CreateBankAccountRequest("Other Account 4", "personal"));
+        TransactionResponse otherTransaction = transactionService.createTransaction(otherAccount.accountNumber(),
+                CreateTransactionRequest.builder()
+                        .amount(new BigDecimal("50.00"))
+                        .currency("GBP")
+                        .type("deposit")
+                        .build(),
+                otherUser.id());
+        transactionService.getTransaction(otherAccount.accountNumber(), otherTransaction.id(), otherUser.id());
+        accountService.deleteAccount(otherUser.id(), otherAccount.accountNumber());
+
+        // When & Then
+        mockMvc.perform(get("/v1/accounts/" + otherAccount.accountNumber() +
+                        "/transactions/" + otherTransaction.id())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void shouldReturn404WhenGettingNonExistentTransaction() throws Exception {
         // When & Then
@@ -0,0 +1,241 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateTransferRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.LoginResponse;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class TransferControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private UserResponse sender;
+    private String authToken;
+    private BankAccountResponse senderAccount;
+    private BankAccountResponse recipientAccount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sender = userService.createUser(createUserRequest("Sender", "sendertransfer@example.com"));
+        UserResponse recipient = userService.createUser(createUserRequest("Recipient", "recipienttransfer@example.com"));
+
+        String loginJson = """
+                {
+                    "email": "sendertransfer@example.com",
+                    "password": "password123"
+                }
+                """;
+
+        String loginResponse = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginJson))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        authToken = objectMapper.readValue(loginResponse, LoginResponse.class).token();
+
+        senderAccount = accountService.createAccount(sender.id(), new CreateBankAccountRequest("Sender Account", "personal"));
+        recipientAccount = accountService.createAccount(recipient.id(),
+                new CreateBankAccountRequest("Recipient Account", "personal"));
+
+        transactionService.createTransaction(senderAccount.accountNumber(), CreateTransactionRequest.builder()
+                .amount(new BigDecimal("100.00"))
+                .currency("GBP")
+                .type("deposit")
+                .build(), sender.id());
+    }
+
+    @Test
+    void shouldTransferToAnotherUsersAccountAndLinkBothSides() throws Exception {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber(recipientAccount.accountNumber())
+                .amount(new BigDecimal("40.00"))
+                .currency("GBP")
+                .reference("Rent")
+                .build();
+
+        // When
+        String body = mockMvc.perform(post("/v1/accounts/" + senderAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fromAccountNumber").value(senderAccount.accountNumber()))
+                .andExpect(jsonPath("$.toAccountNumber").value(recipientAccount.accountNumber()))
+                .andExpect(jsonPath("$.amount").value(40.00))
+                .andExpect(jsonPath("$.debit.type").value("withdrawal"))
+                .andExpect(jsonPath("$.debit.reference").value("Rent"))
+                .andExpect(jsonPath("$.debit.userId").value(sender.id()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Then
+        JsonNode response = objectMapper.readTree(body);
+        List<Transaction> pair = transactionRepository.findByTransferIdOrderByIdAsc(response.get("id").asText());
+        assertThat(pair).hasSize(2);
+        assertThat(pair.get(0).getTransactionId()).isEqualTo(response.get("debit").get("id").asText());
+        assertThat(pair.get(0).getAccount().getAccountNumber()).isEqualTo(senderAccount.accountNumber());
+        assertThat(pair.get(1).getType()).isEqualTo(Transaction.TransactionType.DEPOSIT);
+        assertThat(pair.get(1).getAccount().getAccountNumber()).isEqualTo(recipientAccount.accountNumber());
+
+        assertThat(accountService.getAccountByAccountNumber(sender.id(), senderAccount.accountNumber()).balance())
+                .isEqualByComparingTo("60.00");
+        assertThat(pair.get(1).getAccount().getBalance()).isEqualTo(Money.of("40.00"));
+    }
+
+    @Test
+    void shouldReturn422AndMoveNothingWhenFundsAreInsufficient() throws Exception {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber(recipientAccount.accountNumber())
+                .amount(new BigDecimal("100.01"))
+                .currency("GBP")
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/v1/accounts/" + senderAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.detail").value(containsString("Insufficient funds")));
+
+        assertThat(accountService.getAccountByAccountNumber(sender.id(), senderAccount.accountNumber()).balance())
+                .isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void shouldReturn422WhenTransferringToTheSameAccount() throws Exception {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber(senderAccount.accountNumber())
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/v1/accounts/" + senderAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void shouldReturn404WhenDestinationAccountDoesNotExist() throws Exception {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber("01999999")
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/v1/accounts/" + senderAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturn403WhenTransferringFromAnotherUsersAccount() throws Exception {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber(senderAccount.accountNumber())
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/v1/accounts/" + recipientAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReturn400WhenDestinationIsMissing() throws Exception {
+        // Given
+        String requestJson = """
+                {
+                    "amount": 10.00,
+                    "currency": "GBP"
+                }
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/v1/accounts/" + senderAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CreateUserRequest createUserRequest(String name, String email) {
+        return CreateUserRequest.builder()
+                .name(name)
+                .email(email)
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build();
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -162,6 +163,38 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.phoneNumber").value("+447123456789"));
     }
 
+    @Test
+    void shouldReturn304WhenUserUnchangedSinceETag() throws Exception {
+        // Given
+        String eTag = mockMvc.perform(get("/v1/users/" + testUser.id())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/v1/users/" + testUser.id())
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldReturn412WhenUpdatingUserWithStaleIfMatch() throws Exception {
+        // Given
+        UpdateUserRequest request = new UpdateUserRequest("Updated Name", null, null);
+
+        // When & Then
+        mockMvc.perform(patch("/v1/users/" + testUser.id())
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-Match", "\"" + testUser.id() + "-99\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void shouldReturn401WhenGettingUserWithoutAuth() throws Exception {
         // When & Then
@@ -0,0 +1,136 @@
+package com.eaglebank.controller.support;
+
+import com.eaglebank.config.ListingConfig;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.ListBankAccountsResponse;
+import com.eaglebank.dto.response.ListTransactionsResponse;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ListingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new BlackbirdModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final ListingConfig listingConfig = new ListingConfig();
+
+    private final ListingJsonWriter listingJsonWriter = new ListingJsonWriter(objectMapper, listingConfig);
+
+    @Test
+    void shouldWriteTransactionsIdenticallyToListResponse() throws Exception {
+        // Given
+        List<TransactionResponse> transactions = List.of(
+                createTransaction("tan-abc1", "100.50", "Salary"),
+                createTransaction("tan-abc2", "25.00", null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        listingJsonWriter.writeTransactions(out, transactions.stream());
+
+        // Then
+        String expected = objectMapper.writeValueAsString(new ListTransactionsResponse(transactions));
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldWriteEmptyTransactionList() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        listingJsonWriter.writeTransactions(out, Stream.empty());
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"transactions\":[]}");
+    }
+
+    @Test
+    void shouldWriteAccountsToServletResponseWithoutVersion() throws Exception {
+        // Given
+        BankAccountResponse account = new BankAccountResponse("01234567", "10-10-10", "Main", "personal",
+                new BigDecimal("10.00"), "GBP", LocalDateTime.now(), LocalDateTime.now(), 3);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        ListingResponse listing = listingJsonWriter.open(response);
+        listing.writeAccounts(Stream.of(account));
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        listing.send();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentAsString())
+                .isEqualTo(objectMapper.writeValueAsString(new ListBankAccountsResponse(List.of(account))))
+                .doesNotContain("version");
+    }
+
+    @Test
+    void shouldStreamAListingThatOutgrowsTheBufferBeforeSend() throws Exception {
+        // Given
+        listingConfig.setBufferSize(DataSize.ofBytes(100));
+        List<TransactionResponse> transactions = List.of(
+                createTransaction("tan-abc1", "100.50", "Salary"),
+                createTransaction("tan-abc2", "25.00", "Rent"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        ListingResponse listing = listingJsonWriter.open(response);
+        listing.writeTransactions(transactions.stream());
+
+        // Then - already written in full, so send has nothing left to do
+        String expected = objectMapper.writeValueAsString(new ListTransactionsResponse(transactions));
+        assertThat(response.getContentAsString()).isEqualTo(expected);
+        listing.send();
+        assertThat(response.getContentAsString()).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldCutOffAStreamedListingOnceTheWriteTimeoutPasses() {
+        // Given - streamed after the first element, with no time to write the rest
+        listingConfig.setBufferSize(DataSize.ofBytes(1));
+        listingConfig.setWriteTimeout(Duration.ZERO);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ListingResponse listing = listingJsonWriter.open(response);
+
+        // When & Then
+        assertThatThrownBy(() -> listing.writeTransactions(Stream.generate(() -> {
+            LockSupport.parkNanos(1_000);
+            return createTransaction("tan-abc1", "1.00", null);
+        }).limit(10_000)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("within");
+    }
+
+    private TransactionResponse createTransaction(String id, String amount, String reference) {
+        return TransactionResponse.builder()
+                .id(id)
+                .amount(new BigDecimal(amount))
+                .currency("GBP")
+                .type("deposit")
+                .reference(reference)
+                .userId("usr-abc123")
+                .createdTimestamp(LocalDateTime.of(2024, 1, 10, 10, 0))
+                .build();
+    }
+}
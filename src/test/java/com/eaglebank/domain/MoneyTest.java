@@ -0,0 +1,54 @@
+package com.eaglebank.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void shouldRoundTripThroughBigDecimalAtTwoDecimalPlaces() {
+        // When
+        Money money = Money.of(new BigDecimal("1500.5"));
+
+        // Then
+        assertThat(money.minorUnits()).isEqualTo(150050);
+        assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("1500.50"));
+        assertThat(money).hasToString("1500.50");
+        assertThat(Money.of("-0.01").signum()).isNegative();
+    }
+
+    @Test
+    void shouldRejectFractionsOfAPenny() {
+        // When / Then
+        assertThatThrownBy(() -> Money.of("0.005")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void shouldAddSubtractAndCompareInMinorUnits() {
+        // Given
+        Money balance = Money.of("100.00");
+
+        // When
+        Money after = balance.minus(Money.of("30.25")).plus(Money.of("0.50"));
+
+        // Then
+        assertThat(after).isEqualTo(Money.of("70.25"));
+        assertThat(after.isLessThan(balance)).isTrue();
+        assertThat(after.compareTo(balance)).isNegative();
+        assertThat(balance.minus(balance)).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    void shouldThrowRatherThanOverflow() {
+        // Given
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        // When / Then
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).negate()).isInstanceOf(ArithmeticException.class);
+    }
+}
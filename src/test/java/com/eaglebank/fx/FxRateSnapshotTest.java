@@ -0,0 +1,72 @@
+package com.eaglebank.fx;
+
+import com.eaglebank.domain.Money;
+import com.eaglebank.exception.UnprocessableEntityException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FxRateSnapshotTest {
+
+    private final FxRateSnapshot snapshot = FxRateSnapshot.of("v1", Map.of(
+            "GBP", BigDecimal.ONE,
+            "EUR", new BigDecimal("0.85"),
+            "JPY", new BigDecimal("0.005")), Instant.now());
+
+    @Test
+    void shouldConvertIntoBaseCurrencyAtTheListedRate() {
+        // When
+        FxConversion conversion = snapshot.convert(Money.of("100.00"), "EUR", "GBP");
+
+        // Then
+        assertThat(conversion.converted()).isTrue();
+        assertThat(conversion.amount()).isEqualTo(Money.of("85.00"));
+        assertThat(conversion.rate()).isEqualByComparingTo("0.85");
+        assertThat(conversion.rateVersion()).isEqualTo("v1");
+    }
+
+    @Test
+    void shouldDeriveCrossRatesAndRoundToPenniesHalfEven() {
+        // When - 1 / 0.85 = 1.17647059 per pound; 10.00 GBP is 11.7647059 EUR
+        FxConversion conversion = snapshot.convert(Money.of("10.00"), "GBP", "EUR");
+
+        // Then
+        assertThat(conversion.rate()).isEqualByComparingTo("1.17647059");
+        assertThat(conversion.amount()).isEqualTo(Money.of("11.76"));
+    }
+
+    @Test
+    void shouldPassSameCurrencyThroughUnconverted() {
+        // Given
+        Money amount = Money.of("42.50");
+
+        // When
+        FxConversion conversion = snapshot.convert(amount, "GBP", "GBP");
+
+        // Then
+        assertThat(conversion.converted()).isFalse();
+        assertThat(conversion.amount()).isSameAs(amount);
+        assertThat(conversion.rateVersion()).isNull();
+    }
+
+    @Test
+    void shouldRejectCurrencyWithoutRate() {
+        // When & Then
+        assertThatThrownBy(() -> snapshot.convert(Money.of("1.00"), "XYZ", "GBP"))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("XYZ");
+    }
+
+    @Test
+    void shouldRejectAmountWorthLessThanAPenny() {
+        // When & Then - 0.01 JPY is 0.00005 GBP
+        assertThatThrownBy(() -> snapshot.convert(Money.of("0.01"), "JPY", "GBP"))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("less than 0.01");
+    }
+}
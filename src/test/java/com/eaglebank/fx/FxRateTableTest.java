@@ -0,0 +1,92 @@
+package com.eaglebank.fx;
+
+import com.eaglebank.config.FxConfig;
+import com.eaglebank.domain.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FxRateTableTest {
+
+    @TempDir
+    Path dir;
+
+    private Path ratesFile;
+    private FxConfig fxConfig;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ratesFile = dir.resolve("rates.csv");
+        Files.writeString(ratesFile, """
+                # test rates
+                currency,rate
+                GBP,1
+                EUR,0.85
+                """);
+        fxConfig = new FxConfig();
+        fxConfig.setRatesLocation(ratesFile.toUri().toString());
+    }
+
+    @Test
+    void shouldLoadRatesOnConstruction() {
+        // When
+        FxRateTable table = new FxRateTable(fxConfig, new DefaultResourceLoader());
+
+        // Then
+        FxRateSnapshot snapshot = table.current();
+        assertThat(snapshot.currencies()).containsExactlyInAnyOrder("GBP", "EUR");
+        assertThat(snapshot.version()).hasSize(12);
+        assertThat(snapshot.convert(Money.of("10.00"), "EUR", "GBP").amount()).isEqualTo(Money.of("8.50"));
+    }
+
+    @Test
+    void shouldSwapInNewSnapshotOnlyWhenTheFileChanges() throws IOException {
+        // Given
+        FxRateTable table = new FxRateTable(fxConfig, new DefaultResourceLoader());
+        FxRateSnapshot original = table.current();
+
+        // When & Then - unchanged file keeps the same snapshot
+        assertThat(table.refresh()).isFalse();
+        assertThat(table.current()).isSameAs(original);
+
+        // When & Then - new rates get a new version, while the old snapshot is left intact
+        Files.writeString(ratesFile, "GBP,1\nEUR,0.90\n");
+        assertThat(table.refresh()).isTrue();
+        assertThat(table.current().version()).isNotEqualTo(original.version());
+        assertThat(table.current().convert(Money.of("10.00"), "EUR", "GBP").amount()).isEqualTo(Money.of("9.00"));
+        assertThat(original.convert(Money.of("10.00"), "EUR", "GBP").amount()).isEqualTo(Money.of("8.50"));
+    }
+
+    @Test
+    void shouldKeepCurrentRatesWhenScheduledRefreshReadsABadFile() throws IOException {
+        // Given
+        FxRateTable table = new FxRateTable(fxConfig, new DefaultResourceLoader());
+        FxRateSnapshot original = table.current();
+        Files.writeString(ratesFile, "GBP,1\nEUR,not-a-rate\n");
+
+        // When
+        table.scheduledRefresh();
+
+        // Then
+        assertThat(table.current()).isSameAs(original);
+    }
+
+    @Test
+    void shouldRefuseToStartWithoutTheBaseCurrency() throws IOException {
+        // Given
+        Files.writeString(ratesFile, "EUR,0.85\n");
+
+        // When & Then
+        assertThatThrownBy(() -> new FxRateTable(fxConfig, new DefaultResourceLoader()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GBP");
+    }
+}
@@ -0,0 +1,242 @@
+package com.eaglebank.grpc;
+
+import com.eaglebank.config.GrpcConfig;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.grpc.v1.ListTransactionsRequest;
+import com.eaglebank.grpc.v1.PostTransactionAck;
+import com.eaglebank.grpc.v1.PostTransactionRequest;
+import com.eaglebank.grpc.v1.PostingServiceGrpc;
+import com.eaglebank.grpc.v1.Transaction;
+import com.eaglebank.grpc.v1.TransactionType;
+import com.eaglebank.security.JwtTokenProvider;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Not {@code @Transactional}: calls run on the server's own threads, so the test commits its users and
+ * accounts and {@link DatabaseCleaner} removes them.
+ */
+@SpringBootTest
+class PostingGrpcServiceIntegrationTest {
+
+    @Autowired
+    private GrpcConfig grpcConfig;
+
+    @MockitoSpyBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    private ManagedChannel channel;
+    private String userId;
+    private String token;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        channel = InProcessChannelBuilder.forName(grpcConfig.getInProcessName()).build();
+        UserResponse user = createUser();
+        userId = user.id();
+        token = jwtTokenProvider.generateToken(user.id(), user.email());
+        accountNumber = openAccount(userId);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldAckEveryPostingInOrderAndCarryOnAfterAFailure() throws Exception {
+        // When
+        List<PostTransactionAck> acks = post(token,
+                posting("1", accountNumber, 10_000, TransactionType.TRANSACTION_TYPE_DEPOSIT),
+                posting("2", accountNumber, 3_000, TransactionType.TRANSACTION_TYPE_WITHDRAWAL),
+                posting("3", accountNumber, 100_000, TransactionType.TRANSACTION_TYPE_WITHDRAWAL),
+                posting("4", accountNumber, 1_000, TransactionType.TRANSACTION_TYPE_UNSPECIFIED),
+                posting("5", accountNumber, 500, TransactionType.TRANSACTION_TYPE_DEPOSIT));
+
+        // Then
+        assertThat(acks).extracting(PostTransactionAck::getRequestId).containsExactly("1", "2", "3", "4", "5");
+        assertThat(acks.get(0).getTransaction().getAmountMinor()).isEqualTo(10_000);
+        assertThat(acks.get(1).getTransaction().getType()).isEqualTo(TransactionType.TRANSACTION_TYPE_WITHDRAWAL);
+        assertThat(acks.get(2).getError().getCode()).isEqualTo("FAILED_PRECONDITION");
+        assertThat(acks.get(3).getError().getCode()).isEqualTo("INVALID_ARGUMENT");
+        assertThat(acks.get(4).hasTransaction()).isTrue();
+        assertThat(accountService.getAccountByAccountNumber(userId, accountNumber).balance())
+                .isEqualByComparingTo("75.00");
+    }
+
+    @Test
+    void shouldStreamTransactionsNewestFirst() throws Exception {
+        // Given
+        post(token,
+                posting("1", accountNumber, 100, TransactionType.TRANSACTION_TYPE_DEPOSIT),
+                posting("2", accountNumber, 200, TransactionType.TRANSACTION_TYPE_DEPOSIT),
+                posting("3", accountNumber, 300, TransactionType.TRANSACTION_TYPE_DEPOSIT));
+
+        // When
+        List<Transaction> transactions = new ArrayList<>();
+        blockingStub(token)
+                .listTransactions(ListTransactionsRequest.newBuilder().setAccountNumber(accountNumber).build())
+                .forEachRemaining(transactions::add);
+
+        // Then
+        assertThat(transactions).extracting(Transaction::getAmountMinor).containsExactly(300L, 200L, 100L);
+        assertThat(transactions).extracting(Transaction::getUserId).containsOnly(userId);
+    }
+
+    @Test
+    void shouldVerifyTheTokenOncePerConnection() throws Exception {
+        // When - three calls on one connection
+        post(token, posting("1", accountNumber, 100, TransactionType.TRANSACTION_TYPE_DEPOSIT));
+        blockingStub(token)
+                .listTransactions(ListTransactionsRequest.newBuilder().setAccountNumber(accountNumber).build())
+                .forEachRemaining(transaction -> { });
+        post(token, posting("2", accountNumber, 100, TransactionType.TRANSACTION_TYPE_DEPOSIT));
+
+        // Then
+        verify(jwtTokenProvider, times(1)).parseClaims(token);
+    }
+
+    @Test
+    void shouldRejectCallsWithoutAValidToken() {
+        // When & Then
+        assertThatThrownBy(() -> blockingStub("not-a-jwt")
+                .listTransactions(ListTransactionsRequest.newBuilder().setAccountNumber(accountNumber).build())
+                .hasNext())
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.UNAUTHENTICATED);
+    }
+
+    @Test
+    void shouldRefuseAnotherUsersAccount() throws Exception {
+        // Given
+        String otherAccount = openAccount(createUser().id());
+
+        // When
+        List<PostTransactionAck> acks = post(token,
+                posting("1", otherAccount, 100, TransactionType.TRANSACTION_TYPE_DEPOSIT));
+
+        // Then
+        assertThat(acks.getFirst().getError().getCode()).isEqualTo("PERMISSION_DENIED");
+        assertThatThrownBy(() -> blockingStub(token)
+                .listTransactions(ListTransactionsRequest.newBuilder().setAccountNumber(otherAccount).build())
+                .hasNext())
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.PERMISSION_DENIED);
+    }
+
+    private List<PostTransactionAck> post(String bearerToken, PostTransactionRequest... postings) throws Exception {
+        List<PostTransactionAck> acks = new CopyOnWriteArrayList<>();
+        CompletableFuture<List<PostTransactionAck>> done = new CompletableFuture<>();
+        StreamObserver<PostTransactionRequest> requests = PostingServiceGrpc.newStub(channel)
+                .withInterceptors(bearer(bearerToken))
+                .postTransactions(new StreamObserver<>() {
+                    @Override
+                    public void onNext(PostTransactionAck ack) {
+                        acks.add(ack);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        done.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.complete(acks);
+                    }
+                });
+        for (PostTransactionRequest posting : postings) {
+            requests.onNext(posting);
+        }
+        requests.onCompleted();
+        return done.get(10, TimeUnit.SECONDS);
+    }
+
+    private PostingServiceGrpc.PostingServiceBlockingStub blockingStub(String bearerToken) {
+        return PostingServiceGrpc.newBlockingStub(channel).withInterceptors(bearer(bearerToken));
+    }
+
+    private static ClientInterceptor bearer(String bearerToken) {
+        Metadata headers = new Metadata();
+        headers.put(ConnectionAuthenticator.AUTHORIZATION, "Bearer " + bearerToken);
+        return MetadataUtils.newAttachHeadersInterceptor(headers);
+    }
+
+    private static PostTransactionRequest posting(String requestId, String accountNumber, long amountMinor,
+                                                  TransactionType type) {
+        return PostTransactionRequest.newBuilder()
+                .setRequestId(requestId)
+                .setAccountNumber(accountNumber)
+                .setAmountMinor(amountMinor)
+                .setCurrency("GBP")
+                .setType(type)
+                .build();
+    }
+
+    private UserResponse createUser() {
+        UserResponse user = userService.createUser(CreateUserRequest.builder()
+                .name("Settlement Service")
+                .email("grpc-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build());
+        databaseCleaner.user(user.id());
+        return user;
+    }
+
+    private String openAccount(String owner) {
+        String account = accountService.createAccount(owner,
+                new CreateBankAccountRequest("Settlement Account", "personal")).accountNumber();
+        databaseCleaner.account(account);
+        return account;
+    }
+}
@@ -0,0 +1,111 @@
+package com.eaglebank.grpc;
+
+import com.eaglebank.config.RateLimitConfig;
+import com.eaglebank.grpc.v1.PostTransactionAck;
+import com.eaglebank.grpc.v1.PostTransactionRequest;
+import com.eaglebank.grpc.v1.PostingServiceGrpc;
+import com.eaglebank.security.RateLimiter;
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.server.PathContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitInterceptorTest {
+
+    @Mock
+    private ServerCall<PostTransactionRequest, PostTransactionAck> call;
+
+    @Mock
+    private ServerCallHandler<PostTransactionRequest, PostTransactionAck> next;
+
+    @Mock
+    private ServerCall.Listener<PostTransactionRequest> delegate;
+
+    private RateLimiter rateLimiter;
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig.Rule transactionRule = new RateLimitConfig.Rule();
+        transactionRule.setName("create-transaction");
+        transactionRule.setMethod("POST");
+        transactionRule.setPath("/v1/accounts/*/transactions");
+        transactionRule.setGrpcMethod(PostingServiceGrpc.getPostTransactionsMethod().getFullMethodName());
+        transactionRule.setCapacity(2);
+        transactionRule.setRefillTokens(1);
+        transactionRule.setRefillPeriod(Duration.ofMinutes(1));
+
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRules(List.of(transactionRule));
+
+        rateLimiter = new RateLimiter(config, new SimpleMeterRegistry());
+        rateLimitInterceptor = new RateLimitInterceptor(rateLimiter);
+    }
+
+    @Test
+    void shouldEndTheCallWhenAUserRunsOutOfPostings() {
+        // Given
+        ServerCall.Listener<PostTransactionRequest> listener = startCallAs("usr-one");
+
+        // When
+        listener.onMessage(PostTransactionRequest.getDefaultInstance());
+        listener.onMessage(PostTransactionRequest.getDefaultInstance());
+        listener.onMessage(PostTransactionRequest.getDefaultInstance());
+        listener.onMessage(PostTransactionRequest.getDefaultInstance());
+        listener.onHalfClose();
+
+        // Then
+        verify(delegate, times(2)).onMessage(any());
+        verify(delegate, never()).onHalfClose();
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        ArgumentCaptor<Metadata> trailers = ArgumentCaptor.forClass(Metadata.class);
+        verify(call).close(status.capture(), trailers.capture());
+        assertThat(status.getValue().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(trailers.getValue().get(RateLimitInterceptor.RETRY_AFTER)).isNotNull();
+    }
+
+    @Test
+    void shouldShareTheUsersBucketWithRest() {
+        // Given - the user has already posted twice over REST
+        RateLimiter.Rule rule = rateLimiter.findRule("POST", PathContainer.parsePath("/v1/accounts/01234567/transactions"));
+        rateLimiter.tryConsume(rule, RateLimiter.userKey("usr-one"));
+        rateLimiter.tryConsume(rule, RateLimiter.userKey("usr-one"));
+        ServerCall.Listener<PostTransactionRequest> listener = startCallAs("usr-one");
+
+        // When
+        listener.onMessage(PostTransactionRequest.getDefaultInstance());
+
+        // Then
+        verify(delegate, never()).onMessage(any());
+        verify(call).close(any(), any());
+    }
+
+    private ServerCall.Listener<PostTransactionRequest> startCallAs(String userId) {
+        when(call.getMethodDescriptor()).thenReturn(PostingServiceGrpc.getPostTransactionsMethod());
+        when(next.startCall(any(), any())).thenReturn(delegate);
+        Context context = Context.current().withValue(ConnectionAuthenticator.USER_ID, userId);
+        Context previous = context.attach();
+        try {
+            return rateLimitInterceptor.interceptCall(call, new Metadata(), next);
+        } finally {
+            context.detach(previous);
+        }
+    }
+}
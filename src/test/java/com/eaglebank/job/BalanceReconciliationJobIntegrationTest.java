@@ -0,0 +1,134 @@
+package com.eaglebank.job;
+
+import com.eaglebank.config.ReconciliationConfig;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}: the job reads in its own snapshot transactions, so the test commits its
+ * accounts and {@link DatabaseCleaner} removes them. The job checks every account in the shared database, so
+ * assertions stick to this test's accounts.
+ */
+@SpringBootTest
+class BalanceReconciliationJobIntegrationTest {
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private BalanceReconciliationJob balanceReconciliationJob;
+
+    @Autowired
+    private ReconciliationConfig reconciliationConfig;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int originalPartitions;
+    private int originalFetchSize;
+
+    private String userId;
+    private String balancedAccount;
+    private String corruptedAccount;
+
+    @BeforeEach
+    void setUp() {
+        // Small enough that the test's accounts and rows span several partitions and fetches
+        originalPartitions = reconciliationConfig.getPartitions();
+        originalFetchSize = reconciliationConfig.getFetchSize();
+        reconciliationConfig.setPartitions(3);
+        reconciliationConfig.setFetchSize(2);
+
+        userId = userService.createUser(CreateUserRequest.builder()
+                .name("Reconciliation User")
+                .email("reconciliation-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build()).id();
+        databaseCleaner.user(userId);
+        balancedAccount = openAccount();
+        corruptedAccount = openAccount();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciliationConfig.setPartitions(originalPartitions);
+        reconciliationConfig.setFetchSize(originalFetchSize);
+    }
+
+    @Test
+    void shouldReportOnlyTheAccountWhoseBalanceDisagreesWithItsTransactions() {
+        // Given - both accounts hold 120.00 - 45.50 + 10.25, then one balance is changed behind the ledger's back
+        jdbcTemplate.update("UPDATE bank_accounts SET balance = balance + 1.01 WHERE account_number = ?",
+                corruptedAccount);
+
+        // When
+        ReconciliationReport report = balanceReconciliationJob.reconcile();
+
+        // Then
+        assertThat(report.state()).isEqualTo(ReconciliationReport.State.COMPLETED);
+        assertThat(report.partitionsDone()).isEqualTo(report.partitions());
+        assertThat(report.accountsChecked()).isGreaterThanOrEqualTo(2);
+        assertThat(report.transactionsScanned()).isGreaterThanOrEqualTo(6);
+        assertThat(report.mismatches())
+                .noneMatch(mismatch -> mismatch.accountNumber().equals(balancedAccount))
+                .filteredOn(mismatch -> mismatch.accountNumber().equals(corruptedAccount))
+                .singleElement()
+                .satisfies(mismatch -> {
+                    assertThat(mismatch.balance()).isEqualByComparingTo("85.76");
+                    assertThat(mismatch.ledgerBalance()).isEqualByComparingTo("84.75");
+                    assertThat(mismatch.difference()).isEqualByComparingTo("1.01");
+                });
+        assertThat(balanceReconciliationJob.report()).isEqualTo(report);
+    }
+
+    private String openAccount() {
+        String accountNumber = accountService.createAccount(userId,
+                new CreateBankAccountRequest("Reconciliation Account", "personal")).accountNumber();
+        post(accountNumber, "deposit", "120.00");
+        post(accountNumber, "withdrawal", "45.50");
+        post(accountNumber, "deposit", "10.25");
+        return accountNumber;
+    }
+
+    private void post(String accountNumber, String type, String amount) {
+        transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount))
+                .currency("GBP")
+                .type(type)
+                .build(), userId);
+    }
+}
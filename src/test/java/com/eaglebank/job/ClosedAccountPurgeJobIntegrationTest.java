@@ -0,0 +1,161 @@
+package com.eaglebank.job;
+
+import com.eaglebank.config.PurgeConfig;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.exception.ConflictException;
+import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not {@code @Transactional}: the purge commits batch by batch, so the test commits its accounts and
+ * {@link DatabaseCleaner} removes whatever is left.
+ */
+@SpringBootTest
+class ClosedAccountPurgeJobIntegrationTest {
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private ClosedAccountPurgeJob closedAccountPurgeJob;
+
+    @Autowired
+    private PurgeConfig purgeConfig;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int originalBatchSize;
+    private Duration originalPause;
+
+    private String userId;
+    private String closedAccount;
+    private String openAccount;
+
+    @BeforeEach
+    void setUp() {
+        // Several batches per account, without slowing the test down
+        originalBatchSize = purgeConfig.getBatchSize();
+        originalPause = purgeConfig.getPauseBetweenBatches();
+        purgeConfig.setBatchSize(2);
+        purgeConfig.setPauseBetweenBatches(Duration.ZERO);
+
+        userId = userService.createUser(CreateUserRequest.builder()
+                .name("Purge User")
+                .email("purge-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build()).id();
+        databaseCleaner.user(userId);
+        // Purged accounts leave their outbox events behind
+        closedAccount = databaseCleaner.account(openAccountWithDeposits(5));
+        openAccount = databaseCleaner.account(openAccountWithDeposits(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        purgeConfig.setBatchSize(originalBatchSize);
+        purgeConfig.setPauseBetweenBatches(originalPause);
+    }
+
+    @Test
+    void shouldHideAClosedAccountAtOnceAndRemoveItsHistoryLater() {
+        // Given
+        Long closedAccountId = jdbcTemplate.queryForObject(
+                "SELECT id FROM bank_accounts WHERE account_number = ?", Long.class, closedAccount);
+
+        // When
+        accountService.deleteAccount(userId, closedAccount);
+
+        // Then - gone from the API, but its rows are still there
+        assertThat(accountService.listAccounts(userId).accounts())
+                .extracting(BankAccountResponse::accountNumber)
+                .containsExactly(openAccount);
+        assertThatThrownBy(() -> accountService.getAccountByAccountNumber(userId, closedAccount))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(transactionCount(closedAccountId)).isEqualTo(5);
+
+        // When
+        long purged = closedAccountPurgeJob.purge();
+
+        // Then
+        assertThat(purged).isGreaterThanOrEqualTo(5);
+        assertThat(transactionCount(closedAccountId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bank_accounts WHERE id = ?",
+                Long.class, closedAccountId)).isZero();
+        assertThat(accountService.getAccountByAccountNumber(userId, openAccount).balance())
+                .isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void shouldRefuseToDeleteAUserUntilTheirClosedAccountsArePurged() {
+        // Given
+        accountService.deleteAccount(userId, closedAccount);
+        accountService.deleteAccount(userId, openAccount);
+        assertThatThrownBy(() -> userService.deleteUser(userId)).isInstanceOf(ConflictException.class);
+
+        // When
+        closedAccountPurgeJob.purge();
+        userService.deleteUser(userId);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE user_id = ?", Long.class, userId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bank_accounts WHERE account_number IN (?, ?)",
+                Long.class, closedAccount, openAccount)).isZero();
+    }
+
+    private String openAccountWithDeposits(int deposits) {
+        String accountNumber = accountService.createAccount(userId,
+                new CreateBankAccountRequest("Purge Account", "personal")).accountNumber();
+        for (int i = 0; i < deposits; i++) {
+            transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                    .amount(new BigDecimal("10.00"))
+                    .currency("GBP")
+                    .type("deposit")
+                    .build(), userId);
+        }
+        return accountNumber;
+    }
+
+    private long transactionCount(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE account_id = ?", Long.class,
+                accountId);
+    }
+}
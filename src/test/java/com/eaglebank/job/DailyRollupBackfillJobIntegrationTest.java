@@ -0,0 +1,193 @@
+package com.eaglebank.job;
+
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.ArchiveConfig;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}: the backfill and the archival job commit in transactions of their own, so
+ * the test commits its rows and {@link DatabaseCleaner} removes them. The archive is pointed at a
+ * temporary directory for the test and back again after it.
+ */
+@SpringBootTest
+class DailyRollupBackfillJobIntegrationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private DailyRollupBackfillJob dailyRollupBackfillJob;
+
+    @Autowired
+    private TransactionArchivalJob transactionArchivalJob;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private ArchiveConfig archiveConfig;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime now;
+    private YearMonth archivedMonth;
+    private String originalDirectory;
+    private Duration originalReloadInterval;
+
+    private String userId;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        originalDirectory = archiveConfig.getDirectory();
+        originalReloadInterval = archiveConfig.getReloadInterval();
+        archiveConfig.setDirectory(tempDir.toString());
+        archiveConfig.setReloadInterval(Duration.ZERO);
+        transactionArchive.reload();
+
+        userId = userService.createUser(CreateUserRequest.builder()
+                .name("Backfill User")
+                .email("backfill-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build()).id();
+        databaseCleaner.user(userId);
+        accountNumber = accountService.createAccount(userId,
+                new CreateBankAccountRequest("Backfill Account", "personal")).accountNumber();
+
+        // Two postings in a month long past the hot window, written straight to the table as if they
+        // had been made then, and one made now
+        now = LocalDateTime.now();
+        archivedMonth = YearMonth.from(now.minusYears(2));
+        insertPosting("100.00", archivedMonth.atDay(5).atTime(9, 0));
+        insertPosting("40.00", archivedMonth.atDay(25).atTime(17, 30));
+        transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .type("deposit")
+                .build(), userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiveConfig.setDirectory(originalDirectory);
+        archiveConfig.setReloadInterval(originalReloadInterval);
+        transactionArchive.reload();
+    }
+
+    @Test
+    void shouldRebuildEveryDayFromTheTableWhenNothingIsArchived() {
+        // When
+        dailyRollupBackfillJob.backfill();
+
+        // Then
+        assertThat(closingBalances()).containsExactly(
+                Map.entry(archivedMonth.atDay(5), new BigDecimal("100.00")),
+                Map.entry(archivedMonth.atDay(25), new BigDecimal("140.00")),
+                Map.entry(now.toLocalDate(), new BigDecimal("150.00")));
+    }
+
+    @Test
+    void shouldKeepArchivedMonthsRollupsAndCarryTheirClosingBalanceForward() {
+        // Given - rollups built while the old month was in the table, then the month archived
+        dailyRollupBackfillJob.backfill();
+        assertThat(transactionArchivalJob.archive(now)).isEqualTo(2);
+        jdbcTemplate.update("""
+                UPDATE daily_account_rollups SET closing_balance = 0
+                WHERE rollup_date = ? AND account_id = (SELECT id FROM bank_accounts WHERE account_number = ?)
+                """, now.toLocalDate(), accountNumber);
+
+        // When
+        dailyRollupBackfillJob.backfill();
+
+        // Then - the archived days are untouched and today opens from the last of them
+        assertThat(closingBalances()).containsExactly(
+                Map.entry(archivedMonth.atDay(5), new BigDecimal("100.00")),
+                Map.entry(archivedMonth.atDay(25), new BigDecimal("140.00")),
+                Map.entry(now.toLocalDate(), new BigDecimal("150.00")));
+    }
+
+    @Test
+    void shouldOpenFromTheArchivedTotalWhenNoArchivedRollupsAreLeft() {
+        // Given - the month archived before any rollups were built for it
+        assertThat(transactionArchivalJob.archive(now)).isEqualTo(2);
+        jdbcTemplate.update("""
+                DELETE FROM daily_account_rollups
+                WHERE account_id = (SELECT id FROM bank_accounts WHERE account_number = ?)
+                """, accountNumber);
+
+        // When
+        dailyRollupBackfillJob.backfill();
+
+        // Then
+        assertThat(closingBalances()).containsExactly(
+                Map.entry(now.toLocalDate(), new BigDecimal("150.00")));
+    }
+
+    private List<Map.Entry<LocalDate, BigDecimal>> closingBalances() {
+        return jdbcTemplate.query("""
+                SELECT r.rollup_date, r.closing_balance FROM daily_account_rollups r
+                JOIN bank_accounts a ON r.account_id = a.id
+                WHERE a.account_number = ?
+                ORDER BY r.rollup_date
+                """, (rs, rowNum) -> Map.entry(rs.getDate("rollup_date").toLocalDate(),
+                rs.getBigDecimal("closing_balance").setScale(2)), accountNumber);
+    }
+
+    private void insertPosting(String amount, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO transactions
+                    (transaction_id, amount, currency, account_amount, type, reference, account_id, user_id, created_at)
+                VALUES (?, ?, 'GBP', ?, 'DEPOSIT', ?,
+                    (SELECT id FROM bank_accounts WHERE account_number = ?), (SELECT id FROM users WHERE user_id = ?), ?)
+                """, "tan-" + UUID.randomUUID().toString().substring(0, 8), new BigDecimal(amount),
+                new BigDecimal(amount), "Backfill " + amount, accountNumber, userId, Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,203 @@
+package com.eaglebank.job;
+
+import com.eaglebank.config.InterestConfig;
+import com.eaglebank.domain.InterestAccrualCheckpoint;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.repository.InterestAccrualCheckpointRepository;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}: the job commits chunk by chunk on its own threads, so the test commits
+ * its accounts and {@link DatabaseCleaner} removes them. The job sweeps every account in the shared database, so
+ * assertions stick to this test's accounts.
+ */
+@SpringBootTest
+class InterestAccrualJobIntegrationTest {
+
+    private static final LocalDate FULL_RUN_DATE = LocalDate.of(2031, 1, 1);
+    private static final LocalDate RESUMED_RUN_DATE = LocalDate.of(2031, 1, 2);
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private InterestAccrualJob interestAccrualJob;
+
+    @Autowired
+    private InterestConfig interestConfig;
+
+    @Autowired
+    private InterestAccrualCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BigDecimal originalRate;
+    private int originalChunkSize;
+    private int originalPartitions;
+
+    private String userId;
+    private String richAccount;
+    private String emptyAccount;
+    private String modestAccount;
+
+    @BeforeEach
+    void setUp() {
+        // 0.1% a day keeps the expected figures readable
+        originalRate = interestConfig.getAnnualRate();
+        originalChunkSize = interestConfig.getChunkSize();
+        originalPartitions = interestConfig.getPartitions();
+        interestConfig.setAnnualRate(new BigDecimal("0.365"));
+        interestConfig.setChunkSize(2);
+        interestConfig.setPartitions(3);
+
+        userId = userService.createUser(CreateUserRequest.builder()
+                .name("Interest User")
+                .email("interest-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build()).id();
+        databaseCleaner.user(userId);
+        richAccount = openAccount("1000.00");
+        emptyAccount = openAccount(null);
+        modestAccount = openAccount("500.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        interestConfig.setAnnualRate(originalRate);
+        interestConfig.setChunkSize(originalChunkSize);
+        interestConfig.setPartitions(originalPartitions);
+
+        jdbcTemplate.update("DELETE FROM interest_accrual_checkpoints WHERE accrual_date IN (?, ?)",
+                FULL_RUN_DATE, RESUMED_RUN_DATE);
+    }
+
+    @Test
+    void shouldPostOneDaysInterestToEveryFundedAccountExactlyOnce() {
+        // When
+        long credited = interestAccrualJob.accrue(FULL_RUN_DATE);
+
+        // Then
+        assertThat(credited).isGreaterThanOrEqualTo(2);
+        assertThat(balance(richAccount)).isEqualByComparingTo("1001.00");
+        assertThat(balance(emptyAccount)).isEqualByComparingTo("0.00");
+        assertThat(balance(modestAccount)).isEqualByComparingTo("500.50");
+        assertThat(interestPostings(richAccount, FULL_RUN_DATE)).isEqualTo(1);
+        assertThat(interestPostings(emptyAccount, FULL_RUN_DATE)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ? AND event_type = 'TRANSACTION_POSTED'",
+                Long.class, richAccount)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT r.deposit_total FROM daily_account_rollups r JOIN bank_accounts a ON r.account_id = a.id
+                WHERE a.account_number = ? AND r.rollup_date = CURRENT_DATE
+                """, BigDecimal.class, richAccount)).isEqualByComparingTo("1001.00");
+        assertThat(checkpointRepository.findByAccrualDateOrderByPartitionNo(FULL_RUN_DATE))
+                .isNotEmpty()
+                .allSatisfy(checkpoint -> assertThat(checkpoint.getCompletedAt()).isNotNull());
+
+        // And the JPA view of the account was evicted from the second-level cache
+        assertThat(accountService.getAccountByAccountNumber(userId, richAccount).balance())
+                .isEqualByComparingTo("1001.00");
+
+        // When - the same day again
+        long rerun = interestAccrualJob.accrue(FULL_RUN_DATE);
+
+        // Then
+        assertThat(rerun).isZero();
+        assertThat(balance(richAccount)).isEqualByComparingTo("1001.00");
+        assertThat(interestPostings(richAccount, FULL_RUN_DATE)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResumeAfterTheLastCommittedChunk() {
+        // Given - a run that committed the chunk holding the first account, then died
+        Long firstId = accountId(richAccount);
+        Long lastId = accountId(modestAccount);
+        checkpointRepository.save(InterestAccrualCheckpoint.builder()
+                .accrualDate(RESUMED_RUN_DATE)
+                .partitionNo(0)
+                .rangeStart(firstId)
+                .rangeEnd(lastId)
+                .lastAccountId(firstId)
+                .accountsAccrued(1)
+                .build());
+
+        // When
+        long credited = interestAccrualJob.accrue(RESUMED_RUN_DATE);
+
+        // Then
+        assertThat(credited).isEqualTo(1);
+        assertThat(balance(richAccount)).isEqualByComparingTo("1000.00");
+        assertThat(balance(modestAccount)).isEqualByComparingTo("500.50");
+        InterestAccrualCheckpoint checkpoint = checkpointRepository
+                .findByAccrualDateOrderByPartitionNo(RESUMED_RUN_DATE).get(0);
+        assertThat(checkpoint.getLastAccountId()).isEqualTo(lastId);
+        assertThat(checkpoint.getAccountsAccrued()).isEqualTo(2);
+        assertThat(checkpoint.getCompletedAt()).isNotNull();
+    }
+
+    private String openAccount(String openingBalance) {
+        String accountNumber = accountService.createAccount(userId,
+                new CreateBankAccountRequest("Interest Account", "personal")).accountNumber();
+        if (openingBalance != null) {
+            transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                    .amount(new BigDecimal(openingBalance))
+                    .currency("GBP")
+                    .type("deposit")
+                    .build(), userId);
+        }
+        return accountNumber;
+    }
+
+    private Long accountId(String accountNumber) {
+        return jdbcTemplate.queryForObject("SELECT id FROM bank_accounts WHERE account_number = ?", Long.class,
+                accountNumber);
+    }
+
+    private BigDecimal balance(String accountNumber) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM bank_accounts WHERE account_number = ?",
+                BigDecimal.class, accountNumber);
+    }
+
+    private long interestPostings(String accountNumber, LocalDate accrualDate) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM transactions t JOIN bank_accounts a ON t.account_id = a.id
+                WHERE a.account_number = ? AND t.reference = ?
+                """, Long.class, accountNumber, "Interest for " + accrualDate);
+    }
+}
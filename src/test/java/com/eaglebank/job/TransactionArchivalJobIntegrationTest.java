@@ -0,0 +1,206 @@
+package com.eaglebank.job;
+
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.ArchiveConfig;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}: the job reads and deletes in transactions of its own, so the test commits
+ * its rows and {@link DatabaseCleaner} removes them. The archive is pointed at a temporary directory
+ * for the test and back again after it.
+ */
+@SpringBootTest
+class TransactionArchivalJobIntegrationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private TransactionArchivalJob transactionArchivalJob;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private ArchiveConfig archiveConfig;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime now;
+    private YearMonth archivedMonth;
+    private String originalDirectory;
+    private Duration originalReloadInterval;
+
+    private String userId;
+    private String accountNumber;
+    private final List<String> transactionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        originalDirectory = archiveConfig.getDirectory();
+        originalReloadInterval = archiveConfig.getReloadInterval();
+        archiveConfig.setDirectory(tempDir.toString());
+        archiveConfig.setReloadInterval(Duration.ZERO);
+        transactionArchive.reload();
+
+        userId = userService.createUser(CreateUserRequest.builder()
+                .name("Archive User")
+                .email("archive-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build()).id();
+        databaseCleaner.user(userId);
+        accountNumber = accountService.createAccount(userId,
+                new CreateBankAccountRequest("Archive Account", "personal")).accountNumber();
+
+        // Two postings in a month long past the hot window, written straight to the table as if they
+        // had been made then, and one made now
+        now = LocalDateTime.now();
+        archivedMonth = YearMonth.from(now.minusYears(2));
+        insertPosting("100.00", archivedMonth.atDay(5).atTime(9, 0));
+        insertPosting("40.00", archivedMonth.atDay(25).atTime(17, 30));
+        transactionIds.add(transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .type("deposit")
+                .build(), userId).id());
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiveConfig.setDirectory(originalDirectory);
+        archiveConfig.setReloadInterval(originalReloadInterval);
+        transactionArchive.reload();
+    }
+
+    @Test
+    void shouldMoveWholeMonthsPastTheHotWindowIntoTheArchive() {
+        // When
+        long deleted = transactionArchivalJob.archive(now);
+
+        // Then - the old month left the table for a segment file
+        assertThat(deleted).isEqualTo(2);
+        assertThat(Files.exists(tempDir.resolve("transactions-" + archivedMonth + ".ebar"))).isTrue();
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT t.transaction_id FROM transactions t JOIN bank_accounts a ON t.account_id = a.id
+                WHERE a.account_number = ?
+                """, String.class, accountNumber)).containsExactly(transactionIds.get(2));
+
+        // And reads still see all three, newest first
+        TransactionResponse archived = transactionService.getTransaction(accountNumber, transactionIds.get(0), userId);
+        assertThat(archived.amount()).isEqualByComparingTo("100.00");
+        assertThat(archived.type()).isEqualTo("deposit");
+        assertThat(archived.userId()).isEqualTo(userId);
+        assertThat(archived.reference()).isEqualTo("Archived 100.00");
+        assertThat(archived.createdTimestamp()).isEqualTo(archivedMonth.atDay(5).atTime(9, 0));
+        assertThat(transactionService.listTransactions(accountNumber, userId).transactions())
+                .extracting(TransactionResponse::id)
+                .containsExactly(transactionIds.get(2), transactionIds.get(1), transactionIds.get(0));
+
+        // When - run again
+        long rerun = transactionArchivalJob.archive(now);
+
+        // Then
+        assertThat(rerun).isZero();
+        assertThat(transactionArchive.current().segments()).hasSize(1);
+    }
+
+    @Test
+    void shouldListArchivedRowsOnceWhileTheirDeletionIsPending() throws Exception {
+        // Given - the segment is published, and the job waits for other nodes before deleting the rows
+        archiveConfig.setReloadInterval(Duration.ofDays(1));
+        Thread job = Thread.ofVirtual().start(() -> {
+            try {
+                transactionArchivalJob.archive(now);
+            } catch (IllegalStateException interrupted) {
+                // Expected: the test stops the job while it waits
+            }
+        });
+        try {
+            awaitSegment();
+
+            // When
+            List<TransactionResponse> transactions = transactionService.listTransactions(accountNumber, userId)
+                    .transactions();
+
+            // Then
+            assertThat(transactions).extracting(TransactionResponse::id)
+                    .containsExactly(transactionIds.get(2), transactionIds.get(1), transactionIds.get(0));
+            assertThat(jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM transactions t JOIN bank_accounts a ON t.account_id = a.id
+                    WHERE a.account_number = ?
+                    """, Long.class, accountNumber)).isEqualTo(3);
+        } finally {
+            job.interrupt();
+            job.join();
+        }
+    }
+
+    private void insertPosting(String amount, LocalDateTime createdAt) {
+        String transactionId = "tan-" + UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("""
+                INSERT INTO transactions
+                    (transaction_id, amount, currency, account_amount, type, reference, account_id, user_id, created_at)
+                VALUES (?, ?, 'GBP', ?, 'DEPOSIT', ?,
+                    (SELECT id FROM bank_accounts WHERE account_number = ?), (SELECT id FROM users WHERE user_id = ?), ?)
+                """, transactionId, new BigDecimal(amount), new BigDecimal(amount), "Archived " + amount,
+                accountNumber, userId, Timestamp.valueOf(createdAt));
+        transactionIds.add(transactionId);
+    }
+
+    private void awaitSegment() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (transactionArchive.current().segments().isEmpty()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
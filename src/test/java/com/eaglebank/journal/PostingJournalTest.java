@@ -0,0 +1,227 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.config.JournalConfig;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<PostingJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(PostingJournal::close);
+    }
+
+    @Test
+    void shouldReplayEveryCommittedRecordAcrossSegments() throws Exception {
+        // Given - segments small enough to roll every few records, and concurrent writers
+        PostingJournal journal = open();
+
+        // When
+        try (ExecutorService writers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                String accountNumber = "0100000" + (i % 4);
+                writers.submit(() -> {
+                    long last = journal.append(List.of(
+                            entry(accountNumber, Transaction.TransactionType.DEPOSIT, "10.00"),
+                            entry(accountNumber, Transaction.TransactionType.WITHDRAWAL, "2.50")));
+                    journal.awaitDurable(last);
+                    journal.markCommitted(last - 1, last);
+                });
+            }
+        }
+        journal.close();
+
+        // Then - 400 postings and 200 commit markers
+        List<Long> sequences = new ArrayList<>();
+        long last = journal.replay(record -> sequences.add(record.sequence()));
+        assertThat(last).isEqualTo(600);
+        assertThat(sequences).hasSize(400).doesNotHaveDuplicates();
+        assertThat(JournalReader.segments(tempDir)).hasSizeGreaterThan(1);
+        assertThat(journal.rebuildBalances()).containsOnlyKeys("01000000", "01000001", "01000002", "01000003")
+                .allSatisfy((accountNumber, balance) -> assertThat(balance).isEqualByComparingTo("375.00"));
+    }
+
+    @Test
+    void shouldResumeAfterATornTailWithoutReplayingIt() throws Exception {
+        // Given - two records on disk, then the start of a third that never finished
+        PostingJournal journal = open();
+        journal.awaitDurable(journal.append(List.of(
+                entry("01000001", Transaction.TransactionType.DEPOSIT, "100.00"),
+                entry("01000001", Transaction.TransactionType.WITHDRAWAL, "30.00"))));
+        journal.awaitDurable(journal.markCommitted(1, 2));
+        journal.close();
+        Path segment = JournalReader.segments(tempDir).get(0);
+        long end = JournalReader.scan(map(segment), 1, new JournalReader.RecordVisitor() {
+        }).endPosition();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 5, 6}), end);
+        }
+
+        // When
+        PostingJournal reopened = open();
+        long sequence = reopened.append(List.of(entry("01000001", Transaction.TransactionType.DEPOSIT, "5.00")));
+        reopened.awaitDurable(sequence);
+        reopened.awaitDurable(reopened.markCommitted(sequence, sequence));
+
+        // Then
+        List<JournalRecord> records = new ArrayList<>();
+        reopened.replay(records::add);
+        assertThat(records).extracting(JournalRecord::sequence).containsExactly(1L, 2L, 4L);
+        assertThat(records.get(2).entry().amount()).isEqualTo(Money.of("5.00"));
+        assertThat(reopened.rebuildBalances()).isEqualTo(Map.of("01000001", new BigDecimal("75.00")));
+    }
+
+    @Test
+    void shouldWriteATransactionsEntriesTogetherAsItCommits() {
+        // Given
+        PostingJournal journal = open();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.record(entry("01000001", Transaction.TransactionType.WITHDRAWAL, "20.00"));
+            journal.record(entry("01000002", Transaction.TransactionType.DEPOSIT, "20.00"));
+            assertThat(journal.replay(record -> {
+            })).isZero();
+
+            // When
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+        assertThat(journal.rebuildBalances()).isEqualTo(Map.of(
+                "01000001", new BigDecimal("-20.00"),
+                "01000002", new BigDecimal("20.00")));
+    }
+
+    @Test
+    void shouldNotReplayEntriesWhoseTransactionRollsBackAfterTheyWereWritten() {
+        // Given
+        PostingJournal journal = open();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.record(entry("01000001", Transaction.TransactionType.DEPOSIT, "20.00"));
+
+            // When - journalled, then the database commit fails
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(JournalReader.unconfirmed(tempDir)).extracting(JournalRecord::sequence).containsExactly(1L);
+        assertThat(journal.rebuildBalances()).isEmpty();
+    }
+
+    @Test
+    void shouldMarkEntriesTheDatabaseCommittedWhenTheirMarkerWasLost() {
+        // Given - two transactions journalled, then a crash before either was marked committed
+        PostingJournal journal = open();
+        journal.awaitDurable(journal.append(List.of(
+                entry("01000001", Transaction.TransactionType.DEPOSIT, "20.00"))));
+        journal.awaitDurable(journal.append(List.of(
+                new JournalEntry("01000002", "tan-rolledback", Transaction.TransactionType.DEPOSIT,
+                        Money.of("7.00"), Money.ZERO, LocalDateTime.of(2024, 1, 15, 10, 30)))));
+        journal.close();
+        PostingJournal reopened = open();
+        assertThat(reopened.rebuildBalances()).isEmpty();
+
+        // When - only the first is in the database
+        int marked = reopened.confirmRecovered("tan-01000001"::equals);
+
+        // Then
+        assertThat(marked).isEqualTo(1);
+        assertThat(reopened.rebuildBalances()).isEqualTo(Map.of("01000001", new BigDecimal("20.00")));
+        assertThat(JournalReader.unconfirmed(tempDir)).extracting(record -> record.entry().transactionId())
+                .containsExactly("tan-rolledback");
+    }
+
+    @Test
+    void shouldLeaveEntriesWrittenSinceOpeningToTheirOwnTransaction() {
+        // Given - journalled by a transaction still in flight
+        PostingJournal journal = open();
+        journal.awaitDurable(journal.append(List.of(
+                entry("01000001", Transaction.TransactionType.DEPOSIT, "20.00"))));
+
+        // When
+        int marked = journal.confirmRecovered(transactionId -> true);
+
+        // Then
+        assertThat(marked).isZero();
+        assertThat(journal.rebuildBalances()).isEmpty();
+    }
+
+    @Test
+    void shouldNotJournalATransactionThatRollsBackBeforeCommitting() {
+        // Given
+        PostingJournal journal = open();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.record(entry("01000001", Transaction.TransactionType.DEPOSIT, "20.00"));
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(journal.replay(record -> {
+        })).isZero();
+    }
+
+    private PostingJournal open() {
+        JournalConfig config = new JournalConfig();
+        config.setEnabled(true);
+        config.setDirectory(tempDir.toString());
+        config.setSegmentSize(DataSize.ofBytes(1024));
+        PostingJournal journal = new PostingJournal(config, new SimpleMeterRegistry());
+        opened.add(journal);
+        return journal;
+    }
+
+    private static ByteBuffer map(Path segment) throws Exception {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static JournalEntry entry(String accountNumber, Transaction.TransactionType type, String amount) {
+        return new JournalEntry(accountNumber, "tan-" + accountNumber, type, Money.of(amount),
+                Money.ZERO, LocalDateTime.of(2024, 1, 15, 10, 30));
+    }
+}
@@ -0,0 +1,46 @@
+package com.eaglebank.outbox;
+
+import com.eaglebank.config.OutboxConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileOutboxSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldAppendOneJsonLinePerMessageWithPayloadEmbedded() throws Exception {
+        // Given
+        Path file = tempDir.resolve("nested/outbox.jsonl");
+        OutboxConfig config = new OutboxConfig();
+        config.getFileSink().setPath(file.toString());
+        FileOutboxSink sink = new FileOutboxSink(config, objectMapper);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        // When
+        sink.publish(List.of(new OutboxMessage(1, "ACCOUNT_CREATED", "01234567", "{\"name\":\"Savings\"}", createdAt)));
+        sink.publish(List.of(new OutboxMessage(2, "ACCOUNT_DELETED", "01234567", "{}", createdAt)));
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(first.get("eventType").asText()).isEqualTo("ACCOUNT_CREATED");
+        assertThat(first.get("payload").get("name").asText()).isEqualTo("Savings");
+        assertThat(objectMapper.readTree(lines.get(1)).get("id").asLong()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,181 @@
+package com.eaglebank.outbox;
+
+import com.eaglebank.domain.OutboxEvent;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.OutboxService;
+import com.eaglebank.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not {@code @Transactional}: the relay only sees committed events, so each test commits its own
+ * and clears the table first.
+ */
+@SpringBootTest
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private InMemoryOutboxSink memorySink;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        memorySink.drain();
+    }
+
+    @Test
+    void shouldRelayCommittedEventsInOrderAndMarkThemPublished() {
+        // Given
+        recordEvents(3);
+
+        // When
+        int published = outboxRelay.drain();
+
+        // Then
+        assertThat(published).isEqualTo(3);
+        List<OutboxMessage> delivered = memorySink.drain();
+        assertThat(delivered).extracting(OutboxMessage::aggregateId)
+                .containsExactly("01000000", "01000001", "01000002");
+        assertThat(delivered).extracting(OutboxMessage::eventType)
+                .containsOnly("ACCOUNT_UPDATED");
+        assertThat(delivered.get(0).payload()).isEqualTo("{\"accountNumber\":\"01000000\"}");
+        assertThat(unpublishedCount()).isZero();
+        assertThat(outboxRelay.drain()).isZero();
+    }
+
+    @Test
+    void shouldLeaveBatchUnpublishedWhenSinkIsFullAndDeliverItOnceDrained() {
+        // Given - the test sink holds five messages
+        recordEvents(4);
+        outboxRelay.drain();
+        recordEvents(4);
+
+        // When & Then
+        assertThatThrownBy(() -> outboxRelay.drain())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("full");
+        assertThat(unpublishedCount()).isEqualTo(4);
+        assertThat(memorySink.size()).isEqualTo(4);
+
+        memorySink.drain();
+        assertThat(outboxRelay.drain()).isEqualTo(4);
+        assertThat(unpublishedCount()).isZero();
+    }
+
+    @Test
+    void shouldSkipEventsClaimedByAnotherRelay() throws Exception {
+        // Given - another node holds a lock on the first event
+        recordEvents(3);
+        Long lockedId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM outbox_events", Long.class);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherNode = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT id FROM outbox_events WHERE id = ? FOR UPDATE", Long.class, lockedId);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        int publishedWhileLocked;
+        try {
+            publishedWhileLocked = outboxRelay.drain();
+        } finally {
+            release.countDown();
+            otherNode.get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(publishedWhileLocked).isEqualTo(2);
+        assertThat(memorySink.drain()).extracting(OutboxMessage::id).doesNotContain(lockedId);
+        assertThat(outboxRelay.drain()).isEqualTo(1);
+        assertThat(memorySink.drain()).extracting(OutboxMessage::id).containsExactly(lockedId);
+    }
+
+    @Test
+    void shouldWriteOutboxEventOnlyWithTheAccountChange() {
+        // Given
+        String accountNumber = transactionTemplate.execute(status -> {
+            UserResponse user = userService.createUser(CreateUserRequest.builder()
+                    .name("Outbox User")
+                    .email("outbox@example.com")
+                    .password("password123")
+                    .phoneNumber("+447123456789")
+                    .address(AddressRequest.builder()
+                            .line1("123 Main St")
+                            .town("London")
+                            .county("Greater London")
+                            .postcode("SW1A 1AA")
+                            .build())
+                    .build());
+            BankAccountResponse account = accountService.createAccount(user.id(),
+                    new CreateBankAccountRequest("Outbox Account", "personal"));
+
+            // When - visible inside the creating transaction...
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ? AND event_type = 'ACCOUNT_CREATED'",
+                    Long.class, account.accountNumber())).isEqualTo(1);
+            status.setRollbackOnly();
+            return account.accountNumber();
+        });
+
+        // Then - ...and gone with it when it rolls back
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ?", Long.class, accountNumber)).isZero();
+    }
+
+    private void recordEvents(int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int offset = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+            for (int i = 0; i < count; i++) {
+                String accountNumber = String.format("01%06d", offset + i);
+                outboxService.record(OutboxEvent.EventType.ACCOUNT_UPDATED, accountNumber,
+                        Map.of("accountNumber", accountNumber));
+            }
+        });
+    }
+
+    private long unpublishedCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL", Long.class);
+    }
+}
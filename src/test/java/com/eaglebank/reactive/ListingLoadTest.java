@@ -0,0 +1,220 @@
+package com.eaglebank.reactive;
+
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.security.JwtTokenProvider;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lists one large account's transactions to many slow clients at once, through Tomcat and the MVC
+ * controller and then through the reactive read server, and logs each path's latencies and the most
+ * request-serving threads it had alive at any one time. Opt-in, since it takes a while:
+ * {@code ./gradlew test --tests '*ListingLoadTest' -PlistingLoadTest}.
+ * <p>
+ * Both connection pools are sized to the number of clients, so the database is not what queues them.
+ * Not {@code @Transactional}: the data is committed for the servers' threads, and {@link DatabaseCleaner}
+ * removes it afterwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + ListingLoadTest.CLIENTS,
+        "spring.r2dbc.pool.max-size=" + ListingLoadTest.CLIENTS
+})
+@EnabledIfSystemProperty(named = "eaglebank.listing.load-test", matches = "true")
+class ListingLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingLoadTest.class);
+
+    static final int CLIENTS = 128;
+    private static final int TRANSACTIONS = 5_000;
+    private static final int READ_CHUNK_BYTES = 8 * 1024;
+    private static final long PAUSE_PER_CHUNK_MILLIS = 5;
+
+    @LocalServerPort
+    private int mvcPort;
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String userId;
+    private String token;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        UserResponse user = userService.createUser(CreateUserRequest.builder()
+                .name("Load User")
+                .email("load-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build());
+        userId = databaseCleaner.user(user.id());
+        token = jwtTokenProvider.generateToken(user.id(), user.email());
+        accountNumber = accountService.createAccount(userId,
+                new CreateBankAccountRequest("Load Account", "personal")).accountNumber();
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<Object[]> rows = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            rows.add(new Object[]{"tan-load" + UUID.randomUUID().toString().replace("-", ""),
+                    new BigDecimal("12.34"), "Load posting " + i, accountNumber, userId,
+                    Timestamp.valueOf(start.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transactions (transaction_id, amount, currency, type, reference, account_id, user_id, created_at)
+                VALUES (?, ?, 'GBP', 'DEPOSIT', ?,
+                    (SELECT id FROM bank_accounts WHERE account_number = ?), (SELECT id FROM users WHERE user_id = ?), ?)
+                """, rows);
+    }
+
+    @Test
+    void shouldServeSlowClientsOnBothPathsAndReportTheComparison() throws Exception {
+        // When
+        Run mvc = run("mvc", mvcPort, "http-nio-");
+        Run reactive = run("reactive", reactiveReadServer.getPort(), "reactor-http-");
+
+        // Then
+        log.info("{} slow clients listing {} transactions each", CLIENTS, TRANSACTIONS);
+        log.info(String.format("%-9s %10s %10s %10s %10s %14s", "path", "total s", "p50 ms", "p99 ms", "max ms",
+                "peak threads"));
+        for (Run run : List.of(mvc, reactive)) {
+            log.info(String.format("%-9s %10.2f %10d %10d %10d %14d", run.path(), run.seconds(), run.percentile(50),
+                    run.percentile(99), run.percentile(100), run.peakThreads()));
+        }
+        assertThat(mvc.failures()).isEmpty();
+        assertThat(reactive.failures()).isEmpty();
+        assertThat(reactive.bodyBytes()).isEqualTo(mvc.bodyBytes());
+    }
+
+    private Run run(String path, int port, String serverThreadPrefix) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/v1/accounts/" + accountNumber + "/transactions"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        long[] latencies = new long[CLIENTS];
+        AtomicInteger bodyBytes = new AtomicInteger(-1);
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger peakThreads = new AtomicInteger();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (sampling.get()) {
+                int live = (int) Thread.getAllStackTraces().keySet().stream()
+                        .filter(thread -> thread.getName().startsWith(serverThreadPrefix))
+                        .count();
+                peakThreads.accumulateAndGet(live, Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int client = i;
+                clients.execute(() -> {
+                    long requested = System.nanoTime();
+                    try {
+                        HttpResponse<InputStream> response = httpClient.send(request,
+                                HttpResponse.BodyHandlers.ofInputStream());
+                        int read = readSlowly(response.body());
+                        if (response.statusCode() != 200) {
+                            failures.add("status " + response.statusCode());
+                        } else if (!bodyBytes.compareAndSet(-1, read) && bodyBytes.get() != read) {
+                            failures.add("read " + read + " bytes, expected " + bodyBytes.get());
+                        }
+                    } catch (Exception e) {
+                        failures.add(e.toString());
+                    }
+                    latencies[client] = System.nanoTime() - requested;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        sampling.set(false);
+        sampler.join(TimeUnit.SECONDS.toMillis(1));
+        httpClient.close();
+
+        Arrays.sort(latencies);
+        return new Run(path, seconds, latencies, peakThreads.get(), bodyBytes.get(), List.copyOf(failures));
+    }
+
+    private static int readSlowly(InputStream body) throws Exception {
+        try (body) {
+            byte[] chunk = new byte[READ_CHUNK_BYTES];
+            int total = 0;
+            int read;
+            while ((read = body.read(chunk)) != -1) {
+                total += read;
+                Thread.sleep(PAUSE_PER_CHUNK_MILLIS);
+            }
+            return total;
+        }
+    }
+
+    private record Run(String path, double seconds, long[] sortedLatencies, int peakThreads, int bodyBytes,
+                       List<String> failures) {
+        long percentile(int percentile) {
+            int index = Math.min(sortedLatencies.length - 1, (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1);
+            return TimeUnit.NANOSECONDS.toMillis(sortedLatencies[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.eaglebank.reactive;
+
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.security.JwtTokenProvider;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}: R2DBC reads over its own connections, which cannot see a test
+ * transaction's uncommitted rows, so the test commits its data and {@link DatabaseCleaner} removes it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveListingIntegrationTest {
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private WebTestClient client;
+    private String userId;
+    private String token;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveReadServer.getPort())
+                .build();
+        UserResponse user = createUser();
+        userId = user.id();
+        token = jwtTokenProvider.generateToken(user.id(), user.email());
+        accountNumber = openAccountWithDeposits(userId, 3);
+    }
+
+
+    @Test
+    void shouldListTransactionsExactlyAsTheMvcEndpointDoes() throws Exception {
+        // Given
+        String mvcBody = mockMvc.perform(get("/v1/accounts/{accountNumber}/transactions", accountNumber)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // When & Then
+        client.get().uri("/v1/accounts/{accountNumber}/transactions", accountNumber)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).value(body -> assertThat(body).isEqualTo(mvcBody));
+        client.get().uri("/v1/accounts/{accountNumber}/transactions", accountNumber)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.transactions.length()").isEqualTo(3)
+                .jsonPath("$.transactions[0].reference").isEqualTo("deposit 3")
+                .jsonPath("$.transactions[2].reference").isEqualTo("deposit 1");
+    }
+
+    @Test
+    void shouldListAccountsExactlyAsTheMvcEndpointDoes() throws Exception {
+        // Given
+        openAccountWithDeposits(userId, 0);
+        String mvcBody = mockMvc.perform(get("/v1/accounts")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // When & Then
+        client.get().uri("/v1/accounts")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).value(body -> assertThat(body).isEqualTo(mvcBody));
+    }
+
+    @Test
+    void shouldReturn403ForAnotherUsersAccount() {
+        // Given
+        String otherAccount = openAccountWithDeposits(createUser().id(), 1);
+
+        // When & Then
+        client.get().uri("/v1/accounts/{accountNumber}/transactions", otherAccount)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Forbidden");
+    }
+
+    @Test
+    void shouldReturn404ForAClosedAccount() {
+        // Given
+        accountService.deleteAccount(userId, accountNumber);
+
+        // When & Then
+        client.get().uri("/v1/accounts/{accountNumber}/transactions", accountNumber)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldReturn401WithoutAValidToken() {
+        // When & Then
+        client.get().uri("/v1/accounts")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client.get().uri("/v1/accounts")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void shouldReturn401ForADeletedUsersToken() {
+        // Given
+        UserResponse deleted = createUser();
+        String deletedToken = jwtTokenProvider.generateToken(deleted.id(), deleted.email());
+        userService.deleteUser(deleted.id());
+
+        // When & Then
+        client.get().uri("/v1/accounts")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + deletedToken)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON);
+    }
+
+    private UserResponse createUser() {
+        UserResponse user = userService.createUser(CreateUserRequest.builder()
+                .name("Reactive User")
+                .email("reactive-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build());
+        databaseCleaner.user(user.id());
+        return user;
+    }
+
+    private String openAccountWithDeposits(String owner, int deposits) {
+        String account = accountService.createAccount(owner,
+                new CreateBankAccountRequest("Reactive Account", "personal")).accountNumber();
+        for (int i = 1; i <= deposits; i++) {
+            transactionService.createTransaction(account, CreateTransactionRequest.builder()
+                    .amount(new BigDecimal("10.00"))
+                    .currency("GBP")
+                    .type("deposit")
+                    .reference("deposit " + i)
+                    .build(), owner);
+        }
+        return account;
+    }
+}
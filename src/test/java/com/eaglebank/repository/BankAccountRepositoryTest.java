@@ -3,6 +3,7 @@ package com.eaglebank.repository;
 import com.eaglebank.config.JpaConfig;
 import com.eaglebank.domain.Address;
 import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.Money;
 import com.eaglebank.domain.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,6 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,7 +40,7 @@ class BankAccountRepositoryTest {
             .sortCode("10-10-10")
             .name("Personal Account")
             .accountType(BankAccount.AccountType.PERSONAL)
-            .balance(BigDecimal.ZERO)
+            .balance(Money.ZERO)
             .currency("GBP")
             .user(user)
             .build();
@@ -58,7 +58,7 @@ class BankAccountRepositoryTest {
         assertThat(found.get().getAccountType()).isEqualTo(BankAccount.AccountType.PERSONAL);
         assertThat(found.get().getSortCode()).isEqualTo("10-10-10");
         assertThat(found.get().getCurrency()).isEqualTo("GBP");
-        assertThat(found.get().getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(found.get().getBalance()).isEqualTo(Money.ZERO);
     }
 
     @Test
@@ -149,16 +149,16 @@ class BankAccountRepositoryTest {
         bankAccountRepository.save(account);
 
         // When
-        account.setBalance(new BigDecimal("1500.50"));
+        account.setBalance(Money.of("1500.50"));
         BankAccount updated = bankAccountRepository.save(account);
 
         // Then
-        assertThat(updated.getBalance()).isEqualByComparingTo(new BigDecimal("1500.50"));
+        assertThat(updated.getBalance()).isEqualTo(Money.of("1500.50"));
 
         // Verify in database
         Optional<BankAccount> found = bankAccountRepository.findByAccountNumber("01777777");
         assertThat(found).isPresent();
-        assertThat(found.get().getBalance()).isEqualByComparingTo(new BigDecimal("1500.50"));
+        assertThat(found.get().getBalance()).isEqualTo(Money.of("1500.50"));
     }
 
     private User createAndSaveUser(String userId, String email) {
@@ -184,7 +184,7 @@ class BankAccountRepositoryTest {
             .sortCode("10-10-10")
             .name(name)
             .accountType(BankAccount.AccountType.PERSONAL)
-            .balance(BigDecimal.ZERO)
+            .balance(Money.ZERO)
             .currency("GBP")
             .user(user)
             .build();
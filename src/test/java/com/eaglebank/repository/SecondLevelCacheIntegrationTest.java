@@ -0,0 +1,160 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.User;
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.request.UpdateBankAccountRequest;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}: second-level cache entries are only written when a transaction commits, so
+ * {@link DatabaseCleaner} removes the committed rows, closed accounts included.
+ */
+@SpringBootTest
+class SecondLevelCacheIntegrationTest {
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserResponse user;
+    private BankAccountResponse account;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userService.createUser(CreateUserRequest.builder()
+                .name("Cached User")
+                .email("cached@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build());
+        databaseCleaner.user(user.id());
+        account = accountService.createAccount(user.id(), new CreateBankAccountRequest("Cached Account", "personal"));
+    }
+
+    @Test
+    void shouldAnswerRepeatedNaturalIdLookupsWithoutSql() {
+        // Given - warm the caches
+        loadUser(user.id());
+        loadAccount(account.accountNumber());
+        statistics.clear();
+
+        // When
+        User cachedUser = loadUser(user.id());
+        BankAccount cachedAccount = loadAccount(account.accountNumber());
+
+        // Then
+        assertThat(cachedUser.getEmail()).isEqualTo("cached@example.com");
+        assertThat(cachedAccount.getName()).isEqualTo("Cached Account");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isGreaterThanOrEqualTo(2);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldServeUpdatedAccountAfterUpdate() {
+        // Given
+        loadAccount(account.accountNumber());
+
+        // When
+        accountService.updateAccount(user.id(), account.accountNumber(), new UpdateBankAccountRequest("Renamed", null));
+
+        // Then
+        assertThat(loadAccount(account.accountNumber()).getName()).isEqualTo("Renamed");
+        assertThat(listAccountNames(user.id())).containsExactly("Renamed");
+    }
+
+    @Test
+    void shouldServeAccountListFromQueryCacheUntilAccountsChange() {
+        // Given - warm the query cache
+        listAccountNames(user.id());
+        statistics.clear();
+
+        // When
+        List<String> cached = listAccountNames(user.id());
+
+        // Then
+        assertThat(cached).containsExactly("Cached Account");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // When - a delete touches bank_accounts, so the cached result must not be reused
+        accountService.deleteAccount(user.id(), account.accountNumber());
+
+        // Then
+        assertThat(listAccountNames(user.id())).isEmpty();
+    }
+
+    @Test
+    void shouldNotFindDeletedAccountByNaturalId() {
+        // Given
+        String accountNumber = account.accountNumber();
+        loadAccount(accountNumber);
+
+        // When
+        accountService.deleteAccount(user.id(), accountNumber);
+
+        // Then
+        Boolean found = transactionTemplate.execute(status ->
+                bankAccountRepository.findByAccountNumber(accountNumber).isPresent());
+        assertThat(found).isFalse();
+    }
+
+    private User loadUser(String userId) {
+        return transactionTemplate.execute(status -> userRepository.findByUserId(userId).orElseThrow());
+    }
+
+    private BankAccount loadAccount(String accountNumber) {
+        return transactionTemplate.execute(status -> bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow());
+    }
+
+    private List<String> listAccountNames(String userId) {
+        return transactionTemplate.execute(status -> bankAccountRepository.findByUserUserId(userId).stream()
+                .map(BankAccount::getName)
+                .toList());
+    }
+}
@@ -9,7 +9,6 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,7 +39,7 @@ class TransactionRepositoryTest {
 
         Transaction transaction = Transaction.builder()
                 .transactionId("tan-abc123")
-                .amount(new BigDecimal("100.50"))
+                .amount(Money.of("100.50"))
                 .currency("GBP")
                 .type(Transaction.TransactionType.DEPOSIT)
                 .reference("Test deposit")
@@ -58,7 +57,7 @@ class TransactionRepositoryTest {
         // Then
         assertThat(found).isPresent();
         assertThat(found.get().getTransactionId()).isEqualTo("tan-abc123");
-        assertThat(found.get().getAmount()).isEqualByComparingTo(new BigDecimal("100.50"));
+        assertThat(found.get().getAmount()).isEqualTo(Money.of("100.50"));
         assertThat(found.get().getCurrency()).isEqualTo("GBP");
         assertThat(found.get().getType()).isEqualTo(Transaction.TransactionType.DEPOSIT);
         assertThat(found.get().getReference()).isEqualTo("Test deposit");
@@ -71,9 +70,9 @@ class TransactionRepositoryTest {
         User user = createAndSaveUser("usr-test124", "test2@example.com");
         BankAccount account = createAndSaveAccount("01234568", user);
 
-        Transaction transaction1 = createAndSaveTransaction("tan-abc124", new BigDecimal("50.00"),
+        Transaction transaction1 = createAndSaveTransaction("tan-abc124", Money.of("50.00"),
                 Transaction.TransactionType.DEPOSIT, account, user);
-        Transaction transaction2 = createAndSaveTransaction("tan-abc125", new BigDecimal("25.00"),
+        Transaction transaction2 = createAndSaveTransaction("tan-abc125", Money.of("25.00"),
                 Transaction.TransactionType.WITHDRAWAL, account, user);
 
         testEntityManager.flush();
@@ -96,7 +95,7 @@ class TransactionRepositoryTest {
         User user = createAndSaveUser("usr-test125", "test3@example.com");
         BankAccount account = createAndSaveAccount("01234569", user);
 
-        Transaction transaction = createAndSaveTransaction("tan-abc126", new BigDecimal("75.00"),
+        Transaction transaction = createAndSaveTransaction("tan-abc126", Money.of("75.00"),
                 Transaction.TransactionType.DEPOSIT, account, user);
 
         testEntityManager.flush();
@@ -117,7 +116,7 @@ class TransactionRepositoryTest {
         User user = createAndSaveUser("usr-test126", "test4@example.com");
         BankAccount account = createAndSaveAccount("01234570", user);
 
-        Transaction transaction = createAndSaveTransaction("tan-abc127", new BigDecimal("75.00"),
+        Transaction transaction = createAndSaveTransaction("tan-abc127", Money.of("75.00"),
                 Transaction.TransactionType.DEPOSIT, account, user);
 
         testEntityManager.flush();
@@ -137,7 +136,7 @@ class TransactionRepositoryTest {
         User user = createAndSaveUser("usr-test127", "test5@example.com");
         BankAccount account = createAndSaveAccount("01234571", user);
 
-        Transaction transaction = createAndSaveTransaction("tan-abc128", new BigDecimal("100.00"),
+        Transaction transaction = createAndSaveTransaction("tan-abc128", Money.of("100.00"),
                 Transaction.TransactionType.DEPOSIT, account, user);
 
         testEntityManager.flush();
@@ -173,7 +172,7 @@ class TransactionRepositoryTest {
 
         Transaction transaction = Transaction.builder()
                 .transactionId("tan-abc129")
-                .amount(new BigDecimal("50.00"))
+                .amount(Money.of("50.00"))
                 .currency("GBP")
                 .type(Transaction.TransactionType.DEPOSIT)
                 .account(account)
@@ -200,7 +199,7 @@ class TransactionRepositoryTest {
 
         Transaction transaction = Transaction.builder()
                 .transactionId("tan-abc130")
-                .amount(new BigDecimal("30.00"))
+                .amount(Money.of("30.00"))
                 .currency("GBP")
                 .type(Transaction.TransactionType.WITHDRAWAL)
                 .reference("ATM withdrawal")
@@ -218,10 +217,41 @@ class TransactionRepositoryTest {
         // Then
         assertThat(found).isPresent();
         assertThat(found.get().getType()).isEqualTo(Transaction.TransactionType.WITHDRAWAL);
-        assertThat(found.get().getAmount()).isEqualByComparingTo(new BigDecimal("30.00"));
+        assertThat(found.get().getAmount()).isEqualTo(Money.of("30.00"));
+    }
+
+    @Test
+    void shouldSeekToAnAccountsRecentMonthsThroughTheAccountAndDateIndex() {
+        // When
+        String plan = explain("""
+                SELECT * FROM transactions
+                WHERE account_id = 1 AND created_at >= TIMESTAMP '2026-01-01 00:00:00'
+                ORDER BY created_at DESC
+                """);
+
+        // Then
+        assertThat(plan).containsIgnoringCase("idx_transactions_account_created_at");
+    }
+
+    @Test
+    void shouldReadAWholeMonthThroughTheDateIndex() {
+        // When
+        String plan = explain("""
+                SELECT id FROM transactions
+                WHERE created_at >= TIMESTAMP '2026-01-01 00:00:00' AND created_at < TIMESTAMP '2026-02-01 00:00:00'
+                """);
+
+        // Then
+        assertThat(plan).containsIgnoringCase("idx_transactions_created_at");
     }
 
     // Helper methods
+    private String explain(String sql) {
+        return String.valueOf(testEntityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .getSingleResult());
+    }
+
     private User createAndSaveUser(String userId, String email) {
         User user = User.builder()
                 .userId(userId)
@@ -245,14 +275,14 @@ class TransactionRepositoryTest {
                 .sortCode("10-10-10")
                 .name("Test Account")
                 .accountType(BankAccount.AccountType.PERSONAL)
-                .balance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
                 .currency("GBP")
                 .user(user)
                 .build();
         return bankAccountRepository.save(account);
     }
 
-    private Transaction createAndSaveTransaction(String transactionId, BigDecimal amount,
+    private Transaction createAndSaveTransaction(String transactionId, Money amount,
                                                  Transaction.TransactionType type,
                                                  BankAccount account, User user) {
         Transaction transaction = Transaction.builder()
@@ -0,0 +1,115 @@
+package com.eaglebank.security;
+
+import com.eaglebank.config.RateLimitConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig.Rule loginRule = new RateLimitConfig.Rule();
+        loginRule.setName("login");
+        loginRule.setMethod("POST");
+        loginRule.setPath("/v1/auth/login");
+        loginRule.setCapacity(2);
+        loginRule.setRefillTokens(1);
+        loginRule.setRefillPeriod(Duration.ofMinutes(1));
+
+        RateLimitConfig.Rule transactionRule = new RateLimitConfig.Rule();
+        transactionRule.setName("create-transaction");
+        transactionRule.setMethod("POST");
+        transactionRule.setPath("/v1/accounts/*/transactions");
+        transactionRule.setCapacity(1);
+        transactionRule.setRefillTokens(1);
+        transactionRule.setRefillPeriod(Duration.ofMinutes(1));
+
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRules(List.of(loginRule, transactionRule));
+
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(config, meterRegistry),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectLoginsBeyondCapacityPerAddress() throws Exception {
+        // When
+        MockHttpServletResponse first = perform("POST", "/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse second = perform("POST", "/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse third = perform("POST", "/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse otherAddress = perform("POST", "/v1/auth/login", "10.0.0.2");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getContentType()).isEqualTo("application/problem+json");
+        assertThat(third.getHeader("Retry-After")).isNotNull();
+        assertThat(third.getContentAsString()).contains("\"status\":429");
+        assertThat(otherAddress.getStatus()).isEqualTo(200);
+
+        assertThat(meterRegistry.counter("eaglebank.ratelimit.requests", "rule", "login", "outcome", "allowed").count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.counter("eaglebank.ratelimit.requests", "rule", "login", "outcome", "rejected").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldLimitAuthenticatedCallersByUserId() throws Exception {
+        // Given
+        authenticateAs("usr-one");
+        assertThat(perform("POST", "/v1/accounts/01234567/transactions", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        // When & Then - same user from another address shares the bucket
+        assertThat(perform("POST", "/v1/accounts/01234567/transactions", "10.0.0.9").getStatus()).isEqualTo(429);
+
+        authenticateAs("usr-two");
+        assertThat(perform("POST", "/v1/accounts/01234567/transactions", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldNotLimitUnmatchedRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("GET", "/v1/accounts/01234567/transactions", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticateAs(String userId) {
+        CustomUserDetails userDetails = new CustomUserDetails(userId, userId + "@example.com", "password");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.eaglebank.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstUpToCapacityThenReject() {
+        // Given - 3 tokens, refilled at 1 per second
+        TokenBucket bucket = new TokenBucket(3, 1, ONE_SECOND);
+        long now = 1_000_000L;
+
+        // When & Then
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isEqualTo(ONE_SECOND);
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 2, ONE_SECOND);
+        long now = 0L;
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isPositive();
+
+        // When & Then - one token every 500ms
+        assertThat(bucket.tryConsume(now + ONE_SECOND / 2)).isZero();
+        assertThat(bucket.tryConsume(now + ONE_SECOND / 2)).isPositive();
+    }
+
+    @Test
+    void shouldNotAccumulateMoreThanCapacityWhileIdle() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, 1, ONE_SECOND);
+        long later = 100 * ONE_SECOND;
+
+        // When & Then - a long idle period still only grants the burst capacity
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, ONE_SECOND))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,28 +1,45 @@
 package com.eaglebank.service;
 
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.audit.AuditEvent;
+import com.eaglebank.audit.AuditTrail;
+import com.eaglebank.cache.AccountResponseCache;
+import com.eaglebank.cache.TransactionResponseCache;
+import com.eaglebank.config.ShardingConfig;
 import com.eaglebank.domain.Address;
 import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.OutboxEvent;
 import com.eaglebank.domain.User;
 import com.eaglebank.dto.request.CreateBankAccountRequest;
 import com.eaglebank.dto.request.UpdateBankAccountRequest;
 import com.eaglebank.dto.response.BankAccountResponse;
 import com.eaglebank.dto.response.ListBankAccountsResponse;
+import com.eaglebank.event.AccountClosedEvent;
 import com.eaglebank.exception.ForbiddenException;
+import com.eaglebank.exception.PreconditionFailedException;
 import com.eaglebank.exception.ResourceNotFoundException;
 import com.eaglebank.repository.BankAccountRepository;
 import com.eaglebank.repository.UserRepository;
+import com.eaglebank.shard.ShardFanOut;
+import com.eaglebank.shard.ShardRouter;
 import com.eaglebank.util.IdGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -41,6 +58,31 @@ class AccountServiceTest {
     @Mock
     private IdGenerator idGenerator;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private AccountResponseCache accountResponseCache;
+
+    @Mock
+    private TransactionResponseCache transactionResponseCache;
+
+    @Mock
+    private AuditTrail auditTrail;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Unsharded, so reads run as they are
+    @Spy
+    private ShardFanOut shardFanOut = new ShardFanOut(new ShardRouter(new ShardingConfig()), new TransactionTemplate());
+
     @InjectMocks
     private AccountService accountService;
 
@@ -53,7 +95,8 @@ class AccountServiceTest {
 
         when(userRepository.findByUserId(userId)).thenReturn(Optional.of(user));
         when(idGenerator.generateAccountNumber()).thenReturn("01234567");
-        when(bankAccountRepository.existsByAccountNumber("01234567")).thenReturn(false);
+        when(bankAccountRepository.isAccountNumberTaken("01234567")).thenReturn(false);
+        when(transactionArchive.current()).thenReturn(ArchiveSnapshot.EMPTY);
         when(bankAccountRepository.save(any(BankAccount.class))).thenAnswer(invocation -> {
             BankAccount account = invocation.getArgument(0);
             account.setId(1L);
@@ -79,6 +122,7 @@ class AccountServiceTest {
         verify(userRepository).findByUserId(userId);
         verify(idGenerator).generateAccountNumber();
         verify(bankAccountRepository).save(any(BankAccount.class));
+        verify(outboxService).record(OutboxEvent.EventType.ACCOUNT_CREATED, "01234567", response);
     }
 
     @Test
@@ -96,6 +140,7 @@ class AccountServiceTest {
 
         verify(userRepository).findByUserId(userId);
         verify(bankAccountRepository, never()).save(any(BankAccount.class));
+        verifyNoInteractions(outboxService);
     }
 
     @Test
@@ -143,6 +188,46 @@ class AccountServiceTest {
         assertThat(response.name()).isEqualTo("My Account");
 
         verify(bankAccountRepository).findByAccountNumber(accountNumber);
+        verify(accountResponseCache).put(response);
+    }
+
+    @Test
+    void shouldServeCachedAccountWhileItsVersionIsCurrent() {
+        // Given
+        String userId = "usr-abc123";
+        String accountNumber = "01234567";
+        BankAccountResponse cached = BankAccountResponse.from(
+                createBankAccount(accountNumber, "My Account", createUser(userId)));
+
+        when(accountResponseCache.get(accountNumber, 0)).thenReturn(Optional.of(cached));
+
+        // When
+        BankAccountResponse response = accountService.getAccountByAccountNumber(userId, accountNumber, 0);
+
+        // Then
+        assertThat(response).isSameAs(cached);
+        verify(bankAccountRepository, never()).findByAccountNumber(any());
+    }
+
+    @Test
+    void shouldReloadAccountWhenCachedVersionIsStale() {
+        // Given - another node has posted to the account since it was cached
+        String userId = "usr-abc123";
+        String accountNumber = "01234567";
+        BankAccount account = createBankAccount(accountNumber, "Renamed Elsewhere", createUser(userId));
+        account.setVersion(3);
+
+        when(bankAccountRepository.findVersionByAccountNumber(accountNumber)).thenReturn(Optional.of(3));
+        when(accountResponseCache.get(accountNumber, 3)).thenReturn(Optional.empty());
+        when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+
+        // When
+        BankAccountResponse response = accountService.getAccountByAccountNumber(userId, accountNumber);
+
+        // Then
+        assertThat(response.name()).isEqualTo("Renamed Elsewhere");
+        assertThat(response.version()).isEqualTo(3);
+        verify(accountResponseCache).put(response);
     }
 
     @Test
@@ -185,6 +270,29 @@ class AccountServiceTest {
 
         verify(bankAccountRepository).findByAccountNumber(accountNumber);
         verify(bankAccountRepository).save(account);
+        verify(outboxService).record(OutboxEvent.EventType.ACCOUNT_UPDATED, accountNumber, response);
+        verify(accountResponseCache).putAfterCommit(account);
+    }
+
+    @Test
+    void shouldThrowPreconditionFailedWhenIfMatchVersionIsStale() {
+        // Given
+        String userId = "usr-abc123";
+        String accountNumber = "01234567";
+        UpdateBankAccountRequest request = new UpdateBankAccountRequest("Updated Name", "personal");
+        BankAccount account = createBankAccount(accountNumber, "Old Name", createUser(userId));
+        account.setVersion(2);
+
+        when(bankAccountRepository.findByAccountNumber(accountNumber))
+                .thenReturn(Optional.of(account));
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.updateAccount(userId, accountNumber, request, Set.of(1)))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        assertThat(account.getName()).isEqualTo("Old Name");
+        verify(bankAccountRepository, never()).save(any(BankAccount.class));
+        verifyNoInteractions(outboxService);
     }
 
     @Test
@@ -203,7 +311,13 @@ class AccountServiceTest {
 
         // Then
         verify(bankAccountRepository).findByAccountNumber(accountNumber);
-        verify(bankAccountRepository).delete(account);
+        assertThat(account.isDeleted()).isTrue();
+        verify(bankAccountRepository, never()).delete(any(BankAccount.class));
+        verify(accountResponseCache).evict(accountNumber);
+        verify(transactionResponseCache).evictAccount(accountNumber);
+        verify(auditTrail).record(AuditEvent.Action.ACCOUNT_DELETED, userId, accountNumber, accountNumber);
+        verify(outboxService).record(eq(OutboxEvent.EventType.ACCOUNT_DELETED), eq(accountNumber), any());
+        verify(eventPublisher).publishEvent(new AccountClosedEvent(accountNumber));
     }
 
     private User createUser(String userId) {
@@ -232,7 +346,7 @@ class AccountServiceTest {
                 .sortCode("10-10-10")
                 .name(name)
                 .accountType(BankAccount.AccountType.PERSONAL)
-                .balance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
                 .currency("GBP")
                 .user(user)
                 .createdAt(LocalDateTime.now())
@@ -0,0 +1,161 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.RollupConfig;
+import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.DailyAccountRollup;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.Transaction;
+import com.eaglebank.dto.response.ListDailyAccountRollupsResponse;
+import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.exception.UnprocessableEntityException;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.DailyAccountRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRollupServiceTest {
+
+    @Mock
+    private DailyAccountRollupRepository rollupRepository;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    private DailyRollupService dailyRollupService;
+
+    @BeforeEach
+    void setUp() {
+        dailyRollupService = new DailyRollupService(rollupRepository, bankAccountRepository, new RollupConfig());
+    }
+
+    @Test
+    void shouldCreateRollupForFirstPostingOfTheDay() {
+        // Given
+        BankAccount account = createAccount(Money.of("150.00"));
+        Transaction deposit = createTransaction(account, Transaction.TransactionType.DEPOSIT, Money.of("150.00"));
+        LocalDate day = deposit.getCreatedAt().toLocalDate();
+
+        when(rollupRepository.findByAccountIdAndRollupDate(1L, day)).thenReturn(Optional.empty());
+
+        // When
+        dailyRollupService.recordPosting(deposit);
+
+        // Then
+        ArgumentCaptor<DailyAccountRollup> captor = ArgumentCaptor.forClass(DailyAccountRollup.class);
+        verify(rollupRepository).save(captor.capture());
+        DailyAccountRollup rollup = captor.getValue();
+        assertThat(rollup.getRollupDate()).isEqualTo(day);
+        assertThat(rollup.getDepositTotal()).isEqualTo(Money.of("150.00"));
+        assertThat(rollup.getWithdrawalTotal()).isEqualTo(Money.of("0.00"));
+        assertThat(rollup.getTransactionCount()).isEqualTo(1);
+        assertThat(rollup.getClosingBalance()).isEqualTo(Money.of("150.00"));
+    }
+
+    @Test
+    void shouldAccumulateIntoExistingRollup() {
+        // Given
+        BankAccount account = createAccount(Money.of("110.00"));
+        Transaction withdrawal = createTransaction(account, Transaction.TransactionType.WITHDRAWAL, Money.of("40.00"));
+        LocalDate day = withdrawal.getCreatedAt().toLocalDate();
+        DailyAccountRollup existing = DailyAccountRollup.builder()
+                .account(account)
+                .rollupDate(day)
+                .depositTotal(Money.of("150.00"))
+                .transactionCount(1)
+                .closingBalance(Money.of("150.00"))
+                .build();
+
+        when(rollupRepository.findByAccountIdAndRollupDate(1L, day)).thenReturn(Optional.of(existing));
+
+        // When
+        dailyRollupService.recordPosting(withdrawal);
+
+        // Then
+        assertThat(existing.getDepositTotal()).isEqualTo(Money.of("150.00"));
+        assertThat(existing.getWithdrawalTotal()).isEqualTo(Money.of("40.00"));
+        assertThat(existing.getTransactionCount()).isEqualTo(2);
+        assertThat(existing.getClosingBalance()).isEqualTo(Money.of("110.00"));
+        verify(rollupRepository).save(existing);
+    }
+
+    @Test
+    void shouldListRollupsForDefaultWindow() {
+        // Given
+        String accountNumber = "01234567";
+        LocalDate today = LocalDate.now();
+        DailyAccountRollup rollup = DailyAccountRollup.builder()
+                .rollupDate(today)
+                .depositTotal(Money.of("10.00"))
+                .transactionCount(1)
+                .closingBalance(Money.of("10.00"))
+                .build();
+
+        when(bankAccountRepository.existsByAccountNumber(accountNumber)).thenReturn(true);
+        when(rollupRepository.findByAccount_AccountNumberAndRollupDateBetweenOrderByRollupDateAsc(
+                accountNumber, today.minusDays(29), today)).thenReturn(List.of(rollup));
+
+        // When
+        ListDailyAccountRollupsResponse response = dailyRollupService.listRollups(accountNumber, null, null);
+
+        // Then
+        assertThat(response.rollups()).hasSize(1);
+        assertThat(response.rollups().get(0).date()).isEqualTo(today);
+        assertThat(response.rollups().get(0).depositTotal()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void shouldRejectInvertedDateRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> dailyRollupService.listRollups("01234567", today, today.minusDays(1)))
+                .isInstanceOf(UnprocessableEntityException.class);
+
+        verifyNoInteractions(rollupRepository, bankAccountRepository);
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenAccountNotFound() {
+        when(bankAccountRepository.existsByAccountNumber("01999999")).thenReturn(false);
+
+        assertThatThrownBy(() -> dailyRollupService.listRollups("01999999", null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(rollupRepository, never()).findByAccount_AccountNumberAndRollupDateBetweenOrderByRollupDateAsc(
+                any(), any(), any());
+    }
+
+    private BankAccount createAccount(Money balance) {
+        return BankAccount.builder()
+                .id(1L)
+                .accountNumber("01234567")
+                .balance(balance)
+                .currency("GBP")
+                .build();
+    }
+
+    private Transaction createTransaction(BankAccount account, Transaction.TransactionType type, Money amount) {
+        return Transaction.builder()
+                .transactionId("tan-abc123")
+                .amount(amount)
+                .currency("GBP")
+                .type(type)
+                .account(account)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
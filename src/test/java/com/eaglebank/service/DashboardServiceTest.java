@@ -0,0 +1,85 @@
+package com.eaglebank.service;
+
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.config.DashboardConfig;
+import com.eaglebank.config.ShardingConfig;
+import com.eaglebank.dto.response.ListBankAccountsResponse;
+import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.shard.ShardFanOut;
+import com.eaglebank.shard.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private DashboardConfig dashboardConfig = new DashboardConfig();
+
+    // Unsharded, so reads run as they are
+    @Spy
+    private ShardFanOut shardFanOut = new ShardFanOut(new ShardRouter(new ShardingConfig()), new TransactionTemplate());
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void shouldFailAsSoonAsTheUserIsMissingWithoutWaitingForTheOtherQueries() {
+        // Given - the accounts query ignores interrupts, as a blocked JDBC call may
+        String userId = "usr-notexists";
+        CountDownLatch slowQuery = new CountDownLatch(1);
+        when(transactionArchive.current()).thenReturn(ArchiveSnapshot.EMPTY);
+        when(userService.getUserById(userId)).thenThrow(new ResourceNotFoundException("User not found: " + userId));
+        lenient().when(accountService.listAccounts(userId)).thenAnswer(invocation -> {
+            awaitUninterruptibly(slowQuery);
+            return new ListBankAccountsResponse(List.of());
+        });
+
+        // When & Then
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                    assertThatThrownBy(() -> dashboardService.getDashboard(userId))
+                            .isInstanceOf(ResourceNotFoundException.class));
+        } finally {
+            slowQuery.countDown();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // Keep waiting
+            }
+        }
+    }
+}
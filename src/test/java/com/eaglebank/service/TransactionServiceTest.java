@@ -1,29 +1,56 @@
 package com.eaglebank.service;
 
+import com.eaglebank.archive.ArchiveSnapshot;
+import com.eaglebank.archive.ArchivedTransaction;
+import com.eaglebank.archive.TransactionArchive;
+import com.eaglebank.audit.AuditEvent;
+import com.eaglebank.audit.AuditTrail;
+import com.eaglebank.cache.AccountResponseCache;
+import com.eaglebank.cache.TransactionResponseCache;
 import com.eaglebank.domain.Address;
 import com.eaglebank.domain.BankAccount;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.OutboxEvent;
 import com.eaglebank.domain.Transaction;
 import com.eaglebank.domain.User;
 import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateTransferRequest;
 import com.eaglebank.dto.response.ListTransactionsResponse;
 import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.dto.response.TransferResponse;
+import com.eaglebank.event.TransactionPostedEvent;
 import com.eaglebank.exception.ForbiddenException;
 import com.eaglebank.exception.InsufficientFundsException;
 import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.exception.UnprocessableEntityException;
+import com.eaglebank.fx.FxRateSnapshot;
+import com.eaglebank.fx.FxRateTable;
+import com.eaglebank.journal.JournalEntry;
+import com.eaglebank.journal.PostingJournal;
 import com.eaglebank.repository.BankAccountRepository;
 import com.eaglebank.repository.TransactionRepository;
 import com.eaglebank.repository.UserRepository;
+import com.eaglebank.shard.ShardFanOut;
+import com.eaglebank.shard.ShardRouter;
 import com.eaglebank.util.IdGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,6 +60,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
 
+    private static final FxRateSnapshot RATES = FxRateSnapshot.of("rates-v1",
+            Map.of("GBP", BigDecimal.ONE, "EUR", new BigDecimal("0.85")), Instant.now());
+
     @Mock
     private TransactionRepository transactionRepository;
 
@@ -45,6 +75,39 @@ class TransactionServiceTest {
     @Mock
     private IdGenerator idGenerator;
 
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private TransactionResponseCache transactionResponseCache;
+
+    @Mock
+    private AccountResponseCache accountResponseCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private FxRateTable fxRateTable;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private PostingJournal postingJournal;
+
+    @Mock
+    private AuditTrail auditTrail;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private ShardFanOut shardFanOut;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -67,6 +130,7 @@ class TransactionServiceTest {
         BankAccount account = createAccount(accountNumber, user, initialBalance);
 
         when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(fxRateTable.current()).thenReturn(RATES);
         when(idGenerator.generateTransactionId()).thenReturn("tan-xyz789");
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction transaction = invocation.getArgument(0);
@@ -89,12 +153,23 @@ class TransactionServiceTest {
         assertThat(response.createdTimestamp()).isNotNull();
 
         // Verify balance was updated
-        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("150.00"));
+        assertThat(account.getBalance()).isEqualTo(Money.of("150.00"));
 
         verify(bankAccountRepository).findByAccountNumber(accountNumber);
         verify(idGenerator).generateTransactionId();
         verify(transactionRepository).save(any(Transaction.class));
         verify(bankAccountRepository).save(account);
+        verify(dailyRollupService).recordPosting(any(Transaction.class));
+        verify(eventPublisher).publishEvent(any(TransactionPostedEvent.class));
+        verify(outboxService).record(eq(OutboxEvent.EventType.TRANSACTION_POSTED), eq(accountNumber),
+                any(TransactionPostedEvent.class));
+        ArgumentCaptor<JournalEntry> journalled = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(postingJournal).record(journalled.capture());
+        assertThat(journalled.getValue().transactionId()).isEqualTo("tan-xyz789");
+        assertThat(journalled.getValue().amount()).isEqualTo(Money.of(depositAmount));
+        assertThat(journalled.getValue().balanceAfter()).isEqualTo(Money.of("150.00"));
+        verify(accountResponseCache).putAfterCommit(account);
+        verify(auditTrail).record(AuditEvent.Action.TRANSACTION_CREATED, userId, "tan-xyz789", accountNumber);
     }
 
     @Test
@@ -116,6 +191,7 @@ class TransactionServiceTest {
         BankAccount account = createAccount(accountNumber, user, initialBalance);
 
         when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(fxRateTable.current()).thenReturn(RATES);
         when(idGenerator.generateTransactionId()).thenReturn("tan-xyz790");
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction transaction = invocation.getArgument(0);
@@ -134,7 +210,7 @@ class TransactionServiceTest {
         assertThat(response.type()).isEqualTo("withdrawal");
 
         // Verify balance was updated
-        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("70.00"));
+        assertThat(account.getBalance()).isEqualTo(Money.of("70.00"));
 
         verify(transactionRepository).save(any(Transaction.class));
         verify(bankAccountRepository).save(account);
@@ -158,6 +234,7 @@ class TransactionServiceTest {
         BankAccount account = createAccount(accountNumber, user, initialBalance);
 
         when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(fxRateTable.current()).thenReturn(RATES);
 
         // When & Then
         assertThatThrownBy(() -> transactionService.createTransaction(accountNumber, request, userId))
@@ -167,6 +244,7 @@ class TransactionServiceTest {
         verify(bankAccountRepository).findByAccountNumber(accountNumber);
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(bankAccountRepository, never()).save(account);
+        verify(dailyRollupService, never()).recordPosting(any(Transaction.class));
     }
 
     @Test
@@ -207,6 +285,7 @@ class TransactionServiceTest {
                 Transaction.TransactionType.WITHDRAWAL, account, user);
 
         when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(transactionArchive.current()).thenReturn(ArchiveSnapshot.EMPTY);
         when(transactionRepository.findByAccount_AccountNumberOrderByCreatedAtDesc(accountNumber))
                 .thenReturn(Arrays.asList(transaction2, transaction1));
 
@@ -223,6 +302,36 @@ class TransactionServiceTest {
         verify(transactionRepository).findByAccount_AccountNumberOrderByCreatedAtDesc(accountNumber);
     }
 
+    @Test
+    void shouldListArchivedTransactionsAfterThoseStillInTheTable() {
+        // Given
+        String accountNumber = "01234567";
+        String userId = "usr-abc123";
+        LocalDateTime archivedUntil = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        User user = createUser(userId);
+        BankAccount account = createAccount(accountNumber, user, new BigDecimal("100.00"));
+        Transaction hot = createTransaction("tan-hot1", new BigDecimal("50.00"),
+                Transaction.TransactionType.DEPOSIT, account, user);
+        ArchiveSnapshot archive = mock(ArchiveSnapshot.class);
+
+        when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(transactionArchive.current()).thenReturn(archive);
+        when(archive.archivedUntil()).thenReturn(Optional.of(archivedUntil));
+        when(archive.stream(accountNumber)).thenReturn(Stream.of(createArchivedTransaction("tan-cold1", userId)));
+        when(transactionRepository.findByAccount_AccountNumberAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                accountNumber, archivedUntil)).thenReturn(List.of(hot));
+
+        // When
+        ListTransactionsResponse response = transactionService.listTransactions(accountNumber, userId);
+
+        // Then
+        assertThat(response.transactions())
+                .extracting(TransactionResponse::id)
+                .containsExactly("tan-hot1", "tan-cold1");
+        verify(transactionRepository, never()).findByAccount_AccountNumberOrderByCreatedAtDesc(accountNumber);
+    }
+
     @Test
     void shouldGetTransactionSuccessfully() {
         // Given
@@ -249,6 +358,45 @@ class TransactionServiceTest {
 
         verify(bankAccountRepository).findByAccountNumber(accountNumber);
         verify(transactionRepository).findByTransactionIdAndAccount_AccountNumber(transactionId, accountNumber);
+        verify(transactionResponseCache).put(accountNumber, response);
+    }
+
+    @Test
+    void shouldServeCachedTransactionWithoutQueryingTransactions() {
+        // Given
+        String accountNumber = "01234567";
+        String transactionId = "tan-abc123";
+        BankAccount account = createAccount(accountNumber, createUser("usr-abc123"), new BigDecimal("100.00"));
+        TransactionResponse cached = TransactionResponse.builder()
+                .id(transactionId)
+                .amount(new BigDecimal("50.00"))
+                .currency("GBP")
+                .type("deposit")
+                .userId("usr-abc123")
+                .createdTimestamp(LocalDateTime.now())
+                .build();
+
+        when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(transactionResponseCache.get(accountNumber, transactionId)).thenReturn(Optional.of(cached));
+
+        // When
+        TransactionResponse response = transactionService.getTransaction(accountNumber, transactionId, "usr-abc123");
+
+        // Then
+        assertThat(response).isSameAs(cached);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void shouldNotServeCachedTransactionsOfAClosedAccount() {
+        // Given - closed accounts are filtered out of every lookup
+        String accountNumber = "01234567";
+        when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.getTransaction(accountNumber, "tan-abc123", "usr-other"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(transactionResponseCache, transactionRepository);
     }
 
     @Test
@@ -264,6 +412,7 @@ class TransactionServiceTest {
         when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
         when(transactionRepository.findByTransactionIdAndAccount_AccountNumber(transactionId, accountNumber))
                 .thenReturn(Optional.empty());
+        when(transactionArchive.current()).thenReturn(ArchiveSnapshot.EMPTY);
 
         // When & Then
         assertThatThrownBy(() -> transactionService.getTransaction(accountNumber, transactionId, userId))
@@ -274,6 +423,35 @@ class TransactionServiceTest {
         verify(transactionRepository).findByTransactionIdAndAccount_AccountNumber(transactionId, accountNumber);
     }
 
+    @Test
+    void shouldFallBackToTheArchiveForTransactionsNoLongerInTheTable() {
+        // Given
+        String accountNumber = "01234567";
+        String transactionId = "tan-cold1";
+        String userId = "usr-abc123";
+
+        User user = createUser(userId);
+        BankAccount account = createAccount(accountNumber, user, new BigDecimal("100.00"));
+        ArchiveSnapshot archive = mock(ArchiveSnapshot.class);
+
+        when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(transactionRepository.findByTransactionIdAndAccount_AccountNumber(transactionId, accountNumber))
+                .thenReturn(Optional.empty());
+        when(transactionArchive.current()).thenReturn(archive);
+        when(archive.find(accountNumber, transactionId))
+                .thenReturn(Optional.of(createArchivedTransaction(transactionId, userId)));
+
+        // When
+        TransactionResponse response = transactionService.getTransaction(accountNumber, transactionId, userId);
+
+        // Then
+        assertThat(response.id()).isEqualTo(transactionId);
+        assertThat(response.type()).isEqualTo("deposit");
+        assertThat(response.amount()).isEqualByComparingTo("20.00");
+        assertThat(response.accountAmount()).isNull();
+        verify(transactionResponseCache).put(accountNumber, response);
+    }
+
     @Test
     void shouldCreateTransactionWithoutReference() {
         // Given
@@ -290,6 +468,7 @@ class TransactionServiceTest {
         BankAccount account = createAccount(accountNumber, user, new BigDecimal("25.00"));
 
         when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(fxRateTable.current()).thenReturn(RATES);
         when(idGenerator.generateTransactionId()).thenReturn("tan-xyz791");
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction transaction = invocation.getArgument(0);
@@ -308,6 +487,243 @@ class TransactionServiceTest {
         verify(transactionRepository).save(any(Transaction.class));
     }
 
+    @Test
+    void shouldConvertForeignCurrencyPostingIntoAccountCurrency() {
+        // Given
+        String accountNumber = "01234567";
+        String userId = "usr-abc123";
+
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("100.00"))
+                .currency("EUR")
+                .type("deposit")
+                .build();
+
+        User user = createUser(userId);
+        BankAccount account = createAccount(accountNumber, user, new BigDecimal("10.00"));
+
+        when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(fxRateTable.current()).thenReturn(RATES);
+        when(idGenerator.generateTransactionId()).thenReturn("tan-xyz792");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TransactionResponse response = transactionService.createTransaction(accountNumber, request, userId);
+
+        // Then
+        assertThat(account.getBalance()).isEqualTo(Money.of("95.00"));
+
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(saved.capture());
+        assertThat(saved.getValue().getAmount()).isEqualTo(Money.of("100.00"));
+        assertThat(saved.getValue().getCurrency()).isEqualTo("EUR");
+        assertThat(saved.getValue().getAccountAmount()).isEqualTo(Money.of("85.00"));
+        assertThat(saved.getValue().getFxRate()).isEqualByComparingTo(new BigDecimal("0.85"));
+        assertThat(saved.getValue().getFxRateVersion()).isEqualTo("rates-v1");
+
+        assertThat(response.currency()).isEqualTo("EUR");
+        assertThat(response.accountAmount()).isEqualByComparingTo(new BigDecimal("85.00"));
+        assertThat(response.fxRateVersion()).isEqualTo("rates-v1");
+    }
+
+    @Test
+    void shouldRejectPostingInCurrencyWithoutRate() {
+        // Given
+        String accountNumber = "01234567";
+        String userId = "usr-abc123";
+
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("100.00"))
+                .currency("XYZ")
+                .type("deposit")
+                .build();
+
+        BankAccount account = createAccount(accountNumber, createUser(userId), new BigDecimal("10.00"));
+
+        when(bankAccountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(fxRateTable.current()).thenReturn(RATES);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransaction(accountNumber, request, userId))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("XYZ");
+
+        assertThat(account.getBalance()).isEqualTo(Money.of("10.00"));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void shouldLockBothAccountsInAscendingIdOrderAndPostLinkedPair() {
+        // Given - the source has the higher id, so it must be locked second
+        User sender = createUser("usr-sender");
+        User recipient = createUser("usr-recipient");
+        BankAccount from = createAccount("01000002", sender, new BigDecimal("100.00"));
+        from.setId(7L);
+        BankAccount to = createAccount("01000001", recipient, new BigDecimal("10.00"));
+        to.setId(3L);
+
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber("01000001")
+                .amount(new BigDecimal("40.00"))
+                .currency("GBP")
+                .build();
+
+        when(bankAccountRepository.findIdByAccountNumber("01000002")).thenReturn(Optional.of(7L));
+        when(bankAccountRepository.findIdByAccountNumber("01000001")).thenReturn(Optional.of(3L));
+        when(bankAccountRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(to));
+        when(bankAccountRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(from));
+        when(fxRateTable.current()).thenReturn(RATES);
+        when(idGenerator.generateTransferId()).thenReturn("tfr-abc123");
+        when(idGenerator.generateTransactionId()).thenReturn("tan-debit", "tan-credit");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setCreatedAt(LocalDateTime.now());
+            return transaction;
+        });
+
+        // When
+        TransferResponse response = transactionService.createTransfer("01000002", request, "usr-sender");
+
+        // Then
+        InOrder lockOrder = inOrder(bankAccountRepository);
+        lockOrder.verify(bankAccountRepository).findByIdForUpdate(3L);
+        lockOrder.verify(bankAccountRepository).findByIdForUpdate(7L);
+
+        assertThat(from.getBalance()).isEqualTo(Money.of("60.00"));
+        assertThat(to.getBalance()).isEqualTo(Money.of("50.00"));
+
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(Transaction::getTransferId).containsOnly("tfr-abc123");
+        assertThat(saved.getAllValues()).extracting(Transaction::getType)
+                .containsExactly(Transaction.TransactionType.WITHDRAWAL, Transaction.TransactionType.DEPOSIT);
+        assertThat(saved.getAllValues()).extracting(Transaction::getReference)
+                .containsExactly("Transfer to 01000001", "Transfer from 01000002");
+        verify(dailyRollupService, times(2)).recordPosting(any(Transaction.class));
+        verify(outboxService).record(eq(OutboxEvent.EventType.TRANSACTION_POSTED), eq("01000002"),
+                any(TransactionPostedEvent.class));
+        verify(outboxService).record(eq(OutboxEvent.EventType.TRANSACTION_POSTED), eq("01000001"),
+                any(TransactionPostedEvent.class));
+
+        assertThat(response.id()).isEqualTo("tfr-abc123");
+        assertThat(response.fromAccountNumber()).isEqualTo("01000002");
+        assertThat(response.toAccountNumber()).isEqualTo("01000001");
+        assertThat(response.debit().id()).isEqualTo("tan-debit");
+        assertThat(response.debit().type()).isEqualTo("withdrawal");
+    }
+
+    @Test
+    void shouldNotWriteAnythingWhenTransferExceedsBalance() {
+        // Given
+        BankAccount from = createAccount("01000001", createUser("usr-sender"), new BigDecimal("20.00"));
+        from.setId(1L);
+        BankAccount to = createAccount("01000002", createUser("usr-recipient"), BigDecimal.ZERO);
+        to.setId(2L);
+
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber("01000002")
+                .amount(new BigDecimal("20.01"))
+                .currency("GBP")
+                .build();
+
+        when(bankAccountRepository.findIdByAccountNumber("01000001")).thenReturn(Optional.of(1L));
+        when(bankAccountRepository.findIdByAccountNumber("01000002")).thenReturn(Optional.of(2L));
+        when(bankAccountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(bankAccountRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
+        when(fxRateTable.current()).thenReturn(RATES);
+        when(idGenerator.generateTransferId()).thenReturn("tfr-abc123");
+        when(idGenerator.generateTransactionId()).thenReturn("tan-debit");
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransfer("01000001", request, "usr-sender"))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(to.getBalance()).isEqualTo(Money.ZERO);
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(outboxService, never()).record(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectTransferToTheSameAccount() {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber("01000001")
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransfer("01000001", request, "usr-sender"))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("same account");
+
+        verifyNoInteractions(bankAccountRepository, transactionRepository);
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenTransferDestinationDoesNotExist() {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber("01999999")
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .build();
+
+        when(bankAccountRepository.findIdByAccountNumber("01000001")).thenReturn(Optional.of(1L));
+        when(bankAccountRepository.findIdByAccountNumber("01999999")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransfer("01000001", request, "usr-sender"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("01999999");
+
+        verify(bankAccountRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenTransferDestinationOnAnotherShardDoesNotExist() {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber("01999999")
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .build();
+
+        when(bankAccountRepository.findIdByAccountNumber("01000001")).thenReturn(Optional.of(1L));
+        when(shardRouter.shardOf("01000001")).thenReturn(0);
+        when(shardRouter.shardOf("01999999")).thenReturn(1);
+        when(shardFanOut.onShard(eq(1), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(bankAccountRepository.findIdByAccountNumber("01999999")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransfer("01000001", request, "usr-sender"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("01999999");
+    }
+
+    @Test
+    void shouldRejectTransferToAnExistingAccountOnAnotherShard() {
+        // Given
+        CreateTransferRequest request = CreateTransferRequest.builder()
+                .toAccountNumber("01000002")
+                .amount(new BigDecimal("10.00"))
+                .currency("GBP")
+                .build();
+
+        when(bankAccountRepository.findIdByAccountNumber("01000001")).thenReturn(Optional.of(1L));
+        when(shardRouter.shardOf("01000001")).thenReturn(0);
+        when(shardRouter.shardOf("01000002")).thenReturn(1);
+        when(shardFanOut.onShard(eq(1), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(bankAccountRepository.findIdByAccountNumber("01000002")).thenReturn(Optional.of(2L));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransfer("01000001", request, "usr-sender"))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("another shard");
+
+        verify(bankAccountRepository, never()).findByIdForUpdate(any());
+    }
+
     // Helper methods
     private User createUser(String userId) {
         return User.builder()
@@ -333,7 +749,7 @@ class TransactionServiceTest {
                 .sortCode("10-10-10")
                 .name("Test Account")
                 .accountType(BankAccount.AccountType.PERSONAL)
-                .balance(balance)
+                .balance(Money.of(balance))
                 .currency("GBP")
                 .user(user)
                 .createdAt(LocalDateTime.now())
@@ -341,12 +757,25 @@ class TransactionServiceTest {
                 .build();
     }
 
+    private ArchivedTransaction createArchivedTransaction(String transactionId, String userId) {
+        return ArchivedTransaction.builder()
+                .transactionId(transactionId)
+                .type(Transaction.TransactionType.DEPOSIT)
+                .amount(new BigDecimal("20.00"))
+                .currency("GBP")
+                .accountAmount(new BigDecimal("20.00"))
+                .reference("Archived transaction")
+                .userId(userId)
+                .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .build();
+    }
+
     private Transaction createTransaction(String transactionId, BigDecimal amount,
                                          Transaction.TransactionType type, BankAccount account, User user) {
         return Transaction.builder()
                 .id(1L)
                 .transactionId(transactionId)
-                .amount(amount)
+                .amount(Money.of(amount))
                 .currency("GBP")
                 .type(type)
                 .reference("Test transaction")
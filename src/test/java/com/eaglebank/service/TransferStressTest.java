@@ -0,0 +1,170 @@
+package com.eaglebank.service;
+
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateTransferRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.exception.InsufficientFundsException;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires thousands of concurrent random transfers among a handful of accounts, so most of them
+ * contend for the same rows from both directions. A deadlock or lock timeout surfaces as an
+ * unexpected failure, a lost update as money appearing or vanishing. The run must also sustain
+ * {@code eaglebank.transfer.min-throughput} transfers a second (set from the
+ * {@code transferMinThroughput} Gradle property).
+ * <p>
+ * Not {@code @Transactional}: each transfer commits on its own worker thread, and
+ * {@link DatabaseCleaner} removes the data afterwards. SQL and per-transfer logging are off, so the floor
+ * measures transfers rather than the console.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.eaglebank=WARN",
+        "logging.level.com.eaglebank.service.TransferStressTest=INFO"
+})
+class TransferStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferStressTest.class);
+
+    private static final int ACCOUNTS = 5;
+    private static final int TRANSFERS = 2_000;
+    private static final int THREADS = 16;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String userId;
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.createUser(CreateUserRequest.builder()
+                .name("Stress User")
+                .email("stress-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build()).id();
+        databaseCleaner.user(userId);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accountNumber = accountService.createAccount(userId,
+                    new CreateBankAccountRequest("Stress Account " + i, "personal")).accountNumber();
+            transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                    .amount(OPENING_BALANCE)
+                    .currency("GBP")
+                    .type("deposit")
+                    .build(), userId);
+            accountNumbers.add(accountNumber);
+        }
+    }
+
+
+    @Test
+    void shouldConserveMoneyAcrossConcurrentTransfersWithoutDeadlocks() throws Exception {
+        // Given
+        double minThroughput = Double.parseDouble(System.getProperty("eaglebank.transfer.min-throughput", "75"));
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger insufficientFunds = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        long started = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            workers.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(ACCOUNTS);
+                int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                CreateTransferRequest request = CreateTransferRequest.builder()
+                        .toAccountNumber(accountNumbers.get(to))
+                        .amount(BigDecimal.valueOf(random.nextInt(1, 20_001), 2))
+                        .currency("GBP")
+                        .build();
+                try {
+                    transactionService.createTransfer(accountNumbers.get(from), request, userId);
+                    completed.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    insufficientFunds.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            });
+        }
+        workers.shutdown();
+        assertThat(workers.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        double throughput = TRANSFERS / elapsedSeconds;
+        log.info("{} transfers ({} completed, {} refused for funds) in {} s: {} per second (floor {})",
+                TRANSFERS, completed.get(), insufficientFunds.get(), String.format("%.2f", elapsedSeconds),
+                String.format("%.0f", throughput), minThroughput);
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(completed.get() + insufficientFunds.get()).isEqualTo(TRANSFERS);
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (String accountNumber : accountNumbers) {
+            BigDecimal balance = jdbcTemplate.queryForObject(
+                    "SELECT balance FROM bank_accounts WHERE account_number = ?", BigDecimal.class, accountNumber);
+            BigDecimal ledger = jdbcTemplate.queryForObject("""
+                    SELECT SUM(CASE WHEN t.type = 'DEPOSIT' THEN t.amount ELSE -t.amount END)
+                    FROM transactions t JOIN bank_accounts a ON t.account_id = a.id
+                    WHERE a.account_number = ?
+                    """, BigDecimal.class, accountNumber);
+            assertThat(balance).as("balance of %s", accountNumber).isEqualByComparingTo(ledger);
+            assertThat(balance).isNotNegative();
+            total = total.add(balance);
+        }
+        assertThat(total).isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+
+        Long legs = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM transactions t JOIN bank_accounts a ON t.account_id = a.id
+                WHERE a.account_number IN (?, ?, ?, ?, ?) AND t.transfer_id IS NOT NULL
+                """, Long.class, accountNumbers.toArray());
+        assertThat(legs).isEqualTo(2L * completed.get());
+
+        assertThat(throughput).isGreaterThanOrEqualTo(minThroughput);
+    }
+}
@@ -1,5 +1,7 @@
 package com.eaglebank.service;
 
+import com.eaglebank.audit.AuditEvent;
+import com.eaglebank.audit.AuditTrail;
 import com.eaglebank.domain.Address;
 import com.eaglebank.domain.User;
 import com.eaglebank.dto.request.AddressRequest;
@@ -9,6 +11,7 @@ import com.eaglebank.dto.response.UserResponse;
 import com.eaglebank.exception.ConflictException;
 import com.eaglebank.exception.ResourceNotFoundException;
 import com.eaglebank.repository.UserRepository;
+import com.eaglebank.shard.UserReplicator;
 import com.eaglebank.util.IdGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +43,12 @@ class UserServiceTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private AuditTrail auditTrail;
+
+    @Mock
+    private UserReplicator userReplicator;
+
     @InjectMocks
     private UserService userService;
 
@@ -74,6 +83,7 @@ class UserServiceTest {
         verify(userRepository).existsByEmail(request.email());
         verify(idGenerator).generateUserId();
         verify(userRepository).save(any(User.class));
+        verify(auditTrail).record(AuditEvent.Action.USER_CREATED, response.id(), response.id(), null);
     }
 
     @Test
@@ -239,6 +249,7 @@ class UserServiceTest {
 
         when(userRepository.findByUserId(userId)).thenReturn(Optional.of(user));
         when(accountService.hasAccounts(userId)).thenReturn(false);
+        when(accountService.hasClosedAccounts(userId)).thenReturn(false);
 
         // When
         userService.deleteUser(userId);
@@ -246,6 +257,7 @@ class UserServiceTest {
         // Then
         verify(userRepository).findByUserId(userId);
         verify(accountService).hasAccounts(userId);
+        verify(accountService).hasClosedAccounts(userId);
         verify(userRepository).delete(user);
     }
 
@@ -268,6 +280,25 @@ class UserServiceTest {
         verify(userRepository, never()).delete(any(User.class));
     }
 
+    @Test
+    void shouldThrowConflictExceptionWhenDeletingUserWithClosedAccountsAwaitingPurge() {
+        // Given
+        String userId = "usr-abc123";
+        User user = createUser(userId);
+
+        when(userRepository.findByUserId(userId)).thenReturn(Optional.of(user));
+        when(accountService.hasAccounts(userId)).thenReturn(false);
+        when(accountService.hasClosedAccounts(userId)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> userService.deleteUser(userId))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("closed bank accounts are still being purged");
+
+        verify(userRepository, never()).delete(any(User.class));
+        verify(userReplicator, never()).removeAfterCommit(userId);
+    }
+
     @Test
     void shouldThrowNotFoundExceptionWhenDeletingNonExistentUser() {
         // Given
@@ -0,0 +1,67 @@
+package com.eaglebank.shard;
+
+import com.eaglebank.config.ShardingConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRouterTest {
+
+    @Test
+    void shouldMapEachAccountNumberToTheSameShardEveryTime() {
+        // Given
+        ShardRouter router = new ShardRouter(config(true, 4));
+        Set<Integer> used = new HashSet<>();
+
+        // When & Then
+        for (int number = 100000; number < 100200; number++) {
+            String accountNumber = "01" + number;
+            int shard = router.shardOf(accountNumber);
+            assertThat(shard).isBetween(0, 3);
+            assertThat(router.shardOf(accountNumber)).isEqualTo(shard);
+            used.add(shard);
+        }
+        assertThat(used).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    void shouldHaveOneShardWhenDisabled() {
+        // Given
+        ShardRouter router = new ShardRouter(config(false, 4));
+
+        // When & Then
+        assertThat(router.shardCount()).isOne();
+        assertThat(router.shardOf("01234567")).isZero();
+        assertThat(router.pickShardForNewAccount()).isZero();
+    }
+
+    @Test
+    void shouldRunWorkOnceOnEveryShard() {
+        // Given
+        ShardRouter router = new ShardRouter(config(true, 3));
+        List<Integer> visited = new ArrayList<>();
+
+        // When
+        router.forEachShard(() -> visited.add(ShardContext.current()));
+
+        // Then
+        assertThat(visited).containsExactly(0, 1, 2);
+        assertThat(ShardContext.current()).isZero();
+    }
+
+    private static ShardingConfig config(boolean enabled, int shards) {
+        ShardingConfig config = new ShardingConfig();
+        config.setEnabled(enabled);
+        for (int i = 0; i < shards; i++) {
+            ShardingConfig.Shard shard = new ShardingConfig.Shard();
+            shard.setUrl("jdbc:h2:mem:shard" + i);
+            config.getShards().add(shard);
+        }
+        return config;
+    }
+}
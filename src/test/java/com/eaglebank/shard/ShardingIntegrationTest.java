@@ -0,0 +1,334 @@
+package com.eaglebank.shard;
+
+import com.eaglebank.dto.request.AddressRequest;
+import com.eaglebank.dto.request.CreateBankAccountRequest;
+import com.eaglebank.dto.request.CreateTransactionRequest;
+import com.eaglebank.dto.request.CreateTransferRequest;
+import com.eaglebank.dto.request.CreateUserRequest;
+import com.eaglebank.dto.request.UpdateUserRequest;
+import com.eaglebank.dto.response.BankAccountResponse;
+import com.eaglebank.dto.response.UserResponse;
+import com.eaglebank.exception.ResourceNotFoundException;
+import com.eaglebank.exception.UnprocessableEntityException;
+import com.eaglebank.security.JwtTokenProvider;
+import com.eaglebank.service.AccountService;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.UserService;
+import com.eaglebank.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Three in-memory H2 databases as shards. Not {@code @Transactional}: every shard has its own
+ * transactions, so the test commits its data and {@link DatabaseCleaner} removes it from each shard.
+ */
+@SpringBootTest(properties = {
+        "eaglebank.sharding.enabled=true",
+        "eaglebank.sharding.shards[0].url=jdbc:h2:mem:shard0-${random.uuid}",
+        "eaglebank.sharding.shards[0].username=sa",
+        "eaglebank.sharding.shards[1].url=jdbc:h2:mem:shard1-${random.uuid}",
+        "eaglebank.sharding.shards[1].username=sa",
+        "eaglebank.sharding.shards[2].url=jdbc:h2:mem:shard2-${random.uuid}",
+        "eaglebank.sharding.shards[2].username=sa",
+        "eaglebank.reactive.enabled=false"
+})
+@AutoConfigureMockMvc
+class ShardingIntegrationTest {
+
+    private static final int SHARDS = 3;
+    private static final int ACCOUNTS = 12;
+
+    private static final String INSERT_ACCOUNT_SQL = """
+            INSERT INTO bank_accounts (account_number, sort_code, name, account_type, balance, currency, user_id,
+                                       version, created_at, updated_at, deleted)
+            VALUES (?, '10-10-10', 'Misplaced Account', 'PERSONAL', 25.00, 'GBP',
+                    (SELECT id FROM users WHERE user_id = ?), 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE)
+            """;
+
+    private static final String INSERT_TRANSACTION_SQL = """
+            INSERT INTO transactions (transaction_id, amount, currency, type, reference, account_id, user_id, created_at)
+            VALUES (?, 25.00, 'GBP', 'DEPOSIT', 'opening deposit',
+                    (SELECT id FROM bank_accounts WHERE account_number = ?), (SELECT id FROM users WHERE user_id = ?),
+                    CURRENT_TIMESTAMP)
+            """;
+
+    @RegisterExtension
+    final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserResponse user;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser();
+    }
+
+    @Test
+    void shouldKeepEachAccountOnlyOnTheShardItsNumberHashesTo() {
+        // When
+        List<String> opened = openAccounts(ACCOUNTS);
+
+        // Then
+        for (String accountNumber : opened) {
+            int home = shardRouter.shardOf(accountNumber);
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertThat(countOn(shard, "SELECT COUNT(*) FROM bank_accounts WHERE account_number = ?", accountNumber))
+                        .as("account %s on shard %d", accountNumber, shard)
+                        .isEqualTo(shard == home ? 1 : 0);
+            }
+        }
+        assertThat(opened.stream().map(shardRouter::shardOf).distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    void shouldGatherAUsersAccountsFromEveryShard() throws Exception {
+        // Given
+        List<String> opened = openAccounts(ACCOUNTS);
+        String token = jwtTokenProvider.generateToken(user.id(), user.email());
+
+        // When & Then
+        assertThat(accountService.listAccounts(user.id()).accounts())
+                .extracting(BankAccountResponse::accountNumber)
+                .containsExactlyInAnyOrderElementsOf(opened);
+        assertThat(accountService.hasAccounts(user.id())).isTrue();
+        mockMvc.perform(get("/v1/accounts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", hasSize(ACCOUNTS)));
+    }
+
+    @Test
+    void shouldPostAndReadTransactionsOnTheAccountsShard() throws Exception {
+        // Given
+        List<String> opened = openAccounts(ACCOUNTS);
+        String token = jwtTokenProvider.generateToken(user.id(), user.email());
+
+        // When
+        for (String accountNumber : opened) {
+            deposit(accountNumber, "10.00");
+            deposit(accountNumber, "5.00");
+        }
+
+        // Then
+        for (String accountNumber : opened) {
+            int home = shardRouter.shardOf(accountNumber);
+            assertThat(transactionService.listTransactions(accountNumber, user.id()).transactions()).hasSize(2);
+            assertThat(accountService.getAccountByAccountNumber(user.id(), accountNumber).balance())
+                    .isEqualByComparingTo("15.00");
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertThat(countOn(shard, """
+                        SELECT COUNT(*) FROM transactions t JOIN bank_accounts a ON a.id = t.account_id
+                        WHERE a.account_number = ?
+                        """, accountNumber)).isEqualTo(shard == home ? 2 : 0);
+            }
+            mockMvc.perform(get("/v1/accounts/{accountNumber}/transactions", accountNumber)
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transactions", hasSize(2)));
+        }
+    }
+
+    @Test
+    void shouldTransferWithinAShardAndRefuseTransfersBetweenShards() {
+        // Given - twelve accounts over three shards, so at least two share one
+        Map<Integer, List<String>> byShard = openAccounts(ACCOUNTS).stream()
+                .collect(Collectors.groupingBy(shardRouter::shardOf));
+        List<String> sameShard = byShard.values().stream().filter(accounts -> accounts.size() > 1).findFirst().orElseThrow();
+        String from = sameShard.get(0);
+        deposit(from, "50.00");
+
+        // When
+        transactionService.createTransfer(from, transfer(sameShard.get(1), "20.00"), user.id());
+
+        // Then
+        assertThat(accountService.getAccountByAccountNumber(user.id(), sameShard.get(1)).balance())
+                .isEqualByComparingTo("20.00");
+        byShard.entrySet().stream()
+                .filter(entry -> entry.getKey() != shardRouter.shardOf(from))
+                .map(entry -> entry.getValue().getFirst())
+                .findFirst()
+                .ifPresent(elsewhere -> assertThatThrownBy(() ->
+                        transactionService.createTransfer(from, transfer(elsewhere, "5.00"), user.id()))
+                        .isInstanceOf(UnprocessableEntityException.class));
+        assertThat(accountService.getAccountByAccountNumber(user.id(), from).balance()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void shouldReportAMissingDestinationOnAnotherShardAsNotFound() {
+        // Given
+        String from = openAccounts(1).getFirst();
+        deposit(from, "50.00");
+        String missing = unusedAccountNumber();
+        while (shardRouter.shardOf(missing) == shardRouter.shardOf(from)) {
+            missing = unusedAccountNumber();
+        }
+        String to = missing;
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransfer(from, transfer(to, "5.00"), user.id()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(to);
+        assertThat(accountService.getAccountByAccountNumber(user.id(), from).balance()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void shouldKeepUsersOnEveryShard() {
+        // When
+        userService.updateUser(user.id(), new UpdateUserRequest("Renamed User", null, null));
+
+        // Then
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int current = shard;
+            assertThat(ShardContext.call(shard, () -> jdbcTemplate.queryForObject(
+                    "SELECT name FROM users WHERE user_id = ?", String.class, user.id())))
+                    .as("user on shard %d", current)
+                    .isEqualTo("Renamed User");
+        }
+
+        // When
+        userService.deleteUser(user.id());
+
+        // Then
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertThat(countOn(shard, "SELECT COUNT(*) FROM users WHERE user_id = ?", user.id())).isZero();
+        }
+    }
+
+    @Test
+    void shouldMoveAnAccountOnTheWrongShardToItsOwn() {
+        // Given - an account with a deposit, written straight to a shard its number does not hash to
+        String accountNumber = unusedAccountNumber();
+        int home = shardRouter.shardOf(accountNumber);
+        int wrong = (home + 1) % SHARDS;
+        ShardContext.run(wrong, () -> {
+            jdbcTemplate.update(INSERT_ACCOUNT_SQL, accountNumber, user.id());
+            jdbcTemplate.update(INSERT_TRANSACTION_SQL, "tan-" + UUID.randomUUID(), accountNumber, user.id());
+        });
+        databaseCleaner.account(accountNumber);
+        assertThat(shardRebalancer.plan().misplacedAccounts()).isEqualTo(1);
+
+        // When
+        ShardRebalanceReport report = shardRebalancer.rebalance();
+
+        // Then
+        assertThat(report.movedAccounts()).isEqualTo(1);
+        assertThat(report.movedTransactions()).isEqualTo(1);
+        assertThat(report.misplacedAccounts()).isZero();
+        assertThat(countOn(wrong, "SELECT COUNT(*) FROM bank_accounts WHERE account_number = ?", accountNumber)).isZero();
+        assertThat(accountService.getAccountByAccountNumber(user.id(), accountNumber).balance())
+                .isEqualByComparingTo("25.00");
+        assertThat(transactionService.listTransactions(accountNumber, user.id()).transactions())
+                .singleElement()
+                .satisfies(transaction -> assertThat(transaction.reference()).isEqualTo("opening deposit"));
+
+        // When - nothing left to move
+        assertThat(shardRebalancer.rebalance().movedAccounts()).isZero();
+    }
+
+    private List<String> openAccounts(int count) {
+        List<String> opened = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String accountNumber = accountService.createAccount(user.id(),
+                    new CreateBankAccountRequest("Sharded Account " + i, "personal")).accountNumber();
+            databaseCleaner.account(accountNumber);
+            opened.add(accountNumber);
+        }
+        return opened;
+    }
+
+    private void deposit(String accountNumber, String amount) {
+        transactionService.createTransaction(accountNumber, CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount))
+                .currency("GBP")
+                .type("deposit")
+                .reference("deposit")
+                .build(), user.id());
+    }
+
+    private static CreateTransferRequest transfer(String toAccountNumber, String amount) {
+        return CreateTransferRequest.builder()
+                .toAccountNumber(toAccountNumber)
+                .amount(new BigDecimal(amount))
+                .currency("GBP")
+                .build();
+    }
+
+    private long countOn(int shard, String sql, String argument) {
+        return ShardContext.call(shard, () -> Objects.requireNonNull(jdbcTemplate.queryForObject(sql, Long.class, argument)));
+    }
+
+    private String unusedAccountNumber() {
+        while (true) {
+            String accountNumber = "01" + (100000 + ThreadLocalRandom.current().nextInt(900000));
+            long held = 0;
+            for (int shard = 0; shard < SHARDS; shard++) {
+                held += countOn(shard, "SELECT COUNT(*) FROM bank_accounts WHERE account_number = ?", accountNumber);
+            }
+            if (held == 0) {
+                return accountNumber;
+            }
+        }
+    }
+
+    private UserResponse createUser() {
+        UserResponse created = userService.createUser(CreateUserRequest.builder()
+                .name("Sharded User")
+                .email("shard-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .phoneNumber("+447123456789")
+                .address(AddressRequest.builder()
+                        .line1("123 Main St")
+                        .town("London")
+                        .county("Greater London")
+                        .postcode("SW1A 1AA")
+                        .build())
+                .build());
+        databaseCleaner.user(created.id());
+        return created;
+    }
+}
@@ -0,0 +1,143 @@
+package com.eaglebank.stream;
+
+import com.eaglebank.config.StreamConfig;
+import com.eaglebank.dto.response.AccountBalanceEvent;
+import com.eaglebank.dto.response.TransactionResponse;
+import com.eaglebank.event.AccountClosedEvent;
+import com.eaglebank.event.TransactionPostedEvent;
+import com.eaglebank.exception.ConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountEventBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccountEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        StreamConfig config = new StreamConfig();
+        config.setSubscriberBufferSize(4);
+        config.setMaxSubscribersPerAccount(2);
+        // Senders never run, so every queued frame stays buffered - a client that is not reading at all
+        broadcaster = new AccountEventBroadcaster(config, new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry, new StalledExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void shouldDisconnectOnlyTheSubscriberWhoseBufferOverflows() {
+        // Given - the snapshot takes one slot, each posting two
+        broadcaster.subscribe("01234567", () -> balance("01234567"));
+        broadcaster.subscribe("07654321", () -> balance("07654321"));
+
+        // When
+        broadcaster.onTransactionPosted(posted("01234567", "tan-1"));
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+        broadcaster.onTransactionPosted(posted("01234567", "tan-2"));
+
+        // Then
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("eaglebank.streams.disconnects").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectSubscribersBeyondThePerAccountLimit() {
+        // Given
+        broadcaster.subscribe("01234567", () -> balance("01234567"));
+        broadcaster.subscribe("01234567", () -> balance("01234567"));
+
+        // When & Then
+        assertThatThrownBy(() -> broadcaster.subscribe("01234567", () -> balance("01234567")))
+                .isInstanceOf(ConflictException.class);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEndTheStreamsOfAClosedAccount() {
+        // Given
+        broadcaster.subscribe("01234567", () -> balance("01234567"));
+        broadcaster.subscribe("01234567", () -> balance("01234567"));
+        broadcaster.subscribe("07654321", () -> balance("07654321"));
+
+        // When
+        broadcaster.onAccountClosed(new AccountClosedEvent("01234567"));
+
+        // Then
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        broadcaster.onTransactionPosted(posted("01234567", "tan-1"));
+        assertThat(meterRegistry.get("eaglebank.streams.disconnects").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldUnregisterSubscriberWhenSnapshotFails() {
+        // When & Then
+        assertThatThrownBy(() -> broadcaster.subscribe("01234567", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+
+    private static AccountBalanceEvent balance(String accountNumber) {
+        return new AccountBalanceEvent(accountNumber, BigDecimal.ZERO, "GBP", null);
+    }
+
+    private static TransactionPostedEvent posted(String accountNumber, String transactionId) {
+        TransactionResponse transaction = new TransactionResponse(transactionId, new BigDecimal("10.00"), "GBP",
+                "deposit", null, "usr-abc123", LocalDateTime.now(),
+                null, null, null);
+        return new TransactionPostedEvent(accountNumber, transaction, new BigDecimal("10.00"));
+    }
+
+    private static final class StalledExecutor extends AbstractExecutorService {
+
+        private boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.eaglebank.stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountEventSubscriberTest {
+
+    private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+
+    private final SseEmitter emitter = new SseEmitter() {
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sent.add(items);
+        }
+    };
+
+    // Sends run on the offering thread, so the order they happen in is the order asserted
+    private final AccountEventSubscriber subscriber = new AccountEventSubscriber("01234567", emitter, 4, Runnable::run);
+
+    @Test
+    void shouldHoldEventsBackUntilTheSnapshotIsSent() {
+        // Given - a posting committed while the snapshot was being read
+        Set<DataWithMediaType> transaction = SseEmitter.event().name("transaction").data("tan-1").build();
+        Set<DataWithMediaType> snapshot = SseEmitter.event().name("balance").data("snapshot").build();
+        assertThat(subscriber.offer(transaction)).isTrue();
+        assertThat(sent).isEmpty();
+
+        // When
+        subscriber.start(snapshot);
+
+        // Then
+        assertThat(sent).containsExactly(snapshot, transaction);
+    }
+
+    @Test
+    void shouldCountTheSnapshotAgainstTheBuffer() {
+        // Given - the snapshot's place takes one of the four slots
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+
+        // When & Then
+        assertThat(subscriber.offer(frame)).isTrue();
+        assertThat(subscriber.offer(frame)).isTrue();
+        assertThat(subscriber.offer(frame)).isTrue();
+        assertThat(subscriber.offer(frame)).isFalse();
+    }
+}
@@ -0,0 +1,70 @@
+package com.eaglebank.support;
+
+import com.eaglebank.shard.ShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Removes what an integration test committed, for tests that cannot be {@code @Transactional} because
+ * the code under test works on threads or connections of its own. Register it as a field with
+ * {@code @RegisterExtension} and hand it the users and account numbers the test creates. After each
+ * test, and after the test's own {@code @AfterEach} methods, it deletes their rollups, transactions,
+ * outbox events, accounts and users, in foreign key order and on every shard. The rows go behind
+ * Hibernate's back, so it then evicts the second-level cache.
+ */
+public class DatabaseCleaner implements AfterEachCallback {
+
+    private static final String ACCOUNT_IDS =
+            "SELECT a.id FROM bank_accounts a JOIN users u ON a.user_id = u.id WHERE u.user_id = ?";
+
+    private final Set<String> userIds = new LinkedHashSet<>();
+    private final Set<String> accountNumbers = new LinkedHashSet<>();
+
+    /**
+     * Deletes the user, and all of the user's accounts with their history, after the test.
+     */
+    public String user(String userId) {
+        userIds.add(userId);
+        return userId;
+    }
+
+    /**
+     * Deletes the account's outbox events after the test, even if the account itself is gone by then.
+     */
+    public String account(String accountNumber) {
+        accountNumbers.add(accountNumber);
+        return accountNumber;
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        JdbcTemplate jdbcTemplate = applicationContext.getBean(JdbcTemplate.class);
+        applicationContext.getBean(ShardRouter.class).forEachShard(() -> {
+            for (String accountNumber : accountNumbers) {
+                jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id = ?", accountNumber);
+            }
+            for (String userId : userIds) {
+                jdbcTemplate.update("DELETE FROM daily_account_rollups WHERE account_id IN (" + ACCOUNT_IDS + ")", userId);
+                jdbcTemplate.update("DELETE FROM transactions WHERE account_id IN (" + ACCOUNT_IDS + ")", userId);
+                jdbcTemplate.update("""
+                        DELETE FROM outbox_events WHERE aggregate_id IN (
+                            SELECT a.account_number FROM bank_accounts a JOIN users u ON a.user_id = u.id
+                            WHERE u.user_id = ?)
+                        """, userId);
+                jdbcTemplate.update("DELETE FROM bank_accounts WHERE id IN (" + ACCOUNT_IDS + ")", userId);
+                jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+            }
+        });
+        applicationContext.getBean(EntityManagerFactory.class).getCache().evictAll();
+        userIds.clear();
+        accountNumbers.clear();
+    }
+}
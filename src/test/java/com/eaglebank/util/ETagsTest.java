@@ -0,0 +1,54 @@
+package com.eaglebank.util;
+
+import com.eaglebank.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ETagsTest {
+
+    @Test
+    void shouldBuildStrongETagFromIdAndVersion() {
+        assertThat(ETags.of("01234567", 3)).isEqualTo("\"01234567-3\"");
+        assertThat(ETags.of("01234567", null)).isEqualTo("\"01234567-0\"");
+    }
+
+    @Test
+    void shouldMatchIfNoneMatchUsingWeakComparison() {
+        String eTag = ETags.of("01234567", 3);
+
+        assertThat(ETags.matchesIfNoneMatch("\"01234567-3\"", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("W/\"01234567-3\"", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("\"01234567-2\", \"01234567-3\"", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("*", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("\"01234567-2\"", eTag)).isFalse();
+        assertThat(ETags.matchesIfNoneMatch(null, eTag)).isFalse();
+    }
+
+    @Test
+    void shouldParseIfMatchVersions() {
+        assertThat(ETags.parseIfMatch("\"01234567-3\", \"01234567-4\"", "01234567")).containsExactlyInAnyOrder(3, 4);
+        assertThat(ETags.parseIfMatch(null, "01234567")).isNull();
+        assertThat(ETags.parseIfMatch("*", "01234567")).isNull();
+    }
+
+    @Test
+    void shouldRejectIfMatchForAnotherResourceOrWeakTag() {
+        assertThatThrownBy(() -> ETags.parseIfMatch("\"01999999-3\"", "01234567"))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ETags.parseIfMatch("W/\"01234567-3\"", "01234567"))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void shouldCheckIfMatchAgainstCurrentVersion() {
+        assertThatCode(() -> ETags.checkIfMatch(null, "01234567", 5)).doesNotThrowAnyException();
+        assertThatCode(() -> ETags.checkIfMatch(Set.of(5), "01234567", 5)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> ETags.checkIfMatch(Set.of(4), "01234567", 5))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+}
@@ -48,6 +48,16 @@ class IdGeneratorTest {
         assertThat(transactionId1).isNotEqualTo(transactionId2);
     }
 
+    @Test
+    void shouldGenerateTransferIdWithCorrectPrefix() {
+        // When
+        String transferId = idGenerator.generateTransferId();
+
+        // Then
+        assertThat(transferId).startsWith("tfr-");
+        assertThat(transferId).hasSize(16); // tfr- (4) + 12 chars = 16
+    }
+
     @Test
     void shouldGenerateUserIdWithAlphanumericCharacters() {
         // When